@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import tech.aroma.data.TokenRepository;
+import tech.aroma.thrift.authentication.AuthenticationToken;
+import tech.aroma.thrift.exceptions.InvalidTokenException;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner.class)
+public class RepositoryOperationEventTest
+{
+
+    @Mock
+    private TokenRepository delegate;
+
+    @GenerateString
+    private String tokenId;
+
+    @GenerateList(AuthenticationToken.class)
+    private List<AuthenticationToken> tokens;
+
+    @Test
+    public void testEventsAreRecorded() throws Exception
+    {
+        TokenRepository instance = MeasuredRepositories.measure(TokenRepository.class, delegate);
+
+        when(delegate.getTokensBelongingTo(tokenId)).thenReturn(tokens);
+        when(delegate.getToken(tokenId)).thenThrow(new InvalidTokenException());
+
+        Path file = Files.createTempFile("repository-events", ".jfr");
+
+        try (Recording recording = new Recording())
+        {
+            recording.enable(RepositoryOperationEvent.NAME);
+            recording.start();
+
+            instance.getTokensBelongingTo(tokenId);
+            assertThrows(() -> instance.getToken(tokenId)).isInstanceOf(InvalidTokenException.class);
+
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file)
+            .stream()
+            .filter(event -> event.getEventType().getName().equals(RepositoryOperationEvent.NAME))
+            .collect(Collectors.toList());
+
+        Files.deleteIfExists(file);
+
+        assertThat(events.size(), is(2));
+
+        RecordedEvent read = events.get(0);
+        assertThat(read.getString("repository"), is("TokenRepository"));
+        assertThat(read.getString("method"), is("getTokensBelongingTo"));
+        assertThat(read.getLong("rowCount"), is((long) tokens.size()));
+        assertThat(read.getString("exceptionType"), nullValue());
+
+        RecordedEvent failed = events.get(1);
+        assertThat(failed.getString("method"), is("getToken"));
+        assertThat(failed.getString("exceptionType"), is(InvalidTokenException.class.getName()));
+    }
+
+    @Test
+    public void testSinkIsLoaded()
+    {
+        assertThat(OperationEvents.sink(), instanceOf(JfrOperationEventSink.class));
+    }
+
+    @Test
+    public void testNoEventWhenDisabled()
+    {
+        //No recording is running, so the event is not enabled
+        assertThat(OperationEvents.sink().begin(), nullValue());
+    }
+
+}
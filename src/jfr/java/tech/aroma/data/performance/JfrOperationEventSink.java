@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import tech.sirwellington.alchemy.annotations.access.Internal;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+/**
+ * Emits a {@link RepositoryOperationEvent} for each Repository call. It is loaded by name by {@link OperationEvents}
+ * only when {@code jdk.jfr} is available.
+ *
+ * @author SirWellington
+ */
+@Internal
+@ThreadSafe
+final class JfrOperationEventSink implements OperationEvents.Sink
+{
+
+    /**
+     * Only used to check whether the event is enabled, so that no event is allocated while it is not.
+     */
+    private static final RepositoryOperationEvent ENABLED_CHECK = new RepositoryOperationEvent();
+
+    @Override
+    public Object begin()
+    {
+        if (!ENABLED_CHECK.isEnabled())
+        {
+            return null;
+        }
+
+        RepositoryOperationEvent event = new RepositoryOperationEvent();
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void end(Object event, String repository, String method, String backend, Object result, Throwable error)
+    {
+        ((RepositoryOperationEvent) event).complete(repository, method, backend, result, error);
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event, emitted for every call made through a {@linkplain MeasuredRepositories measured}
+ * Repository. With a continuous recording, slow calls can be lined up against GC pauses and lock contention.
+ * <p>
+ * This class is compiled only on JDKs that have {@code jdk.jfr}, and is created through the
+ * {@link JfrOperationEventSink}, which does not create an event at all while it is disabled.
+ *
+ * @author SirWellington
+ */
+@Name(RepositoryOperationEvent.NAME)
+@Label("Repository Operation")
+@Description("A call to an Aroma Data Repository")
+@Category({ "Aroma", "Repositories" })
+@StackTrace(false)
+public final class RepositoryOperationEvent extends Event
+{
+
+    public static final String NAME = "tech.aroma.data.RepositoryOperation";
+
+    @Label("Repository")
+    String repository;
+
+    @Label("Method")
+    String method;
+
+    @Label("Backend")
+    @Description("The storage the Repository is backed by, such as sql, cassandra, or memory")
+    String backend;
+
+    @Label("Row Count")
+    @Description("The number of entities returned, or -1 when unknown")
+    long rowCount;
+
+    @Label("Exception Type")
+    String exceptionType;
+
+    /**
+     * Fills in the event and commits it, if the event is enabled and over its threshold.
+     *
+     * @param result The value returned by the call, if any.
+     * @param error  The exception thrown by the call, if any.
+     */
+    void complete(String repository, String method, String backend, Object result, Throwable error)
+    {
+        end();
+
+        if (!shouldCommit())
+        {
+            return;
+        }
+
+        this.repository = repository;
+        this.method = method;
+        this.backend = backend;
+        this.rowCount = OperationEvents.rowCountOf(result, error);
+        this.exceptionType = error == null ? null : error.getClass().getName();
+
+        commit();
+    }
+
+}
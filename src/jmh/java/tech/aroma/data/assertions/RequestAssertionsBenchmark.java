@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.assertions;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import tech.aroma.data.AromaGenerators;
+import tech.aroma.thrift.Message;
+import tech.aroma.thrift.User;
+import tech.aroma.thrift.exceptions.InvalidArgumentException;
+import tech.sirwellington.alchemy.arguments.AlchemyAssertion;
+
+import static tech.aroma.data.assertions.RequestAssertions.*;
+import static tech.aroma.thrift.generators.UserGenerators.users;
+import static tech.sirwellington.alchemy.arguments.Arguments.checkThat;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.nonEmptyString;
+import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.validUUID;
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+
+/**
+ * Measures the argument checks on the message-ingest path: a {@link Message} and the {@link User} whose
+ * inbox it goes to, as checked by {@code saveMessage} and {@code saveMessageForUser}.
+ * <p>
+ * Three versions are compared:
+ * <ul>
+ * <li>{@code legacy}: the {@code checkThat(...)} chains that {@link RequestAssertions} used to be built from, kept here as a baseline.</li>
+ * <li>{@code checkThatChain}: the current assertions, applied with a {@code checkThat(...).throwing(...)} chain.</li>
+ * <li>{@code checkValidFastPath}: the current assertions, applied with {@link RequestAssertions#checkValid(Object, AlchemyAssertion)}.</li>
+ * </ul>
+ * Run with {@code -prof gc} to see the bytes allocated per check ({@code gc.alloc.rate.norm}).
+ *
+ * @author SirWellington
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RequestAssertionsBenchmark
+{
+
+    private static final AlchemyAssertion<String> LEGACY_VALID_ID = id ->
+    {
+        checkThat(id)
+                .usingMessage("missing id")
+                .is(nonEmptyString())
+                .usingMessage("id must be a UUID")
+                .is(validUUID());
+    };
+
+    private static final AlchemyAssertion<Message> LEGACY_VALID_MESSAGE = message ->
+    {
+        checkThat(message)
+                .usingMessage("message is missing")
+                .is(notNull());
+
+        checkThat(message.messageId)
+                .is(LEGACY_VALID_ID);
+
+        checkThat(message.title)
+                .usingMessage("message missing Title")
+                .is(nonEmptyString());
+
+        if (message.isSetApplicationId())
+        {
+            checkThat(message.applicationId)
+                    .is(LEGACY_VALID_ID);
+        }
+    };
+
+    private static final AlchemyAssertion<User> LEGACY_VALID_USER = user ->
+    {
+        checkThat(user)
+                .usingMessage("user is missing")
+                .is(notNull());
+
+        checkThat(user.userId)
+                .is(LEGACY_VALID_ID);
+    };
+
+    private Message message;
+    private User user;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        message = AromaGenerators.Messages.INSTANCE.getMessage();
+        user = one(users());
+    }
+
+    @Benchmark
+    public Message legacy() throws InvalidArgumentException
+    {
+        checkThat(message)
+                .throwing(InvalidArgumentException.class)
+                .is(LEGACY_VALID_MESSAGE);
+
+        checkThat(user)
+                .throwing(InvalidArgumentException.class)
+                .is(LEGACY_VALID_USER);
+
+        return message;
+    }
+
+    @Benchmark
+    public Message checkThatChain() throws InvalidArgumentException
+    {
+        checkThat(message)
+                .throwing(InvalidArgumentException.class)
+                .is(validMessage());
+
+        checkThat(user)
+                .throwing(InvalidArgumentException.class)
+                .is(validUser());
+
+        return message;
+    }
+
+    @Benchmark
+    public Message checkValidFastPath() throws InvalidArgumentException
+    {
+        checkValid(message, validMessage());
+        checkValid(user, validUser());
+
+        return message;
+    }
+
+    @Benchmark
+    public boolean legacyUUIDCheck()
+    {
+        try
+        {
+            LEGACY_VALID_ID.check(message.messageId);
+            return true;
+        }
+        catch (RuntimeException ex)
+        {
+            return false;
+        }
+    }
+
+    @Benchmark
+    public boolean isUUIDCheck()
+    {
+        return isUUID(message.messageId);
+    }
+
+}
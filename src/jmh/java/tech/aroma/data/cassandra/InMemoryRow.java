@@ -0,0 +1,532 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import com.datastax.driver.core.*;
+import com.google.common.reflect.TypeToken;
+
+/**
+ * Builds an in-memory Cassandra {@link Row} for benchmarking the {@link Mappers} without a cluster.
+ * <p>
+ * Like the driver's own rows, each value is held in its serialized form and decoded by its {@link TypeCodec}
+ * on every read, so the cost of mapping includes deserializing the columns. Asking for a column that is not
+ * in the row throws an {@link IllegalArgumentException}. The row has no {@link ColumnDefinitions} or
+ * {@link Token Tokens}, since the driver offers no way to create them.
+ *
+ * @author SirWellington
+ */
+final class InMemoryRow
+{
+
+    private static final ProtocolVersion PROTOCOL_VERSION = ProtocolVersion.V4;
+    private static final CodecRegistry CODECS = CodecRegistry.DEFAULT_INSTANCE;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<DataType> types = new ArrayList<>();
+    private final List<ByteBuffer> values = new ArrayList<>();
+
+    InMemoryRow uuid(String column, String value)
+    {
+        return column(column, DataType.uuid(), value == null ? null : UUID.fromString(value));
+    }
+
+    InMemoryRow string(String column, String value)
+    {
+        return column(column, DataType.text(), value);
+    }
+
+    InMemoryRow timestamp(String column, long epochMillis)
+    {
+        return column(column, DataType.timestamp(), new Date(epochMillis));
+    }
+
+    InMemoryRow integer(String column, int value)
+    {
+        return column(column, DataType.cint(), value);
+    }
+
+    InMemoryRow bytes(String column, byte[] value)
+    {
+        return column(column, DataType.blob(), value == null ? null : ByteBuffer.wrap(value));
+    }
+
+    InMemoryRow set(String column, DataType elementType, Set<?> value)
+    {
+        return column(column, DataType.set(elementType), value);
+    }
+
+    InMemoryRow list(String column, DataType elementType, List<?> value)
+    {
+        return column(column, DataType.list(elementType), value);
+    }
+
+    private InMemoryRow column(String column, DataType type, Object value)
+    {
+        names.add(column);
+        types.add(type);
+        values.add(value == null ? null : CODECS.codecFor(type).serialize(value, PROTOCOL_VERSION));
+        return this;
+    }
+
+    Row build()
+    {
+        return new SerializedRow(names, types, values);
+    }
+
+    private static final class SerializedRow implements Row
+    {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final DataType[] types;
+        private final ByteBuffer[] values;
+
+        SerializedRow(List<String> names, List<DataType> types, List<ByteBuffer> values)
+        {
+            for (int i = 0; i < names.size(); ++i)
+            {
+                indexes.put(names.get(i), i);
+            }
+
+            this.types = types.toArray(new DataType[types.size()]);
+            this.values = values.toArray(new ByteBuffer[values.size()]);
+        }
+
+        private int indexOf(String name)
+        {
+            Integer index = indexes.get(name);
+
+            if (index == null)
+            {
+                throw new IllegalArgumentException(name + " is not a column defined in this metadata");
+            }
+
+            return index;
+        }
+
+        private <T> T decode(int i, TypeCodec<T> codec)
+        {
+            ByteBuffer value = values[i];
+            return codec.deserialize(value == null ? null : value.duplicate(), PROTOCOL_VERSION);
+        }
+
+        private <T> T decode(int i, Class<T> javaType)
+        {
+            return decode(i, CODECS.codecFor(types[i], javaType));
+        }
+
+        private <T> T decode(int i, TypeToken<T> javaType)
+        {
+            return decode(i, CODECS.codecFor(types[i], javaType));
+        }
+
+        private static <T> T orDefault(T value, T defaultValue)
+        {
+            return value == null ? defaultValue : value;
+        }
+
+        @Override
+        public ColumnDefinitions getColumnDefinitions()
+        {
+            throw new UnsupportedOperationException("getColumnDefinitions");
+        }
+
+        @Override
+        public Token getToken(int i)
+        {
+            throw new UnsupportedOperationException("getToken");
+        }
+
+        @Override
+        public Token getToken(String name)
+        {
+            throw new UnsupportedOperationException("getToken");
+        }
+
+        @Override
+        public Token getPartitionKeyToken()
+        {
+            throw new UnsupportedOperationException("getPartitionKeyToken");
+        }
+
+        @Override
+        public boolean isNull(int i)
+        {
+            return values[i] == null;
+        }
+
+        @Override
+        public boolean getBool(int i)
+        {
+            return orDefault(decode(i, Boolean.class), false);
+        }
+
+        @Override
+        public byte getByte(int i)
+        {
+            return orDefault(decode(i, Byte.class), (byte) 0);
+        }
+
+        @Override
+        public short getShort(int i)
+        {
+            return orDefault(decode(i, Short.class), (short) 0);
+        }
+
+        @Override
+        public int getInt(int i)
+        {
+            return orDefault(decode(i, Integer.class), 0);
+        }
+
+        @Override
+        public long getLong(int i)
+        {
+            return orDefault(decode(i, Long.class), 0L);
+        }
+
+        @Override
+        public Date getTimestamp(int i)
+        {
+            return decode(i, Date.class);
+        }
+
+        @Override
+        public LocalDate getDate(int i)
+        {
+            return decode(i, LocalDate.class);
+        }
+
+        @Override
+        public long getTime(int i)
+        {
+            return orDefault(decode(i, Long.class), 0L);
+        }
+
+        @Override
+        public float getFloat(int i)
+        {
+            return orDefault(decode(i, Float.class), 0f);
+        }
+
+        @Override
+        public double getDouble(int i)
+        {
+            return orDefault(decode(i, Double.class), 0d);
+        }
+
+        @Override
+        public ByteBuffer getBytesUnsafe(int i)
+        {
+            return values[i] == null ? null : values[i].duplicate();
+        }
+
+        @Override
+        public ByteBuffer getBytes(int i)
+        {
+            return decode(i, ByteBuffer.class);
+        }
+
+        @Override
+        public String getString(int i)
+        {
+            return decode(i, String.class);
+        }
+
+        @Override
+        public BigInteger getVarint(int i)
+        {
+            return decode(i, BigInteger.class);
+        }
+
+        @Override
+        public BigDecimal getDecimal(int i)
+        {
+            return decode(i, BigDecimal.class);
+        }
+
+        @Override
+        public UUID getUUID(int i)
+        {
+            return decode(i, UUID.class);
+        }
+
+        @Override
+        public InetAddress getInet(int i)
+        {
+            return decode(i, InetAddress.class);
+        }
+
+        @Override
+        public <T> List<T> getList(int i, Class<T> elementsClass)
+        {
+            return getList(i, TypeToken.of(elementsClass));
+        }
+
+        @Override
+        public <T> List<T> getList(int i, TypeToken<T> elementsType)
+        {
+            return decode(i, TypeTokens.listOf(elementsType));
+        }
+
+        @Override
+        public <T> Set<T> getSet(int i, Class<T> elementsClass)
+        {
+            return getSet(i, TypeToken.of(elementsClass));
+        }
+
+        @Override
+        public <T> Set<T> getSet(int i, TypeToken<T> elementsType)
+        {
+            return decode(i, TypeTokens.setOf(elementsType));
+        }
+
+        @Override
+        public <K, V> Map<K, V> getMap(int i, Class<K> keysClass, Class<V> valuesClass)
+        {
+            return getMap(i, TypeToken.of(keysClass), TypeToken.of(valuesClass));
+        }
+
+        @Override
+        public <K, V> Map<K, V> getMap(int i, TypeToken<K> keysType, TypeToken<V> valuesType)
+        {
+            return decode(i, TypeTokens.mapOf(keysType, valuesType));
+        }
+
+        @Override
+        public UDTValue getUDTValue(int i)
+        {
+            return decode(i, UDTValue.class);
+        }
+
+        @Override
+        public TupleValue getTupleValue(int i)
+        {
+            return decode(i, TupleValue.class);
+        }
+
+        @Override
+        public Object getObject(int i)
+        {
+            return decode(i, CODECS.codecFor(types[i]));
+        }
+
+        @Override
+        public <T> T get(int i, Class<T> targetClass)
+        {
+            return decode(i, targetClass);
+        }
+
+        @Override
+        public <T> T get(int i, TypeToken<T> targetType)
+        {
+            return decode(i, targetType);
+        }
+
+        @Override
+        public <T> T get(int i, TypeCodec<T> codec)
+        {
+            return decode(i, codec);
+        }
+
+        @Override
+        public boolean isNull(String name)
+        {
+            return isNull(indexOf(name));
+        }
+
+        @Override
+        public boolean getBool(String name)
+        {
+            return getBool(indexOf(name));
+        }
+
+        @Override
+        public byte getByte(String name)
+        {
+            return getByte(indexOf(name));
+        }
+
+        @Override
+        public short getShort(String name)
+        {
+            return getShort(indexOf(name));
+        }
+
+        @Override
+        public int getInt(String name)
+        {
+            return getInt(indexOf(name));
+        }
+
+        @Override
+        public long getLong(String name)
+        {
+            return getLong(indexOf(name));
+        }
+
+        @Override
+        public Date getTimestamp(String name)
+        {
+            return getTimestamp(indexOf(name));
+        }
+
+        @Override
+        public LocalDate getDate(String name)
+        {
+            return getDate(indexOf(name));
+        }
+
+        @Override
+        public long getTime(String name)
+        {
+            return getTime(indexOf(name));
+        }
+
+        @Override
+        public float getFloat(String name)
+        {
+            return getFloat(indexOf(name));
+        }
+
+        @Override
+        public double getDouble(String name)
+        {
+            return getDouble(indexOf(name));
+        }
+
+        @Override
+        public ByteBuffer getBytesUnsafe(String name)
+        {
+            return getBytesUnsafe(indexOf(name));
+        }
+
+        @Override
+        public ByteBuffer getBytes(String name)
+        {
+            return getBytes(indexOf(name));
+        }
+
+        @Override
+        public String getString(String name)
+        {
+            return getString(indexOf(name));
+        }
+
+        @Override
+        public BigInteger getVarint(String name)
+        {
+            return getVarint(indexOf(name));
+        }
+
+        @Override
+        public BigDecimal getDecimal(String name)
+        {
+            return getDecimal(indexOf(name));
+        }
+
+        @Override
+        public UUID getUUID(String name)
+        {
+            return getUUID(indexOf(name));
+        }
+
+        @Override
+        public InetAddress getInet(String name)
+        {
+            return getInet(indexOf(name));
+        }
+
+        @Override
+        public <T> List<T> getList(String name, Class<T> elementsClass)
+        {
+            return getList(indexOf(name), elementsClass);
+        }
+
+        @Override
+        public <T> List<T> getList(String name, TypeToken<T> elementsType)
+        {
+            return getList(indexOf(name), elementsType);
+        }
+
+        @Override
+        public <T> Set<T> getSet(String name, Class<T> elementsClass)
+        {
+            return getSet(indexOf(name), elementsClass);
+        }
+
+        @Override
+        public <T> Set<T> getSet(String name, TypeToken<T> elementsType)
+        {
+            return getSet(indexOf(name), elementsType);
+        }
+
+        @Override
+        public <K, V> Map<K, V> getMap(String name, Class<K> keysClass, Class<V> valuesClass)
+        {
+            return getMap(indexOf(name), keysClass, valuesClass);
+        }
+
+        @Override
+        public <K, V> Map<K, V> getMap(String name, TypeToken<K> keysType, TypeToken<V> valuesType)
+        {
+            return getMap(indexOf(name), keysType, valuesType);
+        }
+
+        @Override
+        public UDTValue getUDTValue(String name)
+        {
+            return getUDTValue(indexOf(name));
+        }
+
+        @Override
+        public TupleValue getTupleValue(String name)
+        {
+            return getTupleValue(indexOf(name));
+        }
+
+        @Override
+        public Object getObject(String name)
+        {
+            return getObject(indexOf(name));
+        }
+
+        @Override
+        public <T> T get(String name, Class<T> targetClass)
+        {
+            return get(indexOf(name), targetClass);
+        }
+
+        @Override
+        public <T> T get(String name, TypeToken<T> targetType)
+        {
+            return get(indexOf(name), targetType);
+        }
+
+        @Override
+        public <T> T get(String name, TypeCodec<T> codec)
+        {
+            return get(indexOf(name), codec);
+        }
+    }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.datastax.driver.core.DataType;
+import com.datastax.driver.core.Row;
+import org.openjdk.jmh.annotations.*;
+import tech.aroma.data.AromaGenerators;
+import tech.aroma.thrift.*;
+import tech.aroma.thrift.authentication.AuthenticationToken;
+import tech.aroma.thrift.events.Event;
+import tech.aroma.thrift.reactions.Reaction;
+import tech.sirwellington.alchemy.thrift.ThriftObjects;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
+import static tech.aroma.thrift.generators.EventGenerators.events;
+import static tech.aroma.thrift.generators.ReactionGenerators.reactions;
+import static tech.aroma.thrift.generators.UserGenerators.users;
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.CollectionGenerators.listOf;
+
+/**
+ * Measures how quickly each of the Cassandra {@link Mappers} turns a {@link Row} into an Aroma object.
+ * <p>
+ * Each single-row operation maps one {@linkplain InMemoryRow in-memory Row}, so the throughput is in rows per second.
+ * Run with {@code -prof gc} to see the bytes allocated per row ({@code gc.alloc.rate.norm}).
+ * <p>
+ * The {@code mapEvents} operations map a whole page of Activity rows the way
+ * {@link CassandraActivityRepository#getAllEventsFor(User)} does, once through a {@code parallelStream} and once
+ * sequentially. Comparing their time per page with the latency of the query itself tells whether mapping or I/O
+ * dominates.
+ *
+ * @author SirWellington
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MappersBenchmark
+{
+
+    private final Function<Row, Application> appMapper = Mappers.appMapper();
+    private final Function<Row, Event> eventMapper = Mappers.eventMapper();
+    private final Function<Row, Image> imageMapper = Mappers.imageMapper();
+    private final Function<Row, Message> messageMapper = Mappers.messageMapper();
+    private final Function<Row, List<Reaction>> reactionsMapper = Mappers.reactionsMapper();
+    private final Function<Row, AuthenticationToken> tokenMapper = Mappers.tokenMapper();
+    private final Function<Row, User> userMapper = Mappers.userMapper();
+
+    private Row appRow;
+    private Row eventRow;
+    private Row imageRow;
+    private Row messageRow;
+    private Row reactionsRow;
+    private Row tokenRow;
+    private Row userRow;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception
+    {
+        appRow = appRow(AromaGenerators.Applications.INSTANCE.getApplication());
+        eventRow = eventRow(one(events()));
+        imageRow = imageRow(AromaGenerators.Images.INSTANCE.getIcon());
+        messageRow = messageRow(AromaGenerators.Messages.INSTANCE.getMessage());
+        reactionsRow = reactionsRow(listOf(reactions(), 5));
+        tokenRow = tokenRow(AromaGenerators.Tokens.INSTANCE.getToken());
+        userRow = userRow(one(users()));
+    }
+
+    @Benchmark
+    public Application mapApplication()
+    {
+        return appMapper.apply(appRow);
+    }
+
+    @Benchmark
+    public Event mapEvent()
+    {
+        return eventMapper.apply(eventRow);
+    }
+
+    @Benchmark
+    public Image mapImage()
+    {
+        return imageMapper.apply(imageRow);
+    }
+
+    @Benchmark
+    public Message mapMessage()
+    {
+        return messageMapper.apply(messageRow);
+    }
+
+    @Benchmark
+    public List<Reaction> mapReactions()
+    {
+        return reactionsMapper.apply(reactionsRow);
+    }
+
+    @Benchmark
+    public AuthenticationToken mapToken()
+    {
+        return tokenMapper.apply(tokenRow);
+    }
+
+    @Benchmark
+    public User mapUser()
+    {
+        return userMapper.apply(userRow);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Event> mapEventsInParallel(EventPage page)
+    {
+        return page.rows.parallelStream()
+            .map(eventMapper::apply)
+            .filter(Objects::nonNull)
+            .collect(toList());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<Event> mapEventsSequentially(EventPage page)
+    {
+        return page.rows.stream()
+            .map(eventMapper::apply)
+            .filter(Objects::nonNull)
+            .collect(toList());
+    }
+
+    /**
+     * A page of Activity rows, as returned by {@code ResultSet.all()}.
+     */
+    @State(Scope.Benchmark)
+    public static class EventPage
+    {
+
+        @Param({ "10", "100", "1000" })
+        public int size;
+
+        private List<Row> rows;
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception
+        {
+            rows = new ArrayList<>(size);
+
+            for (Event event : listOf(events(), size))
+            {
+                rows.add(eventRow(event));
+            }
+        }
+
+    }
+
+    private static Row appRow(Application app)
+    {
+        Set<UUID> owners = app.owners == null ? null : app.owners.stream().map(UUID::fromString).collect(toSet());
+
+        return new InMemoryRow()
+            .uuid(Tables.Applications.APP_ID, app.applicationId)
+            .uuid(Tables.Applications.ORG_ID, app.organizationId)
+            .string(Tables.Applications.APP_NAME, app.name)
+            .string(Tables.Applications.APP_DESCRIPTION, app.applicationDescription)
+            .uuid(Tables.Applications.ICON_MEDIA_ID, app.applicationIconMediaId)
+            .string(Tables.Applications.PROGRAMMING_LANGUAGE, nameOf(app.programmingLanguage))
+            .timestamp(Tables.Applications.TIME_PROVISIONED, app.timeOfProvisioning)
+            .timestamp(Tables.Applications.TIME_OF_TOKEN_EXPIRATION, app.timeOfTokenExpiration)
+            .string(Tables.Applications.TIER, nameOf(app.tier))
+            .set(Tables.Applications.OWNERS, DataType.uuid(), owners)
+            .build();
+    }
+
+    private static Row eventRow(Event event) throws Exception
+    {
+        return new InMemoryRow()
+            .uuid(Tables.Activity.EVENT_ID, event.eventId)
+            .uuid(Tables.Activity.APP_ID, AromaGenerators.Companion.getId())
+            .uuid(Tables.Activity.ACTOR_ID, AromaGenerators.Companion.getId())
+            .timestamp(Tables.Activity.TIME_OF_EVENT, event.timestamp)
+            .string(Tables.Activity.SERIALIZED_EVENT, ThriftObjects.toJson(event))
+            .build();
+    }
+
+    private static Row imageRow(Image image)
+    {
+        int width = image.dimension == null ? 0 : image.dimension.width;
+        int height = image.dimension == null ? 0 : image.dimension.height;
+
+        return new InMemoryRow()
+            .uuid(Tables.Media.MEDIA_ID, AromaGenerators.Companion.getId())
+            .string(Tables.Media.MEDIA_TYPE, nameOf(image.imageType))
+            .integer(Tables.Media.WIDTH, width)
+            .integer(Tables.Media.HEIGHT, height)
+            .bytes(Tables.Media.BINARY, image.getData())
+            .build();
+    }
+
+    private static Row messageRow(Message message)
+    {
+        return new InMemoryRow()
+            .uuid(Tables.Messages.MESSAGE_ID, message.messageId)
+            .uuid(Tables.Messages.APP_ID, message.applicationId)
+            .string(Tables.Messages.APP_NAME, message.applicationName)
+            .string(Tables.Messages.TITLE, message.title)
+            .string(Tables.Messages.BODY, message.body)
+            .string(Tables.Messages.DEVICE_NAME, message.deviceName)
+            .string(Tables.Messages.HOSTNAME, message.hostname)
+            .string(Tables.Messages.MAC_ADDRESS, message.macAddress)
+            .string(Tables.Messages.URGENCY, nameOf(message.urgency))
+            .timestamp(Tables.Messages.TIME_CREATED, message.timeOfCreation)
+            .timestamp(Tables.Messages.TIME_RECEIVED, message.timeMessageReceived)
+            .build();
+    }
+
+    private static Row reactionsRow(List<Reaction> reactions) throws Exception
+    {
+        List<String> serialized = new ArrayList<>(reactions.size());
+
+        for (Reaction reaction : reactions)
+        {
+            serialized.add(ThriftObjects.toJson(reaction));
+        }
+
+        return new InMemoryRow()
+            .uuid(Tables.Reactions.OWNER_ID, AromaGenerators.Companion.getId())
+            .list(Tables.Reactions.SERIALIZED_REACTIONS, DataType.text(), serialized)
+            .build();
+    }
+
+    private static Row tokenRow(AuthenticationToken token)
+    {
+        return new InMemoryRow()
+            .uuid(Tables.Tokens.TOKEN_ID, token.tokenId)
+            .uuid(Tables.Tokens.OWNER_ID, token.ownerId)
+            .uuid(Tables.Tokens.ORG_ID, token.organizationId)
+            .string(Tables.Tokens.OWNER_NAME, token.ownerName)
+            .timestamp(Tables.Tokens.TIME_OF_CREATION, token.timeOfCreation)
+            .timestamp(Tables.Tokens.TIME_OF_EXPIRATION, token.timeOfExpiration)
+            .string(Tables.Tokens.TOKEN_TYPE, nameOf(token.tokenType))
+            .string(Tables.Tokens.TOKEN_STATUS, nameOf(token.status))
+            .build();
+    }
+
+    private static Row userRow(User user)
+    {
+        Set<String> roles = user.roles == null ? null : user.roles.stream().map(Role::name).collect(toSet());
+
+        return new InMemoryRow()
+            .uuid(Tables.Users.USER_ID, user.userId)
+            .string(Tables.Users.FIRST_NAME, user.firstName)
+            .string(Tables.Users.MIDDLE_NAME, user.middleName)
+            .string(Tables.Users.LAST_NAME, user.lastName)
+            .string(Tables.Users.EMAIL, user.email)
+            .set(Tables.Users.ROLES, DataType.text(), roles)
+            .timestamp(Tables.Users.BIRTH_DATE, user.birthdate)
+            .string(Tables.Users.PROFILE_IMAGE_ID, user.profileImageLink)
+            .string(Tables.Users.GITHUB_PROFILE, user.githubProfile)
+            .timestamp(Tables.Users.TIME_ACCOUNT_CREATED, user.timeUserJoined)
+            .build();
+    }
+
+    private static String nameOf(Enum<?> value)
+    {
+        return value == null ? null : value.name();
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.load;
+
+import java.io.BufferedInputStream;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.aroma.data.performance.CallLogReader;
+import tech.aroma.data.performance.CallRecorder;
+import tech.aroma.data.performance.RecordedCall;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.greaterThanOrEqualTo;
+import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.nonEmptyString;
+
+/**
+ * Replays a log written by the {@link CallRecorder} against the Repositories bound by any set of Guice Modules, and
+ * prints the latency and throughput of each Repository method.
+ * <p>
+ * Calls are started in the order they were recorded. At {@code aroma.replay.speed=1} each call starts at the same
+ * offset from the beginning as it did in production, and at {@code 10} ten times sooner; as with the
+ * {@link LoadGenerator}, latencies are measured from that scheduled start. At {@code 0} calls are replayed as fast as
+ * {@code aroma.load.threads} threads allow, and latencies are measured from when each call was handed to a thread.
+ * <p>
+ * The Modules and threads are set as for the {@link LoadGenerator}. Run with:
+ * <pre>
+ * mvn -P benchmarks -DskipTests verify -Djmh.main=tech.aroma.data.load.CallReplayer \
+ *     -Daroma.replay.file=/tmp/calls.log -Daroma.replay.speed=4 -Daroma.load.modules=...
+ * </pre>
+ *
+ * @author SirWellington
+ */
+public final class CallReplayer
+{
+
+    private final static Logger LOG = LoggerFactory.getLogger(CallReplayer.class);
+
+    private final Injector injector;
+    private final double speed;
+    private final int threads;
+
+    private final Map<Class<?>, Object> repositories = new ConcurrentHashMap<>();
+    private final Set<String> failing = ConcurrentHashMap.newKeySet();
+    private final LoadReport report = new LoadReport();
+
+    CallReplayer(Injector injector, double speed, int threads)
+    {
+        checkThat(speed)
+            .usingMessage("aroma.replay.speed cannot be negative")
+            .is(greaterThanOrEqualTo(0.0));
+
+        this.injector = injector;
+        this.speed = speed;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        String file = System.getProperty("aroma.replay.file", "");
+        double speed = Double.parseDouble(System.getProperty("aroma.replay.speed", "1.0"));
+
+        checkThat(file)
+            .usingMessage("aroma.replay.file is required")
+            .is(nonEmptyString());
+
+        LoadSettings settings = new LoadSettings();
+        Injector injector = Guice.createInjector(LoadGenerator.modules(settings.modules));
+
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(Paths.get(file)), 64 * 1024);
+             CallLogReader log = new CallLogReader(in))
+        {
+            LOG.info("Replaying calls recorded at {} from {} at {}x", log.getStartTime(), file, speed);
+
+            CallReplayer replayer = new CallReplayer(injector, speed, settings.threads);
+            long elapsed = replayer.replay(log);
+            String description = "Replay of " + file + " at " + (speed == 0 ? "full" : speed + "x") + " speed against " + settings.modules;
+
+            replayer.report.print(System.out, description, elapsed);
+        }
+
+        //Database drivers may leave non-daemon threads behind.
+        System.exit(0);
+    }
+
+    /**
+     * @return How long the replay took, in nanoseconds.
+     */
+    long replay(CallLogReader log) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Semaphore inFlight = new Semaphore(threads * 4);
+
+        long start = System.nanoTime();
+        RecordedCall call;
+
+        while ((call = log.next()) != null)
+        {
+            long scheduledStart;
+
+            if (speed == 0)
+            {
+                inFlight.acquire();
+                scheduledStart = System.nanoTime();
+            }
+            else
+            {
+                scheduledStart = start + (long) (call.getOffsetNanos() / speed);
+                long wait;
+
+                while ((wait = scheduledStart - System.nanoTime()) > 0)
+                {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+
+            RecordedCall next = call;
+            executor.execute(() ->
+            {
+                try
+                {
+                    execute(next, scheduledStart);
+                }
+                finally
+                {
+                    if (speed == 0)
+                    {
+                        inFlight.release();
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        return System.nanoTime() - start;
+    }
+
+    private void execute(RecordedCall call, long scheduledStart)
+    {
+        Method method = call.getMethod();
+        String operation = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        boolean failed = false;
+
+        try
+        {
+            method.invoke(repositoryFor(method.getDeclaringClass()), call.getArguments());
+        }
+        catch (InvocationTargetException ex)
+        {
+            //Calls that failed in production may fail here too, so these are only counted.
+            failed = true;
+        }
+        catch (Exception ex)
+        {
+            failed = true;
+
+            if (failing.add(operation))
+            {
+                LOG.warn("Could not replay {}. Further failures are only counted.", operation, ex);
+            }
+        }
+
+        report.record(operation, System.nanoTime() - scheduledStart, failed);
+    }
+
+    private Object repositoryFor(Class<?> repositoryType)
+    {
+        return repositories.computeIfAbsent(repositoryType, injector::getInstance);
+    }
+
+}
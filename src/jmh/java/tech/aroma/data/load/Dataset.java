@@ -0,0 +1,262 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.load;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.thrift.TException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.aroma.data.AromaGenerators;
+import tech.aroma.thrift.*;
+import tech.aroma.thrift.authentication.AuthenticationToken;
+
+import static tech.aroma.thrift.generators.UserGenerators.users;
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+
+/**
+ * The users, applications, followings, tokens, media and messages that the load runs against.
+ * <p>
+ * Every ID is derived from its index, so the same settings produce the same dataset on every backend, and an
+ * operation can pick any item without holding millions of IDs in memory. The rest of each object is copied from a
+ * small pool of {@link AromaGenerators generated} prototypes.
+ *
+ * @author SirWellington
+ */
+final class Dataset
+{
+
+    private final static Logger LOG = LoggerFactory.getLogger(Dataset.class);
+
+    static final LengthOfTime LIFETIME = new LengthOfTime(tech.aroma.thrift.TimeUnit.DAYS, 7);
+
+    private static final long USER = 0x5553L;
+    private static final long APPLICATION = 0x4150L;
+    private static final long TOKEN = 0x544BL;
+    private static final long MEDIA = 0x4D44L;
+    private static final long MESSAGE = 0x4D53L;
+
+    private static final int PROTOTYPES = 100;
+    private static final int SEED_BATCH_SIZE = 1_000;
+
+    final int users;
+    final int applications;
+    final int followsPerUser;
+    final int media;
+    final int messages;
+
+    private final List<User> userPrototypes = new ArrayList<>(PROTOTYPES);
+    private final List<Message> messagePrototypes = new ArrayList<>(PROTOTYPES);
+    private final List<Image> imagePrototypes = new ArrayList<>(PROTOTYPES);
+    private final AuthenticationToken tokenPrototype = AromaGenerators.Tokens.INSTANCE.getToken();
+
+    private final AtomicLong nextMessage;
+
+    Dataset(LoadSettings settings)
+    {
+        this.users = settings.users;
+        this.applications = settings.applications;
+        this.followsPerUser = settings.followsPerUser;
+        this.media = settings.media;
+        this.messages = settings.messages;
+        this.nextMessage = new AtomicLong(messages);
+
+        for (int i = 0; i < PROTOTYPES; ++i)
+        {
+            User user = one(users());
+            user.unsetGithubProfile();
+            userPrototypes.add(user);
+
+            messagePrototypes.add(AromaGenerators.Messages.INSTANCE.getMessage());
+            imagePrototypes.add(AromaGenerators.Images.INSTANCE.getIcon());
+        }
+    }
+
+    //==========================================================
+    // IDS
+    //==========================================================
+
+    static String userId(long index)
+    {
+        return new UUID(USER, index).toString();
+    }
+
+    static String applicationId(long index)
+    {
+        return new UUID(APPLICATION, index).toString();
+    }
+
+    static String tokenId(long index)
+    {
+        return new UUID(TOKEN, index).toString();
+    }
+
+    static String mediaId(long index)
+    {
+        return new UUID(MEDIA, index).toString();
+    }
+
+    static String messageId(long index)
+    {
+        return new UUID(MESSAGE, index).toString();
+    }
+
+    /**
+     * @return The index of the {@code follow}th application that the user follows.
+     */
+    int followedApplication(int user, int follow)
+    {
+        int spacing = applications / Math.max(1, followsPerUser);
+        return (int) ((user + (long) follow * spacing) % applications);
+    }
+
+    //==========================================================
+    // OBJECTS
+    //==========================================================
+
+    User user(int index)
+    {
+        return userPrototypes.get(index % PROTOTYPES)
+            .deepCopy()
+            .setUserId(userId(index))
+            .setEmail("user-" + index + "@aroma.tech");
+    }
+
+    Application application(int index)
+    {
+        Set<String> owners = new HashSet<>();
+        owners.add(userId(index % users));
+
+        return new Application()
+            .setApplicationId(applicationId(index))
+            .setName("Application " + index)
+            .setOwners(owners)
+            .setTimeOfProvisioning(System.currentTimeMillis());
+    }
+
+    AuthenticationToken token(int userIndex)
+    {
+        return tokenPrototype.deepCopy()
+            .setTokenId(tokenId(userIndex))
+            .setOwnerId(userId(userIndex))
+            .setTimeOfExpiration(System.currentTimeMillis() + TimeUnit.DAYS.toMillis(7));
+    }
+
+    Image image(int index)
+    {
+        return imagePrototypes.get(index % PROTOTYPES);
+    }
+
+    Message message(long index, int application)
+    {
+        return messagePrototypes.get((int) (index % PROTOTYPES))
+            .deepCopy()
+            .setMessageId(messageId(index))
+            .setApplicationId(applicationId(application))
+            .setApplicationName("Application " + application)
+            .setTimeOfCreation(System.currentTimeMillis());
+    }
+
+    /**
+     * @return A message that has not been stored before.
+     */
+    Message newMessage(int application)
+    {
+        return message(nextMessage.getAndIncrement(), application);
+    }
+
+    //==========================================================
+    // SEEDING
+    //==========================================================
+
+    /**
+     * Stores the dataset through the Repositories, using the given number of threads.
+     */
+    void seed(Repositories repositories, int threads) throws InterruptedException
+    {
+        seed("applications", applications, threads, i -> repositories.applications.saveApplication(application(i)));
+
+        seed("users", users, threads, i ->
+        {
+            User user = user(i);
+            repositories.users.saveUser(user);
+            repositories.tokens.saveToken(token(i));
+
+            for (int follow = 0; follow < followsPerUser; ++follow)
+            {
+                repositories.followers.saveFollowing(user, application(followedApplication(i, follow)));
+            }
+        });
+
+        seed("media", media, threads, i -> repositories.media.saveMedia(mediaId(i), image(i)));
+
+        seed("messages", messages, threads, i -> repositories.messages.saveMessage(message(i, i % applications), LIFETIME));
+    }
+
+    private static void seed(String name, int count, int threads, Seeder seeder) throws InterruptedException
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        LongAdder failures = new LongAdder();
+        long start = System.nanoTime();
+
+        for (int batch = 0; batch < count; batch += SEED_BATCH_SIZE)
+        {
+            int from = batch;
+            int to = Math.min(count, batch + SEED_BATCH_SIZE);
+
+            executor.execute(() ->
+            {
+                for (int i = from; i < to; ++i)
+                {
+                    try
+                    {
+                        seeder.seed(i);
+                    }
+                    catch (Exception ex)
+                    {
+                        if (failures.sum() == 0)
+                        {
+                            LOG.warn("Failed to seed {} #{}", name, i, ex);
+                        }
+
+                        failures.increment();
+                    }
+                }
+            });
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        LOG.info("Seeded {} {} in {} ms with {} failures",
+                 count,
+                 name,
+                 TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                 failures.sum());
+    }
+
+    @FunctionalInterface
+    private interface Seeder
+    {
+        void seed(int index) throws TException;
+    }
+
+}
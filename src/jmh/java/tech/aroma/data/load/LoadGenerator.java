@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.load;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.inject.Guice;
+import com.google.inject.Module;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives a mix of {@linkplain LoadOperation operations} against the Repositories bound by any set of Guice Modules,
+ * and prints the latency and throughput of each operation.
+ * <p>
+ * The load is open-loop: operations are started at a fixed {@linkplain LoadSettings#rate rate}, whether or not
+ * earlier ones have completed, and each latency is measured from its scheduled start. A slow backend therefore shows
+ * up as higher latencies, rather than as a lower request rate that hides them (coordinated omission).
+ * <p>
+ * Settings are read from {@code aroma.load.*} System Properties; see {@link LoadSettings}. Run with:
+ * <pre>
+ * mvn -P benchmarks -DskipTests verify -Djmh.main=tech.aroma.data.load.LoadGenerator \
+ *     -Daroma.load.modules=tech.aroma.data.memory.ModuleMemoryDataRepositories -Daroma.load.rate=5000
+ * </pre>
+ *
+ * @author SirWellington
+ */
+public final class LoadGenerator
+{
+
+    private final static Logger LOG = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final LoadSettings settings;
+    private final Repositories repositories;
+    private final Dataset dataset;
+    private final LoadReport report = new LoadReport();
+
+    private final LoadOperation[] operations;
+    private final int[] cumulativeWeights;
+
+    private final Set<LoadOperation> failing = ConcurrentHashMap.newKeySet();
+
+    LoadGenerator(LoadSettings settings, Repositories repositories, Dataset dataset)
+    {
+        this.settings = settings;
+        this.repositories = repositories;
+        this.dataset = dataset;
+
+        this.operations = settings.mix.keySet().toArray(new LoadOperation[0]);
+        this.cumulativeWeights = new int[operations.length];
+
+        int total = 0;
+        for (int i = 0; i < operations.length; ++i)
+        {
+            total += settings.mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        LoadSettings settings = new LoadSettings();
+        LOG.info("Starting load run: {}", settings);
+
+        Repositories repositories = Guice.createInjector(modules(settings.modules)).getInstance(Repositories.class);
+        Dataset dataset = new Dataset(settings);
+
+        if (settings.seed)
+        {
+            dataset.seed(repositories, settings.threads);
+        }
+
+        new LoadGenerator(settings, repositories, dataset).run();
+
+        //Database drivers may leave non-daemon threads behind.
+        System.exit(0);
+    }
+
+    static List<Module> modules(List<String> names) throws ReflectiveOperationException
+    {
+        List<Module> modules = new ArrayList<>();
+
+        for (String name : names)
+        {
+            modules.add(Class.forName(name).asSubclass(Module.class).getDeclaredConstructor().newInstance());
+        }
+
+        return modules;
+    }
+
+    void run() throws InterruptedException
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(settings.threads);
+        SplittableRandom random = new SplittableRandom(settings.randomSeed);
+
+        long totalNanos = settings.warmupNanos + settings.durationNanos;
+        long start = System.nanoTime();
+
+        for (long i = 0; ; ++i)
+        {
+            long offset = (long) (i * NANOS_PER_SECOND / settings.rate);
+
+            if (offset >= totalNanos)
+            {
+                break;
+            }
+
+            long scheduledStart = start + offset;
+            long wait;
+
+            while ((wait = scheduledStart - System.nanoTime()) > 0)
+            {
+                LockSupport.parkNanos(wait);
+            }
+
+            LoadOperation operation = pick(random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]));
+            long key = random.nextLong();
+            boolean measured = offset >= settings.warmupNanos;
+
+            executor.execute(() -> execute(operation, key, scheduledStart, measured));
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+
+        long measuredNanos = System.nanoTime() - (start + settings.warmupNanos);
+        report.print(System.out, settings.toString(), measuredNanos);
+    }
+
+    private LoadOperation pick(int weight)
+    {
+        for (int i = 0; i < cumulativeWeights.length; ++i)
+        {
+            if (weight < cumulativeWeights[i])
+            {
+                return operations[i];
+            }
+        }
+
+        return operations[operations.length - 1];
+    }
+
+    private void execute(LoadOperation operation, long key, long scheduledStart, boolean measured)
+    {
+        boolean failed = false;
+
+        try
+        {
+            operation.execute(repositories, dataset, key);
+        }
+        catch (Exception ex)
+        {
+            failed = true;
+
+            if (failing.add(operation))
+            {
+                LOG.warn("{} failed. Further failures are only counted.", operation, ex);
+            }
+        }
+
+        if (measured)
+        {
+            report.record(operation.name(), System.nanoTime() - scheduledStart, failed);
+        }
+    }
+
+}
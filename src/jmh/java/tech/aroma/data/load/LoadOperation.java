@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.load;
+
+import java.util.List;
+
+import org.apache.thrift.TException;
+import tech.aroma.thrift.Message;
+import tech.aroma.thrift.User;
+
+/**
+ * The operations that make up production traffic.
+ * <p>
+ * Each operation is given a random {@code key}, from which it picks the users, applications and media that it works
+ * on, so that a run with the same seed issues the same operations.
+ *
+ * @author SirWellington
+ */
+enum LoadOperation
+{
+
+    /**
+     * A new message is stored for an application.
+     */
+    INGEST
+    {
+        @Override
+        void execute(Repositories repositories, Dataset dataset, long key) throws TException
+        {
+            repositories.messages.saveMessage(dataset.newMessage(pick(key, dataset.applications)), Dataset.LIFETIME);
+        }
+    },
+
+    /**
+     * A new message is delivered to the inbox of each of the application's followers.
+     */
+    FAN_OUT
+    {
+        @Override
+        void execute(Repositories repositories, Dataset dataset, long key) throws TException
+        {
+            int application = pick(key, dataset.applications);
+            Message message = dataset.newMessage(application);
+            List<User> followers = repositories.followers.getApplicationFollowers(Dataset.applicationId(application));
+
+            for (User follower : followers)
+            {
+                repositories.inbox.saveMessageForUser(follower, message, Dataset.LIFETIME);
+            }
+        }
+    },
+
+    /**
+     * A user's token is looked up, as on every authenticated request.
+     */
+    TOKEN_CHECK
+    {
+        @Override
+        void execute(Repositories repositories, Dataset dataset, long key) throws TException
+        {
+            repositories.tokens.getToken(Dataset.tokenId(pick(key, dataset.users)));
+        }
+    },
+
+    /**
+     * The applications that a user follows are listed.
+     */
+    FOLLOWER_LOOKUP
+    {
+        @Override
+        void execute(Repositories repositories, Dataset dataset, long key) throws TException
+        {
+            repositories.followers.getApplicationsFollowedBy(Dataset.userId(pick(key, dataset.users)));
+        }
+    },
+
+    /**
+     * An application icon or profile image is read.
+     */
+    MEDIA_READ
+    {
+        @Override
+        void execute(Repositories repositories, Dataset dataset, long key) throws TException
+        {
+            repositories.media.getMedia(Dataset.mediaId(pick(key, dataset.media)));
+        }
+    };
+
+    static final String DEFAULT_MIX = "INGEST=30,FAN_OUT=5,TOKEN_CHECK=40,FOLLOWER_LOOKUP=15,MEDIA_READ=10";
+
+    abstract void execute(Repositories repositories, Dataset dataset, long key) throws TException;
+
+    private static int pick(long key, int count)
+    {
+        return (int) Math.floorMod(key, (long) count);
+    }
+
+}
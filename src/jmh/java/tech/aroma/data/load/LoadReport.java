@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.load;
+
+import java.io.PrintStream;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import tech.aroma.data.performance.LatencyHistogram;
+import tech.aroma.data.performance.LatencySnapshot;
+
+/**
+ * The latency and throughput of each operation during the measured part of a run.
+ * <p>
+ * Latencies are measured from the moment each operation was <i>scheduled</i> to start, not from when a thread got to
+ * it, so time spent waiting behind a slow backend is included instead of hidden.
+ *
+ * @author SirWellington
+ */
+final class LoadReport
+{
+
+    private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, LongAdder> errors = new ConcurrentSkipListMap<>();
+
+    void record(String operation, long latencyNanos, boolean failed)
+    {
+        latencies.computeIfAbsent(operation, key -> new LatencyHistogram()).record(latencyNanos);
+
+        LongAdder operationErrors = errors.computeIfAbsent(operation, key -> new LongAdder());
+
+        if (failed)
+        {
+            operationErrors.increment();
+        }
+    }
+
+    /**
+     * @param description   Describes the run, for example its settings.
+     * @param measuredNanos How long the measured part of the run took, including draining operations still in flight.
+     */
+    void print(PrintStream out, String description, long measuredNanos)
+    {
+        double seconds = measuredNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        long totalCount = 0;
+        long totalErrors = 0;
+
+        int width = "operation".length();
+        for (String operation : latencies.keySet())
+        {
+            width = Math.max(width, operation.length());
+        }
+
+        String nameColumn = "%-" + width + "s";
+
+        out.println();
+        out.println(description);
+        out.println();
+        out.printf(nameColumn + " %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                   "operation", "count", "errors", "ops/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        for (String operation : latencies.keySet())
+        {
+            LatencySnapshot snapshot = latencies.get(operation).snapshot();
+            long count = snapshot.getCount();
+            long operationErrors = errors.get(operation).sum();
+
+            totalCount += count;
+            totalErrors += operationErrors;
+
+            out.printf(nameColumn + " %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                       operation,
+                       count,
+                       operationErrors,
+                       count / seconds,
+                       millis(snapshot.getP50Nanos()),
+                       millis(snapshot.getP90Nanos()),
+                       millis(snapshot.getP99Nanos()),
+                       millis(snapshot.getP999Nanos()),
+                       millis(snapshot.getMaxNanos()));
+        }
+
+        out.printf(nameColumn + " %10d %8d %10.1f%n", "total", totalCount, totalErrors, totalCount / seconds);
+    }
+
+    private static double millis(long nanos)
+    {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.load;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.BooleanAssertions.trueStatement;
+import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.*;
+
+/**
+ * The settings of a load run, read from {@code aroma.load.*} System Properties so that the same run can be repeated
+ * against another backend or release.
+ * <p>
+ * The dataset defaults match production scale: 200,000 users, 1,000 applications and 2,000,000 messages.
+ *
+ * @author SirWellington
+ */
+final class LoadSettings
+{
+
+    /**
+     * The Guice Modules that bind the Repositories, comma separated. For SQL and Cassandra, also list the Module
+     * that binds the {@code DataSource} or {@code Session}.
+     */
+    final List<String> modules = list(System.getProperty("aroma.load.modules", "tech.aroma.data.memory.ModuleMemoryDataRepositories"));
+
+    /**
+     * Operations started per second, regardless of how quickly earlier ones complete.
+     */
+    final int rate = Integer.getInteger("aroma.load.rate", 1_000);
+
+    final long warmupNanos = TimeUnit.SECONDS.toNanos(Long.getLong("aroma.load.warmupSeconds", 10));
+    final long durationNanos = TimeUnit.SECONDS.toNanos(Long.getLong("aroma.load.durationSeconds", 60));
+
+    /**
+     * The threads that execute operations. In-flight operations beyond this are queued, and the time spent queued is
+     * part of their latency.
+     */
+    final int threads = Integer.getInteger("aroma.load.threads", 64);
+
+    final long randomSeed = Long.getLong("aroma.load.randomSeed", 42);
+
+    final boolean seed = Boolean.parseBoolean(System.getProperty("aroma.load.seed", "true"));
+    final int users = Integer.getInteger("aroma.load.users", 200_000);
+    final int applications = Integer.getInteger("aroma.load.applications", 1_000);
+    final int followsPerUser = Integer.getInteger("aroma.load.followsPerUser", 2);
+    final int messages = Integer.getInteger("aroma.load.messages", 2_000_000);
+    final int media = Integer.getInteger("aroma.load.media", 1_000);
+
+    /**
+     * The relative weight of each {@link LoadOperation}, for example {@code INGEST=30,TOKEN_CHECK=40}.
+     */
+    final Map<LoadOperation, Integer> mix = mix(System.getProperty("aroma.load.mix", LoadOperation.DEFAULT_MIX));
+
+    LoadSettings()
+    {
+        checkThat(rate, threads, users, applications, messages, media)
+            .usingMessage("aroma.load settings must be positive")
+            .are(greaterThan(0));
+
+        checkThat(followsPerUser >= 0 && followsPerUser <= applications)
+            .usingMessage("aroma.load.followsPerUser must be between 0 and aroma.load.applications")
+            .is(trueStatement());
+
+        checkThat(!mix.isEmpty())
+            .usingMessage("aroma.load.mix has no operations")
+            .is(trueStatement());
+    }
+
+    private static List<String> list(String value)
+    {
+        List<String> result = new ArrayList<>();
+
+        for (String item : value.split(","))
+        {
+            if (!item.trim().isEmpty())
+            {
+                result.add(item.trim());
+            }
+        }
+
+        return result;
+    }
+
+    static Map<LoadOperation, Integer> mix(String value)
+    {
+        Map<LoadOperation, Integer> result = new EnumMap<>(LoadOperation.class);
+
+        for (String entry : list(value))
+        {
+            String[] parts = entry.split("=");
+
+            checkThat(parts.length == 2)
+                .usingMessage("Expecting OPERATION=weight, but got: " + entry)
+                .is(trueStatement());
+
+            LoadOperation operation = LoadOperation.valueOf(parts[0].trim().toUpperCase());
+            int weight = Integer.parseInt(parts[1].trim());
+
+            checkThat(weight)
+                .usingMessage("weight must not be negative: " + entry)
+                .is(greaterThanOrEqualTo(0));
+
+            if (weight > 0)
+            {
+                result.put(operation, weight);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LoadSettings{" + "modules=" + modules + ", rate=" + rate +
+               ", warmupSeconds=" + TimeUnit.NANOSECONDS.toSeconds(warmupNanos) +
+               ", durationSeconds=" + TimeUnit.NANOSECONDS.toSeconds(durationNanos) +
+               ", threads=" + threads + ", randomSeed=" + randomSeed + ", seed=" + seed + ", users=" + users +
+               ", applications=" + applications + ", followsPerUser=" + followsPerUser + ", messages=" + messages +
+               ", media=" + media + ", mix=" + mix + '}';
+    }
+
+}
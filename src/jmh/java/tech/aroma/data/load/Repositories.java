@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.load;
+
+import javax.inject.Inject;
+
+import tech.aroma.data.*;
+
+/**
+ * The Repositories that the load is driven against, as bound by the Modules under test.
+ *
+ * @author SirWellington
+ */
+final class Repositories
+{
+
+    final ApplicationRepository applications;
+    final FollowerRepository followers;
+    final InboxRepository inbox;
+    final MediaRepository media;
+    final MessageRepository messages;
+    final TokenRepository tokens;
+    final UserRepository users;
+
+    @Inject
+    Repositories(ApplicationRepository applications,
+                 FollowerRepository followers,
+                 InboxRepository inbox,
+                 MediaRepository media,
+                 MessageRepository messages,
+                 TokenRepository tokens,
+                 UserRepository users)
+    {
+        this.applications = applications;
+        this.followers = followers;
+        this.inbox = inbox;
+        this.media = media;
+        this.messages = messages;
+        this.tokens = tokens;
+        this.users = users;
+    }
+
+}
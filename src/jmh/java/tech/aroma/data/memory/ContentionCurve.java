@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.memory;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the {@link MemoryRepositoryContentionBenchmark} at 1, 2, 4 ... up to the number of available processors, and
+ * prints the throughput of each Repository and read/write mix at every thread count.
+ * <p>
+ * Arguments that name a Repository, for example {@code Inbox Token}, limit the run to those Repositories;
+ * without any, every Repository is run. Run with:
+ * <pre>
+ * mvn -P benchmarks -DskipTests verify -Djmh.main=tech.aroma.data.memory.ContentionCurve -Djmh.args="Inbox Token"
+ * </pre>
+ *
+ * @author SirWellington
+ */
+public final class ContentionCurve
+{
+
+    public static void main(String[] args) throws Exception
+    {
+        List<String> repositories = Arrays.stream(args)
+            .filter(ContentionWorkload.REPOSITORIES::contains)
+            .collect(Collectors.toList());
+
+        if (repositories.isEmpty())
+        {
+            repositories = ContentionWorkload.REPOSITORIES;
+        }
+
+        List<Integer> threadCounts = threadCounts(Runtime.getRuntime().availableProcessors());
+
+        //repository/readPercent -> threads -> operations per second
+        Map<String, Map<Integer, Double>> curve = new TreeMap<>();
+
+        for (int threads : threadCounts)
+        {
+            Options options = new OptionsBuilder()
+                .include(MemoryRepositoryContentionBenchmark.class.getSimpleName())
+                .param("repository", repositories.toArray(new String[0]))
+                .threads(threads)
+                .build();
+
+            for (RunResult result : new Runner(options).run())
+            {
+                String name = result.getParams().getParam("repository") + "/" +
+                              result.getParams().getParam("readPercent") + "% reads";
+
+                curve.computeIfAbsent(name, key -> new TreeMap<>())
+                    .put(threads, result.getPrimaryResult().getScore());
+            }
+        }
+
+        print(curve, threadCounts);
+    }
+
+    static List<Integer> threadCounts(int processors)
+    {
+        List<Integer> counts = new ArrayList<>();
+
+        for (int threads = 1; threads < processors; threads *= 2)
+        {
+            counts.add(threads);
+        }
+
+        counts.add(processors);
+        return counts;
+    }
+
+    private static void print(Map<String, Map<Integer, Double>> curve, List<Integer> threadCounts)
+    {
+        StringBuilder header = new StringBuilder(String.format("%-32s", "ops/s by threads"));
+        threadCounts.forEach(threads -> header.append(String.format("%14d", threads)));
+
+        System.out.println();
+        System.out.println(header);
+
+        curve.forEach((name, scores) ->
+        {
+            StringBuilder row = new StringBuilder(String.format("%-32s", name));
+            threadCounts.forEach(threads -> row.append(String.format("%14.0f", scores.getOrDefault(threads, 0.0))));
+            System.out.println(row);
+        });
+    }
+
+}
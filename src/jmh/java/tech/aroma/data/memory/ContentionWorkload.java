@@ -0,0 +1,607 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.memory;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.thrift.TException;
+import tech.aroma.data.AromaGenerators;
+import tech.aroma.thrift.*;
+import tech.aroma.thrift.authentication.AuthenticationToken;
+import tech.aroma.thrift.channels.AndroidDevice;
+import tech.aroma.thrift.channels.MobileDevice;
+import tech.aroma.thrift.events.Event;
+import tech.aroma.thrift.exceptions.DoesNotExistException;
+import tech.aroma.thrift.reactions.Reaction;
+
+import static tech.aroma.thrift.generators.ReactionGenerators.reactions;
+import static tech.sirwellington.alchemy.generator.CollectionGenerators.listOf;
+
+/**
+ * A read/write mix against one of the Memory Repositories, shared by every benchmark thread.
+ * <p>
+ * Each write stores exactly one new item under one of {@value #KEYS} hot keys, so threads collide on the same
+ * users, applications and organizations the way production traffic does. Once the threads stop,
+ * {@link #countStored()} looks every item back up, and any difference from {@link #getCompletedWrites()} is an
+ * update that was lost to a race.
+ *
+ * @author SirWellington
+ */
+abstract class ContentionWorkload
+{
+
+    static final int KEYS = 16;
+
+    static final LengthOfTime LIFETIME = new LengthOfTime(TimeUnit.DAYS, 1);
+
+    static final List<String> REPOSITORIES = Collections.unmodifiableList(Arrays.asList("Activity",
+                                                                                        "Application",
+                                                                                        "Credentials",
+                                                                                        "Follower",
+                                                                                        "Inbox",
+                                                                                        "Media",
+                                                                                        "Message",
+                                                                                        "Organization",
+                                                                                        "Reaction",
+                                                                                        "Token",
+                                                                                        "User",
+                                                                                        "UserPreferences"));
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder completedWrites = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    final String[] keys = new String[KEYS];
+
+    ContentionWorkload()
+    {
+        for (int i = 0; i < KEYS; ++i)
+        {
+            keys[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    /**
+     * @param repository One of {@link #REPOSITORIES}.
+     *
+     * @return A workload against a new, empty instance of the Repository.
+     */
+    static ContentionWorkload forRepository(String repository) throws TException
+    {
+        switch (repository)
+        {
+            case "Activity":
+                return new Activity();
+            case "Application":
+                return new Applications();
+            case "Credentials":
+                return new Credentials();
+            case "Follower":
+                return new Followers();
+            case "Inbox":
+                return new Inbox();
+            case "Media":
+                return new Media();
+            case "Message":
+                return new Messages();
+            case "Organization":
+                return new Organizations();
+            case "Reaction":
+                return new Reactions();
+            case "Token":
+                return new Tokens();
+            case "User":
+                return new Users();
+            case "UserPreferences":
+                return new UserPreferences();
+            default:
+                throw new IllegalArgumentException("Unknown Repository: " + repository);
+        }
+    }
+
+    final void read(ThreadLocalRandom random)
+    {
+        try
+        {
+            read(random, keys[random.nextInt(KEYS)]);
+        }
+        catch (DoesNotExistException ex)
+        {
+            //Reading an item that has not been written yet is a normal miss.
+        }
+        catch (Exception ex)
+        {
+            errors.increment();
+        }
+    }
+
+    final void write(ThreadLocalRandom random)
+    {
+        long id = sequence.getAndIncrement();
+
+        try
+        {
+            write(id, keys[random.nextInt(KEYS)]);
+            completedWrites.increment();
+        }
+        catch (Exception ex)
+        {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Reads from the Repository under the given hot key.
+     */
+    abstract void read(ThreadLocalRandom random, String key) throws TException;
+
+    /**
+     * Stores the item with the given sequence number under the given hot key.
+     */
+    abstract void write(long sequence, String key) throws TException;
+
+    /**
+     * Must only be called once every thread has stopped.
+     *
+     * @return The number of written items that the Repository still holds.
+     */
+    abstract long countStored() throws TException;
+
+    long getCompletedWrites()
+    {
+        return completedWrites.sum();
+    }
+
+    long getErrors()
+    {
+        return errors.sum();
+    }
+
+    long getAttemptedWrites()
+    {
+        return sequence.get();
+    }
+
+    /**
+     * @return A random sequence number that has already been handed out to a writer, or 0 if there are none yet.
+     */
+    long anyWrittenSequence(ThreadLocalRandom random)
+    {
+        long written = sequence.get();
+        return written == 0 ? 0 : random.nextLong(written);
+    }
+
+    static String idOf(long sequence)
+    {
+        return new UUID(0xA40AL, sequence).toString();
+    }
+
+    long countIds(IdCheck check) throws TException
+    {
+        long stored = 0;
+        long attempted = getAttemptedWrites();
+
+        for (long i = 0; i < attempted; ++i)
+        {
+            if (check.isStored(i))
+            {
+                ++stored;
+            }
+        }
+
+        return stored;
+    }
+
+    long sumOverKeys(KeyCount count) throws TException
+    {
+        long stored = 0;
+
+        for (String key : keys)
+        {
+            stored += count.countFor(key);
+        }
+
+        return stored;
+    }
+
+    @FunctionalInterface
+    interface IdCheck
+    {
+        boolean isStored(long sequence) throws TException;
+    }
+
+    @FunctionalInterface
+    interface KeyCount
+    {
+        long countFor(String key) throws TException;
+    }
+
+    static User user(String userId)
+    {
+        return new User().setUserId(userId).setFirstName("Aroma").setEmail(userId + "@aroma.tech");
+    }
+
+    static Application application(String appId, String owner)
+    {
+        return new Application()
+            .setApplicationId(appId)
+            .setName("App " + appId)
+            .setOwners(new HashSet<>(Collections.singleton(owner)))
+            .setOrganizationId(owner);
+    }
+
+    static Message message(String messageId, String appId)
+    {
+        return new Message()
+            .setMessageId(messageId)
+            .setApplicationId(appId)
+            .setTitle("Contention")
+            .setTimeOfCreation(System.currentTimeMillis());
+    }
+
+    //==========================================================
+    // WORKLOADS
+    //==========================================================
+
+    private static final class Activity extends ContentionWorkload
+    {
+
+        private final MemoryActivityRepository repository = new MemoryActivityRepository();
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.containsEvent(idOf(anyWrittenSequence(random)), user(key));
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            Event event = new Event().setEventId(idOf(sequence)).setTimestamp(System.currentTimeMillis());
+            repository.saveEvent(event, user(key), LIFETIME);
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return sumOverKeys(key -> repository.getAllEventsFor(user(key)).size());
+        }
+
+    }
+
+    private static final class Applications extends ContentionWorkload
+    {
+
+        private final MemoryApplicationRepository repository = new MemoryApplicationRepository();
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.getById(idOf(anyWrittenSequence(random)));
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            repository.saveApplication(application(idOf(sequence), key));
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return countIds(sequence -> repository.containsApplication(idOf(sequence)));
+        }
+
+    }
+
+    private static final class Credentials extends ContentionWorkload
+    {
+
+        private final MemoryCredentialsRepository repository = new MemoryCredentialsRepository();
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.containsEncryptedPassword(idOf(anyWrittenSequence(random)));
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            repository.saveEncryptedPassword(idOf(sequence), key);
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return countIds(sequence -> repository.containsEncryptedPassword(idOf(sequence)));
+        }
+
+    }
+
+    private static final class Followers extends ContentionWorkload
+    {
+
+        private final MemoryFollowerRepository repository = new MemoryFollowerRepository();
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.getApplicationFollowers(key);
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            repository.saveFollowing(user(idOf(sequence)), application(key, key));
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return sumOverKeys(key -> repository.getApplicationFollowers(key).size());
+        }
+
+    }
+
+    private static final class Inbox extends ContentionWorkload
+    {
+
+        private final MemoryInboxRepository repository = new MemoryInboxRepository();
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.countInboxForUser(key);
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            repository.saveMessageForUser(user(key), message(idOf(sequence), key), LIFETIME);
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return sumOverKeys(repository::countInboxForUser);
+        }
+
+    }
+
+    private static final class Media extends ContentionWorkload
+    {
+
+        private final MemoryMediaRepository repository = new MemoryMediaRepository();
+        private final Image thumbnail = AromaGenerators.Images.INSTANCE.getIcon();
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            long sequence = anyWrittenSequence(random);
+            repository.getThumbnail(keyOf(sequence), dimensionOf(sequence));
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            repository.saveThumbnail(keyOf(sequence), dimensionOf(sequence), thumbnail);
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return countIds(sequence ->
+            {
+                try
+                {
+                    repository.getThumbnail(keyOf(sequence), dimensionOf(sequence));
+                    return true;
+                }
+                catch (DoesNotExistException ex)
+                {
+                    return false;
+                }
+            });
+        }
+
+        /**
+         * Each thumbnail is kept under a fixed key, so that it can be found again when counting.
+         */
+        private String keyOf(long sequence)
+        {
+            return keys[(int) (sequence % KEYS)];
+        }
+
+        private static Dimension dimensionOf(long sequence)
+        {
+            return new Dimension((int) (sequence % Integer.MAX_VALUE) + 1, (int) (sequence / Integer.MAX_VALUE) + 1);
+        }
+
+    }
+
+    private static final class Messages extends ContentionWorkload
+    {
+
+        private final MemoryMessageRepository repository = new MemoryMessageRepository();
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.getCountByApplication(key);
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            repository.saveMessage(message(idOf(sequence), key), LIFETIME);
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return sumOverKeys(repository::getCountByApplication);
+        }
+
+    }
+
+    private static final class Organizations extends ContentionWorkload
+    {
+
+        private final MemoryOrganizationRepository repository = new MemoryOrganizationRepository();
+
+        Organizations() throws TException
+        {
+            for (String key : keys)
+            {
+                repository.saveOrganization(new Organization().setOrganizationId(key).setOrganizationName("Org " + key));
+            }
+        }
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.isMemberInOrganization(key, idOf(anyWrittenSequence(random)));
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            repository.saveMemberInOrganization(key, user(idOf(sequence)));
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return sumOverKeys(key -> repository.getOrganizationMembers(key).size());
+        }
+
+    }
+
+    private static final class Reactions extends ContentionWorkload
+    {
+
+        private final MemoryReactionRepository repository = new MemoryReactionRepository();
+        private final List<Reaction> reactions = listOf(reactions(), 3);
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.getReactionsForUser(idOf(anyWrittenSequence(random)));
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            repository.saveReactionsForUser(idOf(sequence), reactions);
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return countIds(sequence -> !repository.getReactionsForUser(idOf(sequence)).isEmpty());
+        }
+
+    }
+
+    private static final class Tokens extends ContentionWorkload
+    {
+
+        private final MemoryTokenRepository repository = new MemoryTokenRepository();
+        private final AuthenticationToken prototype = AromaGenerators.Tokens.INSTANCE.getToken();
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.getTokensBelongingTo(key);
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            AuthenticationToken token = prototype.deepCopy()
+                .setTokenId(idOf(sequence))
+                .setOwnerId(key);
+
+            repository.saveToken(token);
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return sumOverKeys(key -> repository.getTokensBelongingTo(key).size());
+        }
+
+    }
+
+    private static final class Users extends ContentionWorkload
+    {
+
+        private final MemoryUserRepository repository = new MemoryUserRepository();
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.containsUser(idOf(anyWrittenSequence(random)));
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            repository.saveUser(user(idOf(sequence)));
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return countIds(sequence -> repository.containsUser(idOf(sequence)));
+        }
+
+    }
+
+    private static final class UserPreferences extends ContentionWorkload
+    {
+
+        private final MemoryUserPreferencesRepository repository = new MemoryUserPreferencesRepository();
+
+        @Override
+        void read(ThreadLocalRandom random, String key) throws TException
+        {
+            repository.getMobileDevices(key);
+        }
+
+        @Override
+        void write(long sequence, String key) throws TException
+        {
+            MobileDevice device = new MobileDevice();
+            device.setAndroidDevice(new AndroidDevice().setRegistrationId(idOf(sequence)));
+
+            repository.saveMobileDevice(key, device);
+        }
+
+        @Override
+        long countStored() throws TException
+        {
+            return sumOverKeys(key -> repository.getMobileDevices(key).size());
+        }
+
+    }
+
+}
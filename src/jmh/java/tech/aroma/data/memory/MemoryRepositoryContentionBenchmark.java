@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.memory;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures how each Memory Repository scales as threads contend on it, under several read/write mixes.
+ * <p>
+ * All benchmark threads share one Repository, which is recreated for every iteration. Run with {@code -t} to set the
+ * number of threads, or use {@link ContentionCurve} to run 1..N threads and print the scaling curve.
+ * <p>
+ * At the end of each iteration, every written item is looked back up. Updates that were lost to a race, and reads or
+ * writes that failed with an unexpected exception, are printed to the iteration's output.
+ *
+ * @author SirWellington
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MemoryRepositoryContentionBenchmark
+{
+
+    @Param({ "Activity",
+             "Application",
+             "Credentials",
+             "Follower",
+             "Inbox",
+             "Media",
+             "Message",
+             "Organization",
+             "Reaction",
+             "Token",
+             "User",
+             "UserPreferences" })
+    public String repository;
+
+    /**
+     * The percentage of operations that are reads; the rest are writes.
+     */
+    @Param({ "95", "80", "50" })
+    public int readPercent;
+
+    private ContentionWorkload workload;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception
+    {
+        workload = ContentionWorkload.forRepository(repository);
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkForLostUpdates() throws Exception
+    {
+        long written = workload.getCompletedWrites();
+        long stored = workload.countStored();
+        long lost = written - stored;
+        long errors = workload.getErrors();
+
+        if (lost != 0 || errors != 0)
+        {
+            System.out.printf("%n[Memory%sRepository] lost updates: %d of %d writes, errors: %d%n",
+                              repository, lost, written, errors);
+        }
+    }
+
+    @Benchmark
+    public void readOrWrite()
+    {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        if (random.nextInt(100) < readPercent)
+        {
+            workload.read(random);
+        }
+        else
+        {
+            workload.write(random);
+        }
+    }
+
+}
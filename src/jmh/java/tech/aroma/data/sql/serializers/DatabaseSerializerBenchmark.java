@@ -0,0 +1,311 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql.serializers;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import tech.aroma.data.AromaGenerators;
+import tech.aroma.thrift.*;
+import tech.aroma.thrift.authentication.AuthenticationToken;
+import tech.aroma.thrift.channels.MobileDevice;
+import tech.aroma.thrift.events.Event;
+import tech.aroma.thrift.reactions.Reaction;
+import tech.sirwellington.alchemy.thrift.ThriftObjects;
+
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.CollectionGenerators.listOf;
+import static tech.sirwellington.alchemy.generator.ObjectGenerators.pojos;
+import static tech.aroma.thrift.generators.EventGenerators.events;
+import static tech.aroma.thrift.generators.ReactionGenerators.reactions;
+import static tech.aroma.thrift.generators.UserGenerators.users;
+
+/**
+ * Measures how quickly each {@link tech.aroma.data.sql.DatabaseSerializer} turns a row into an Aroma object.
+ * <p>
+ * Each operation deserializes a single row from an {@linkplain InMemoryRow in-memory ResultSet}, so the
+ * throughput is in rows per second. Run with {@code -prof gc} to see the bytes allocated per row
+ * ({@code gc.alloc.rate.norm}).
+ * <p>
+ * The {@code WithoutOptionalColumn} variant leaves out a column that the serializer checks for with
+ * {@code hasColumn}, which costs an exception on every row.
+ *
+ * @author SirWellington
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DatabaseSerializerBenchmark
+{
+
+    private final ApplicationSerializer applicationSerializer = new ApplicationSerializer();
+    private final DevicesSerializer devicesSerializer = new DevicesSerializer();
+    private final EventSerializer eventSerializer = new EventSerializer();
+    private final ImageSerializer imageSerializer = new ImageSerializer();
+    private final MessageSerializer messageSerializer = new MessageSerializer();
+    private final OrganizationSerializer organizationSerializer = new OrganizationSerializer();
+    private final ReactionsSerializer reactionsSerializer = new ReactionsSerializer();
+    private final TokenSerializer tokenSerializer = new TokenSerializer();
+    private final UserSerializer userSerializer = new UserSerializer();
+
+    private ResultSet applicationRow;
+    private ResultSet devicesRow;
+    private ResultSet eventRow;
+    private ResultSet imageRow;
+    private ResultSet messageRow;
+    private ResultSet messageRowWithoutIpAddress;
+    private ResultSet organizationRow;
+    private ResultSet reactionsRow;
+    private ResultSet tokenRow;
+    private ResultSet userRow;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception
+    {
+        applicationRow = applicationRow(AromaGenerators.Applications.INSTANCE.getApplication());
+        devicesRow = devicesRow(AromaGenerators.Devices.INSTANCE.getDevices());
+        eventRow = eventRow(one(events()));
+        imageRow = imageRow(AromaGenerators.Images.INSTANCE.getIcon());
+
+        Message message = AromaGenerators.Messages.INSTANCE.getMessage();
+        messageRow = messageRow(message, true);
+        messageRowWithoutIpAddress = messageRow(message, false);
+
+        organizationRow = organizationRow(one(pojos(Organization.class)));
+        reactionsRow = reactionsRow(listOf(reactions(), 5));
+        tokenRow = tokenRow(AromaGenerators.Tokens.INSTANCE.getToken());
+        userRow = userRow(one(users()));
+    }
+
+    @Benchmark
+    public Application deserializeApplication() throws Exception
+    {
+        return applicationSerializer.deserialize(applicationRow);
+    }
+
+    @Benchmark
+    public Set<MobileDevice> deserializeDevices() throws Exception
+    {
+        return devicesSerializer.deserialize(devicesRow);
+    }
+
+    @Benchmark
+    public Event deserializeEvent() throws Exception
+    {
+        return eventSerializer.deserialize(eventRow);
+    }
+
+    @Benchmark
+    public Image deserializeImage() throws Exception
+    {
+        return imageSerializer.deserialize(imageRow);
+    }
+
+    @Benchmark
+    public Message deserializeMessage() throws Exception
+    {
+        return messageSerializer.deserialize(messageRow);
+    }
+
+    @Benchmark
+    public Message deserializeMessageWithoutOptionalColumn() throws Exception
+    {
+        return messageSerializer.deserialize(messageRowWithoutIpAddress);
+    }
+
+    @Benchmark
+    public Organization deserializeOrganization() throws Exception
+    {
+        return organizationSerializer.deserialize(organizationRow);
+    }
+
+    @Benchmark
+    public List<Reaction> deserializeReactions() throws Exception
+    {
+        return reactionsSerializer.deserialize(reactionsRow);
+    }
+
+    @Benchmark
+    public AuthenticationToken deserializeToken() throws Exception
+    {
+        return tokenSerializer.deserialize(tokenRow);
+    }
+
+    @Benchmark
+    public User deserializeUser() throws Exception
+    {
+        return userSerializer.deserialize(userRow);
+    }
+
+    private static ResultSet applicationRow(Application app) throws Exception
+    {
+        return new InMemoryRow()
+            .uuid(Columns.Applications.APP_ID, app.applicationId)
+            .uuid(Columns.Applications.ORG_ID, app.organizationId)
+            .string(Columns.Applications.APP_NAME, app.name)
+            .string(Columns.Applications.APP_DESCRIPTION, app.applicationDescription)
+            .string(Columns.Applications.PROGRAMMING_LANGUAGE, nameOf(app.programmingLanguage))
+            .timestamp(Columns.Applications.TIME_PROVISIONED, app.timeOfProvisioning)
+            .timestamp(Columns.Applications.TIME_OF_TOKEN_EXPIRATION, app.timeOfTokenExpiration)
+            .string(Columns.Applications.TIER, nameOf(app.tier))
+            .uuid(Columns.Applications.ICON_MEDIA_ID, app.applicationIconMediaId)
+            .array(Columns.Applications.OWNERS, app.owners == null ? null : app.owners.toArray())
+            .build();
+    }
+
+    private static ResultSet devicesRow(Set<MobileDevice> devices) throws Exception
+    {
+        String[] serialized = new String[devices.size()];
+        int i = 0;
+
+        for (MobileDevice device : devices)
+        {
+            serialized[i++] = ThriftObjects.toJson(device);
+        }
+
+        return new InMemoryRow()
+            .uuid(Columns.UserPreferences.USER_ID, AromaGenerators.Companion.getId())
+            .array(Columns.UserPreferences.SERIALIZED_DEVICES, serialized)
+            .build();
+    }
+
+    private static ResultSet eventRow(Event event) throws Exception
+    {
+        return new InMemoryRow()
+            .uuid(Columns.Activity.EVENT_ID, event.eventId)
+            .string(Columns.Activity.SERIALIZED_EVENT, ThriftObjects.toJson(event))
+            .build();
+    }
+
+    private static ResultSet imageRow(Image image) throws Exception
+    {
+        int width = image.dimension == null ? 0 : image.dimension.width;
+        int height = image.dimension == null ? 0 : image.dimension.height;
+
+        return new InMemoryRow()
+            .uuid(Columns.Media.MEDIA_ID, AromaGenerators.Companion.getId())
+            .string(Columns.Media.MEDIA_TYPE, nameOf(image.imageType))
+            .integer(Columns.Media.WIDTH, width)
+            .integer(Columns.Media.HEIGHT, height)
+            .bytes(Columns.Media.DATA, image.getData())
+            .build();
+    }
+
+    private static ResultSet messageRow(Message message, boolean includeIpAddress) throws Exception
+    {
+        InMemoryRow row = new InMemoryRow()
+            .uuid(Columns.Messages.APP_ID, message.applicationId)
+            .uuid(Columns.Messages.MESSAGE_ID, message.messageId)
+            .string(Columns.Messages.APP_NAME, message.applicationName)
+            .string(Columns.Messages.TITLE, message.title)
+            .string(Columns.Messages.BODY, message.body)
+            .string(Columns.Messages.HOSTNAME, message.hostname)
+            .string(Columns.Messages.DEVICE_NAME, message.deviceName)
+            .string(Columns.Messages.PRIORITY, nameOf(message.urgency))
+            .timestamp(Columns.Messages.TIME_CREATED, message.timeOfCreation)
+            .timestamp(Columns.Messages.TIME_RECEIVED, message.timeMessageReceived);
+
+        if (includeIpAddress)
+        {
+            row.string(Columns.Messages.IP_ADDRESS, message.macAddress);
+        }
+
+        return row.build();
+    }
+
+    private static ResultSet organizationRow(Organization org) throws Exception
+    {
+        return new InMemoryRow()
+            .uuid(Columns.Organizations.ORG_ID, AromaGenerators.Companion.getId())
+            .string(Columns.Organizations.ORG_NAME, org.organizationName)
+            .string(Columns.Organizations.DESCRIPTION, org.organizationDescription)
+            .string(Columns.Organizations.INDUSTRY, nameOf(org.industry))
+            .string(Columns.Organizations.TIER, nameOf(org.tier))
+            .string(Columns.Organizations.WEBSITE, org.website)
+            .string(Columns.Organizations.STOCK_NAME, org.stockMarketSymbol)
+            .string(Columns.Organizations.ICON_LINK, org.logoLink)
+            .string(Columns.Organizations.GITHUB_PROFILE, org.githubProfile)
+            .string(Columns.Organizations.EMAIL, org.organizationEmail)
+            .array(Columns.Organizations.OWNERS, org.owners == null ? null : org.owners.toArray(new String[0]))
+            .build();
+    }
+
+    private static ResultSet reactionsRow(List<Reaction> reactions) throws Exception
+    {
+        String[] serialized = new String[reactions.size()];
+
+        for (int i = 0; i < serialized.length; ++i)
+        {
+            serialized[i] = ThriftObjects.toJson(reactions.get(i));
+        }
+
+        return new InMemoryRow()
+            .uuid(Columns.Reactions.OWNER_ID, AromaGenerators.Companion.getId())
+            .array(Columns.Reactions.SERIALIZED_REACTIONS, serialized)
+            .build();
+    }
+
+    private static ResultSet tokenRow(AuthenticationToken token) throws Exception
+    {
+        return new InMemoryRow()
+            .uuid(Columns.Tokens.TOKEN_ID, token.tokenId)
+            .uuid(Columns.Tokens.OWNER_ID, token.ownerId)
+            .uuid(Columns.Tokens.ORG_ID, token.organizationId)
+            .string(Columns.Tokens.OWNER_NAME, token.ownerName)
+            .timestamp(Columns.Tokens.TIME_OF_CREATION, token.timeOfCreation)
+            .timestamp(Columns.Tokens.TIME_OF_EXPIRATION, token.timeOfExpiration)
+            .string(Columns.Tokens.TOKEN_TYPE, nameOf(token.tokenType))
+            .string(Columns.Tokens.TOKEN_STATUS, nameOf(token.status))
+            .build();
+    }
+
+    private static ResultSet userRow(User user) throws Exception
+    {
+        String[] roles = null;
+
+        if (user.roles != null)
+        {
+            roles = user.roles.stream().map(Role::name).toArray(String[]::new);
+        }
+
+        return new InMemoryRow()
+            .uuid(Columns.Users.USER_ID, user.userId)
+            .string(Columns.Users.FIRST_NAME, user.firstName)
+            .string(Columns.Users.MIDDLE_NAME, user.middleName)
+            .string(Columns.Users.LAST_NAME, user.lastName)
+            .string(Columns.Users.FULL_NAME, user.name)
+            .string(Columns.Users.EMAIL, user.email)
+            .array(Columns.Users.ROLES, roles)
+            .date(Columns.Users.BIRTH_DATE, user.birthdate)
+            .uuid(Columns.Users.PROFILE_IMAGE_ID, user.profileImageLink)
+            .string(Columns.Users.GITHUB_PROFILE, user.githubProfile)
+            .timestamp(Columns.Users.TIME_ACCOUNT_CREATED, user.timeUserJoined)
+            .build();
+    }
+
+    private static String nameOf(Enum<?> value)
+    {
+        return value == null ? null : value.name();
+    }
+
+}
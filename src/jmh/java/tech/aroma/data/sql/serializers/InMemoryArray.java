@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql.serializers;
+
+import java.sql.*;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A read-only {@link Array} of values, as returned by the PostgreSQL driver for {@code text[]} and {@code uuid[]} columns.
+ *
+ * @author SirWellington
+ */
+final class InMemoryArray implements Array
+{
+
+    private final Object[] values;
+
+    InMemoryArray(Object[] values)
+    {
+        this.values = values;
+    }
+
+    @Override
+    public String getBaseTypeName()
+    {
+        return "text";
+    }
+
+    @Override
+    public int getBaseType()
+    {
+        return Types.VARCHAR;
+    }
+
+    /**
+     * Like the driver, returns a new array on every call.
+     */
+    @Override
+    public Object getArray()
+    {
+        return values.clone();
+    }
+
+    @Override
+    public Object getArray(Map<String, Class<?>> map)
+    {
+        return getArray();
+    }
+
+    @Override
+    public Object getArray(long index, int count)
+    {
+        int start = (int) index - 1;
+        return Arrays.copyOfRange(values, start, start + count);
+    }
+
+    @Override
+    public Object getArray(long index, int count, Map<String, Class<?>> map)
+    {
+        return getArray(index, count);
+    }
+
+    @Override
+    public ResultSet getResultSet() throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public ResultSet getResultSet(Map<String, Class<?>> map) throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public ResultSet getResultSet(long index, int count) throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public ResultSet getResultSet(long index, int count, Map<String, Class<?>> map) throws SQLException
+    {
+        throw new SQLFeatureNotSupportedException();
+    }
+
+    @Override
+    public void free()
+    {
+    }
+
+}
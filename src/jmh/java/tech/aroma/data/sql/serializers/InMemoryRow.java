@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql.serializers;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.rowset.*;
+
+/**
+ * Builds a single-row, in-memory {@link ResultSet} for benchmarking the {@link tech.aroma.data.sql.DatabaseSerializer DatabaseSerializers}
+ * without a database.
+ * <p>
+ * The row is backed by the JDK's {@link CachedRowSet}, which, like the PostgreSQL driver, looks columns up by label and
+ * throws an {@link SQLException} for columns that are missing.
+ *
+ * @author SirWellington
+ */
+final class InMemoryRow
+{
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Integer> types = new ArrayList<>();
+    private final List<Object> values = new ArrayList<>();
+
+    InMemoryRow string(String column, String value)
+    {
+        return column(column, Types.VARCHAR, value);
+    }
+
+    InMemoryRow uuid(String column, String value)
+    {
+        return column(column, Types.OTHER, value);
+    }
+
+    InMemoryRow timestamp(String column, long epochMillis)
+    {
+        return column(column, Types.TIMESTAMP, new Timestamp(epochMillis));
+    }
+
+    InMemoryRow date(String column, long epochMillis)
+    {
+        return column(column, Types.DATE, new Date(epochMillis));
+    }
+
+    InMemoryRow integer(String column, int value)
+    {
+        return column(column, Types.INTEGER, value);
+    }
+
+    InMemoryRow bytes(String column, byte[] value)
+    {
+        return column(column, Types.VARBINARY, value);
+    }
+
+    InMemoryRow array(String column, Object[] value)
+    {
+        return column(column, Types.ARRAY, value == null ? null : new InMemoryArray(value));
+    }
+
+    private InMemoryRow column(String column, int type, Object value)
+    {
+        names.add(column);
+        types.add(type);
+        values.add(value);
+        return this;
+    }
+
+    /**
+     * @return A {@link ResultSet} positioned on the row.
+     */
+    ResultSet build() throws SQLException
+    {
+        RowSetMetaDataImpl metadata = new RowSetMetaDataImpl();
+        metadata.setColumnCount(names.size());
+
+        for (int i = 0; i < names.size(); ++i)
+        {
+            int column = i + 1;
+            metadata.setColumnName(column, names.get(i));
+            metadata.setColumnLabel(column, names.get(i));
+            metadata.setColumnType(column, types.get(i));
+            metadata.setNullable(column, ResultSetMetaData.columnNullable);
+        }
+
+        CachedRowSet results = RowSetProvider.newFactory().createCachedRowSet();
+        results.setMetaData(metadata);
+        results.moveToInsertRow();
+
+        for (int i = 0; i < values.size(); ++i)
+        {
+            Object value = values.get(i);
+
+            if (value == null)
+            {
+                results.updateNull(i + 1);
+            }
+            else
+            {
+                results.updateObject(i + 1, value);
+            }
+        }
+
+        results.insertRow();
+        results.moveToCurrentRow();
+        results.beforeFirst();
+        results.next();
+
+        return results;
+    }
+
+}
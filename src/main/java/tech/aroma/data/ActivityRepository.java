@@ -48,6 +48,18 @@ public interface ActivityRepository
     void saveEvent(Event event, User forUser, LengthOfTime lifetime) throws TException;
     
     default void saveEvents(@Required Event event, List<User> users) throws TException
+    {
+        this.saveEvents(event, users, AromaServiceConstants.DEFAULT_ACTIVITY_LIFETIME);
+    }
+    
+    /**
+     * Saves the same Event for each of the Users. Implementations should write all of the Users
+     * together rather than one at a time, since an Event can reach thousands of Users.
+     * <p>
+     * The default implementation simply calls {@link #saveEvent(Event, User, LengthOfTime)} for each User,
+     * and throws one of the failures, if any, after all of them have been attempted.
+     */
+    default void saveEvents(@Required Event event, List<User> users, LengthOfTime lifetime) throws TException
     {
         checkThat(users)
             .throwing(InvalidArgumentException.class)
@@ -55,23 +67,22 @@ public interface ActivityRepository
         
         List<TException> exceptions = Lists.create();
         
-        users.parallelStream().forEach(user ->
+        for (User user : users)
         {
             try
             {
-                this.saveEvent(event, user);
+                this.saveEvent(event, user, lifetime);
             }
             catch (TException ex)
             {
                 exceptions.add(ex);
             }
-        });
+        }
         
         if (!Lists.isEmpty(exceptions))
         {
             throw Lists.oneOf(exceptions);
         }
-        
     }
     
     boolean containsEvent(@Required String eventId, @Required User user) throws TException;
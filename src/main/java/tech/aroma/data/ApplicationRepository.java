@@ -18,9 +18,12 @@
 package tech.aroma.data;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.thrift.TException;
 import tech.aroma.thrift.Application;
+import tech.aroma.thrift.exceptions.ApplicationDoesNotExistException;
+import tech.aroma.thrift.exceptions.DoesNotExistException;
 import tech.sirwellington.alchemy.annotations.arguments.NonEmpty;
 import tech.sirwellington.alchemy.annotations.arguments.Required;
 
@@ -36,6 +39,22 @@ public interface ApplicationRepository
     void deleteApplication(@NonEmpty String applicationId) throws TException;
     
     Application getById(@NonEmpty String applicationId) throws TException;
+
+    /**
+     * Like {@link #getById(String)}, but returns {@link Optional#empty()} instead of throwing
+     * when the Application does not exist. Implementations answer this in a single lookup.
+     */
+    default Optional<Application> findApplication(@NonEmpty String applicationId) throws TException
+    {
+        try
+        {
+            return Optional.of(getById(applicationId));
+        }
+        catch (ApplicationDoesNotExistException | DoesNotExistException ex)
+        {
+            return Optional.empty();
+        }
+    }
     
     boolean containsApplication(@Required String applicationId) throws TException;
 
@@ -19,6 +19,7 @@ package tech.aroma.data
 import com.google.inject.*
 import com.google.inject.binder.AnnotatedBindingBuilder
 import com.google.inject.binder.ScopedBindingBuilder
+import tech.aroma.data.performance.MeasuredRepositories
 
 /*
     Shortcut functions for handling Guice with Kotlin.
@@ -37,6 +38,11 @@ internal inline fun <reified T : Any> Binder.bind(): AnnotatedBindingBuilder<T>
 
 internal inline fun <reified T : Any> AnnotatedBindingBuilder<in T>.to(): ScopedBindingBuilder = to(T::class.java)
 
+internal inline fun <reified T : Any, reified I : T> Binder.bindMeasured(): ScopedBindingBuilder
+{
+    return MeasuredRepositories.bind(this, T::class.java, I::class.java)
+}
+
 internal inline fun <reified T : Any> Injector.getInstance() = getInstance(T::class.java)
 
 internal inline fun <reified T> Injector.hasInstance(): Boolean
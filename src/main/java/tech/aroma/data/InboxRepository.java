@@ -22,10 +22,15 @@ import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.apache.thrift.TException;
+import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.thrift.*;
+import tech.aroma.thrift.exceptions.InvalidArgumentException;
 import tech.aroma.thrift.service.AromaServiceConstants;
 import tech.sirwellington.alchemy.annotations.arguments.Required;
 
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.CollectionAssertions.nonEmptyList;
+
 
 /**
  * The Inbox repository is responsible for storage and retrieval of messages that are stored
@@ -42,6 +47,46 @@ public interface InboxRepository
     
     void saveMessageForUser(@Required User user, @Required Message message, @Required LengthOfTime lifetime) throws TException;
 
+    default void saveMessageForUsers(@Required List<User> users, @Required Message message) throws TException
+    {
+        this.saveMessageForUsers(users, message, AromaServiceConstants.DEFAULT_INBOX_LIFETIME);
+    }
+
+    /**
+     * Delivers the same Message to the Inbox of each of the Users. Implementations should write all of the Users
+     * together rather than one at a time, since a Message can reach every follower of an Application.
+     * <p>
+     * The default implementation simply calls {@link #saveMessageForUser(User, Message, LengthOfTime)} for each User,
+     * and throws one of the failures, if any, after all of them have been attempted.
+     */
+    default void saveMessageForUsers(@Required List<User> users,
+                                     @Required Message message,
+                                     @Required LengthOfTime lifetime) throws TException
+    {
+        checkThat(users)
+            .throwing(InvalidArgumentException.class)
+            .is(nonEmptyList());
+
+        List<TException> exceptions = Lists.create();
+
+        for (User user : users)
+        {
+            try
+            {
+                this.saveMessageForUser(user, message, lifetime);
+            }
+            catch (TException ex)
+            {
+                exceptions.add(ex);
+            }
+        }
+
+        if (!Lists.isEmpty(exceptions))
+        {
+            throw Lists.oneOf(exceptions);
+        }
+    }
+
     List<Message> getMessagesForUser(@Required String userId) throws TException;
     
     default List<Message> getMessagesForUser(@Required String userId, @Required String applicationId) throws TException
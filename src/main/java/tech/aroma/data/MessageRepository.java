@@ -19,9 +19,15 @@ import java.util.List;
 import org.apache.thrift.TException;
 import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.thrift.*;
+import tech.aroma.thrift.exceptions.DoesNotExistException;
+import tech.aroma.thrift.exceptions.InvalidArgumentException;
+import tech.aroma.thrift.exceptions.MessageDoesNotExistException;
 import tech.sirwellington.alchemy.annotations.arguments.Optional;
 import tech.sirwellington.alchemy.annotations.arguments.Required;
 
+import static tech.sirwellington.alchemy.arguments.Arguments.checkThat;
+import static tech.sirwellington.alchemy.arguments.assertions.CollectionAssertions.nonEmptyList;
+
 /**
  * Answers questions and performs actions relating to {@linkplain Message Messages}.
  *
@@ -41,8 +47,54 @@ public interface MessageRepository
 
     void saveMessage(@Required Message message, @Optional LengthOfTime lifetime) throws TException;
 
+    /**
+     * Saves many Messages at once. Implementations that can write the Messages in a single round trip
+     * override this; by default, each Message is saved in turn.
+     */
+    default void saveMessages(@Required List<Message> messages, @Optional LengthOfTime lifetime) throws TException
+    {
+        checkThat(messages)
+            .throwing(InvalidArgumentException.class)
+            .is(nonEmptyList());
+
+        List<TException> exceptions = Lists.create();
+
+        for (Message message : messages)
+        {
+            try
+            {
+                saveMessage(message, lifetime);
+            }
+            catch (TException ex)
+            {
+                exceptions.add(ex);
+            }
+        }
+
+        if (!Lists.isEmpty(exceptions))
+        {
+            throw Lists.oneOf(exceptions);
+        }
+    }
+
     Message getMessage(@Required String applicationId, @Required String messageId) throws TException;
 
+    /**
+     * Like {@link #getMessage(String, String)}, but returns {@link java.util.Optional#empty()} instead of throwing
+     * when the Message does not exist. Implementations answer this in a single lookup.
+     */
+    default java.util.Optional<Message> findMessage(@Required String applicationId, @Required String messageId) throws TException
+    {
+        try
+        {
+            return java.util.Optional.of(getMessage(applicationId, messageId));
+        }
+        catch (DoesNotExistException | MessageDoesNotExistException ex)
+        {
+            return java.util.Optional.empty();
+        }
+    }
+
     void deleteMessage(@Required String applicationId, @Required String messageId) throws TException;
 
     default void deleteAllMessages(@Required String applicationId) throws TException
@@ -18,6 +18,7 @@ package tech.aroma.data;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 import org.apache.thrift.TException;
 import sir.wellington.alchemy.collections.lists.Lists;
@@ -47,6 +48,22 @@ public interface TokenRepository
 
     AuthenticationToken getToken(@NonEmpty String tokenId) throws TException, InvalidTokenException;
 
+    /**
+     * Like {@link #getToken(String)}, but returns {@link Optional#empty()} instead of throwing
+     * when the Token does not exist. Implementations answer this in a single lookup.
+     */
+    default Optional<AuthenticationToken> findToken(@NonEmpty String tokenId) throws TException
+    {
+        try
+        {
+            return Optional.of(getToken(tokenId));
+        }
+        catch (InvalidTokenException ex)
+        {
+            return Optional.empty();
+        }
+    }
+
     void saveToken(@Required AuthenticationToken token) throws TException;
 
     List<AuthenticationToken> getTokensBelongingTo(@NonEmpty String ownerId) throws TException;
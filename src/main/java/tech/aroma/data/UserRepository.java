@@ -18,9 +18,11 @@
 package tech.aroma.data;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.thrift.TException;
 import tech.aroma.thrift.User;
+import tech.aroma.thrift.exceptions.UserDoesNotExistException;
 import tech.sirwellington.alchemy.annotations.arguments.Required;
 
 
@@ -33,6 +35,22 @@ public interface UserRepository
     void saveUser(@Required User user) throws TException;
     
     User getUser(@Required String userId) throws TException;
+
+    /**
+     * Like {@link #getUser(String)}, but returns {@link Optional#empty()} instead of throwing
+     * when the User does not exist. Implementations answer this in a single lookup.
+     */
+    default Optional<User> findUser(@Required String userId) throws TException
+    {
+        try
+        {
+            return Optional.of(getUser(userId));
+        }
+        catch (UserDoesNotExistException ex)
+        {
+            return Optional.empty();
+        }
+    }
     
     void deleteUser(@Required String userId) throws TException;
     
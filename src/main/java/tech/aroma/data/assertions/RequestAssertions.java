@@ -1,30 +1,38 @@
 package tech.aroma.data.assertions;
 
 
-import java.util.List;
+import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.thrift.*;
 import tech.aroma.thrift.authentication.AuthenticationToken;
 import tech.aroma.thrift.channels.*;
+import tech.aroma.thrift.exceptions.InvalidArgumentException;
 import tech.aroma.thrift.reactions.Reaction;
 import tech.sirwellington.alchemy.annotations.access.Internal;
 import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
 import tech.sirwellington.alchemy.annotations.arguments.Optional;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
 import tech.sirwellington.alchemy.arguments.AlchemyAssertion;
+import tech.sirwellington.alchemy.arguments.FailedAssertionException;
 
 import static tech.sirwellington.alchemy.arguments.Arguments.*;
 import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
 import static tech.sirwellington.alchemy.arguments.assertions.BooleanAssertions.trueStatement;
-import static tech.sirwellington.alchemy.arguments.assertions.CollectionAssertions.nonEmptySet;
 import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.greaterThan;
 import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.positiveInteger;
 import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.positiveLong;
 import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.*;
 
 /**
+ * The assertions used to validate requests to the Repositories.
+ * <p>
+ * The assertions for IDs, {@linkplain Message Messages}, {@linkplain User Users}, {@linkplain Application Applications}
+ * and {@linkplain Organization Organizations} are on the path of every save and read, so they are created once
+ * and check their arguments directly: nothing is allocated unless a check fails. Use {@link #checkValid(Object, AlchemyAssertion)}
+ * to apply them without building a {@code checkThat(...)} chain.
+ *
  * @author SirWellington
  */
 @NonInstantiable
@@ -33,96 +41,181 @@ public final class RequestAssertions
 {
     private final static Logger LOG = LoggerFactory.getLogger(RequestAssertions.class);
 
-    RequestAssertions() throws IllegalAccessException
+    private static final AlchemyAssertion<Application> VALID_APPLICATION = app ->
     {
-        throw new IllegalAccessException("cannot instantiate");
-    }
+        if (app == null)
+        {
+            throw new FailedAssertionException("app is missing");
+        }
 
-    /**
-     * @return An {@linkplain AlchemyAssertion Assertion} that checks whether an {@link Application} is valid or not.
-     */
-    public static AlchemyAssertion<Application> validApplication()
+        if (isNullOrEmpty(app.applicationId) || isNullOrEmpty(app.name))
+        {
+            throw new FailedAssertionException("App is missing id and name");
+        }
+
+        checkUUID(app.applicationId, "missing appId", "appId must be a UUID");
+
+        if (app.owners == null || app.owners.isEmpty())
+        {
+            throw new FailedAssertionException("app is missing owners");
+        }
+
+        for (String owner : app.owners)
+        {
+            if (!isUUID(owner))
+            {
+                throw new FailedAssertionException("Owner ID must be a valid user ID: " + owner);
+            }
+        }
+
+        if (app.isSetOrganizationId())
+        {
+            checkUUID(app.organizationId, "missing orgId", "orgId must be a UUID");
+        }
+    };
+
+    private static final AlchemyAssertion<Message> VALID_MESSAGE = message ->
     {
-        return app ->
+        if (message == null)
         {
-            checkThat(app)
-                    .usingMessage("app is missing")
-                    .is(notNull());
+            throw new FailedAssertionException("message is missing");
+        }
+
+        checkUUID(message.messageId, "missing messageID", "messageID must be a UUID type");
 
-            checkThat(app.applicationId, app.name)
-                    .usingMessage("App is missing id and name")
-                    .are(nonEmptyString());
+        if (isNullOrEmpty(message.title))
+        {
+            throw new FailedAssertionException("message missing Title");
+        }
+
+        if (message.isSetApplicationId())
+        {
+            checkUUID(message.applicationId, "missing appId", "appId must be a UUID");
+        }
+    };
 
-            checkThat(app.applicationId)
-                    .is(validApplicationId());
+    private static final AlchemyAssertion<Organization> VALID_ORGANIZATION = org ->
+    {
+        if (org == null)
+        {
+            throw new FailedAssertionException("org is missing");
+        }
 
-            checkThat(app.owners)
-                    .usingMessage("app is missing owners")
-                    .is(nonEmptySet());
+        checkUUID(org.organizationId, "missing orgId", "orgId must be a UUID");
 
-            app.owners.forEach(owner -> checkThat(owner)
-                    .usingMessage("Owner ID must be a valid user ID: " + owner)
-                    .is(validUserId()));
+        if (isNullOrEmpty(org.organizationName))
+        {
+            throw new FailedAssertionException("missing organization name");
+        }
 
-            if (app.isSetOrganizationId())
+        if (org.owners != null)
+        {
+            for (String owner : org.owners)
             {
-                checkThat(app.organizationId)
-                        .is(validOrgId());
+                checkUUID(owner, "missing userId", "userId must be a UUID");
             }
-        };
+        }
+    };
+
+    private static final AlchemyAssertion<User> VALID_USER = user ->
+    {
+        if (user == null)
+        {
+            throw new FailedAssertionException("user is missing");
+        }
+
+        checkUUID(user.userId, "missing userId", "userId must be a UUID");
+    };
+
+    private static final AlchemyAssertion<String> VALID_APPLICATION_ID = appId -> checkUUID(appId, "missing appId", "appId must be a UUID");
+    private static final AlchemyAssertion<String> VALID_MESSAGE_ID = msgId -> checkUUID(msgId, "missing messageID", "messageID must be a UUID type");
+    private static final AlchemyAssertion<String> VALID_ORG_ID = orgId -> checkUUID(orgId, "missing orgId", "orgId must be a UUID");
+    private static final AlchemyAssertion<String> VALID_USER_ID = userId -> checkUUID(userId, "missing userId", "userId must be a UUID");
+
+    private static final AlchemyAssertion<AuthenticationToken> TOKEN_CONTAINING_OWNER_ID = token ->
+    {
+        if (token == null)
+        {
+            throw new FailedAssertionException("token is null");
+        }
+
+        if (isNullOrEmpty(token.ownerId))
+        {
+            throw new FailedAssertionException("token missing ownerId");
+        }
+    };
+
+    RequestAssertions() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
     }
 
     /**
-     * @return An {@linkplain AlchemyAssertion Assertion} that checks whether a {@link Message} is valid.
+     * Checks an argument with one of the assertions in this class, and allocates nothing unless the check fails.
+     * <p>
+     * This has the same effect as
+     * {@code checkThat(argument).throwing(ex -> new InvalidArgumentException(ex.getMessage())).is(assertion)}.
+     *
+     * @throws InvalidArgumentException If the argument fails the assertion.
      */
-    public static AlchemyAssertion<Message> validMessage()
+    public static <T> void checkValid(@Optional T argument, @Required AlchemyAssertion<T> assertion) throws InvalidArgumentException
     {
-        return message ->
+        try
         {
-            checkThat(message)
-                    .usingMessage("message is missing")
-                    .is(notNull());
+            assertion.check(argument);
+        }
+        catch (FailedAssertionException ex)
+        {
+            throw new InvalidArgumentException(ex.getMessage());
+        }
+    }
 
-            checkThat(message.messageId)
-                    .is(validMessageId());
+    /**
+     * Validates and parses an ID in a single pass, so that callers do not need to parse it again.
+     *
+     * @param id        The ID to parse.
+     * @param assertion One of the ID assertions in this class, such as {@link #validUserId()}. It is only
+     *                  used to describe the failure when the ID is not a UUID.
+     *
+     * @return The ID as a {@link UUID}.
+     *
+     * @throws InvalidArgumentException If the ID is missing or is not a UUID.
+     */
+    public static UUID checkValidId(@Optional String id, @Required AlchemyAssertion<String> assertion) throws InvalidArgumentException
+    {
+        UUID uuid = parseUUID(id);
 
-            checkThat(message.title)
-                    .usingMessage("message missing Title")
-                    .is(nonEmptyString());
+        if (uuid == null)
+        {
+            checkValid(id, assertion);
+            throw new InvalidArgumentException("Not a valid UUID: " + id);
+        }
 
-            if (message.isSetApplicationId())
-            {
-                checkThat(message.applicationId)
-                        .is(validApplicationId());
-            }
-        };
+        return uuid;
     }
 
     /**
-     * @return An {@linkplain AlchemyAssertion Assertion} that checks whether a {@link Organization} is valid.
+     * @return An {@linkplain AlchemyAssertion Assertion} that checks whether an {@link Application} is valid or not.
      */
-    public static AlchemyAssertion<Organization> validOrganization()
+    public static AlchemyAssertion<Application> validApplication()
     {
-        return org ->
-        {
-            checkThat(org)
-                    .usingMessage("org is missing")
-                    .is(notNull());
-
-            checkThat(org.organizationId)
-                    .is(validOrgId());
+        return VALID_APPLICATION;
+    }
 
-            checkThat(org.organizationName)
-                    .usingMessage("missing organization name")
-                    .is(nonEmptyString());
+    /**
+     * @return An {@linkplain AlchemyAssertion Assertion} that checks whether a {@link Message} is valid.
+     */
+    public static AlchemyAssertion<Message> validMessage()
+    {
+        return VALID_MESSAGE;
+    }
 
-            List<String> owners = Lists.nullToEmpty(org.owners);
-            for (String owner : owners)
-            {
-                checkThat(owner)
-                        .is(validUserId());
-            }
-        };
+    /**
+     * @return An {@linkplain AlchemyAssertion Assertion} that checks whether a {@link Organization} is valid.
+     */
+    public static AlchemyAssertion<Organization> validOrganization()
+    {
+        return VALID_ORGANIZATION;
     }
 
     /**
@@ -130,15 +223,7 @@ public final class RequestAssertions
      */
     public static AlchemyAssertion<User> validUser()
     {
-        return user ->
-        {
-            checkThat(user)
-                    .usingMessage("user is missing")
-                    .is(notNull());
-
-            checkThat(user.userId)
-                    .is(validUserId());
-        };
+        return VALID_USER;
     }
 
     /**
@@ -146,14 +231,7 @@ public final class RequestAssertions
      */
     public static AlchemyAssertion<String> validApplicationId()
     {
-        return appId ->
-        {
-            checkThat(appId)
-                    .usingMessage("missing appId")
-                    .is(nonEmptyString())
-                    .usingMessage("appId must be a UUID")
-                    .is(validUUID());
-        };
+        return VALID_APPLICATION_ID;
     }
 
     /**
@@ -231,14 +309,7 @@ public final class RequestAssertions
      */
     public static AlchemyAssertion<String> validMessageId()
     {
-        return msgId ->
-        {
-            checkThat(msgId)
-                    .usingMessage("missing messageID")
-                    .is(nonEmptyString())
-                    .usingMessage("messageID must be a UUID type")
-                    .is(validUUID());
-        };
+        return VALID_MESSAGE_ID;
     }
 
     /**
@@ -247,14 +318,7 @@ public final class RequestAssertions
      */
     public static AlchemyAssertion<String> validOrgId()
     {
-        return orgId ->
-        {
-            checkThat(orgId)
-                    .usingMessage("missing orgId")
-                    .is(nonEmptyString())
-                    .usingMessage("orgId must be a UUID")
-                    .is(validUUID());
-        };
+        return VALID_ORG_ID;
     }
 
     /**
@@ -263,14 +327,7 @@ public final class RequestAssertions
      */
     public static AlchemyAssertion<String> validUserId()
     {
-        return userId ->
-        {
-            checkThat(userId)
-                    .usingMessage("missing userId")
-                    .is(nonEmptyString())
-                    .usingMessage("userId must be a UUID")
-                    .is(validUUID());
-        };
+        return VALID_USER_ID;
     }
 
     /**
@@ -279,17 +336,7 @@ public final class RequestAssertions
      */
     public static AlchemyAssertion<AuthenticationToken> tokenContainingOwnerId()
     {
-        return token ->
-        {
-            checkThat(token)
-                    .usingMessage("token is null")
-                    .is(notNull());
-
-            checkThat(token.ownerId)
-                    .usingMessage("token missing ownerId")
-                    .is(nonEmptyString());
-
-        };
+        return TOKEN_CONTAINING_OWNER_ID;
     }
 
     /**
@@ -354,5 +401,160 @@ public final class RequestAssertions
         return string == null || string.isEmpty();
     }
 
+    /**
+     * Checks whether a String is a UUID, accepting the same Strings as {@link UUID#fromString(String)}.
+     * <p>
+     * Aroma IDs are UUIDs in their canonical, 36-character form, such as {@code 123e4567-e89b-12d3-a456-426655440000},
+     * and are checked without a regular expression or parsing. Any other String falls back to {@link UUID#fromString(String)},
+     * so IDs that were accepted before, such as {@code 1-1-1-1-1}, still are.
+     */
+    public static boolean isUUID(@Optional String string)
+    {
+        if (string == null)
+        {
+            return false;
+        }
+
+        return isCanonicalUUID(string) || parseNonCanonicalUUID(string) != null;
+    }
+
+    /**
+     * Parses a UUID, accepting the same Strings as {@link UUID#fromString(String)}. Unlike it, canonical UUIDs are
+     * parsed without splitting the String, and it does not throw when the String is not a UUID.
+     *
+     * @return The UUID, or {@code null} if the String is not a UUID.
+     */
+    public static UUID parseUUID(@Optional String string)
+    {
+        if (string == null)
+        {
+            return null;
+        }
+
+        UUID uuid = parseCanonicalUUID(string);
+        return uuid != null ? uuid : parseNonCanonicalUUID(string);
+    }
+
+    private static UUID parseNonCanonicalUUID(String string)
+    {
+        try
+        {
+            return UUID.fromString(string);
+        }
+        catch (IllegalArgumentException ex)
+        {
+            return null;
+        }
+    }
+
+    private static boolean isCanonicalUUID(String string)
+    {
+        if (string.length() != 36)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < 36; ++i)
+        {
+            char character = string.charAt(i);
+
+            if (isHyphenPosition(i))
+            {
+                if (character != '-')
+                {
+                    return false;
+                }
+            }
+            else if (hexValueOf(character) < 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static UUID parseCanonicalUUID(String string)
+    {
+        if (string.length() != 36)
+        {
+            return null;
+        }
+
+        long mostSignificantBits = 0;
+        long leastSignificantBits = 0;
+
+        for (int i = 0; i < 36; ++i)
+        {
+            char character = string.charAt(i);
+
+            if (isHyphenPosition(i))
+            {
+                if (character != '-')
+                {
+                    return null;
+                }
+
+                continue;
+            }
+
+            int value = hexValueOf(character);
+
+            if (value < 0)
+            {
+                return null;
+            }
+
+            if (i < 18)
+            {
+                mostSignificantBits = (mostSignificantBits << 4) | value;
+            }
+            else
+            {
+                leastSignificantBits = (leastSignificantBits << 4) | value;
+            }
+        }
+
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static boolean isHyphenPosition(int index)
+    {
+        return index == 8 || index == 13 || index == 18 || index == 23;
+    }
+
+    private static int hexValueOf(char character)
+    {
+        if (character >= '0' && character <= '9')
+        {
+            return character - '0';
+        }
+
+        if (character >= 'a' && character <= 'f')
+        {
+            return character - 'a' + 10;
+        }
+
+        if (character >= 'A' && character <= 'F')
+        {
+            return character - 'A' + 10;
+        }
+
+        return -1;
+    }
+
+    private static void checkUUID(String id, String messageIfMissing, String messageIfInvalid) throws FailedAssertionException
+    {
+        if (isNullOrEmpty(id))
+        {
+            throw new FailedAssertionException(messageIfMissing);
+        }
+
+        if (!isUUID(id))
+        {
+            throw new FailedAssertionException(messageIfInvalid);
+        }
+    }
+
 
 }
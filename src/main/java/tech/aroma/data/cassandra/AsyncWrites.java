@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.aroma.thrift.exceptions.OperationFailedException;
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.greaterThan;
+
+/**
+ * Executes many independent writes asynchronously, with a limit on how many are in flight at once.
+ * <p>
+ * This is used to fan a single item out to many partitions, such as one per User. A logged or unlogged
+ * batch across partitions would only move the fan-out onto the coordinator, and writing the partitions one
+ * at a time pays a full round trip for each of them.
+ *
+ * @author SirWellington
+ */
+@NonInstantiable
+final class AsyncWrites
+{
+
+    private final static Logger LOG = LoggerFactory.getLogger(AsyncWrites.class);
+
+    /**
+     * The most writes kept in flight at once, so that a large fan-out does not exhaust the connections to the cluster.
+     */
+    static final int MAX_IN_FLIGHT = 64;
+
+    AsyncWrites() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    static void executeAll(Session session, List<? extends Statement> statements, String operationName) throws OperationFailedException
+    {
+        executeAll(session, statements, MAX_IN_FLIGHT, operationName);
+    }
+
+    /**
+     * Executes each of the statements and waits for all of them to complete.
+     *
+     * @throws OperationFailedException If any of the writes fails. The rest are still attempted.
+     */
+    static void executeAll(Session session,
+                           List<? extends Statement> statements,
+                           int maxInFlight,
+                           String operationName) throws OperationFailedException
+    {
+        checkThat(session, statements)
+            .are(notNull());
+
+        checkThat(maxInFlight)
+            .is(greaterThan(0));
+
+        Semaphore permits = new Semaphore(maxInFlight);
+        List<ResultSetFuture> writes = new ArrayList<>(statements.size());
+
+        for (Statement statement : statements)
+        {
+            permits.acquireUninterruptibly();
+
+            try
+            {
+                ResultSetFuture write = session.executeAsync(statement);
+                write.addListener(permits::release, Runnable::run);
+                writes.add(write);
+            }
+            catch (Exception ex)
+            {
+                permits.release();
+                LOG.error("Failed to execute Cassandra Statement: {}", operationName, ex);
+                throw new OperationFailedException("Could not perform operation: " + ex.getMessage());
+            }
+        }
+
+        awaitAll(writes, operationName);
+    }
+
+    private static void awaitAll(List<ResultSetFuture> writes, String operationName) throws OperationFailedException
+    {
+        Exception failure = null;
+        int failures = 0;
+
+        for (ResultSetFuture write : writes)
+        {
+            try
+            {
+                write.getUninterruptibly();
+            }
+            catch (Exception ex)
+            {
+                failure = ex;
+                ++failures;
+            }
+        }
+
+        if (failure != null)
+        {
+            LOG.error("{} of {} writes failed for Cassandra Statement: {}", failures, writes.size(), operationName, failure);
+            throw new OperationFailedException("Could not perform operation: " + failure.getMessage());
+        }
+    }
+
+}
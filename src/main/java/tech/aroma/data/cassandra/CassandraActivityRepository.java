@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tech.aroma.data.ActivityRepository;
 import tech.aroma.data.cassandra.Tables.Activity;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.LengthOfTime;
 import tech.aroma.thrift.User;
 import tech.aroma.thrift.events.Event;
@@ -42,6 +43,7 @@ import static tech.aroma.data.assertions.RequestAssertions.validUserId;
 import static tech.sirwellington.alchemy.arguments.Arguments.*;
 import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
 import static tech.sirwellington.alchemy.arguments.assertions.BooleanAssertions.trueStatement;
+import static tech.sirwellington.alchemy.arguments.assertions.CollectionAssertions.nonEmptyList;
 import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.greaterThan;
 import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.*;
 
@@ -58,7 +60,7 @@ final class CassandraActivityRepository implements ActivityRepository
     private final Function<Row, Event> eventMapper;
     
     @Inject
-    CassandraActivityRepository(Session session, Function<Row, Event> eventMapper)
+    CassandraActivityRepository(@Instrumented Session session, Function<Row, Event> eventMapper)
     {
         checkThat(session, eventMapper)
             .are(notNull());
@@ -76,11 +78,38 @@ final class CassandraActivityRepository implements ActivityRepository
         
         User user = forUser;
         
-        Statement insertStatement = createStatementToSaveEventForUser(event, user, lifetime);
+        String serializedEvent = ThriftObjects.toJson(event);
+        Statement insertStatement = createStatementToSaveEventForUser(event, serializedEvent, user, lifetime);
         
         tryToExecute(insertStatement, "saveEvent");
     }
     
+    @Override
+    public void saveEvents(Event event, List<User> users, LengthOfTime lifetime) throws TException
+    {
+        checkEvent(event);
+        checkThat(users)
+            .throwing(InvalidArgumentException.class)
+            .is(nonEmptyList());
+        checkLifetime(lifetime);
+        
+        for (User user : users)
+        {
+            checkUser(user);
+        }
+        
+        String serializedEvent = ThriftObjects.toJson(event);
+        
+        List<Statement> insertStatements = new ArrayList<>(users.size());
+        
+        for (User user : users)
+        {
+            insertStatements.add(createStatementToSaveEventForUser(event, serializedEvent, user, lifetime));
+        }
+        
+        AsyncWrites.executeAll(session, insertStatements, "saveEvents");
+    }
+    
     @Override
     public boolean containsEvent(String eventId, User user) throws TException
     {
@@ -184,12 +213,13 @@ final class CassandraActivityRepository implements ActivityRepository
             .is(trueStatement());
     }
     
-    private Statement createStatementToSaveEventForUser(Event event, User user, LengthOfTime lifetime) throws TException
+    private Statement createStatementToSaveEventForUser(Event event,
+                                                        String serializedEvent,
+                                                        User user,
+                                                        LengthOfTime lifetime) throws TException
     {
         UUID eventId = UUID.fromString(event.eventId);
         UUID userId = UUID.fromString(user.userId);
-        String serializedEvent = ThriftObjects.toJson(event);
-        
         
         Insert statement = QueryBuilder
             .insertInto(Activity.TABLE_NAME)
@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import sir.wellington.alchemy.collections.lists.Lists;
 import sir.wellington.alchemy.collections.sets.Sets;
 import tech.aroma.data.ApplicationRepository;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.Application;
 import tech.aroma.thrift.exceptions.*;
 
@@ -54,7 +55,7 @@ final class CassandraApplicationRepository implements ApplicationRepository
     private final Function<Row, Application> applicationMapper;
     
     @Inject
-    CassandraApplicationRepository(Session cassandra, 
+    CassandraApplicationRepository(@Instrumented Session cassandra, 
                                    Function<Row, Application> applicationMapper)
     {
         checkThat(cassandra, applicationMapper)
@@ -134,6 +135,35 @@ final class CassandraApplicationRepository implements ApplicationRepository
         return app;
     }
     
+    @Override
+    public Optional<Application> findApplication(String applicationId) throws TException
+    {
+        checkApplicationId(applicationId);
+        
+        Statement query = createQueryForAppWithId(applicationId);
+        
+        ResultSet results;
+        
+        try
+        {
+            results = cassandra.execute(query);
+        }
+        catch (Exception ex)
+        {
+            LOG.error("Failed to query for application with ID {}", applicationId, ex);
+            throw new OperationFailedException("Could not Query Application with ID: " + applicationId);
+        }
+        
+        Row row = results.one();
+        
+        if (row == null)
+        {
+            return Optional.empty();
+        }
+        
+        return Optional.of(createApplicationFromRow(row));
+    }
+    
     @Override
     public boolean containsApplication(String applicationId) throws TException
     {
@@ -29,6 +29,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tech.aroma.data.CredentialRepository;
 import tech.aroma.data.cassandra.Tables.Credentials;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.exceptions.*;
 import tech.sirwellington.alchemy.annotations.access.Internal;
 
@@ -50,7 +51,7 @@ final class CassandraCredentialsRepository implements CredentialRepository
     private final Session cassandra;
 
     @Inject
-    CassandraCredentialsRepository(Session cassandra)
+    CassandraCredentialsRepository(@Instrumented Session cassandra)
     {
         checkThat(cassandra).is(notNull());
         
@@ -30,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.data.FollowerRepository;
 import tech.aroma.data.cassandra.Tables.*;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.Application;
 import tech.aroma.thrift.User;
 import tech.aroma.thrift.exceptions.InvalidArgumentException;
@@ -55,7 +56,7 @@ final class CassandraFollowerRepository implements FollowerRepository
     private final Function<Row, Application> applicationMapper;
 
     @Inject
-    CassandraFollowerRepository(Session cassandra,
+    CassandraFollowerRepository(@Instrumented Session cassandra,
                                 Function<Row, User> userMapper,
                                 Function<Row, Application> applicationMapper)
     {
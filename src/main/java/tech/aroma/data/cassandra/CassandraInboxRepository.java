@@ -16,6 +16,7 @@
 
 package tech.aroma.data.cassandra;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Function;
@@ -29,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.data.InboxRepository;
 import tech.aroma.data.cassandra.Tables.Inbox;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.*;
 import tech.aroma.thrift.Message;
 import tech.aroma.thrift.exceptions.InvalidArgumentException;
@@ -40,6 +42,7 @@ import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
 import static tech.aroma.data.assertions.RequestAssertions.*;
 import static tech.sirwellington.alchemy.arguments.Arguments.*;
 import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+import static tech.sirwellington.alchemy.arguments.assertions.CollectionAssertions.nonEmptyList;
 
 /**
  *
@@ -54,7 +57,7 @@ final class CassandraInboxRepository implements InboxRepository
     private final Function<Row, Message> messageMapper;
 
     @Inject
-    CassandraInboxRepository(Session cassandra,
+    CassandraInboxRepository(@Instrumented Session cassandra,
                              Function<Row, Message> messageMapper)
     {
         checkThat(cassandra, messageMapper)
@@ -67,13 +70,8 @@ final class CassandraInboxRepository implements InboxRepository
     @Override
     public void saveMessageForUser(@Required User user, @Required Message message,  @Required LengthOfTime lifetime) throws TException
     {
-        checkThat(message)
-            .throwing(ex -> new InvalidArgumentException(ex.getMessage()))
-            .is(validMessage());
-
-        checkThat(user)
-            .throwing(ex -> new InvalidArgumentException(ex.getMessage()))
-            .is(validUser());
+        checkValid(message, validMessage());
+        checkValid(user, validUser());
 
         Statement insertStatement = createStatementToSaveMessage(message, user, lifetime);
 
@@ -89,13 +87,30 @@ final class CassandraInboxRepository implements InboxRepository
     }
 
     @Override
-    public List<Message> getMessagesForUser(String userId) throws TException
+    public void saveMessageForUsers(@Required List<User> users, @Required Message message, @Required LengthOfTime lifetime) throws TException
     {
-        checkThat(userId)
+        checkThat(users)
             .throwing(InvalidArgumentException.class)
-            .is(validUserId());
+            .is(nonEmptyList());
+        checkValid(message, validMessage());
+
+        List<Statement> insertStatements = new ArrayList<>(users.size());
+
+        for (User user : users)
+        {
+            checkValid(user, validUser());
+            insertStatements.add(createStatementToSaveMessage(message, user, lifetime));
+        }
+
+        AsyncWrites.executeAll(cassandra, insertStatements, "saveMessageForUsers");
+    }
+
+    @Override
+    public List<Message> getMessagesForUser(String userId) throws TException
+    {
+        UUID userUuid = checkUserId(userId);
 
-        Statement query = createQueryToGetMessagesFor(userId);
+        Statement query = createQueryToGetMessagesFor(userUuid);
 
         ResultSet results;
 
@@ -128,13 +143,10 @@ final class CassandraInboxRepository implements InboxRepository
     @Override
     public boolean containsMessageInInbox(String userId, Message message) throws TException
     {
-        checkUserId(userId);
+        UUID userUuid = checkUserId(userId);
+        checkValid(message, validMessage());
 
-        checkThat(message)
-            .throwing(InvalidArgumentException.class)
-            .is(validMessage());
-
-        Statement query = createQueryToCheckIfInInboxOf(userId, message);
+        Statement query = createQueryToCheckIfInInboxOf(userUuid, parseUUID(message.messageId));
 
         ResultSet results;
 
@@ -161,10 +173,10 @@ final class CassandraInboxRepository implements InboxRepository
     @Override
     public void deleteMessageForUser(String userId, String messageId) throws TException
     {
-        checkUserId(userId);
-        checkMessageId(messageId);
+        UUID userUuid = checkUserId(userId);
+        UUID msgUuid = checkMessageId(messageId);
 
-        Statement deleteStatement = createDeleteStatementFor(userId, messageId);
+        Statement deleteStatement = createDeleteStatementFor(userUuid, msgUuid);
 
         try
         {
@@ -181,9 +193,9 @@ final class CassandraInboxRepository implements InboxRepository
     @Override
     public void deleteAllMessagesForUser(String userId) throws TException
     {
-        checkUserId(userId);
+        UUID userUuid = checkUserId(userId);
 
-        Statement deleteStatement = createDeleteAllStatementFor(userId);
+        Statement deleteStatement = createDeleteAllStatementFor(userUuid);
 
         try
         {
@@ -199,9 +211,9 @@ final class CassandraInboxRepository implements InboxRepository
     @Override
     public long countInboxForUser(String userId) throws TException
     {
-        checkUserId(userId);
+        UUID userUuid = checkUserId(userId);
 
-        Statement query = createQueryToCountMessagesFor(userId);
+        Statement query = createQueryToCountMessagesFor(userUuid);
 
         ResultSet results;
 
@@ -228,9 +240,9 @@ final class CassandraInboxRepository implements InboxRepository
     private Statement createStatementToSaveMessage(Message message, User user, LengthOfTime lifetime)
     {
         //UUIDs
-        UUID msgUuid = UUID.fromString(message.messageId);
-        UUID userUuid = UUID.fromString(user.userId);
-        UUID appUuid = UUID.fromString(message.applicationId);
+        UUID msgUuid = parseUUID(message.messageId);
+        UUID userUuid = parseUUID(user.userId);
+        UUID appUuid = parseUUID(message.applicationId);
         
         //Urgency
         String urgency = null;
@@ -259,10 +271,8 @@ final class CassandraInboxRepository implements InboxRepository
 
     }
 
-    private Statement createQueryToGetMessagesFor(String userId)
+    private Statement createQueryToGetMessagesFor(UUID userUuid)
     {
-        UUID userUuid = UUID.fromString(userId);
-
         return QueryBuilder
             .select()
             .all()
@@ -272,11 +282,8 @@ final class CassandraInboxRepository implements InboxRepository
             .limit(5_000);
     }
 
-    private Statement createQueryToCheckIfInInboxOf(String userId, Message message)
+    private Statement createQueryToCheckIfInInboxOf(UUID userUuid, UUID msgUuid)
     {
-        UUID userUuid = UUID.fromString(userId);
-        UUID msgUuid = UUID.fromString(message.messageId);
-
         return QueryBuilder
             .select()
             .countAll()
@@ -286,11 +293,8 @@ final class CassandraInboxRepository implements InboxRepository
 
     }
 
-    private Statement createDeleteStatementFor(String userId, String messageId)
+    private Statement createDeleteStatementFor(UUID userUuid, UUID msgUuid)
     {
-        UUID userUuid = UUID.fromString(userId);
-        UUID msgUuid = UUID.fromString(messageId);
-        
         return QueryBuilder
             .delete()
             .all()
@@ -299,10 +303,8 @@ final class CassandraInboxRepository implements InboxRepository
             .and(eq(Inbox.MESSAGE_ID, msgUuid));
     }
 
-    private Statement createDeleteAllStatementFor(String userId)
+    private Statement createDeleteAllStatementFor(UUID userUuid)
     {
-        UUID userUuid = UUID.fromString(userId);
-        
         return QueryBuilder
             .delete()
             .all()
@@ -310,10 +312,8 @@ final class CassandraInboxRepository implements InboxRepository
             .where(eq(Inbox.USER_ID, userUuid));
     }
 
-    private Statement createQueryToCountMessagesFor(String userId)
+    private Statement createQueryToCountMessagesFor(UUID userUuid)
     {
-        UUID userUuid = UUID.fromString(userId);
-        
         return QueryBuilder
             .select()
             .countAll()
@@ -321,18 +321,14 @@ final class CassandraInboxRepository implements InboxRepository
             .where(eq(Inbox.USER_ID, userUuid));
     }
 
-    private void checkMessageId(String messageId) throws InvalidArgumentException
+    private UUID checkMessageId(String messageId) throws InvalidArgumentException
     {
-        checkThat(messageId)
-            .throwing(InvalidArgumentException.class)
-            .is(validMessageId());
+        return checkValidId(messageId, validMessageId());
     }
 
-    private void checkUserId(String userId) throws InvalidArgumentException
+    private UUID checkUserId(String userId) throws InvalidArgumentException
     {
-        checkThat(userId)
-            .throwing(ex -> new InvalidArgumentException(ex.getMessage()))
-            .is(validUserId());
+        return checkValidId(userId, validUserId());
     }
 
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import com.datastax.driver.core.*;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+/**
+ * Records the latency the Cassandra driver sees for each request, per statement kind and table,
+ * for example {@code SELECT Messages}.
+ * <p>
+ * The driver calls this once per attempt, so retries and speculative executions are each measured.
+ * This latency covers the network and the coordinator, but not the time the Repositories spend
+ * mapping {@link Row Rows}, which is measured separately by {@link MeasuredMappers}.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+public final class CassandraLatencyTracker implements LatencyTracker
+{
+
+    @Override
+    public void update(Host host, Statement statement, Exception exception, long newLatencyNanos)
+    {
+        CassandraStatements.metricsOf(statement).record(newLatencyNanos, 0, 0, exception != null);
+    }
+
+    @Override
+    public void onRegister(Cluster cluster)
+    {
+    }
+
+    @Override
+    public void onUnregister(Cluster cluster)
+    {
+    }
+
+}
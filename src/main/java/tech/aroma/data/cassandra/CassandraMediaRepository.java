@@ -28,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tech.aroma.data.MediaRepository;
 import tech.aroma.data.cassandra.Tables.Media;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.Dimension;
 import tech.aroma.thrift.Image;
 import tech.aroma.thrift.exceptions.*;
@@ -51,7 +52,7 @@ final class CassandraMediaRepository implements MediaRepository
     private final Function<Row, Image> imageMapper;
     
     @Inject
-    CassandraMediaRepository(Session cassandra, Function<Row, Image> imageMapper)
+    CassandraMediaRepository(@Instrumented Session cassandra, Function<Row, Image> imageMapper)
     {
         checkThat(cassandra, imageMapper)
             .are(notNull());
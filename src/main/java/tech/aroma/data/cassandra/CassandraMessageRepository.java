@@ -17,6 +17,7 @@
 package tech.aroma.data.cassandra;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 import javax.inject.Inject;
@@ -29,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.data.MessageRepository;
 import tech.aroma.data.cassandra.Tables.Messages;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.LengthOfTime;
 import tech.aroma.thrift.Message;
 import tech.aroma.thrift.exceptions.*;
@@ -36,6 +38,8 @@ import tech.aroma.thrift.functions.TimeFunctions;
 
 import static com.datastax.driver.core.querybuilder.QueryBuilder.*;
 import static java.lang.String.format;
+import static tech.aroma.data.assertions.RequestAssertions.isNullOrEmpty;
+import static tech.aroma.data.assertions.RequestAssertions.parseUUID;
 import static tech.aroma.data.cassandra.Tables.Messages.*;
 import static tech.sirwellington.alchemy.arguments.Arguments.*;
 import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
@@ -53,7 +57,7 @@ final class CassandraMessageRepository implements MessageRepository
     private final Function<Row, Message> messageMapper;
 
     @Inject
-    CassandraMessageRepository(Session cassandra,
+    CassandraMessageRepository(@Instrumented Session cassandra,
                                Function<Row, Message> messageMapper)
     {
         checkThat(cassandra, messageMapper)
@@ -70,9 +74,12 @@ final class CassandraMessageRepository implements MessageRepository
                 .throwing(InvalidArgumentException.class)
                 .is(notNull());
 
-        Statement insertStatement = createInsertForMessage(message, lifetime);
-        Statement updateTotalMessagesByApp = createUpdateForMessageByApp(message);
-        Statement updateTotalMessageByTitle = createUpdateForMessageCounterByTitle(message);
+        UUID msgId = checkMessageId(message.messageId);
+        UUID appId = checkAppId(message.applicationId);
+
+        Statement insertStatement = createInsertForMessage(message, msgId, appId, lifetime);
+        Statement updateTotalMessagesByApp = createUpdateForMessageByApp(appId);
+        Statement updateTotalMessageByTitle = createUpdateForMessageCounterByTitle(appId, message.title);
 
         try
         {
@@ -92,10 +99,10 @@ final class CassandraMessageRepository implements MessageRepository
     @Override
     public Message getMessage(String applicationId, String messageId) throws TException
     {
-        checkMessageId(messageId);
-        checkAppId(applicationId);
+        UUID msgId = checkMessageId(messageId);
+        UUID appId = checkAppId(applicationId);
 
-        Statement query = createQueryForMessageWithId(applicationId, messageId);
+        Statement query = createQueryForMessageWithId(appId, msgId);
 
         LOG.debug("Querying cassandra for message with ID [{}] and App [{}]", messageId, applicationId);
         ResultSet results = tryToExecute(query, "Failed to query for message with ID: " + messageId);
@@ -111,13 +118,33 @@ final class CassandraMessageRepository implements MessageRepository
         return message;
     }
 
+    @Override
+    public Optional<Message> findMessage(String applicationId, String messageId) throws TException
+    {
+        UUID msgId = checkMessageId(messageId);
+        UUID appId = checkAppId(applicationId);
+
+        Statement query = createQueryForMessageWithId(appId, msgId);
+
+        ResultSet results = tryToExecute(query, "Failed to query for message with ID: " + messageId);
+
+        Row row = results.one();
+
+        if (row == null)
+        {
+            return Optional.empty();
+        }
+
+        return Optional.of(createMessageFromRow(row));
+    }
+
     @Override
     public void deleteMessage(String applicationId, String messageId) throws TException
     {
-        checkAppId(applicationId);
-        checkMessageId(messageId);
+        UUID appId = checkAppId(applicationId);
+        UUID msgId = checkMessageId(messageId);
 
-        Statement deleteStatement = createDeleteStatementFor(applicationId, messageId);
+        Statement deleteStatement = createDeleteStatementFor(appId, msgId);
 
         tryToExecute(deleteStatement, "Failed to delete message with ID: " + messageId);
     }
@@ -125,10 +152,10 @@ final class CassandraMessageRepository implements MessageRepository
     @Override
     public boolean containsMessage(String applicationId, String messageId) throws TException
     {
-        checkMessageId(messageId);
-        checkAppId(applicationId);
+        UUID msgId = checkMessageId(messageId);
+        UUID appId = checkAppId(applicationId);
 
-        Statement query = createQueryToCheckIfMessageExists(applicationId, messageId);
+        Statement query = createQueryToCheckIfMessageExists(appId, msgId);
 
         ResultSet results = tryToExecute(query, "Could not query for message: " + messageId);
 
@@ -168,9 +195,9 @@ final class CassandraMessageRepository implements MessageRepository
     @Override
     public List<Message> getByApplication(String applicationId) throws TException
     {
-        checkAppId(applicationId);
+        UUID appId = checkAppId(applicationId);
 
-        Statement query = createQueryToFindMessagesByApplication(applicationId);
+        Statement query = createQueryToFindMessagesByApplication(appId);
 
         ResultSet results = tryToExecute(query, "Could not query for messages by App: " + applicationId);
 
@@ -213,9 +240,9 @@ final class CassandraMessageRepository implements MessageRepository
     @Override
     public long getCountByApplication(String applicationId) throws TException
     {
-        checkAppId(applicationId);
+        UUID appId = checkAppId(applicationId);
 
-        Statement query = createQueryToCountMessagesByApplication(applicationId);
+        Statement query = createQueryToCountMessagesByApplication(appId);
 
         ResultSet results = tryToExecute(query, "Failed to count messages for App: " + applicationId);
 
@@ -228,25 +255,16 @@ final class CassandraMessageRepository implements MessageRepository
     @Override
     public void deleteAllMessages(String applicationId) throws TException
     {
-        checkAppId(applicationId);
+        UUID appId = checkAppId(applicationId);
 
-        Statement deleteStatement = createStatementToDeleteAllMessagesFor(applicationId);
+        Statement deleteStatement = createStatementToDeleteAllMessagesFor(appId);
 
         tryToExecute(deleteStatement, "Failed to delete All Messages for App: " + applicationId);
     }
 
 
-    private Statement createInsertForMessage(Message message, LengthOfTime lifetime) throws InvalidArgumentException
+    private Statement createInsertForMessage(Message message, UUID msgId, UUID appId, LengthOfTime lifetime)
     {
-        checkThat(message.messageId, message.applicationId)
-                .throwing(InvalidArgumentException.class)
-                .are(nonEmptyString())
-                .are(validUUID());
-
-        //UUIDs
-        UUID msgId = UUID.fromString(message.messageId);
-        UUID appId = UUID.fromString(message.applicationId);
-
         //Urgency
         String urgency = message.urgency != null ? message.urgency.toString() : null;
 
@@ -268,42 +286,37 @@ final class CassandraMessageRepository implements MessageRepository
                 .using(ttl(timeToLive.intValue()));
     }
 
-    private Statement createUpdateForMessageByApp(Message message)
+    private Statement createUpdateForMessageByApp(UUID appId)
     {
-        UUID appId = UUID.fromString(message.applicationId);
-
         return QueryBuilder
                 .update(Messages.TABLE_NAME_TOTALS_BY_APP)
                 .where(eq(APP_ID, appId))
                 .with(incr(TOTAL_MESSAGES, 1));
     }
 
-    private Statement createUpdateForMessageCounterByTitle(Message message)
+    private Statement createUpdateForMessageCounterByTitle(UUID appId, String title)
     {
-        UUID appId = UUID.fromString(message.applicationId);
-
         return QueryBuilder
                 .update(Messages.TABLE_NAME_TOTALS_BY_TITLE)
                 .where(eq(APP_ID, appId))
-                .and(eq(TITLE, message.title))
+                .and(eq(TITLE, title))
                 .with(incr(TOTAL_MESSAGES, 1));
     }
 
-    private void checkMessageId(String messageId) throws InvalidArgumentException
+    private UUID checkMessageId(String messageId) throws InvalidArgumentException
     {
-        checkThat(messageId)
-                .usingMessage("missing messageId")
-                .throwing(InvalidArgumentException.class)
-                .is(nonEmptyString())
-                .usingMessage("messageId must be a UUID")
-                .is(validUUID());
+        UUID msgId = parseUUID(messageId);
+
+        if (msgId == null)
+        {
+            throw new InvalidArgumentException(isNullOrEmpty(messageId) ? "missing messageId" : "messageId must be a UUID");
+        }
+
+        return msgId;
     }
 
-    private Statement createQueryForMessageWithId(String applicationId, String messageId)
+    private Statement createQueryForMessageWithId(UUID appId, UUID msgId)
     {
-        UUID appId = UUID.fromString(applicationId);
-        UUID msgId = UUID.fromString(messageId);
-
         return QueryBuilder
                 .select()
                 .all()
@@ -326,11 +339,8 @@ final class CassandraMessageRepository implements MessageRepository
         return messageMapper.apply(row);
     }
 
-    private Statement createDeleteStatementFor(String applicationId, String messageId)
+    private Statement createDeleteStatementFor(UUID appId, UUID msgId)
     {
-        UUID msgId = UUID.fromString(messageId);
-        UUID appId = UUID.fromString(applicationId);
-
         Statement deleteFromMainTable = QueryBuilder
                 .delete()
                 .all()
@@ -341,11 +351,8 @@ final class CassandraMessageRepository implements MessageRepository
         return deleteFromMainTable;
     }
 
-    private Statement createQueryToCheckIfMessageExists(String applicationId, String messageId)
+    private Statement createQueryToCheckIfMessageExists(UUID appId, UUID msgId)
     {
-        UUID msgId = UUID.fromString(messageId);
-        UUID appId = UUID.fromString(applicationId);
-
         return QueryBuilder
                 .select()
                 .countAll()
@@ -371,10 +378,8 @@ final class CassandraMessageRepository implements MessageRepository
                 .is(stringWithLengthGreaterThanOrEqualTo(2));
     }
 
-    private Statement createQueryToFindMessagesByApplication(String applicationId)
+    private Statement createQueryToFindMessagesByApplication(UUID appId)
     {
-        UUID appId = UUID.fromString(applicationId);
-
         return QueryBuilder
                 .select()
                 .all()
@@ -384,10 +389,8 @@ final class CassandraMessageRepository implements MessageRepository
                 .limit(3000);
     }
 
-    private Statement createQueryToCountMessagesByApplication(String applicationId)
+    private Statement createQueryToCountMessagesByApplication(UUID appId)
     {
-        UUID appId = UUID.fromString(applicationId);
-
         return QueryBuilder
                 .select()
                 .countAll()
@@ -404,20 +407,20 @@ final class CassandraMessageRepository implements MessageRepository
                 .where(eq(TITLE, title));
     }
 
-    private void checkAppId(String applicationId) throws InvalidArgumentException
+    private UUID checkAppId(String applicationId) throws InvalidArgumentException
     {
-        checkThat(applicationId)
-                .throwing(InvalidArgumentException.class)
-                .usingMessage("missing appId")
-                .is(nonEmptyString())
-                .usingMessage("appId must be a UUID Type")
-                .is(validUUID());
+        UUID appId = parseUUID(applicationId);
+
+        if (appId == null)
+        {
+            throw new InvalidArgumentException(isNullOrEmpty(applicationId) ? "missing appId" : "appId must be a UUID Type");
+        }
+
+        return appId;
     }
 
-    private Statement createStatementToDeleteAllMessagesFor(String applicationId)
+    private Statement createStatementToDeleteAllMessagesFor(UUID appId)
     {
-        UUID appId = UUID.fromString(applicationId);
-
         Statement deleteFromMainTable = QueryBuilder
                 .delete()
                 .all()
@@ -30,6 +30,7 @@ import sir.wellington.alchemy.collections.sets.Sets;
 import tech.aroma.data.OrganizationRepository;
 import tech.aroma.data.cassandra.Tables.Organizations;
 import tech.aroma.data.cassandra.Tables.Users;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.*;
 import tech.aroma.thrift.exceptions.*;
 
@@ -55,7 +56,7 @@ final class CassandraOrganizationRepository implements OrganizationRepository
     private final Function<Row, User> userMapper;
     
     @Inject
-    CassandraOrganizationRepository(Session cassandra,
+    CassandraOrganizationRepository(@Instrumented Session cassandra,
                                     Function<Row, Organization> organizationMapper,
                                     Function<Row, User> userMapper)
     {
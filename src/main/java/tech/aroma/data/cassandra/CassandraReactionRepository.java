@@ -28,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.data.ReactionRepository;
 import tech.aroma.data.cassandra.Tables.Reactions;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.exceptions.InvalidArgumentException;
 import tech.aroma.thrift.exceptions.OperationFailedException;
 import tech.aroma.thrift.reactions.Reaction;
@@ -54,7 +55,7 @@ final class CassandraReactionRepository implements ReactionRepository
     private final Function<Row, List<Reaction>> reactionMapper;
 
     @Inject
-    CassandraReactionRepository(Session cassandra, Function<Row, List<Reaction>> reactionMapper)
+    CassandraReactionRepository(@Instrumented Session cassandra, Function<Row, List<Reaction>> reactionMapper)
     {
         checkThat(cassandra, reactionMapper)
             .are(notNull());
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.datastax.driver.core.*;
+import tech.aroma.data.performance.StatementMetrics;
+import tech.sirwellington.alchemy.annotations.access.Internal;
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+
+/**
+ * Names CQL statements by their kind and table, for example {@code SELECT Messages},
+ * so that they can be measured without using the CQL text.
+ *
+ * @author SirWellington
+ */
+@Internal
+@NonInstantiable
+final class CassandraStatements
+{
+
+    static final String BACKEND = "cassandra";
+
+    /**
+     * Statements whose coordinator-side duration comes from a query trace.
+     */
+    static final String COORDINATOR_BACKEND = "cassandra.coordinator";
+
+    /**
+     * Time spent turning {@link Row Rows} into Aroma objects.
+     */
+    static final String MAPPING_BACKEND = "cassandra.mapping";
+
+    static final String BATCH = "BATCH";
+
+    /**
+     * Statements whose query strings embed their values could otherwise fill the cache without end.
+     */
+    static final int MAX_CACHED_QUERIES = 1_000;
+
+    private static final ConcurrentMap<String, StatementMetrics> METRICS_BY_QUERY = new ConcurrentHashMap<>();
+
+    CassandraStatements() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    /**
+     * The driver calls this on its I/O threads, so the metrics are cached by query string instead of
+     * parsing the query and looking up its metrics on every request.
+     *
+     * @return The metrics of the {@linkplain #BACKEND driver-side} latency of {@code statement}.
+     */
+    static StatementMetrics metricsOf(Statement statement)
+    {
+        String query = queryOf(statement);
+
+        if (query == null)
+        {
+            return StatementMetrics.forStatement(BACKEND, nameOf(statement));
+        }
+
+        StatementMetrics metrics = METRICS_BY_QUERY.get(query);
+
+        if (metrics == null)
+        {
+            metrics = StatementMetrics.forStatement(BACKEND, nameOf(query));
+
+            if (METRICS_BY_QUERY.size() < MAX_CACHED_QUERIES)
+            {
+                METRICS_BY_QUERY.putIfAbsent(query, metrics);
+            }
+        }
+
+        return metrics;
+    }
+
+    private static String queryOf(Statement statement)
+    {
+        if (statement instanceof BoundStatement)
+        {
+            return ((BoundStatement) statement).preparedStatement().getQueryString();
+        }
+
+        if (statement instanceof RegularStatement)
+        {
+            return ((RegularStatement) statement).getQueryString();
+        }
+
+        return null;
+    }
+
+    static String nameOf(Statement statement)
+    {
+        if (statement instanceof BatchStatement)
+        {
+            return BATCH;
+        }
+
+        if (statement instanceof BoundStatement)
+        {
+            return nameOf(((BoundStatement) statement).preparedStatement().getQueryString());
+        }
+
+        if (statement instanceof RegularStatement)
+        {
+            return nameOf(((RegularStatement) statement).getQueryString());
+        }
+
+        return StatementMetrics.OTHER;
+    }
+
+    /**
+     * @return The kind and table of the statement, for example {@code INSERT Inbox}.
+     */
+    static String nameOf(String cql)
+    {
+        if (cql == null)
+        {
+            return StatementMetrics.OTHER;
+        }
+
+        String query = cql.trim();
+
+        if (startsWith(query, "BEGIN"))
+        {
+            return BATCH;
+        }
+
+        String table = null;
+        String kind = null;
+
+        if (startsWith(query, "SELECT"))
+        {
+            kind = "SELECT";
+            table = wordAfter(query, " FROM ");
+        }
+        else if (startsWith(query, "INSERT"))
+        {
+            kind = "INSERT";
+            table = wordAfter(query, " INTO ");
+        }
+        else if (startsWith(query, "UPDATE"))
+        {
+            kind = "UPDATE";
+            table = wordAfter(query, "UPDATE ");
+        }
+        else if (startsWith(query, "DELETE"))
+        {
+            kind = "DELETE";
+            table = wordAfter(query, " FROM ");
+        }
+
+        if (kind == null || table == null)
+        {
+            return StatementMetrics.OTHER;
+        }
+
+        return kind + " " + table;
+    }
+
+    private static boolean startsWith(String query, String keyword)
+    {
+        return query.regionMatches(true, 0, keyword, 0, keyword.length());
+    }
+
+    /**
+     * @return The table name that follows {@code keyword}, without its keyspace or quotes.
+     */
+    private static String wordAfter(String query, String keyword)
+    {
+        int start = indexOfIgnoringCase(query, keyword);
+
+        if (start < 0)
+        {
+            return null;
+        }
+
+        start += keyword.length();
+
+        while (start < query.length() && query.charAt(start) == ' ')
+        {
+            start++;
+        }
+
+        int end = start;
+
+        while (end < query.length() && !Character.isWhitespace(query.charAt(end)) && query.charAt(end) != '(' && query.charAt(end) != ';')
+        {
+            end++;
+        }
+
+        if (end == start)
+        {
+            return null;
+        }
+
+        String table = query.substring(start, end);
+        int dot = table.lastIndexOf('.');
+
+        if (dot >= 0)
+        {
+            table = table.substring(dot + 1);
+        }
+
+        return table.replace("\"", "");
+    }
+
+    private static int indexOfIgnoringCase(String query, String keyword)
+    {
+        for (int i = 0; i + keyword.length() <= query.length(); ++i)
+        {
+            if (query.regionMatches(true, i, keyword, 0, keyword.length()))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+}
@@ -17,6 +17,7 @@
 package tech.aroma.data.cassandra;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 import javax.inject.Inject;
@@ -29,6 +30,7 @@ import org.slf4j.LoggerFactory;
 import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.data.TokenRepository;
 import tech.aroma.data.cassandra.Tables.Tokens;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.authentication.AuthenticationToken;
 import tech.aroma.thrift.exceptions.*;
 
@@ -53,7 +55,7 @@ final class CassandraTokenRepository implements TokenRepository
     private final Function<Row, AuthenticationToken> tokenMapper;
 
     @Inject
-    CassandraTokenRepository(Session cassandra,
+    CassandraTokenRepository(@Instrumented Session cassandra,
                              Function<Row, AuthenticationToken> tokenMapper)
     {
         checkThat(cassandra, tokenMapper)
@@ -90,6 +92,23 @@ final class CassandraTokenRepository implements TokenRepository
         return token;
     }
 
+    @Override
+    public Optional<AuthenticationToken> findToken(String tokenId) throws TException
+    {
+        checkTokenId(tokenId);
+
+        Statement query = createQueryToGetToken(tokenId);
+
+        Row row = tryToGetResultSetFrom(query).one();
+
+        if (row == null)
+        {
+            return Optional.empty();
+        }
+
+        return Optional.of(tryToConvertRowToToken(row));
+    }
+
     @Override
     public void saveToken(AuthenticationToken token) throws TException
     {
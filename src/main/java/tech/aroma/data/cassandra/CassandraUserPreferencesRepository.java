@@ -28,6 +28,7 @@ import org.slf4j.LoggerFactory;
 import sir.wellington.alchemy.collections.sets.Sets;
 import tech.aroma.data.UserPreferencesRepository;
 import tech.aroma.data.cassandra.Tables.UserPreferences;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.channels.MobileDevice;
 import tech.aroma.thrift.exceptions.InvalidArgumentException;
 import tech.aroma.thrift.exceptions.OperationFailedException;
@@ -60,7 +61,7 @@ final class CassandraUserPreferencesRepository implements UserPreferencesReposit
     private final Function<Row, Set<MobileDevice>> mobileDeviceMapper;
 
     @Inject
-    CassandraUserPreferencesRepository(Session cassandra,
+    CassandraUserPreferencesRepository(@Instrumented Session cassandra,
                                        Function<Row, Set<MobileDevice>> mobileDeviceMapper)
     {
         checkThat(cassandra, mobileDeviceMapper)
@@ -30,6 +30,7 @@ import sir.wellington.alchemy.collections.lists.Lists;
 import sir.wellington.alchemy.collections.sets.Sets;
 import tech.aroma.data.UserRepository;
 import tech.aroma.data.cassandra.Tables.Users;
+import tech.aroma.data.performance.Instrumented;
 import tech.aroma.thrift.*;
 import tech.aroma.thrift.exceptions.*;
 import tech.aroma.thrift.functions.TimeFunctions;
@@ -58,7 +59,7 @@ final class CassandraUserRepository implements UserRepository
     private final Function<Row, User> userMapper;
 
     @Inject
-    CassandraUserRepository(Session cassandra,
+    CassandraUserRepository(@Instrumented Session cassandra,
                             Function<Row, User> userMapper)
     {
         checkThat(cassandra, userMapper)
@@ -101,6 +102,23 @@ final class CassandraUserRepository implements UserRepository
         return user;
     }
 
+    @Override
+    public Optional<User> findUser(String userId) throws TException
+    {
+        checkUserId(userId);
+
+        Statement query = createQueryToGetUser(userId);
+
+        Row row = tryToExecute(query).one();
+
+        if (row == null)
+        {
+            return Optional.empty();
+        }
+
+        return Optional.of(convertRowToUser(row));
+    }
+
     @Override
     public void deleteUser(String userId) throws TException
     {
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.lang.reflect.*;
+
+import com.datastax.driver.core.*;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.aroma.data.performance.Instrumented;
+import tech.aroma.data.performance.RoundTrips;
+import tech.aroma.data.performance.StatementMetrics;
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+
+/**
+ * Wraps a Cassandra {@link Session} so that each statement it executes or prepares counts as one
+ * {@linkplain RoundTrips round trip} towards the Repository call being made.
+ * A {@code BatchStatement} counts as a single round trip.
+ * <p>
+ * It also records the retries and speculative executions the driver made for each statement, and
+ * {@linkplain QueryTraces traces} a small sample of them. Latency is measured by the
+ * {@link CassandraLatencyTracker} registered with the {@link Cluster}.
+ *
+ * @author SirWellington
+ * @see Instrumented
+ */
+@NonInstantiable
+public final class InstrumentedSession
+{
+
+    private final static Logger LOG = LoggerFactory.getLogger(InstrumentedSession.class);
+
+    InstrumentedSession() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    public static Session wrap(@Required Session cassandra)
+    {
+        checkThat(cassandra).is(notNull());
+
+        if (Proxy.isProxyClass(cassandra.getClass()) && Proxy.getInvocationHandler(cassandra) instanceof Handler)
+        {
+            return cassandra;
+        }
+
+        ClassLoader classLoader = Session.class.getClassLoader();
+        return (Session) Proxy.newProxyInstance(classLoader, new Class<?>[] { Session.class }, new Handler(cassandra));
+    }
+
+    static boolean isRoundTrip(Method method)
+    {
+        String name = method.getName();
+        return name.startsWith("execute") || name.startsWith("prepare");
+    }
+
+    /**
+     * Records what the driver did to execute {@code statement}. The retry count is an estimate,
+     * based on the number of hosts that were tried.
+     */
+    static void afterExecution(Statement statement, ExecutionInfo info, boolean traced)
+    {
+        if (info == null)
+        {
+            return;
+        }
+
+        StatementMetrics metrics = CassandraStatements.metricsOf(statement);
+        int speculativeExecutions = info.getSpeculativeExecutions();
+        int retries = Math.max(0, info.getTriedHosts().size() - 1 - speculativeExecutions);
+
+        metrics.recordAttempts(retries, speculativeExecutions);
+
+        if (traced)
+        {
+            String name = metrics.getStatement();
+            ListenableFuture<QueryTrace> trace = info.getQueryTraceAsync();
+            trace.addListener(() ->
+            {
+                try
+                {
+                    QueryTraces.record(name, trace.get());
+                }
+                catch (Exception ex)
+                {
+                    LOG.debug("Could not fetch Query Trace for {}", name, ex);
+                }
+            }, MoreExecutors.directExecutor());
+        }
+    }
+
+    private static final class Handler implements InvocationHandler
+    {
+
+        private final Session delegate;
+
+        Handler(Session delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            if (method.getDeclaringClass() == Object.class)
+            {
+                return invokeObjectMethod(proxy, method, args);
+            }
+
+            if (!isRoundTrip(method))
+            {
+                return invokeDelegate(method, args);
+            }
+
+            RoundTrips.recordStatement();
+
+            Statement statement = null;
+            boolean traced = false;
+
+            if (method.getName().startsWith("execute") && args != null && args.length > 0 && args[0] instanceof Statement)
+            {
+                statement = (Statement) args[0];
+
+                if (!statement.isTracing() && QueryTraces.shouldTrace())
+                {
+                    statement.enableTracing();
+                    traced = true;
+                }
+            }
+
+            Object result;
+
+            try
+            {
+                result = invokeDelegate(method, args);
+            }
+            finally
+            {
+                //The driver reads the flag when it sends the request, so the caller's Statement is left as it was
+                if (traced)
+                {
+                    statement.disableTracing();
+                }
+            }
+
+            if (statement != null)
+            {
+                track(statement, result, traced);
+            }
+
+            return result;
+        }
+
+        private Object invokeDelegate(Method method, Object[] args) throws Throwable
+        {
+            try
+            {
+                return method.invoke(delegate, args);
+            }
+            catch (InvocationTargetException ex)
+            {
+                throw ex.getCause();
+            }
+        }
+
+        private void track(Statement statement, Object result, boolean traced)
+        {
+            if (result instanceof ResultSet)
+            {
+                afterExecution(statement, ((ResultSet) result).getExecutionInfo(), traced);
+            }
+            else if (result instanceof ResultSetFuture)
+            {
+                ResultSetFuture future = (ResultSetFuture) result;
+                future.addListener(() ->
+                {
+                    try
+                    {
+                        afterExecution(statement, future.getUninterruptibly().getExecutionInfo(), traced);
+                    }
+                    catch (RuntimeException ex)
+                    {
+                        LOG.trace("Statement failed; its attempts are not recorded", ex);
+                    }
+                }, MoreExecutors.directExecutor());
+            }
+        }
+
+        private Object invokeObjectMethod(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            switch (method.getName())
+            {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Instrumented[" + delegate + "]";
+                default:
+                    try
+                    {
+                        return method.invoke(delegate, args);
+                    }
+                    catch (InvocationTargetException ex)
+                    {
+                        throw ex.getCause();
+                    }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.util.function.Function;
+
+import com.datastax.driver.core.Row;
+import tech.aroma.data.performance.StatementMetrics;
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.nonEmptyString;
+
+/**
+ * Measures the client-side cost of the {@link Mappers}, so that it can be told apart from the
+ * latency of Cassandra itself.
+ * <p>
+ * Each mapped {@link Row} is recorded under the {@code cassandra.mapping} backend.
+ *
+ * @author SirWellington
+ * @see CassandraLatencyTracker
+ */
+@NonInstantiable
+final class MeasuredMappers
+{
+
+    MeasuredMappers() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    static <T> Function<Row, T> measure(@NonEmpty String name, @Required Function<Row, T> mapper)
+    {
+        checkThat(name).is(nonEmptyString());
+        checkThat(mapper).is(notNull());
+
+        StatementMetrics metrics = StatementMetrics.forStatement(CassandraStatements.MAPPING_BACKEND, name);
+
+        return row ->
+        {
+            long start = System.nanoTime();
+            boolean failed = true;
+
+            try
+            {
+                T result = mapper.apply(row);
+                failed = false;
+                return result;
+            }
+            finally
+            {
+                metrics.record(System.nanoTime() - start, 1, 0, failed);
+            }
+        };
+    }
+
+}
@@ -26,6 +26,8 @@ import com.google.inject.Provides;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tech.aroma.data.*;
+import tech.aroma.data.performance.Instrumented;
+import tech.aroma.data.performance.MeasuredRepositories;
 import tech.aroma.thrift.*;
 import tech.aroma.thrift.Message;
 import tech.aroma.thrift.authentication.AuthenticationToken;
@@ -49,72 +51,83 @@ public final class ModuleCassandraDataRepositories extends AbstractModule
     @Override
     protected void configure()
     {
-        bind(ActivityRepository.class).to(CassandraActivityRepository.class);
-        bind(ApplicationRepository.class).to(CassandraApplicationRepository.class);
-        bind(CredentialRepository.class).to(CassandraCredentialsRepository.class);
-        bind(FollowerRepository.class).to(CassandraFollowerRepository.class);
-        bind(InboxRepository.class).to(CassandraInboxRepository.class);
-        bind(MediaRepository.class).to(CassandraMediaRepository.class);
-        bind(MessageRepository.class).to(CassandraMessageRepository.class);
-        bind(OrganizationRepository.class).to(CassandraOrganizationRepository.class);
-        bind(ReactionRepository.class).to(CassandraReactionRepository.class);
-        bind(TokenRepository.class).to(CassandraTokenRepository.class);
-        bind(UserRepository.class).to(CassandraUserRepository.class);
-        bind(UserPreferencesRepository.class).to(CassandraUserPreferencesRepository.class);
+        MeasuredRepositories.bind(binder(), ActivityRepository.class, CassandraActivityRepository.class);
+        MeasuredRepositories.bind(binder(), ApplicationRepository.class, CassandraApplicationRepository.class);
+        MeasuredRepositories.bind(binder(), CredentialRepository.class, CassandraCredentialsRepository.class);
+        MeasuredRepositories.bind(binder(), FollowerRepository.class, CassandraFollowerRepository.class);
+        MeasuredRepositories.bind(binder(), InboxRepository.class, CassandraInboxRepository.class);
+        MeasuredRepositories.bind(binder(), MediaRepository.class, CassandraMediaRepository.class);
+        MeasuredRepositories.bind(binder(), MessageRepository.class, CassandraMessageRepository.class);
+        MeasuredRepositories.bind(binder(), OrganizationRepository.class, CassandraOrganizationRepository.class);
+        MeasuredRepositories.bind(binder(), ReactionRepository.class, CassandraReactionRepository.class);
+        MeasuredRepositories.bind(binder(), TokenRepository.class, CassandraTokenRepository.class);
+        MeasuredRepositories.bind(binder(), UserRepository.class, CassandraUserRepository.class);
+        MeasuredRepositories.bind(binder(), UserPreferencesRepository.class, CassandraUserPreferencesRepository.class);
+    }
+
+    /**
+     * The Repositories use a {@link Session} that counts the statements they make.
+     * The plain {@link Session} must still be bound by the application.
+     */
+    @Provides
+    @Instrumented
+    Session provideInstrumentedSession(Session cassandra)
+    {
+        return InstrumentedSession.wrap(cassandra);
     }
 
     @Provides
     Function<Row, Application> provideApplicationMapper()
     {
-        return Mappers.appMapper();
+        return MeasuredMappers.measure("Application", Mappers.appMapper());
     }
 
     @Provides
     Function<Row, Set<MobileDevice>> provideMobileDeviceMapper()
     {
-        return Mappers.mobileDeviceMapper();
+        return MeasuredMappers.measure("MobileDevice", Mappers.mobileDeviceMapper());
     }
     
     @Provides
     Function<Row, Event> provideEventMapper()
     {
-        return Mappers.eventMapper();
+        return MeasuredMappers.measure("Event", Mappers.eventMapper());
     }
     
     @Provides
     Function<Row, Image> provideImageMapper()
     {
-        return Mappers.imageMapper();
+        return MeasuredMappers.measure("Image", Mappers.imageMapper());
     }
     
     @Provides
     Function<Row, Message> provideMessageMapper()
     {
-        return Mappers.messageMapper();
+        return MeasuredMappers.measure("Message", Mappers.messageMapper());
     }
 
     @Provides
     Function<Row, Organization> provideOrganizationMapper()
     {
-        return Mappers.orgMapper();
+        return MeasuredMappers.measure("Organization", Mappers.orgMapper());
     }
 
     @Provides
     Function<Row, AuthenticationToken> provideTokenMapper()
     {
-        return Mappers.tokenMapper();
+        return MeasuredMappers.measure("AuthenticationToken", Mappers.tokenMapper());
     }
     
     @Provides
     Function<Row, List<Reaction>> provideReactionsMapper()
     {
-        return Mappers.reactionsMapper();
+        return MeasuredMappers.measure("Reaction", Mappers.reactionsMapper());
     }
     
     @Provides
     Function<Row, User> provideUserMapper()
     {
-        return Mappers.userMapper();
+        return MeasuredMappers.measure("User", Mappers.userMapper());
     }
 
 }
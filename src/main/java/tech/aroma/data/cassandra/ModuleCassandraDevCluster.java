@@ -62,12 +62,16 @@ public final class ModuleCassandraDevCluster extends AbstractModule
     @Singleton
     Cluster provideCassandraCluster(ReconnectionPolicy reconnectionPolicy)
     {
-        return Cluster.builder()
+        Cluster cluster = Cluster.builder()
             .addContactPoint("cassandra-02.dev.redroma.tech")
             .withPort(9042)
             .withCredentials("cassandra", "NvrCXg300Utn1TBzi5Q9W550I4BeGt")
             .withReconnectionPolicy(reconnectionPolicy)
             .build();
+
+        cluster.register(new CassandraLatencyTracker());
+
+        return cluster;
     }
 
     @Provides
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * The coordinator's side of a single traced Cassandra request.
+ *
+ * @author SirWellington
+ * @see QueryTraces
+ */
+public final class QueryTraceSummary
+{
+
+    private final String statement;
+    private final UUID traceId;
+    private final String coordinator;
+    private final String requestType;
+    private final long startedAt;
+    private final int durationMicros;
+    private final int eventCount;
+
+    QueryTraceSummary(String statement,
+                      UUID traceId,
+                      String coordinator,
+                      String requestType,
+                      long startedAt,
+                      int durationMicros,
+                      int eventCount)
+    {
+        this.statement = statement;
+        this.traceId = traceId;
+        this.coordinator = coordinator;
+        this.requestType = requestType;
+        this.startedAt = startedAt;
+        this.durationMicros = durationMicros;
+        this.eventCount = eventCount;
+    }
+
+    /**
+     * @return The kind and table of the statement, for example {@code SELECT Messages}.
+     */
+    public String getStatement()
+    {
+        return statement;
+    }
+
+    /**
+     * @return The session ID of the trace, which can be looked up in {@code system_traces.sessions}.
+     */
+    public UUID getTraceId()
+    {
+        return traceId;
+    }
+
+    public String getCoordinator()
+    {
+        return coordinator;
+    }
+
+    public String getRequestType()
+    {
+        return requestType;
+    }
+
+    /**
+     * @return When the coordinator started the request, in epoch milliseconds.
+     */
+    public long getStartedAt()
+    {
+        return startedAt;
+    }
+
+    /**
+     * @return How long the coordinator took to serve the request.
+     */
+    public int getDurationMicros()
+    {
+        return durationMicros;
+    }
+
+    public int getEventCount()
+    {
+        return eventCount;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(statement, traceId, coordinator, requestType, startedAt, durationMicros, eventCount);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass())
+        {
+            return false;
+        }
+
+        final QueryTraceSummary other = (QueryTraceSummary) obj;
+        return this.startedAt == other.startedAt &&
+               this.durationMicros == other.durationMicros &&
+               this.eventCount == other.eventCount &&
+               Objects.equals(this.statement, other.statement) &&
+               Objects.equals(this.traceId, other.traceId) &&
+               Objects.equals(this.coordinator, other.coordinator) &&
+               Objects.equals(this.requestType, other.requestType);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "QueryTraceSummary{" + "statement=" + statement + ", traceId=" + traceId + ", coordinator=" + coordinator +
+               ", requestType=" + requestType + ", startedAt=" + startedAt + ", durationMicros=" + durationMicros +
+               ", eventCount=" + eventCount + '}';
+    }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.datastax.driver.core.QueryTrace;
+import tech.aroma.data.performance.StatementMetrics;
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.BooleanAssertions.trueStatement;
+
+/**
+ * Samples a small fraction of Cassandra requests for query tracing, and keeps a summary of the most recent traces.
+ * <p>
+ * The coordinator-side duration of each trace is also recorded under the {@code cassandra.coordinator} backend,
+ * so it can be compared with the latency seen by the driver. Traces are fetched asynchronously, and never slow
+ * down the request that was traced.
+ * <p>
+ * The sample rate defaults to the {@code aroma.data.cassandra.traceSampleRate} System Property, or 0.1%.
+ *
+ * @author SirWellington
+ */
+@NonInstantiable
+public final class QueryTraces
+{
+
+    static final int CAPACITY = 100;
+
+    private static volatile double sampleRate = Double.parseDouble(System.getProperty("aroma.data.cassandra.traceSampleRate", "0.001"));
+
+    private static final Deque<QueryTraceSummary> RECENT = new ArrayDeque<>(CAPACITY);
+
+    QueryTraces() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    public static double getSampleRate()
+    {
+        return sampleRate;
+    }
+
+    /**
+     * @param newSampleRate The fraction of requests to trace, from 0 to 1. Tracing adds load to the cluster,
+     *                      so keep this small.
+     */
+    public static void setSampleRate(double newSampleRate)
+    {
+        checkThat(newSampleRate >= 0.0 && newSampleRate <= 1.0)
+            .usingMessage("sample rate must be between 0 and 1")
+            .is(trueStatement());
+
+        sampleRate = newSampleRate;
+    }
+
+    /**
+     * @return The summaries of the most recent traces, newest first.
+     */
+    public static List<QueryTraceSummary> recent()
+    {
+        synchronized (RECENT)
+        {
+            return new ArrayList<>(RECENT);
+        }
+    }
+
+    static boolean shouldTrace()
+    {
+        double rate = sampleRate;
+        return rate > 0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    static void record(String statement, QueryTrace trace)
+    {
+        if (trace == null)
+        {
+            return;
+        }
+
+        QueryTraceSummary summary = new QueryTraceSummary(statement,
+                                                          trace.getTraceId(),
+                                                          String.valueOf(trace.getCoordinator()),
+                                                          trace.getRequestType(),
+                                                          trace.getStartedAt(),
+                                                          trace.getDurationMicros(),
+                                                          trace.getEvents().size());
+
+        StatementMetrics.forStatement(CassandraStatements.COORDINATOR_BACKEND, statement)
+            .record(TimeUnit.MICROSECONDS.toNanos(summary.getDurationMicros()), 0, 0, false);
+
+        synchronized (RECENT)
+        {
+            if (RECENT.size() >= CAPACITY)
+            {
+                RECENT.removeLast();
+            }
+
+            RECENT.addFirst(summary);
+        }
+    }
+
+}
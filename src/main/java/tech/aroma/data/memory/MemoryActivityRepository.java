@@ -40,6 +40,7 @@ import static java.util.stream.Collectors.toList;
 import static tech.aroma.data.assertions.RequestAssertions.validUser;
 import static tech.sirwellington.alchemy.arguments.Arguments.*;
 import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+import static tech.sirwellington.alchemy.arguments.assertions.CollectionAssertions.nonEmptyList;
 import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.greaterThan;
 import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.*;
 
@@ -67,6 +68,29 @@ final class MemoryActivityRepository implements ActivityRepository
         events.put(user, eventsForUser);
     }
 
+    @Override
+    public void saveEvents(Event event, List<User> users, LengthOfTime lifetime) throws TException
+    {
+        checkEvent(event);
+        checkThat(users)
+            .throwing(InvalidArgumentException.class)
+            .is(nonEmptyList());
+        checkLifetime(lifetime);
+
+        for (User user : users)
+        {
+            checkUser(user);
+        }
+
+        synchronized (events)
+        {
+            for (User user : users)
+            {
+                events.computeIfAbsent(user, u -> Lists.create()).add(event);
+            }
+        }
+    }
+
     @Override
     public boolean containsEvent(@Required String eventId, @Required User user) throws TException
     {
@@ -109,6 +109,16 @@ final class MemoryApplicationRepository implements ApplicationRepository
         return mainTable.get(applicationId);
     }
     
+    @Override
+    public Optional<Application> findApplication(String applicationId) throws TException
+    {
+        checkThat(applicationId)
+            .throwing(InvalidArgumentException.class)
+            .is(nonEmptyString());
+        
+        return Optional.ofNullable(mainTable.get(applicationId));
+    }
+    
     @Override
     public List<Application> getApplicationsOwnedBy(String userId) throws TException
     {
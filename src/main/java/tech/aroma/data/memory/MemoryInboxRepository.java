@@ -34,9 +34,11 @@ import tech.aroma.thrift.*;
 import tech.aroma.thrift.exceptions.InvalidArgumentException;
 import tech.sirwellington.alchemy.annotations.arguments.Required;
 
+import static tech.aroma.data.assertions.RequestAssertions.checkValid;
 import static tech.aroma.data.assertions.RequestAssertions.validMessage;
 import static tech.aroma.data.assertions.RequestAssertions.validUser;
 import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.CollectionAssertions.nonEmptyList;
 import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.*;
 
 /**
@@ -52,13 +54,8 @@ final class MemoryInboxRepository implements InboxRepository
     @Override
     public void saveMessageForUser(@Required User user, @Required Message message, @Required LengthOfTime lifetime) throws TException
     {
-        checkThat(message)
-            .throwing(InvalidArgumentException.class)
-            .is(validMessage());
-        
-        checkThat(user)
-            .throwing(InvalidArgumentException.class)
-            .is(validUser());
+        checkValid(message, validMessage());
+        checkValid(user, validUser());
         
         String userId = user.userId;
         
@@ -67,6 +64,28 @@ final class MemoryInboxRepository implements InboxRepository
         messagesForUser.put(userId, messages);
     }
 
+    @Override
+    public void saveMessageForUsers(@Required List<User> users, @Required Message message, @Required LengthOfTime lifetime) throws TException
+    {
+        checkThat(users)
+            .throwing(InvalidArgumentException.class)
+            .is(nonEmptyList());
+        checkValid(message, validMessage());
+
+        for (User user : users)
+        {
+            checkValid(user, validUser());
+        }
+
+        synchronized (messagesForUser)
+        {
+            for (User user : users)
+            {
+                messagesForUser.computeIfAbsent(user.userId, id -> Lists.create()).add(message);
+            }
+        }
+    }
+
     @Override
     public List<Message> getMessagesForUser(String userId) throws TException
     {
@@ -63,9 +63,7 @@ final class MemoryMessageRepository implements MessageRepository, ExpirationList
     @Override
     public void saveMessage(Message message, LengthOfTime lifetime) throws TException
     {
-        checkThat(message)
-            .throwing(InvalidArgumentException.class)
-            .is(validMessage());
+        checkValid(message, validMessage());
         
         checkThat(lifetime)
             .usingMessage("lifetime cannot be missing")
@@ -105,6 +103,17 @@ final class MemoryMessageRepository implements MessageRepository, ExpirationList
         return message;
     }
     
+    @Override
+    public Optional<Message> findMessage(String applicationId, String messageId) throws TException
+    {
+        checkThat(applicationId, messageId)
+            .throwing(InvalidArgumentException.class)
+            .are(nonEmptyString());
+        
+        return Optional.ofNullable(messages.get(messageId))
+            .filter(message -> Objects.equals(message.applicationId, applicationId));
+    }
+    
     @Override
     public void deleteMessage(String applicationId, String messageId) throws TException
     {
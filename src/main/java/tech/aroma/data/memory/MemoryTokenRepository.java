@@ -92,6 +92,20 @@ final class MemoryTokenRepository implements TokenRepository, ExpirationListener
         }
     }
 
+    @Override
+    public Optional<AuthenticationToken> findToken(String tokenId) throws TException
+    {
+        checkThat(tokenId)
+            .throwing(InvalidArgumentException.class)
+            .usingMessage("missing tokenId")
+            .is(nonEmptyString());
+
+        synchronized (tokens)
+        {
+            return Optional.ofNullable(tokens.get(tokenId));
+        }
+    }
+
     @Override
     public void saveToken(AuthenticationToken token) throws TException
     {
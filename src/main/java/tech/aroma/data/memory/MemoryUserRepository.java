@@ -18,6 +18,7 @@ package tech.aroma.data.memory;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
@@ -85,6 +86,16 @@ final class MemoryUserRepository implements UserRepository
         return users.get(userId);
     }
 
+    @Override
+    public Optional<User> findUser(String userId) throws TException
+    {
+        checkThat(userId)
+            .throwing(InvalidArgumentException.class)
+            .is(nonEmptyString());
+
+        return Optional.ofNullable(users.get(userId));
+    }
+
     @Override
     public void deleteUser(String userId) throws TException
     {
@@ -22,6 +22,7 @@ import com.google.inject.AbstractModule;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tech.aroma.data.*;
+import tech.aroma.data.performance.MeasuredRepositories;
 
 /**
  * Provides Guice bindings for the Banana Data Repositories that are in-memory.
@@ -35,18 +36,18 @@ public final class ModuleMemoryDataRepositories extends AbstractModule
     @Override
     protected void configure()
     {
-        bind(ActivityRepository.class).to(MemoryActivityRepository.class).asEagerSingleton();
-        bind(ApplicationRepository.class).to(MemoryApplicationRepository.class).asEagerSingleton();
-        bind(CredentialRepository.class).to(MemoryCredentialsRepository.class).asEagerSingleton();
-        bind(FollowerRepository.class).to(MemoryFollowerRepository.class).asEagerSingleton();
-        bind(InboxRepository.class).to(MemoryInboxRepository.class).asEagerSingleton();
-        bind(MediaRepository.class).to(MemoryMediaRepository.class).asEagerSingleton();
-        bind(MessageRepository.class).to(MemoryMessageRepository.class).asEagerSingleton();
-        bind(OrganizationRepository.class).to(MemoryOrganizationRepository.class).asEagerSingleton();
-        bind(ReactionRepository.class).to(MemoryReactionRepository.class).asEagerSingleton();
-        bind(TokenRepository.class).to(MemoryTokenRepository.class).asEagerSingleton();
-        bind(UserRepository.class).to(MemoryUserRepository.class).asEagerSingleton();
-        bind(UserPreferencesRepository.class).to(MemoryUserPreferencesRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), ActivityRepository.class, MemoryActivityRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), ApplicationRepository.class, MemoryApplicationRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), CredentialRepository.class, MemoryCredentialsRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), FollowerRepository.class, MemoryFollowerRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), InboxRepository.class, MemoryInboxRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), MediaRepository.class, MemoryMediaRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), MessageRepository.class, MemoryMessageRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), OrganizationRepository.class, MemoryOrganizationRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), ReactionRepository.class, MemoryReactionRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), TokenRepository.class, MemoryTokenRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), UserRepository.class, MemoryUserRepository.class).asEagerSingleton();
+        MeasuredRepositories.bind(binder(), UserPreferencesRepository.class, MemoryUserPreferencesRepository.class).asEagerSingleton();
     }
 
 }
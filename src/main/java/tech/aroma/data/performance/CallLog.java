@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import tech.sirwellington.alchemy.annotations.access.Internal;
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+
+/**
+ * The binary format of a call log, shared by the {@link CallLogWriter} and the {@link CallLogReader}.
+ * <p>
+ * A log starts with {@link #MAGIC}, the {@link #VERSION}, and the wall-clock time at which recording started in
+ * epoch milliseconds. It is followed by records, each starting with a tag:
+ * <ul>
+ * <li>{@link #DEFINE}: a varint ID and a UTF string, added to the string table the first time a string is used.</li>
+ * <li>{@link #CALL}: a varint offset in nanoseconds since recording started, the varint IDs of the thread name and of
+ * the method, a varint count of arguments, then each argument.</li>
+ * </ul>
+ * Each argument is a type tag followed by its value. Thrift objects are written with the Thrift compact protocol.
+ *
+ * @author SirWellington
+ */
+@Internal
+@NonInstantiable
+final class CallLog
+{
+
+    static final int MAGIC = 0x41524D43;
+    static final int VERSION = 1;
+
+    static final byte DEFINE = 1;
+    static final byte CALL = 2;
+
+    static final byte NULL = 0;
+    static final byte STRING = 1;
+    static final byte INT = 2;
+    static final byte LONG = 3;
+    static final byte BOOLEAN = 4;
+    static final byte DOUBLE = 5;
+    static final byte ENUM = 6;
+    static final byte THRIFT = 7;
+    static final byte LIST = 8;
+    static final byte SET = 9;
+    static final byte UNSUPPORTED = 10;
+
+    private static final Map<String, Class<?>> PRIMITIVES = new HashMap<>();
+
+    static
+    {
+        for (Class<?> type : new Class<?>[] { int.class, long.class, boolean.class, double.class, float.class, short.class, byte.class, char.class })
+        {
+            PRIMITIVES.put(type.getName(), type);
+        }
+    }
+
+    CallLog() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    /**
+     * @return A key that identifies the method, for example
+     * {@code tech.aroma.data.InboxRepository#countInboxForUser(java.lang.String)}.
+     */
+    static String keyOf(Method method)
+    {
+        StringBuilder key = new StringBuilder(method.getDeclaringClass().getName())
+            .append('#')
+            .append(method.getName())
+            .append('(');
+
+        Class<?>[] parameters = method.getParameterTypes();
+
+        for (int i = 0; i < parameters.length; ++i)
+        {
+            if (i > 0)
+            {
+                key.append(',');
+            }
+
+            key.append(parameters[i].getName());
+        }
+
+        return key.append(')').toString();
+    }
+
+    /**
+     * The reverse of {@link #keyOf(Method)}.
+     */
+    static Method methodOf(String key) throws ReflectiveOperationException
+    {
+        int hash = key.indexOf('#');
+        int open = key.indexOf('(', hash);
+
+        Class<?> declaringClass = classOf(key.substring(0, hash));
+        String name = key.substring(hash + 1, open);
+        String parameterList = key.substring(open + 1, key.length() - 1);
+
+        String[] parameterNames = parameterList.isEmpty() ? new String[0] : parameterList.split(",");
+        Class<?>[] parameters = new Class<?>[parameterNames.length];
+
+        for (int i = 0; i < parameterNames.length; ++i)
+        {
+            parameters[i] = classOf(parameterNames[i]);
+        }
+
+        return declaringClass.getMethod(name, parameters);
+    }
+
+    static Class<?> classOf(String name) throws ClassNotFoundException
+    {
+        Class<?> primitive = PRIMITIVES.get(name);
+        return primitive != null ? primitive : Class.forName(name);
+    }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.*;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TDeserializer;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TCompactProtocol;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+
+import static tech.aroma.data.performance.CallLog.*;
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+
+/**
+ * Reads back the Repository calls written by a {@link CallRecorder}, in the order they were made.
+ * <p>
+ * Not thread-safe.
+ *
+ * @author SirWellington
+ */
+public final class CallLogReader implements Closeable
+{
+
+    private final DataInputStream in;
+    private final Instant startTime;
+    private final List<String> strings = new ArrayList<>();
+    private final Map<Integer, Method> methods = new HashMap<>();
+    private final TDeserializer deserializer = new TDeserializer(new TCompactProtocol.Factory());
+
+    public CallLogReader(@Required InputStream in) throws IOException
+    {
+        checkThat(in).is(notNull());
+
+        this.in = new DataInputStream(in);
+
+        if (this.in.readInt() != MAGIC)
+        {
+            throw new IOException("Not a call log");
+        }
+
+        int version = this.in.readInt();
+
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported call log version: " + version);
+        }
+
+        this.startTime = Instant.ofEpochMilli(this.in.readLong());
+    }
+
+    /**
+     * @return When recording started.
+     */
+    public Instant getStartTime()
+    {
+        return startTime;
+    }
+
+    /**
+     * @return The next call, or {@code null} at the end of the log.
+     *
+     * @throws IOException If the log cannot be read, or names a Repository method that no longer exists.
+     */
+    public RecordedCall next() throws IOException
+    {
+        while (true)
+        {
+            int tag = in.read();
+
+            if (tag == -1)
+            {
+                return null;
+            }
+
+            switch (tag)
+            {
+                case DEFINE:
+                    readDefinition();
+                    break;
+                case CALL:
+                    return readCall();
+                default:
+                    throw new IOException("Corrupt call log, unknown record: " + tag);
+            }
+        }
+    }
+
+    private void readDefinition() throws IOException
+    {
+        int id = (int) readVarLong(in);
+        String value = in.readUTF();
+
+        if (id != strings.size())
+        {
+            throw new IOException("Corrupt call log, expected string #" + strings.size() + " but found #" + id);
+        }
+
+        strings.add(value);
+    }
+
+    private RecordedCall readCall() throws IOException
+    {
+        long offsetNanos = readVarLong(in);
+        String thread = string(readVarLong(in));
+        Method method = method((int) readVarLong(in));
+
+        int count = (int) readVarLong(in);
+        Object[] arguments = new Object[count];
+
+        for (int i = 0; i < count; ++i)
+        {
+            arguments[i] = readValue();
+        }
+
+        return new RecordedCall(offsetNanos, thread, method, arguments);
+    }
+
+    private Method method(int id) throws IOException
+    {
+        Method method = methods.get(id);
+
+        if (method == null)
+        {
+            String key = string(id);
+
+            try
+            {
+                method = methodOf(key);
+            }
+            catch (ReflectiveOperationException ex)
+            {
+                throw new IOException("Recorded method no longer exists: " + key, ex);
+            }
+
+            methods.put(id, method);
+        }
+
+        return method;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Object readValue() throws IOException
+    {
+        byte tag = in.readByte();
+
+        switch (tag)
+        {
+            case NULL:
+                return null;
+            case STRING:
+                byte[] utf8 = new byte[(int) readVarLong(in)];
+                in.readFully(utf8);
+                return new String(utf8, StandardCharsets.UTF_8);
+            case INT:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case BOOLEAN:
+                return in.readBoolean();
+            case DOUBLE:
+                return in.readDouble();
+            case ENUM:
+                Class enumType = type(readVarLong(in));
+                return Enum.valueOf(enumType, in.readUTF());
+            case THRIFT:
+                return readThrift(type(readVarLong(in)));
+            case LIST:
+            case SET:
+                int size = (int) readVarLong(in);
+                Collection<Object> collection = tag == LIST ? new ArrayList<>(size) : new HashSet<>();
+
+                for (int i = 0; i < size; ++i)
+                {
+                    collection.add(readValue());
+                }
+
+                return collection;
+            case UNSUPPORTED:
+                readVarLong(in);
+                return null;
+            default:
+                throw new IOException("Corrupt call log, unknown argument type: " + tag);
+        }
+    }
+
+    private Object readThrift(Class<?> type) throws IOException
+    {
+        byte[] serialized = new byte[(int) readVarLong(in)];
+        in.readFully(serialized);
+
+        try
+        {
+            TBase<?, ?> value = (TBase<?, ?>) type.getDeclaredConstructor().newInstance();
+            deserializer.deserialize(value, serialized);
+            return value;
+        }
+        catch (ReflectiveOperationException | TException ex)
+        {
+            throw new IOException("Could not read " + type.getName(), ex);
+        }
+    }
+
+    private Class<?> type(long id) throws IOException
+    {
+        String name = string(id);
+
+        try
+        {
+            return classOf(name);
+        }
+        catch (ClassNotFoundException ex)
+        {
+            throw new IOException("Recorded class no longer exists: " + name, ex);
+        }
+    }
+
+    private String string(long id) throws IOException
+    {
+        if (id < 0 || id >= strings.size())
+        {
+            throw new IOException("Corrupt call log, undefined string #" + id);
+        }
+
+        return strings.get((int) id);
+    }
+
+    static long readVarLong(DataInput in) throws IOException
+    {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7)
+        {
+            byte next = in.readByte();
+            value |= (long) (next & 0x7F) << shift;
+
+            if ((next & 0x80) == 0)
+            {
+                return value;
+            }
+        }
+
+        throw new IOException("Corrupt call log, varint is too long");
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        in.close();
+    }
+
+}
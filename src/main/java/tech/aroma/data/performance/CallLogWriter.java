@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.TSerializer;
+import org.apache.thrift.protocol.TCompactProtocol;
+import tech.sirwellington.alchemy.annotations.access.Internal;
+
+import static tech.aroma.data.performance.CallLog.*;
+
+/**
+ * Writes Repository calls in the {@linkplain CallLog call log format}. It is not thread-safe; the
+ * {@link CallRecorder} writes from a single thread.
+ *
+ * @author SirWellington
+ */
+@Internal
+final class CallLogWriter implements Closeable, Flushable
+{
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final TSerializer serializer = new TSerializer(new TCompactProtocol.Factory());
+
+    CallLogWriter(OutputStream out, long startEpochMillis) throws IOException
+    {
+        this.out = new DataOutputStream(out);
+
+        this.out.writeInt(MAGIC);
+        this.out.writeInt(VERSION);
+        this.out.writeLong(startEpochMillis);
+    }
+
+    void write(long offsetNanos, String thread, Method method, Object[] args) throws IOException
+    {
+        //Strings are defined before the call that uses them.
+        int threadId = idOf(thread);
+        int methodId = idOf(keyOf(method));
+        byte[] arguments = encodeArguments(args);
+
+        out.writeByte(CALL);
+        writeVarLong(out, Math.max(0, offsetNanos));
+        writeVarLong(out, threadId);
+        writeVarLong(out, methodId);
+        out.write(arguments);
+    }
+
+    private byte[] encodeArguments(Object[] args) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream arguments = new DataOutputStream(bytes);
+
+        int count = args == null ? 0 : args.length;
+        writeVarLong(arguments, count);
+
+        for (int i = 0; i < count; ++i)
+        {
+            writeValue(arguments, args[i]);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException
+    {
+        if (value == null)
+        {
+            out.writeByte(NULL);
+        }
+        else if (value instanceof String)
+        {
+            byte[] utf8 = ((String) value).getBytes(StandardCharsets.UTF_8);
+
+            out.writeByte(STRING);
+            writeVarLong(out, utf8.length);
+            out.write(utf8);
+        }
+        else if (value instanceof Integer)
+        {
+            out.writeByte(INT);
+            out.writeInt((Integer) value);
+        }
+        else if (value instanceof Long)
+        {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        }
+        else if (value instanceof Boolean)
+        {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        }
+        else if (value instanceof Double)
+        {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        }
+        else if (value instanceof Enum)
+        {
+            out.writeByte(ENUM);
+            writeVarLong(out, idOf(((Enum<?>) value).getDeclaringClass().getName()));
+            out.writeUTF(((Enum<?>) value).name());
+        }
+        else if (value instanceof TBase)
+        {
+            byte[] serialized = serialize((TBase<?, ?>) value);
+
+            out.writeByte(THRIFT);
+            writeVarLong(out, idOf(value.getClass().getName()));
+            writeVarLong(out, serialized.length);
+            out.write(serialized);
+        }
+        else if (value instanceof List || value instanceof Set)
+        {
+            Collection<?> collection = (Collection<?>) value;
+
+            out.writeByte(value instanceof List ? LIST : SET);
+            writeVarLong(out, collection.size());
+
+            for (Object element : collection)
+            {
+                writeValue(out, element);
+            }
+        }
+        else
+        {
+            out.writeByte(UNSUPPORTED);
+            writeVarLong(out, idOf(value.getClass().getName()));
+        }
+    }
+
+    private byte[] serialize(TBase<?, ?> value) throws IOException
+    {
+        try
+        {
+            return serializer.serialize(value);
+        }
+        catch (TException ex)
+        {
+            throw new IOException("Could not serialize " + value.getClass().getSimpleName(), ex);
+        }
+    }
+
+    private int idOf(String string) throws IOException
+    {
+        Integer id = strings.get(string);
+
+        if (id != null)
+        {
+            return id;
+        }
+
+        id = strings.size();
+        strings.put(string, id);
+
+        out.writeByte(DEFINE);
+        writeVarLong(out, id);
+        out.writeUTF(string);
+
+        return id;
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException
+    {
+        while ((value & ~0x7FL) != 0)
+        {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        out.writeByte((int) value);
+    }
+
+    @Override
+    public void flush() throws IOException
+    {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        out.close();
+    }
+
+}
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.aroma.data.CredentialRepository;
+import tech.aroma.data.TokenRepository;
+import tech.aroma.thrift.Message;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+import static tech.sirwellington.alchemy.arguments.assertions.BooleanAssertions.trueStatement;
+import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.greaterThan;
+
+/**
+ * Records every call made through a {@linkplain MeasuredRepositories measured} Repository to a compact binary log,
+ * so that production traffic can be {@linkplain CallLogReader read back} and replayed against another backend.
+ * <p>
+ * Each call is recorded with its method, arguments, thread and time, before it is made. Calls are handed to a single
+ * writer thread through a bounded queue, so the calling thread never waits on I/O; if the writer falls behind, calls
+ * are dropped and {@linkplain #getDropped() counted}. The arguments are copied on the calling thread before they are
+ * queued, so a caller that mutates an argument after the call does not change what is recorded.
+ * <p>
+ * Secrets are never written. Calls to the {@link CredentialRepository} and the {@link TokenRepository} are not
+ * recorded at all, since their arguments are passwords and token IDs, and the bodies of {@linkplain Message Messages}
+ * are removed.
+ * <p>
+ * Recording is off by default, and costs a single volatile read while off. It can be started and stopped at runtime,
+ * including over JMX, or at start-up by setting the {@code aroma.data.recording.file} System Property. The size of the
+ * queue may be set with the {@code aroma.data.recording.capacity} System Property.
+ *
+ * @author SirWellington
+ * @see CallLogReader
+ */
+@ThreadSafe
+public final class CallRecorder
+{
+
+    private final static Logger LOG = LoggerFactory.getLogger(CallRecorder.class);
+
+    static final int DEFAULT_CAPACITY = Integer.getInteger("aroma.data.recording.capacity", 65_536);
+
+    private static final CallRecorder DEFAULT = new CallRecorder(DEFAULT_CAPACITY);
+
+    static
+    {
+        String file = System.getProperty("aroma.data.recording.file");
+
+        if (file != null && !file.isEmpty())
+        {
+            try
+            {
+                DEFAULT.start(Paths.get(file));
+                Runtime.getRuntime().addShutdownHook(new Thread(DEFAULT::stop, "CallRecorder-Shutdown"));
+            }
+            catch (IOException ex)
+            {
+                LOG.error("Failed to start recording Repository calls to {}", file, ex);
+            }
+        }
+    }
+
+    private final int capacity;
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile Recording recording;
+
+    CallRecorder(int capacity)
+    {
+        checkThat(capacity).is(greaterThan(0));
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return The recorder used by every {@linkplain MeasuredRepositories measured} Repository.
+     */
+    public static CallRecorder getDefault()
+    {
+        return DEFAULT;
+    }
+
+    /**
+     * Starts recording to a new file, replacing any file already there.
+     *
+     * @throws IllegalStateException If already recording.
+     */
+    public synchronized void start(@Required Path file) throws IOException
+    {
+        checkThat(file).is(notNull());
+
+        checkThat(recording == null)
+            .throwing(IllegalStateException.class)
+            .usingMessage("Already recording to " + (recording == null ? null : recording.file))
+            .is(trueStatement());
+
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+        Recording started = new Recording(file, new CallLogWriter(out, System.currentTimeMillis()), capacity);
+        started.writer.start();
+
+        recording = started;
+        LOG.info("Recording Repository calls to {}", file);
+    }
+
+    /**
+     * Stops recording, and waits for the calls already queued to be written. Does nothing if not recording.
+     */
+    public synchronized void stop()
+    {
+        Recording stopped = recording;
+
+        if (stopped == null)
+        {
+            return;
+        }
+
+        recording = null;
+        stopped.finish();
+
+        LOG.info("Stopped recording Repository calls to {}", stopped.file);
+    }
+
+    public boolean isRecording()
+    {
+        return recording != null;
+    }
+
+    /**
+     * @return The file being recorded to, or {@code null} if not recording.
+     */
+    public Path getFile()
+    {
+        Recording current = recording;
+        return current == null ? null : current.file;
+    }
+
+    /**
+     * @return The number of calls written since start-up.
+     */
+    public long getRecorded()
+    {
+        return recorded.sum();
+    }
+
+    /**
+     * @return The number of calls dropped since start-up because the writer fell behind.
+     */
+    public long getDropped()
+    {
+        return dropped.sum();
+    }
+
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * Records a call, if recording.
+     */
+    void record(Method method, Object[] args)
+    {
+        Recording current = recording;
+
+        if (current == null)
+        {
+            return;
+        }
+
+        if (isSecret(method))
+        {
+            return;
+        }
+
+        PendingCall call = new PendingCall(System.nanoTime() - current.startNanos,
+                                           Thread.currentThread().getName(),
+                                           method,
+                                           copyOf(args));
+
+        if (!current.queue.offer(call))
+        {
+            dropped.increment();
+        }
+    }
+
+    private static boolean isSecret(Method method)
+    {
+        Class<?> repository = method.getDeclaringClass();
+        return repository == CredentialRepository.class || repository == TokenRepository.class;
+    }
+
+    /**
+     * Copies the arguments so that the writer thread does not share them with the caller, and removes
+     * anything that should not be written to disk.
+     */
+    static Object[] copyOf(Object[] args)
+    {
+        if (args == null)
+        {
+            return null;
+        }
+
+        Object[] copy = new Object[args.length];
+
+        for (int i = 0; i < args.length; ++i)
+        {
+            copy[i] = copyOf(args[i]);
+        }
+
+        return copy;
+    }
+
+    private static Object copyOf(Object value)
+    {
+        if (value instanceof Message)
+        {
+            Message message = ((Message) value).deepCopy();
+            message.unsetBody();
+            return message;
+        }
+
+        if (value instanceof TBase)
+        {
+            return ((TBase<?, ?>) value).deepCopy();
+        }
+
+        if (value instanceof List)
+        {
+            List<Object> copy = new ArrayList<>(((List<?>) value).size());
+            ((List<?>) value).forEach(element -> copy.add(copyOf(element)));
+            return copy;
+        }
+
+        if (value instanceof Set)
+        {
+            Set<Object> copy = new LinkedHashSet<>();
+            ((Set<?>) value).forEach(element -> copy.add(copyOf(element)));
+            return copy;
+        }
+
+        //Everything else that can be written is immutable
+        return value;
+    }
+
+    private static final class PendingCall
+    {
+
+        private static final PendingCall END = new PendingCall(0, null, null, null);
+
+        private final long offsetNanos;
+        private final String thread;
+        private final Method method;
+        private final Object[] args;
+
+        PendingCall(long offsetNanos, String thread, Method method, Object[] args)
+        {
+            this.offsetNanos = offsetNanos;
+            this.thread = thread;
+            this.method = method;
+            this.args = args;
+        }
+    }
+
+    private final class Recording implements Runnable
+    {
+
+        private final Path file;
+        private final CallLogWriter out;
+        private final BlockingQueue<PendingCall> queue;
+        private final Thread writer;
+        private final long startNanos = System.nanoTime();
+
+        Recording(Path file, CallLogWriter out, int capacity)
+        {
+            this.file = file;
+            this.out = out;
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.writer = new Thread(this, "CallRecorder-Writer");
+            this.writer.setDaemon(true);
+        }
+
+        @Override
+        public void run()
+        {
+            try
+            {
+                while (true)
+                {
+                    PendingCall call = queue.poll(1, TimeUnit.SECONDS);
+
+                    if (call == null)
+                    {
+                        out.flush();
+                        continue;
+                    }
+
+                    if (call == PendingCall.END)
+                    {
+                        break;
+                    }
+
+                    write(call);
+                }
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (IOException ex)
+            {
+                LOG.error("Stopped recording Repository calls to {}", file, ex);
+                recording = null;
+            }
+            finally
+            {
+                close();
+            }
+        }
+
+        private void write(PendingCall call) throws IOException
+        {
+            try
+            {
+                out.write(call.offsetNanos, call.thread, call.method, call.args);
+                recorded.increment();
+            }
+            catch (RuntimeException ex)
+            {
+                LOG.warn("Could not record call to {}", call.method.getName(), ex);
+                dropped.increment();
+            }
+        }
+
+        void finish()
+        {
+            try
+            {
+                queue.put(PendingCall.END);
+                writer.join();
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void close()
+        {
+            try
+            {
+                out.close();
+            }
+            catch (IOException ex)
+            {
+                LOG.warn("Failed to close call log {}", file, ex);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.io.IOException;
+
+/**
+ * The JMX view of the {@linkplain CallRecorder call recorder}, so that recording can be switched on for a while on a
+ * production node.
+ *
+ * @author SirWellington
+ * @see RepositoryMBeans
+ */
+public interface CallRecorderMXBean
+{
+
+    boolean isRecording();
+
+    /**
+     * @return The file being recorded to, or {@code null} if not recording.
+     */
+    String getFile();
+
+    /**
+     * Starts recording to {@code file}, replacing any file already there.
+     */
+    void start(String file) throws IOException;
+
+    void stop();
+
+    long getRecorded();
+
+    long getDropped();
+
+    int getCapacity();
+
+}
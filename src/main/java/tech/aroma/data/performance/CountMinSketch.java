@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import tech.sirwellington.alchemy.annotations.access.Internal;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+/**
+ * A lock-free <a href="https://en.wikipedia.org/wiki/Count%E2%80%93min_sketch">Count-Min Sketch</a>, which
+ * estimates how often a key has been seen in a fixed amount of memory. Estimates may be too high, but are never too low.
+ *
+ * @author SirWellington
+ */
+@Internal
+@ThreadSafe
+final class CountMinSketch
+{
+
+    private final int depth;
+    private final int widthMask;
+    private final AtomicLongArray counters;
+
+    /**
+     * @param depth The number of hash functions. More functions lower the chance of a large error.
+     * @param width The number of counters per hash function, rounded up to a power of two.
+     *              More counters lower the size of the error.
+     */
+    CountMinSketch(int depth, int width)
+    {
+        int roundedWidth = Integer.highestOneBit(Math.max(2, width - 1)) << 1;
+
+        this.depth = depth;
+        this.widthMask = roundedWidth - 1;
+        this.counters = new AtomicLongArray(depth * roundedWidth);
+    }
+
+    /**
+     * Counts an occurrence of the key.
+     *
+     * @return The estimated number of occurrences of the key, including this one.
+     */
+    long addAndEstimate(Object key)
+    {
+        int hash = key.hashCode();
+        int secondHash = mix(hash);
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < depth; ++row)
+        {
+            long count = counters.incrementAndGet(indexOf(row, hash, secondHash));
+            estimate = Math.min(estimate, count);
+        }
+
+        return estimate;
+    }
+
+    long estimate(Object key)
+    {
+        int hash = key.hashCode();
+        int secondHash = mix(hash);
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < depth; ++row)
+        {
+            estimate = Math.min(estimate, counters.get(indexOf(row, hash, secondHash)));
+        }
+
+        return estimate;
+    }
+
+    void reset()
+    {
+        for (int i = 0; i < counters.length(); ++i)
+        {
+            counters.set(i, 0);
+        }
+    }
+
+    private int indexOf(int row, int hash, int secondHash)
+    {
+        int column = (hash + row * secondHash) & widthMask;
+        return row * (widthMask + 1) + column;
+    }
+
+    private static int mix(int hash)
+    {
+        int h = hash * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h | 1;
+    }
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.greaterThan;
+import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.nonEmptyString;
+
+/**
+ * Tracks the most frequently seen keys in a stream, using a {@link CountMinSketch} for frequencies
+ * and a bounded set of the current top-K keys.
+ * <p>
+ * Recording a key that is already in the top-K, or that cannot enter it, costs a lock-free sketch update
+ * and a read. Only the rare calls that change the top-K take a lock.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+public final class HeavyHitters
+{
+
+    static final int DEFAULT_TOP_K = 20;
+
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 1 << 14;
+
+    private final String keyType;
+    private final int topK;
+    private final CountMinSketch sketch = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+    private final Set<String> topKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The smallest estimate in a full top-K, or 0 while there is still room.
+     */
+    private volatile long admissionThreshold = 0;
+
+    HeavyHitters(String keyType, int topK)
+    {
+        checkThat(topK).is(greaterThan(0));
+
+        this.keyType = keyType;
+        this.topK = topK;
+    }
+
+    /**
+     * Records one occurrence of {@code key}. Null or empty keys are ignored.
+     */
+    public void record(String key)
+    {
+        if (key == null || key.isEmpty())
+        {
+            return;
+        }
+
+        long estimate = sketch.addAndEstimate(key);
+
+        if (estimate <= admissionThreshold || topKeys.contains(key))
+        {
+            return;
+        }
+
+        synchronized (topKeys)
+        {
+            if (topKeys.contains(key))
+            {
+                return;
+            }
+
+            if (topKeys.size() < topK)
+            {
+                topKeys.add(key);
+            }
+            else
+            {
+                String leastFrequent = leastFrequentKey();
+
+                if (estimate > sketch.estimate(leastFrequent))
+                {
+                    topKeys.remove(leastFrequent);
+                    topKeys.add(key);
+                }
+            }
+
+            admissionThreshold = topKeys.size() < topK ? 0 : sketch.estimate(leastFrequentKey());
+        }
+    }
+
+    private String leastFrequentKey()
+    {
+        String result = null;
+        long lowest = Long.MAX_VALUE;
+
+        for (String key : topKeys)
+        {
+            long estimate = sketch.estimate(key);
+
+            if (estimate < lowest)
+            {
+                lowest = estimate;
+                result = key;
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * @return The current top-K keys with their estimated frequencies, most frequent first.
+     */
+    public List<KeyFrequency> top()
+    {
+        List<KeyFrequency> result = new ArrayList<>(topK);
+
+        for (String key : topKeys)
+        {
+            result.add(new KeyFrequency(key, sketch.estimate(key)));
+        }
+
+        result.sort(Comparator.comparingLong(KeyFrequency::getEstimatedCount).reversed());
+        return result;
+    }
+
+    /**
+     * @return The estimated number of times {@code key} has been seen since the last reset.
+     */
+    public long estimate(@NonEmpty String key)
+    {
+        checkThat(key).is(nonEmptyString());
+
+        return sketch.estimate(key);
+    }
+
+    /**
+     * Forgets all keys, so that the top-K reflects only new traffic.
+     */
+    public void reset()
+    {
+        synchronized (topKeys)
+        {
+            sketch.reset();
+            topKeys.clear();
+            admissionThreshold = 0;
+        }
+    }
+
+    public String getKeyType()
+    {
+        return keyType;
+    }
+
+    /**
+     * A key and how often it has been seen.
+     */
+    public static final class KeyFrequency
+    {
+
+        private final String key;
+        private final long estimatedCount;
+
+        KeyFrequency(String key, long estimatedCount)
+        {
+            this.key = key;
+            this.estimatedCount = estimatedCount;
+        }
+
+        public String getKey()
+        {
+            return key;
+        }
+
+        public long getEstimatedCount()
+        {
+            return estimatedCount;
+        }
+
+        @Override
+        public String toString()
+        {
+            return key + "=" + estimatedCount;
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.nonEmptyString;
+
+/**
+ * Keeps a {@link HeavyHitters} tracker per kind of ID, recording which User and Application IDs
+ * are read the most through the {@linkplain MeasuredRepositories measured} Repositories.
+ * <p>
+ * Token IDs are bearer credentials, so they are never tracked, just as the {@link CallRecorder} never records them.
+ * <p>
+ * Use it to size caches, and to find the clients responsible for most of the traffic.
+ *
+ * @author SirWellington
+ */
+@NonInstantiable
+public final class HotKeys
+{
+
+    public static final String APPLICATION_ID = "applicationId";
+    public static final String USER_ID = "userId";
+
+    private static final ConcurrentMap<String, HeavyHitters> TRACKERS = new ConcurrentHashMap<>();
+
+    /**
+     * The reads whose arguments are tracked, keyed by {@code Repository.method}.
+     * Each element names the kind of ID passed at that argument position, or is null if it is not tracked.
+     */
+    private static final Map<String, String[]> TRACKED_READS = new HashMap<>();
+
+    static
+    {
+        TRACKED_READS.put("ApplicationRepository.getById", new String[] { APPLICATION_ID });
+        TRACKED_READS.put("ApplicationRepository.containsApplication", new String[] { APPLICATION_ID });
+        TRACKED_READS.put("ApplicationRepository.findApplication", new String[] { APPLICATION_ID });
+        TRACKED_READS.put("FollowerRepository.getApplicationFollowers", new String[] { APPLICATION_ID });
+        TRACKED_READS.put("FollowerRepository.getApplicationsFollowedBy", new String[] { USER_ID });
+        TRACKED_READS.put("InboxRepository.getMessagesForUser", new String[] { USER_ID, APPLICATION_ID });
+        TRACKED_READS.put("InboxRepository.countInboxForUser", new String[] { USER_ID });
+        TRACKED_READS.put("MessageRepository.getByApplication", new String[] { APPLICATION_ID });
+        TRACKED_READS.put("MessageRepository.getMessage", new String[] { APPLICATION_ID });
+        TRACKED_READS.put("MessageRepository.findMessage", new String[] { APPLICATION_ID });
+        TRACKED_READS.put("UserRepository.containsUser", new String[] { USER_ID });
+        TRACKED_READS.put("UserRepository.getUser", new String[] { USER_ID });
+        TRACKED_READS.put("UserRepository.findUser", new String[] { USER_ID });
+    }
+
+    HotKeys() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    /**
+     * @param keyType The kind of ID, such as {@link #USER_ID}.
+     *
+     * @return The tracker for that kind of ID, created on first use.
+     */
+    public static HeavyHitters forKeyType(@NonEmpty String keyType)
+    {
+        checkThat(keyType).is(nonEmptyString());
+
+        return TRACKERS.computeIfAbsent(keyType, type -> new HeavyHitters(type, HeavyHitters.DEFAULT_TOP_K));
+    }
+
+    /**
+     * @return Every tracker created so far, sorted by kind of ID.
+     */
+    public static List<HeavyHitters> all()
+    {
+        List<HeavyHitters> result = new ArrayList<>(TRACKERS.values());
+        result.sort(Comparator.comparing(HeavyHitters::getKeyType));
+        return result;
+    }
+
+    /**
+     * @return The trackers for each argument of {@code method}, or null if none of its arguments are tracked.
+     */
+    static HeavyHitters[] trackersFor(Class<?> repositoryType, Method method)
+    {
+        String[] keyTypes = TRACKED_READS.get(repositoryType.getSimpleName() + "." + method.getName());
+
+        if (keyTypes == null)
+        {
+            return null;
+        }
+
+        int arguments = Math.min(keyTypes.length, method.getParameterCount());
+        HeavyHitters[] trackers = new HeavyHitters[arguments];
+
+        for (int i = 0; i < arguments; ++i)
+        {
+            if (keyTypes[i] != null && method.getParameterTypes()[i] == String.class)
+            {
+                trackers[i] = forKeyType(keyTypes[i]);
+            }
+        }
+
+        return trackers;
+    }
+
+    static void record(HeavyHitters[] trackers, Object[] args)
+    {
+        for (int i = 0; i < trackers.length; ++i)
+        {
+            if (trackers[i] != null)
+            {
+                trackers[i].record((String) args[i]);
+            }
+        }
+    }
+
+}
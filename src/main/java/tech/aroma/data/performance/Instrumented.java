@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import javax.inject.Qualifier;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks a database connection, such as a {@code JdbcOperations} or Cassandra {@code Session},
+ * that has been wrapped so that the statements it executes are counted and measured.
+ * <p>
+ * The Repository Modules provide the instrumented connection from the plain one bound by the application.
+ *
+ * @author SirWellington
+ */
+@Qualifier
+@Retention(RUNTIME)
+@Target({ FIELD, PARAMETER, METHOD })
+public @interface Instrumented
+{
+
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+/**
+ * A lock-free histogram of latencies, recorded in nanoseconds.
+ * <p>
+ * Values are placed into fixed, log-linear buckets in the style of
+ * <a href="http://hdrhistogram.org/">HdrHistogram</a>: values below {@value #SUB_BUCKET_COUNT} ns are
+ * recorded exactly, and every power of two above that is split into {@value #HALF_SUB_BUCKET_COUNT}
+ * linear buckets, which keeps the relative error of any reported percentile under 1.6%.
+ * <p>
+ * Recording never blocks, and the histogram can be {@linkplain #snapshotAndReset() snapshotted and reset}
+ * while other threads continue to record into it.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+public final class LatencyHistogram
+{
+
+    private static final int SUB_BUCKET_BITS = 7;
+    static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    static final int HALF_SUB_BUCKET_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int HALF_SUB_BUCKET_BITS = SUB_BUCKET_BITS - 1;
+
+    /**
+     * Latencies above this value (~137 seconds) are counted in the highest bucket.
+     * The exact {@linkplain LatencySnapshot#getMaxNanos() max} is still tracked.
+     */
+    static final long HIGHEST_TRACKABLE_NANOS = (1L << 37) - 1;
+
+    private static final int BUCKET_COUNT = indexOf(HIGHEST_TRACKABLE_NANOS) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a single latency.
+     *
+     * @param latencyNanos The latency, in nanoseconds. Negative values are treated as 0.
+     */
+    public void record(long latencyNanos)
+    {
+        long value = Math.max(0, latencyNanos);
+
+        buckets.incrementAndGet(indexOf(Math.min(value, HIGHEST_TRACKABLE_NANOS)));
+        sum.add(value);
+
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value))
+        {
+            currentMax = max.get();
+        }
+    }
+
+    public void record(long latency, TimeUnit unit)
+    {
+        record(unit.toNanos(latency));
+    }
+
+    /**
+     * @return A point-in-time view of the latencies recorded so far.
+     */
+    public LatencySnapshot snapshot()
+    {
+        long[] counts = new long[BUCKET_COUNT];
+
+        for (int i = 0; i < BUCKET_COUNT; ++i)
+        {
+            counts[i] = buckets.get(i);
+        }
+
+        return createSnapshot(counts, sum.sum(), max.get());
+    }
+
+    /**
+     * Takes a snapshot and clears the histogram in the same pass.
+     * <p>
+     * Each bucket is read and cleared atomically, so a latency recorded concurrently is counted in either
+     * this snapshot or the next one, but never in both. Its sum and max are cleared separately from its bucket,
+     * though, so they may land in the other snapshot. The totals across consecutive snapshots are exact,
+     * while the mean and max of a single snapshot may be off by the few latencies recorded during the reset.
+     *
+     * @return The latencies recorded since the last reset.
+     */
+    public LatencySnapshot snapshotAndReset()
+    {
+        long[] counts = new long[BUCKET_COUNT];
+
+        for (int i = 0; i < BUCKET_COUNT; ++i)
+        {
+            counts[i] = buckets.getAndSet(i, 0);
+        }
+
+        return createSnapshot(counts, sum.sumThenReset(), max.getAndSet(0));
+    }
+
+    private static LatencySnapshot createSnapshot(long[] counts, long sum, long max)
+    {
+        long count = 0;
+        for (long bucketCount : counts)
+        {
+            count += bucketCount;
+        }
+
+        return new LatencySnapshot(count,
+                                   sum,
+                                   max,
+                                   valueAtPercentile(counts, count, max, 50.0),
+                                   valueAtPercentile(counts, count, max, 90.0),
+                                   valueAtPercentile(counts, count, max, 99.0),
+                                   valueAtPercentile(counts, count, max, 99.9));
+    }
+
+    private static long valueAtPercentile(long[] counts, long totalCount, long max, double percentile)
+    {
+        if (totalCount == 0)
+        {
+            return 0;
+        }
+
+        long countAtPercentile = (long) Math.ceil((percentile / 100.0) * totalCount);
+        countAtPercentile = Math.max(1, countAtPercentile);
+
+        long runningCount = 0;
+
+        for (int i = 0; i < counts.length; ++i)
+        {
+            runningCount += counts[i];
+
+            if (runningCount >= countAtPercentile)
+            {
+                return Math.min(highestValueIn(i), max);
+            }
+        }
+
+        return max;
+    }
+
+    static int indexOf(long value)
+    {
+        if (value < SUB_BUCKET_COUNT)
+        {
+            return (int) value;
+        }
+
+        int exponent = (63 - Long.numberOfLeadingZeros(value)) - HALF_SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> exponent);
+
+        return exponent * HALF_SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long lowestValueIn(int index)
+    {
+        if (index < SUB_BUCKET_COUNT)
+        {
+            return index;
+        }
+
+        int exponent = index / HALF_SUB_BUCKET_COUNT - 1;
+        long subBucket = index % HALF_SUB_BUCKET_COUNT + HALF_SUB_BUCKET_COUNT;
+
+        return subBucket << exponent;
+    }
+
+    static long highestValueIn(int index)
+    {
+        return lowestValueIn(index + 1) - 1;
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.Objects;
+
+/**
+ * An immutable, point-in-time view of a {@link LatencyHistogram}. All values are in nanoseconds.
+ *
+ * @author SirWellington
+ */
+public final class LatencySnapshot
+{
+
+    private final long count;
+    private final long sumNanos;
+    private final long maxNanos;
+    private final long p50Nanos;
+    private final long p90Nanos;
+    private final long p99Nanos;
+    private final long p999Nanos;
+
+    LatencySnapshot(long count, long sumNanos, long maxNanos, long p50Nanos, long p90Nanos, long p99Nanos, long p999Nanos)
+    {
+        this.count = count;
+        this.sumNanos = sumNanos;
+        this.maxNanos = maxNanos;
+        this.p50Nanos = p50Nanos;
+        this.p90Nanos = p90Nanos;
+        this.p99Nanos = p99Nanos;
+        this.p999Nanos = p999Nanos;
+    }
+
+    public long getCount()
+    {
+        return count;
+    }
+
+    public long getSumNanos()
+    {
+        return sumNanos;
+    }
+
+    public long getMeanNanos()
+    {
+        return count == 0 ? 0 : sumNanos / count;
+    }
+
+    public long getMaxNanos()
+    {
+        return maxNanos;
+    }
+
+    public long getP50Nanos()
+    {
+        return p50Nanos;
+    }
+
+    public long getP90Nanos()
+    {
+        return p90Nanos;
+    }
+
+    public long getP99Nanos()
+    {
+        return p99Nanos;
+    }
+
+    public long getP999Nanos()
+    {
+        return p999Nanos;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(count, sumNanos, maxNanos, p50Nanos, p90Nanos, p99Nanos, p999Nanos);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass())
+        {
+            return false;
+        }
+
+        final LatencySnapshot other = (LatencySnapshot) obj;
+        return this.count == other.count &&
+               this.sumNanos == other.sumNanos &&
+               this.maxNanos == other.maxNanos &&
+               this.p50Nanos == other.p50Nanos &&
+               this.p90Nanos == other.p90Nanos &&
+               this.p99Nanos == other.p99Nanos &&
+               this.p999Nanos == other.p999Nanos;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "LatencySnapshot{" + "count=" + count + ", sumNanos=" + sumNanos + ", maxNanos=" + maxNanos +
+               ", p50Nanos=" + p50Nanos + ", p90Nanos=" + p90Nanos + ", p99Nanos=" + p99Nanos +
+               ", p999Nanos=" + p999Nanos + '}';
+    }
+
+}
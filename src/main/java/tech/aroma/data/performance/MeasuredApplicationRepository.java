@@ -17,6 +17,7 @@
 package tech.aroma.data.performance;
 
 import java.util.List;
+import java.util.Optional;
 import javax.inject.Inject;
 
 import decorice.DecoratedBy;
@@ -24,6 +25,7 @@ import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tech.aroma.data.ApplicationRepository;
+import tech.aroma.data.performance.Operation.VoidOperation;
 import tech.aroma.thrift.Application;
 import tech.sirwellington.alchemy.annotations.designs.patterns.DecoratorPattern;
 
@@ -32,11 +34,14 @@ import static tech.sirwellington.alchemy.arguments.Arguments.*;
 import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
 
 /**
- * This class decorates an existing {@link ApplicationRepository} and measures the latencies of the operations performed, in ms.
+ * This class decorates an existing {@link ApplicationRepository} and records the latencies of the operations performed
+ * in the {@linkplain RepositoryMetrics metrics} for the {@link ApplicationRepository}.
  * It performs no validation of input and catches no exceptions.
  *
  * @author SirWellington
+ * @deprecated Use {@link MeasuredRepositories#measure(Class, Object)}, which works for every Repository.
  */
+@Deprecated
 @DecoratorPattern(role = DECORATOR)
 public final class MeasuredApplicationRepository implements ApplicationRepository
 {
@@ -44,6 +49,7 @@ public final class MeasuredApplicationRepository implements ApplicationRepositor
     private final static Logger LOG = LoggerFactory.getLogger(MeasuredApplicationRepository.class);
 
     private final ApplicationRepository delegate;
+    private final RepositoryMetrics metrics = RepositoryMetrics.forRepository(ApplicationRepository.class);
 
     @Inject
     public MeasuredApplicationRepository(@DecoratedBy(MeasuredApplicationRepository.class) ApplicationRepository delegate)
@@ -56,129 +62,73 @@ public final class MeasuredApplicationRepository implements ApplicationRepositor
     @Override
     public void saveApplication(Application application) throws TException
     {
-        long start = System.currentTimeMillis();
-
-        try
-        {
-            delegate.saveApplication(application);
-        }
-        finally
-        {
-            long end = System.currentTimeMillis();
-            LOG.debug("saveApplication Operation took {} ms", end - start);
-        }
+        VoidOperation operation = () -> delegate.saveApplication(application);
+
+        Operations.measure(operation, "saveApplication", metrics);
     }
 
     @Override
     public void deleteApplication(String applicationId) throws TException
     {
-        long start = System.currentTimeMillis();
-
-        try
-        {
-            delegate.deleteApplication(applicationId);
-        }
-        finally
-        {
-            long end = System.currentTimeMillis();
-            LOG.debug("deleteApplication Operation took {} ms", end - start);
-        }
+        VoidOperation operation = () -> delegate.deleteApplication(applicationId);
+
+        Operations.measure(operation, "deleteApplication", metrics);
     }
 
     @Override
     public Application getById(String applicationId) throws TException
     {
-        long start = System.currentTimeMillis();
-
-        try
-        {
-            return delegate.getById(applicationId);
-        }
-        finally
-        {
-            long end = System.currentTimeMillis();
-            LOG.debug("getById Operation took {} ms", end - start);
-        }
+        Operation<Application> operation = () -> delegate.getById(applicationId);
+
+        return Operations.measure(operation, "getById", metrics);
+    }
+
+    @Override
+    public Optional<Application> findApplication(String applicationId) throws TException
+    {
+        Operation<Optional<Application>> operation = () -> delegate.findApplication(applicationId);
+
+        return Operations.measure(operation, "findApplication", metrics);
     }
 
     @Override
     public boolean containsApplication(String applicationId) throws TException
     {
-        long start = System.currentTimeMillis();
-
-        try
-        {
-            return delegate.containsApplication(applicationId);
-        }
-        finally
-        {
-            long end = System.currentTimeMillis();
-            LOG.debug("containsApplication Operation took {} ms", end - start);
-        }
+        Operation<Boolean> operation = () -> delegate.containsApplication(applicationId);
+
+        return Operations.measure(operation, "containsApplication", metrics);
     }
 
     @Override
     public List<Application> getApplicationsOwnedBy(String userId) throws TException
     {
-        long start = System.currentTimeMillis();
-
-        try
-        {
-            return delegate.getApplicationsOwnedBy(userId);
-        }
-        finally
-        {
-            long end = System.currentTimeMillis();
-            LOG.debug("getApplicationsOwnedBy Operation took {} ms", end - start);
-        }
+        Operation<List<Application>> operation = () -> delegate.getApplicationsOwnedBy(userId);
+
+        return Operations.measure(operation, "getApplicationsOwnedBy", metrics);
     }
 
     @Override
     public List<Application> getApplicationsByOrg(String orgId) throws TException
     {
-        long start = System.currentTimeMillis();
-
-        try
-        {
-            return delegate.getApplicationsByOrg(orgId);
-        }
-        finally
-        {
-            long end = System.currentTimeMillis();
-            LOG.debug("getApplicationsByOrg Operation took {} ms", end - start);
-        }
+        Operation<List<Application>> operation = () -> delegate.getApplicationsByOrg(orgId);
+
+        return Operations.measure(operation, "getApplicationsByOrg", metrics);
     }
 
     @Override
     public List<Application> searchByName(String searchTerm) throws TException
     {
-        long start = System.currentTimeMillis();
-
-        try
-        {
-            return delegate.searchByName(searchTerm);
-        }
-        finally
-        {
-            long end = System.currentTimeMillis();
-            LOG.debug("searchByName Operation took {} ms", end - start);
-        }
+        Operation<List<Application>> operation = () -> delegate.searchByName(searchTerm);
+
+        return Operations.measure(operation, "searchByName", metrics);
     }
 
     @Override
     public List<Application> getRecentlyCreated() throws TException
     {
-        long start = System.currentTimeMillis();
-
-        try
-        {
-            return delegate.getRecentlyCreated();
-        }
-        finally
-        {
-            long end = System.currentTimeMillis();
-            LOG.debug("getRecentlyCreated Operation took {} ms", end - start);
-        }
+        Operation<List<Application>> operation = () -> delegate.getRecentlyCreated();
+
+        return Operations.measure(operation, "getRecentlyCreated", metrics);
     }
 
 }
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.lang.reflect.Proxy;
+
+import com.google.inject.Binder;
+import com.google.inject.Provider;
+import com.google.inject.binder.ScopedBindingBuilder;
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+import static tech.sirwellington.alchemy.arguments.assertions.BooleanAssertions.trueStatement;
+
+/**
+ * Creates measured decorators for any of the Repository interfaces in {@code tech.aroma.data}.
+ * <p>
+ * Each decorator is a dynamic proxy that records the calls, errors, in-flight calls and latencies of every method
+ * in the {@linkplain RepositoryMetrics metrics} of the Repository. Like the other decorators, it performs no validation
+ * of input and catches no exceptions.
+ * <p>
+ * Operations are named after their methods. Overloaded methods, such as
+ * {@code ActivityRepository.saveEvents(Event, List)} and {@code saveEvents(Event, List, LengthOfTime)}, are also named
+ * by their parameter count ({@code saveEvents/2} and {@code saveEvents/3}) so that each has its own metrics.
+ *
+ * @author SirWellington
+ */
+@NonInstantiable
+public final class MeasuredRepositories
+{
+
+    MeasuredRepositories() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    /**
+     * Decorates a Repository so that all of its operations are measured.
+     *
+     * @param repositoryType The Repository interface, for example {@code InboxRepository.class}.
+     * @param delegate       The Repository to decorate.
+     * @param <T>            The Repository interface.
+     *
+     * @return A measured Repository that delegates all calls to {@code delegate}.
+     */
+    public static <T> T measure(@Required Class<T> repositoryType, @Required T delegate)
+    {
+        checkThat(repositoryType, delegate).are(notNull());
+
+        checkThat(repositoryType.isInterface())
+            .usingMessage("Only interfaces can be measured: " + repositoryType)
+            .is(trueStatement());
+
+        MeasuringInvocationHandler handler = new MeasuringInvocationHandler(repositoryType, delegate);
+        Object proxy = Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[] { repositoryType }, handler);
+
+        return repositoryType.cast(proxy);
+    }
+
+    /**
+     * Binds a Repository interface to a measured decorator of {@code implementation}, and registers
+     * {@linkplain RepositoryMBeans MBeans} for each of its operations.
+     *
+     * <pre>
+     * MeasuredRepositories.bind(binder(), InboxRepository.class, SQLInboxRepository.class);
+     * </pre>
+     *
+     * @param binder         The binder of the Module installing the Repository.
+     * @param repositoryType The Repository interface.
+     * @param implementation The implementation to decorate. It is created by Guice.
+     *
+     * @return The binding, so that it can be scoped.
+     */
+    public static <T> ScopedBindingBuilder bind(@Required Binder binder,
+                                                @Required Class<T> repositoryType,
+                                                @Required Class<? extends T> implementation)
+    {
+        checkThat(binder, repositoryType, implementation).are(notNull());
+
+        RepositoryMetrics metrics = RepositoryMetrics.forRepository(repositoryType);
+        MeasuringInvocationHandler.operationsOf(repositoryType, metrics);
+        RepositoryMBeans.register(metrics);
+
+        Provider<? extends T> implementationProvider = binder.getProvider(implementation);
+        Provider<T> measuredProvider = () -> measure(repositoryType, implementationProvider.get());
+
+        return binder.bind(repositoryType).toProvider(measuredProvider);
+    }
+
+}
@@ -19,6 +19,7 @@ package tech.aroma.data.performance;
 
 
 import java.util.List;
+import java.util.Optional;
 import javax.inject.Inject;
 
 import decorice.DecoratedBy;
@@ -35,15 +36,20 @@ import static tech.sirwellington.alchemy.arguments.Arguments.*;
 import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
 
 /**
+ * This class decorates an existing {@link UserRepository} and records the latencies of the operations performed
+ * in the {@linkplain RepositoryMetrics metrics} for the {@link UserRepository}.
  *
  * @author SirWellington
+ * @deprecated Use {@link MeasuredRepositories#measure(Class, Object)}, which works for every Repository.
  */
+@Deprecated
 @DecoratorPattern(role = DECORATOR)
 public final class MeasuredUserRepository implements UserRepository
 {
     private final static Logger LOG = LoggerFactory.getLogger(MeasuredUserRepository.class);
 
     private final UserRepository delegate;
+    private final RepositoryMetrics metrics = RepositoryMetrics.forRepository(UserRepository.class);
 
     @Inject
     public MeasuredUserRepository(@DecoratedBy(MeasuredUserRepository.class) UserRepository delegate)
@@ -58,7 +64,7 @@ public final class MeasuredUserRepository implements UserRepository
     {
         VoidOperation operation = () -> delegate.saveUser(user);
         
-        Operations.logLatency(operation, "saveUser");
+        Operations.measure(operation, "saveUser", metrics);
     }
 
     @Override
@@ -66,7 +72,15 @@ public final class MeasuredUserRepository implements UserRepository
     {
         Operation<User> operation = () -> delegate.getUser(userId);
         
-        return Operations.logLatency(operation, "getUser");
+        return Operations.measure(operation, "getUser", metrics);
+    }
+
+    @Override
+    public Optional<User> findUser(String userId) throws TException
+    {
+        Operation<Optional<User>> operation = () -> delegate.findUser(userId);
+        
+        return Operations.measure(operation, "findUser", metrics);
     }
 
     @Override
@@ -74,35 +88,35 @@ public final class MeasuredUserRepository implements UserRepository
     {
         VoidOperation operation = () -> delegate.deleteUser(userId);
         
-        Operations.logLatency(operation, "deleteUser");
+        Operations.measure(operation, "deleteUser", metrics);
     }
 
     @Override
     public boolean containsUser(String userId) throws TException
     {
         Operation<Boolean> operation = () -> delegate.containsUser(userId);
-        return Operations.logLatency(operation, "containsUser");
+        return Operations.measure(operation, "containsUser", metrics);
     }
 
     @Override
     public User getUserByEmail(String emailAddress) throws TException
     {
         Operation<User> operation = () -> delegate.getUserByEmail(emailAddress);
-        return Operations.logLatency(operation, "getUserByEmail");
+        return Operations.measure(operation, "getUserByEmail", metrics);
     }
 
     @Override
     public User findByGithubProfile(String githubProfile) throws TException
     {
         Operation<User> operation = () -> delegate.findByGithubProfile(githubProfile);
-        return Operations.logLatency(operation, "findByGithubProfile");
+        return Operations.measure(operation, "findByGithubProfile", metrics);
     }
 
     @Override
     public List<User> getRecentlyCreatedUsers() throws TException
     {
         Operation<List<User>> opeartion = () -> delegate.getRecentlyCreatedUsers();
-        return Operations.logLatency(opeartion, "getRecentlyCreatedUsers");
+        return Operations.measure(opeartion, "getRecentlyCreatedUsers", metrics);
     }
     
     
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.lang.reflect.*;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.sirwellington.alchemy.annotations.access.Internal;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+/**
+ * Measures each call made through a Repository proxy created by {@link MeasuredRepositories}.
+ *
+ * @author SirWellington
+ */
+@Internal
+@ThreadSafe
+final class MeasuringInvocationHandler implements InvocationHandler
+{
+
+    private final static Logger LOG = LoggerFactory.getLogger(MeasuringInvocationHandler.class);
+
+    /**
+     * {@code null} when JDK Flight Recorder is not available.
+     */
+    private static final OperationEvents.Sink EVENTS = OperationEvents.sink();
+
+    private final Object delegate;
+    private final String backend;
+    private final RepositoryMetrics metrics;
+    private final Map<Method, OperationMetrics> operations;
+    private final Map<Method, HeavyHitters[]> hotKeys;
+
+    MeasuringInvocationHandler(Class<?> repositoryType, Object delegate)
+    {
+        this.delegate = delegate;
+        this.backend = OperationEvents.backendOf(delegate.getClass());
+        this.metrics = RepositoryMetrics.forRepository(repositoryType);
+        this.operations = operationsOf(repositoryType, metrics);
+        this.hotKeys = new HashMap<>();
+
+        for (Method method : operations.keySet())
+        {
+            HeavyHitters[] trackers = HotKeys.trackersFor(repositoryType, method);
+
+            if (trackers != null)
+            {
+                hotKeys.put(method, trackers);
+            }
+        }
+    }
+
+    /**
+     * Creates the {@linkplain OperationMetrics metrics} for each method of the Repository.
+     */
+    static Map<Method, OperationMetrics> operationsOf(Class<?> repositoryType, RepositoryMetrics metrics)
+    {
+        Map<Method, OperationMetrics> operations = new HashMap<>();
+        Map<String, Integer> overloads = new HashMap<>();
+
+        for (Method method : repositoryType.getMethods())
+        {
+            if (!Modifier.isStatic(method.getModifiers()))
+            {
+                overloads.merge(method.getName(), 1, Integer::sum);
+            }
+        }
+
+        for (Method method : repositoryType.getMethods())
+        {
+            if (!Modifier.isStatic(method.getModifiers()))
+            {
+                boolean overloaded = overloads.get(method.getName()) > 1;
+                operations.put(method, metrics.operation(operationNameOf(method, overloaded)));
+            }
+        }
+
+        return operations;
+    }
+
+    /**
+     * @return The name of the method, followed by its parameter count if it is overloaded, for example
+     *         {@code saveEvents/3}. Overloads would otherwise share one set of metrics.
+     */
+    static String operationNameOf(Method method, boolean overloaded)
+    {
+        return overloaded ? method.getName() + "/" + method.getParameterCount() : method.getName();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        OperationMetrics operation = operations.get(method);
+
+        if (operation == null)
+        {
+            return invokeObjectMethod(proxy, method, args);
+        }
+
+        HeavyHitters[] trackers = hotKeys.get(method);
+
+        if (trackers != null)
+        {
+            HotKeys.record(trackers, args);
+        }
+
+        CallRecorder.getDefault().record(method, args);
+
+        Object event = EVENTS == null ? null : EVENTS.begin();
+
+        RoundTrips.Count roundTrips = RoundTrips.begin();
+        long start = operation.started();
+        Object result = null;
+        Throwable error = null;
+
+        try
+        {
+            result = method.invoke(delegate, args);
+            return result;
+        }
+        catch (InvocationTargetException ex)
+        {
+            error = ex.getCause();
+            throw error;
+        }
+        catch (RuntimeException ex)
+        {
+            error = ex;
+            throw ex;
+        }
+        finally
+        {
+            long latency = operation.finished(start, error != null);
+
+            if (roundTrips != null)
+            {
+                recordRoundTrips(operation, method, RoundTrips.end(roundTrips));
+            }
+
+            if (event != null)
+            {
+                EVENTS.end(event, metrics.getRepositoryName(), method.getName(), backend, result, error);
+            }
+
+            SlowOperations.getDefault().offer(metrics.getRepositoryName(), method.getName(), backend, args, latency, error);
+
+            if (LOG.isDebugEnabled())
+            {
+                LOG.debug("{}.{} Operation took {} ms", metrics.getRepositoryName(), method.getName(), latency / 1_000_000.0);
+            }
+        }
+    }
+
+    /**
+     * Calls made by a Repository while serving another call are counted towards the outer call only.
+     * Warnings are limited to one per operation each minute.
+     */
+    private void recordRoundTrips(OperationMetrics operation, Method method, int statements)
+    {
+        int budget = RoundTrips.getBudget();
+        StatementCounts counts = operation.getStatements();
+
+        if (!counts.record(statements, budget))
+        {
+            return;
+        }
+
+        long suppressed = counts.warningAllowed(System.nanoTime());
+
+        if (suppressed >= 0)
+        {
+            LOG.warn("{}.{} made {} database round trips, over the budget of {}. Possible N+1 access pattern. " +
+                     "{} similar warnings suppressed since the last one.",
+                     metrics.getRepositoryName(),
+                     method.getName(),
+                     statements,
+                     budget,
+                     suppressed);
+        }
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        switch (method.getName())
+        {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Measured[" + delegate + "]";
+            default:
+                try
+                {
+                    return method.invoke(delegate, args);
+                }
+                catch (InvocationTargetException ex)
+                {
+                    throw ex.getCause();
+                }
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.Collection;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.sirwellington.alchemy.annotations.access.Internal;
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+
+/**
+ * Emits an event for each call made through a {@linkplain MeasuredRepositories measured} Repository, when the JVM
+ * supports JDK Flight Recorder.
+ * <p>
+ * The JFR event is compiled separately, from {@code src/jfr/java}, and only on JDKs that have {@code jdk.jfr}. It is
+ * loaded by name the first time this class is used, so nothing here links against {@code jdk.jfr}, and on a JVM
+ * without it {@link #sink()} is {@code null}.
+ *
+ * @author SirWellington
+ */
+@Internal
+@NonInstantiable
+final class OperationEvents
+{
+
+    private final static Logger LOG = LoggerFactory.getLogger(OperationEvents.class);
+
+    static final String JFR_SINK = "tech.aroma.data.performance.JfrOperationEventSink";
+
+    /**
+     * Emits the events. Implementations must be cheap when the event is not enabled.
+     */
+    interface Sink
+    {
+
+        /**
+         * @return The event to pass to {@link #end}, or {@code null} if the event is not enabled.
+         */
+        Object begin();
+
+        void end(Object event, String repository, String method, String backend, Object result, Throwable error);
+    }
+
+    private static final Sink SINK = load();
+
+    OperationEvents() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    /**
+     * @return The sink for the events, or {@code null} if JDK Flight Recorder is not available.
+     */
+    static Sink sink()
+    {
+        return SINK;
+    }
+
+    private static Sink load()
+    {
+        try
+        {
+            Class.forName("jdk.jfr.Event", false, OperationEvents.class.getClassLoader());
+        }
+        catch (ClassNotFoundException | LinkageError ex)
+        {
+            LOG.debug("JDK Flight Recorder is not available. Repository events are disabled.");
+            return null;
+        }
+
+        try
+        {
+            return (Sink) Class.forName(JFR_SINK).newInstance();
+        }
+        catch (ClassNotFoundException ex)
+        {
+            LOG.debug("This build does not include the JDK Flight Recorder events. Repository events are disabled.");
+            return null;
+        }
+        catch (ReflectiveOperationException | LinkageError | RuntimeException ex)
+        {
+            LOG.warn("JDK Flight Recorder is available, but {} could not be loaded. Repository events are disabled.",
+                     JFR_SINK,
+                     ex);
+            return null;
+        }
+    }
+
+    static long rowCountOf(Object result, Throwable error)
+    {
+        if (error != null)
+        {
+            return 0;
+        }
+
+        if (result instanceof Collection)
+        {
+            return ((Collection<?>) result).size();
+        }
+
+        if (result instanceof Map)
+        {
+            return ((Map<?, ?>) result).size();
+        }
+
+        if (result == null || result instanceof Boolean || result instanceof Number)
+        {
+            return -1;
+        }
+
+        return 1;
+    }
+
+    /**
+     * Derives the backend from the implementation class, for example {@code SQLInboxRepository} is {@code sql}.
+     */
+    static String backendOf(Class<?> implementation)
+    {
+        String name = implementation.getSimpleName();
+
+        if (name.startsWith("SQL"))
+        {
+            return "sql";
+        }
+
+        if (name.startsWith("Cassandra"))
+        {
+            return "cassandra";
+        }
+
+        if (name.startsWith("Memory"))
+        {
+            return "memory";
+        }
+
+        return name;
+    }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+/**
+ * Counts the calls, errors, and in-flight calls of a single Repository operation,
+ * along with a {@linkplain LatencyHistogram histogram} of its latencies and the
+ * {@linkplain StatementCounts number of statements} each call sent to the database.
+ * <p>
+ * Call and error counts are cumulative for the life of the process, so throughput and error rates
+ * are obtained by sampling them over time.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+public final class OperationMetrics
+{
+
+    private final String operationName;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final StatementCounts statements = new StatementCounts();
+
+    OperationMetrics(String operationName)
+    {
+        this.operationName = operationName;
+    }
+
+    /**
+     * Marks the start of a call.
+     *
+     * @return The start time of the call, to be passed to {@link #finished(long, boolean)}.
+     */
+    public long started()
+    {
+        inFlight.increment();
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a call that began with {@link #started()}.
+     *
+     * @param startTime The value returned by {@link #started()}.
+     * @param failed    Whether the call ended with an exception.
+     *
+     * @return The latency of the call, in ns.
+     */
+    public long finished(long startTime, boolean failed)
+    {
+        long latencyNanos = System.nanoTime() - startTime;
+
+        inFlight.decrement();
+        calls.increment();
+
+        if (failed)
+        {
+            errors.increment();
+        }
+
+        latency.record(latencyNanos);
+
+        return latencyNanos;
+    }
+
+    public String getOperationName()
+    {
+        return operationName;
+    }
+
+    public long getCalls()
+    {
+        return calls.sum();
+    }
+
+    public long getErrors()
+    {
+        return errors.sum();
+    }
+
+    public long getInFlight()
+    {
+        return inFlight.sum();
+    }
+
+    public LatencyHistogram getLatency()
+    {
+        return latency;
+    }
+
+    /**
+     * @return How many database statements each call made, as counted by {@link RoundTrips}.
+     */
+    public StatementCounts getStatements()
+    {
+        return statements;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "OperationMetrics{" + "operationName=" + operationName + ", calls=" + calls + ", errors=" + errors +
+               ", inFlight=" + inFlight + '}';
+    }
+
+}
@@ -18,16 +18,20 @@
 package tech.aroma.data.performance;
 
 
+import java.util.concurrent.TimeUnit;
+
 import com.google.common.base.Strings;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import tech.sirwellington.alchemy.annotations.access.Internal;
 import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty;
 import tech.sirwellington.alchemy.annotations.arguments.Required;
 
 import static tech.sirwellington.alchemy.arguments.Arguments.*;
 import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.nonEmptyString;
 
 /**
  *
@@ -52,13 +56,13 @@ final class Operations
     {
         checkThat(operation).is(notNull());
         
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         
         operation.call();
         
-        long end = System.currentTimeMillis();
+        long end = System.nanoTime();
         
-        return end - start;
+        return TimeUnit.NANOSECONDS.toMillis(end - start);
     }
     
     public static <T> T logLatency(@Required Operation<T> operation, String operationName) throws TException
@@ -67,7 +71,7 @@ final class Operations
         
         operationName = Strings.nullToEmpty(operationName);
         
-        long start = System.currentTimeMillis();
+        long start = System.nanoTime();
         
         try
         {
@@ -75,8 +79,52 @@ final class Operations
         }
         finally
         {
-            long end = System.currentTimeMillis();
-            LOG.debug("{} Operation took {} ms", operationName, end - start);
+            long end = System.nanoTime();
+            logLatency(operationName, end - start);
+        }
+    }
+    
+    /**
+     * Runs the operation and records it in the {@linkplain OperationMetrics metrics} for {@code operationName}.
+     * The call, its latency in ns, and any failure are recorded whether the operation succeeds or fails.
+     * 
+     * @param operation The operation to call
+     * @param operationName The name of the operation, for example {@code getUser}.
+     * @param metrics Where to record the call.
+     * 
+     * @return The result of the operation.
+     * @throws TException If the operation fails.
+     */
+    public static <T> T measure(@Required Operation<T> operation,
+                                @NonEmpty String operationName,
+                                @Required RepositoryMetrics metrics) throws TException
+    {
+        checkThat(operation, metrics).are(notNull());
+        checkThat(operationName).is(nonEmptyString());
+        
+        OperationMetrics operationMetrics = metrics.operation(operationName);
+        
+        long start = operationMetrics.started();
+        boolean failed = true;
+        
+        try
+        {
+            T result = operation.call();
+            failed = false;
+            return result;
+        }
+        finally
+        {
+            long latency = operationMetrics.finished(start, failed);
+            logLatency(operationName, latency);
+        }
+    }
+    
+    private static void logLatency(String operationName, long latencyNanos)
+    {
+        if (LOG.isDebugEnabled())
+        {
+            LOG.debug("{} Operation took {} ms", operationName, latencyNanos / 1_000_000.0);
         }
     }
 }
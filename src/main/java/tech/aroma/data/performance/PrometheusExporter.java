@@ -0,0 +1,347 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+
+/**
+ * Renders the {@linkplain RepositoryMetrics Repository metrics} in the
+ * <a href="https://prometheus.io/docs/instrumenting/exposition_formats/">Prometheus text exposition format</a>,
+ * so that a service embedding this library can serve them from its own scrape endpoint.
+ * <p>
+ * Metric names are stable, and each series is labeled with the Repository and method, for example:
+ * <pre>
+ * aroma_repository_latency_seconds{repo="inbox",method="countInboxForUser",quantile="0.99"} 0.0042
+ * </pre>
+ * Latency quantiles cover every call since start-up, or since the histogram was last reset.
+ *
+ * @author SirWellington
+ */
+@NonInstantiable
+public final class PrometheusExporter
+{
+
+    /**
+     * The Content-Type to serve the output of {@link #scrape()} with.
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    PrometheusExporter() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    /**
+     * @return All Repository metrics, in the Prometheus text format.
+     */
+    public static String scrape()
+    {
+        StringWriter writer = new StringWriter();
+
+        try
+        {
+            write(writer);
+        }
+        catch (IOException ex)
+        {
+            throw new UncheckedIOException(ex);
+        }
+
+        return writer.toString();
+    }
+
+    /**
+     * Writes all Repository metrics to {@code writer}, in the Prometheus text format.
+     * The writer is not flushed or closed.
+     */
+    public static void write(@Required Writer writer) throws IOException
+    {
+        checkThat(writer).is(notNull());
+
+        List<RepositoryMetrics> repositories = RepositoryMetrics.all();
+
+        header(writer, "aroma_repository_calls_total", "counter", "Calls made to a Repository method.");
+        for (RepositoryMetrics repository : repositories)
+        {
+            for (OperationMetrics operation : repository.operations())
+            {
+                sample(writer, "aroma_repository_calls_total", labelsOf(repository, operation), operation.getCalls());
+            }
+        }
+
+        header(writer, "aroma_repository_errors_total", "counter", "Calls to a Repository method that threw an exception.");
+        for (RepositoryMetrics repository : repositories)
+        {
+            for (OperationMetrics operation : repository.operations())
+            {
+                sample(writer, "aroma_repository_errors_total", labelsOf(repository, operation), operation.getErrors());
+            }
+        }
+
+        header(writer, "aroma_repository_in_flight", "gauge", "Calls to a Repository method that have not yet returned.");
+        for (RepositoryMetrics repository : repositories)
+        {
+            for (OperationMetrics operation : repository.operations())
+            {
+                sample(writer, "aroma_repository_in_flight", labelsOf(repository, operation), operation.getInFlight());
+            }
+        }
+
+        header(writer, "aroma_repository_latency_seconds", "summary", "Latency of Repository methods.");
+        for (RepositoryMetrics repository : repositories)
+        {
+            for (Map.Entry<String, LatencySnapshot> entry : repository.snapshot().entrySet())
+            {
+                String labels = labelsOf(repository.getRepositoryName(), entry.getKey());
+                writeSummary(writer, "aroma_repository_latency_seconds", labels, entry.getValue());
+            }
+        }
+
+        header(writer, "aroma_repository_latency_seconds_max", "gauge", "Slowest call to a Repository method.");
+        for (RepositoryMetrics repository : repositories)
+        {
+            for (Map.Entry<String, LatencySnapshot> entry : repository.snapshot().entrySet())
+            {
+                String labels = labelsOf(repository.getRepositoryName(), entry.getKey());
+                sample(writer, "aroma_repository_latency_seconds_max", labels, toSeconds(entry.getValue().getMaxNanos()));
+            }
+        }
+
+        header(writer, "aroma_repository_statements_total", "counter", "Database statements sent by a Repository method.");
+        for (RepositoryMetrics repository : repositories)
+        {
+            for (OperationMetrics operation : repository.operations())
+            {
+                long statements = operation.getStatements().getTotalStatements();
+                sample(writer, "aroma_repository_statements_total", labelsOf(repository, operation), statements);
+            }
+        }
+
+        header(writer, "aroma_repository_statements_per_call_max", "gauge", "Most database statements sent by a single call.");
+        for (RepositoryMetrics repository : repositories)
+        {
+            for (OperationMetrics operation : repository.operations())
+            {
+                long max = operation.getStatements().getMaxStatementsPerCall();
+                sample(writer, "aroma_repository_statements_per_call_max", labelsOf(repository, operation), max);
+            }
+        }
+
+        header(writer,
+               "aroma_repository_calls_over_statement_budget_total",
+               "counter",
+               "Calls that sent more database statements than the round-trip budget.");
+        for (RepositoryMetrics repository : repositories)
+        {
+            for (OperationMetrics operation : repository.operations())
+            {
+                long overBudget = operation.getStatements().getCallsOverBudget();
+                sample(writer, "aroma_repository_calls_over_statement_budget_total", labelsOf(repository, operation), overBudget);
+            }
+        }
+
+        List<StatementMetrics> statements = StatementMetrics.all();
+
+        header(writer, "aroma_db_statement_calls_total", "counter", "Executions of a database statement.");
+        for (StatementMetrics statement : statements)
+        {
+            sample(writer, "aroma_db_statement_calls_total", labelsOf(statement), statement.getCalls());
+        }
+
+        header(writer, "aroma_db_statement_errors_total", "counter", "Executions of a database statement that failed.");
+        for (StatementMetrics statement : statements)
+        {
+            sample(writer, "aroma_db_statement_errors_total", labelsOf(statement), statement.getErrors());
+        }
+
+        header(writer, "aroma_db_statement_rows_total", "counter", "Rows returned or affected by a database statement.");
+        for (StatementMetrics statement : statements)
+        {
+            sample(writer, "aroma_db_statement_rows_total", labelsOf(statement), statement.getRows());
+        }
+
+        header(writer, "aroma_db_statement_bytes_read_total", "counter", "Approximate bytes read from the results of a database statement.");
+        for (StatementMetrics statement : statements)
+        {
+            sample(writer, "aroma_db_statement_bytes_read_total", labelsOf(statement), statement.getBytesRead());
+        }
+
+        header(writer, "aroma_db_statement_retries_total", "counter", "Retries made by the database driver for a statement.");
+        for (StatementMetrics statement : statements)
+        {
+            sample(writer, "aroma_db_statement_retries_total", labelsOf(statement), statement.getRetries());
+        }
+
+        header(writer,
+               "aroma_db_statement_speculative_executions_total",
+               "counter",
+               "Speculative executions started by the database driver for a statement.");
+        for (StatementMetrics statement : statements)
+        {
+            sample(writer, "aroma_db_statement_speculative_executions_total", labelsOf(statement), statement.getSpeculativeExecutions());
+        }
+
+        header(writer, "aroma_db_statement_latency_seconds", "summary", "Latency of database statements.");
+        for (StatementMetrics statement : statements)
+        {
+            writeSummary(writer, "aroma_db_statement_latency_seconds", labelsOf(statement), statement.getLatency().snapshot());
+        }
+
+        //IDs are never used as labels: they would leak to anyone who can scrape, and give each ID its own series.
+        //The IDs themselves are available through HotKeys.
+        header(writer, "aroma_repository_hot_key_reads", "gauge", "Estimated reads of the most frequently read IDs, by rank.");
+        for (HeavyHitters hotKeys : HotKeys.all())
+        {
+            int rank = 0;
+
+            for (HeavyHitters.KeyFrequency key : hotKeys.top())
+            {
+                rank += 1;
+                String labels = "key_type=\"" + escape(hotKeys.getKeyType()) + "\",rank=\"" + rank + "\"";
+                sample(writer, "aroma_repository_hot_key_reads", labels, key.getEstimatedCount());
+            }
+        }
+    }
+
+    private static void writeSummary(Writer writer, String name, String labels, LatencySnapshot snapshot) throws IOException
+    {
+        sample(writer, name, withQuantile(labels, "0.5"), toSeconds(snapshot.getP50Nanos()));
+        sample(writer, name, withQuantile(labels, "0.9"), toSeconds(snapshot.getP90Nanos()));
+        sample(writer, name, withQuantile(labels, "0.99"), toSeconds(snapshot.getP99Nanos()));
+        sample(writer, name, withQuantile(labels, "0.999"), toSeconds(snapshot.getP999Nanos()));
+        sample(writer, name + "_sum", labels, toSeconds(snapshot.getSumNanos()));
+        sample(writer, name + "_count", labels, snapshot.getCount());
+    }
+
+    static void header(Writer writer, String name, String type, String help) throws IOException
+    {
+        writer.write("# HELP ");
+        writer.write(name);
+        writer.write(' ');
+        writer.write(help);
+        writer.write('\n');
+
+        writer.write("# TYPE ");
+        writer.write(name);
+        writer.write(' ');
+        writer.write(type);
+        writer.write('\n');
+    }
+
+    static void sample(Writer writer, String name, String labels, double value) throws IOException
+    {
+        writer.write(name);
+        writer.write('{');
+        writer.write(labels);
+        writer.write("} ");
+        writer.write(formatValue(value));
+        writer.write('\n');
+    }
+
+    static String labelsOf(RepositoryMetrics repository, OperationMetrics operation)
+    {
+        return labelsOf(repository.getRepositoryName(), operation.getOperationName());
+    }
+
+    static String labelsOf(StatementMetrics statement)
+    {
+        return "backend=\"" + escape(statement.getBackend()) + "\",statement=\"" + escape(statement.getStatement()) + "\"";
+    }
+
+    static String labelsOf(String repositoryName, String method)
+    {
+        return "repo=\"" + escape(repoLabelOf(repositoryName)) + "\",method=\"" + escape(method) + "\"";
+    }
+
+    private static String withQuantile(String labels, String quantile)
+    {
+        return labels + ",quantile=\"" + quantile + "\"";
+    }
+
+    /**
+     * Turns a Repository name into a short label, for example {@code UserPreferencesRepository} becomes
+     * {@code user_preferences}.
+     */
+    static String repoLabelOf(String repositoryName)
+    {
+        String name = repositoryName;
+
+        if (name.endsWith("Repository") && name.length() > "Repository".length())
+        {
+            name = name.substring(0, name.length() - "Repository".length());
+        }
+
+        StringBuilder label = new StringBuilder(name.length() + 4);
+
+        for (int i = 0; i < name.length(); ++i)
+        {
+            char character = name.charAt(i);
+
+            if (Character.isUpperCase(character))
+            {
+                if (i > 0)
+                {
+                    label.append('_');
+                }
+
+                label.append(Character.toLowerCase(character));
+            }
+            else
+            {
+                label.append(character);
+            }
+        }
+
+        return label.toString();
+    }
+
+    static String escape(String labelValue)
+    {
+        return labelValue.replace("\\", "\\\\")
+            .replace("\"", "\\\"")
+            .replace("\n", "\\n");
+    }
+
+    private static String formatValue(double value)
+    {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15)
+        {
+            return Long.toString((long) value);
+        }
+
+        return Double.toString(value);
+    }
+
+    private static double toSeconds(long nanos)
+    {
+        return nanos / NANOS_PER_SECOND;
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.lang.reflect.Method;
+
+/**
+ * A Repository call read back from a {@linkplain CallLogReader call log}.
+ *
+ * @author SirWellington
+ * @see CallRecorder
+ */
+public final class RecordedCall
+{
+
+    private final long offsetNanos;
+    private final String thread;
+    private final Method method;
+    private final Object[] arguments;
+
+    RecordedCall(long offsetNanos, String thread, Method method, Object[] arguments)
+    {
+        this.offsetNanos = offsetNanos;
+        this.thread = thread;
+        this.method = method;
+        this.arguments = arguments;
+    }
+
+    /**
+     * @return When the call was made, in nanoseconds since recording started.
+     */
+    public long getOffsetNanos()
+    {
+        return offsetNanos;
+    }
+
+    /**
+     * @return The name of the thread that made the call.
+     */
+    public String getThread()
+    {
+        return thread;
+    }
+
+    /**
+     * @return The Repository method that was called. Its declaring class is the Repository interface.
+     */
+    public Method getMethod()
+    {
+        return method;
+    }
+
+    /**
+     * @return A copy of the arguments. Arguments of a type that cannot be recorded are {@code null}.
+     */
+    public Object[] getArguments()
+    {
+        return arguments.clone();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RecordedCall{" + "offsetNanos=" + offsetNanos + ", thread=" + thread +
+               ", method=" + method.getDeclaringClass().getSimpleName() + "." + method.getName() +
+               ", arguments=" + SlowOperation.redact(arguments) + '}';
+    }
+
+}
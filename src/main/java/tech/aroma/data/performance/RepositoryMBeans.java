@@ -0,0 +1,430 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.management.*;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+
+/**
+ * Registers {@linkplain RepositoryOperationMXBean MBeans} for Repository operations with the platform MBean Server.
+ * <p>
+ * Each operation is registered under {@code tech.aroma.data:type=Repository,repository=<name>,operation=<name>},
+ * the {@linkplain SlowOperations slow-operation sampler} under {@code tech.aroma.data:type=SlowOperations},
+ * and the {@linkplain CallRecorder call recorder} under {@code tech.aroma.data:type=CallRecorder}.
+ * Registration is idempotent, so Modules may be installed in several Injectors.
+ *
+ * @author SirWellington
+ */
+@NonInstantiable
+public final class RepositoryMBeans
+{
+
+    private final static Logger LOG = LoggerFactory.getLogger(RepositoryMBeans.class);
+
+    static final String DOMAIN = "tech.aroma.data";
+
+    /**
+     * How long the latency attributes of an operation are served from the same snapshot.
+     */
+    static final long SNAPSHOT_MILLIS = 1_000;
+
+    RepositoryMBeans() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    /**
+     * Registers an MBean for every operation currently in {@code metrics}.
+     */
+    public static void register(@Required RepositoryMetrics metrics)
+    {
+        checkThat(metrics).is(notNull());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+        for (OperationMetrics operation : metrics.operations())
+        {
+            register(server, metrics.getRepositoryName(), operation);
+        }
+
+        registerSlowOperations(server);
+        registerCallRecorder(server);
+    }
+
+    static ObjectName slowOperationsName() throws MalformedObjectNameException
+    {
+        return new ObjectName(DOMAIN + ":type=SlowOperations");
+    }
+
+    private static void registerSlowOperations(MBeanServer server)
+    {
+        try
+        {
+            ObjectName name = slowOperationsName();
+
+            if (!server.isRegistered(name))
+            {
+                server.registerMBean(new SlowOperationsStatistics(SlowOperations.getDefault()), name);
+            }
+        }
+        catch (InstanceAlreadyExistsException ex)
+        {
+            LOG.debug("MBean for Slow Operations is already registered");
+        }
+        catch (JMException ex)
+        {
+            LOG.warn("Failed to register MBean for Slow Operations", ex);
+        }
+    }
+
+    static ObjectName callRecorderName() throws MalformedObjectNameException
+    {
+        return new ObjectName(DOMAIN + ":type=CallRecorder");
+    }
+
+    private static void registerCallRecorder(MBeanServer server)
+    {
+        try
+        {
+            ObjectName name = callRecorderName();
+
+            if (!server.isRegistered(name))
+            {
+                server.registerMBean(new CallRecorderControl(CallRecorder.getDefault()), name);
+            }
+        }
+        catch (InstanceAlreadyExistsException ex)
+        {
+            LOG.debug("MBean for the Call Recorder is already registered");
+        }
+        catch (JMException ex)
+        {
+            LOG.warn("Failed to register MBean for the Call Recorder", ex);
+        }
+    }
+
+    static ObjectName nameOf(String repository, String operation) throws MalformedObjectNameException
+    {
+        return new ObjectName(DOMAIN + ":type=Repository,repository=" + repository + ",operation=" + operation);
+    }
+
+    private static void register(MBeanServer server, String repository, OperationMetrics operation)
+    {
+        try
+        {
+            ObjectName name = nameOf(repository, operation.getOperationName());
+
+            if (!server.isRegistered(name))
+            {
+                server.registerMBean(new RepositoryOperationStatistics(repository, operation), name);
+            }
+        }
+        catch (InstanceAlreadyExistsException ex)
+        {
+            LOG.debug("MBean for {}.{} is already registered", repository, operation.getOperationName());
+        }
+        catch (JMException ex)
+        {
+            LOG.warn("Failed to register MBean for {}.{}", repository, operation.getOperationName(), ex);
+        }
+    }
+
+    private static final class RepositoryOperationStatistics implements RepositoryOperationMXBean
+    {
+
+        private final String repository;
+        private final OperationMetrics operation;
+
+        private volatile LatencySnapshot latestSnapshot;
+        private volatile long latestSnapshotNanos;
+
+        RepositoryOperationStatistics(String repository, OperationMetrics operation)
+        {
+            this.repository = repository;
+            this.operation = operation;
+        }
+
+        @Override
+        public String getRepository()
+        {
+            return repository;
+        }
+
+        @Override
+        public String getOperation()
+        {
+            return operation.getOperationName();
+        }
+
+        @Override
+        public long getCalls()
+        {
+            return operation.getCalls();
+        }
+
+        @Override
+        public long getErrors()
+        {
+            return operation.getErrors();
+        }
+
+        @Override
+        public long getInFlight()
+        {
+            return operation.getInFlight();
+        }
+
+        @Override
+        public LatencySnapshot getLatency()
+        {
+            return snapshot();
+        }
+
+        @Override
+        public double getMeanLatencyMillis()
+        {
+            return toMillis(snapshot().getMeanNanos());
+        }
+
+        @Override
+        public double getP50LatencyMillis()
+        {
+            return toMillis(snapshot().getP50Nanos());
+        }
+
+        @Override
+        public double getP90LatencyMillis()
+        {
+            return toMillis(snapshot().getP90Nanos());
+        }
+
+        @Override
+        public double getP99LatencyMillis()
+        {
+            return toMillis(snapshot().getP99Nanos());
+        }
+
+        @Override
+        public double getP999LatencyMillis()
+        {
+            return toMillis(snapshot().getP999Nanos());
+        }
+
+        @Override
+        public double getMaxLatencyMillis()
+        {
+            return toMillis(snapshot().getMaxNanos());
+        }
+
+        @Override
+        public double getMeanStatementsPerCall()
+        {
+            return operation.getStatements().getMeanStatementsPerCall();
+        }
+
+        @Override
+        public long getMaxStatementsPerCall()
+        {
+            return operation.getStatements().getMaxStatementsPerCall();
+        }
+
+        @Override
+        public long getCallsOverStatementBudget()
+        {
+            return operation.getStatements().getCallsOverBudget();
+        }
+
+        @Override
+        public void resetLatencies()
+        {
+            operation.getLatency().snapshotAndReset();
+            latestSnapshot = null;
+        }
+
+        /**
+         * Each attribute is read with a separate call, so they share a snapshot instead of each taking their own.
+         */
+        private LatencySnapshot snapshot()
+        {
+            LatencySnapshot snapshot = latestSnapshot;
+            long now = System.nanoTime();
+
+            if (snapshot == null || now - latestSnapshotNanos > TimeUnit.MILLISECONDS.toNanos(SNAPSHOT_MILLIS))
+            {
+                snapshot = operation.getLatency().snapshot();
+                latestSnapshotNanos = now;
+                latestSnapshot = snapshot;
+            }
+
+            return snapshot;
+        }
+
+        private static double toMillis(long nanos)
+        {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    private static final class SlowOperationsStatistics implements SlowOperationsMXBean
+    {
+
+        private final SlowOperations slowOperations;
+
+        SlowOperationsStatistics(SlowOperations slowOperations)
+        {
+            this.slowOperations = slowOperations;
+        }
+
+        @Override
+        public long getThresholdMillis()
+        {
+            return slowOperations.getThresholdMillis();
+        }
+
+        @Override
+        public void setThresholdMillis(long thresholdMillis)
+        {
+            slowOperations.setThresholdMillis(thresholdMillis);
+        }
+
+        @Override
+        public double getSampleRate()
+        {
+            return slowOperations.getSampleRate();
+        }
+
+        @Override
+        public void setSampleRate(double sampleRate)
+        {
+            slowOperations.setSampleRate(sampleRate);
+        }
+
+        @Override
+        public int getMaxPerSecond()
+        {
+            return slowOperations.getMaxPerSecond();
+        }
+
+        @Override
+        public void setMaxPerSecond(int maxPerSecond)
+        {
+            slowOperations.setMaxPerSecond(maxPerSecond);
+        }
+
+        @Override
+        public int getCapacity()
+        {
+            return slowOperations.getCapacity();
+        }
+
+        @Override
+        public long getCaptured()
+        {
+            return slowOperations.getCaptured();
+        }
+
+        @Override
+        public long getDropped()
+        {
+            return slowOperations.getDropped();
+        }
+
+        @Override
+        public List<String> dump()
+        {
+            return slowOperations.dump()
+                .stream()
+                .map(SlowOperation::toString)
+                .collect(Collectors.toList());
+        }
+
+        @Override
+        public void clear()
+        {
+            slowOperations.clear();
+        }
+    }
+
+    private static final class CallRecorderControl implements CallRecorderMXBean
+    {
+
+        private final CallRecorder recorder;
+
+        CallRecorderControl(CallRecorder recorder)
+        {
+            this.recorder = recorder;
+        }
+
+        @Override
+        public boolean isRecording()
+        {
+            return recorder.isRecording();
+        }
+
+        @Override
+        public String getFile()
+        {
+            Path file = recorder.getFile();
+            return file == null ? null : file.toString();
+        }
+
+        @Override
+        public void start(String file) throws IOException
+        {
+            recorder.start(Paths.get(file));
+        }
+
+        @Override
+        public void stop()
+        {
+            recorder.stop();
+        }
+
+        @Override
+        public long getRecorded()
+        {
+            return recorder.getRecorded();
+        }
+
+        @Override
+        public long getDropped()
+        {
+            return recorder.getDropped();
+        }
+
+        @Override
+        public int getCapacity()
+        {
+            return recorder.getCapacity();
+        }
+    }
+
+}
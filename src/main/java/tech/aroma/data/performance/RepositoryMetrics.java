@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.nonEmptyString;
+
+/**
+ * Holds the {@linkplain OperationMetrics metrics} for each operation of a Repository.
+ * <p>
+ * There is a single instance per Repository type in the process, obtained through {@link #forRepository(Class)},
+ * so that every decorator of that Repository contributes to the same metrics.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+public final class RepositoryMetrics
+{
+
+    private static final ConcurrentMap<String, RepositoryMetrics> REPOSITORIES = new ConcurrentHashMap<>();
+
+    private final String repositoryName;
+    private final ConcurrentMap<String, OperationMetrics> operations = new ConcurrentHashMap<>();
+
+    private RepositoryMetrics(String repositoryName)
+    {
+        this.repositoryName = repositoryName;
+    }
+
+    /**
+     * @param repositoryType The Repository interface, for example {@code UserRepository.class}.
+     *
+     * @return The metrics shared by all instances of the Repository.
+     */
+    public static RepositoryMetrics forRepository(@Required Class<?> repositoryType)
+    {
+        checkThat(repositoryType).is(notNull());
+
+        return REPOSITORIES.computeIfAbsent(repositoryType.getSimpleName(), RepositoryMetrics::new);
+    }
+
+    /**
+     * @return The metrics of every Repository measured so far, sorted by Repository name.
+     */
+    public static List<RepositoryMetrics> all()
+    {
+        List<RepositoryMetrics> result = new ArrayList<>(REPOSITORIES.values());
+        result.sort(Comparator.comparing(RepositoryMetrics::getRepositoryName));
+        return result;
+    }
+
+    public String getRepositoryName()
+    {
+        return repositoryName;
+    }
+
+    /**
+     * @param operation The name of the operation, for example {@code getUser}.
+     *
+     * @return The metrics for the operation, created on first use.
+     */
+    public OperationMetrics operation(@NonEmpty String operation)
+    {
+        checkThat(operation).is(nonEmptyString());
+
+        return operations.computeIfAbsent(operation, OperationMetrics::new);
+    }
+
+    /**
+     * @return The metrics of every operation measured so far, sorted by operation name.
+     */
+    public List<OperationMetrics> operations()
+    {
+        List<OperationMetrics> result = new ArrayList<>(operations.values());
+        result.sort(Comparator.comparing(OperationMetrics::getOperationName));
+        return result;
+    }
+
+    /**
+     * @param operation The name of the operation, for example {@code getUser}.
+     *
+     * @return The latency histogram for the operation, created on first use.
+     */
+    public LatencyHistogram latencyOf(@NonEmpty String operation)
+    {
+        return operation(operation).getLatency();
+    }
+
+    public void recordLatency(@NonEmpty String operation, long latencyNanos)
+    {
+        latencyOf(operation).record(latencyNanos);
+    }
+
+    /**
+     * @return A snapshot of each operation's latencies, keyed and sorted by operation name.
+     */
+    public SortedMap<String, LatencySnapshot> snapshot()
+    {
+        SortedMap<String, LatencySnapshot> result = new TreeMap<>();
+        operations.forEach((operation, metrics) -> result.put(operation, metrics.getLatency().snapshot()));
+        return result;
+    }
+
+    /**
+     * Like {@link #snapshot()}, but also clears each latency histogram so the next snapshot only covers new traffic.
+     */
+    public SortedMap<String, LatencySnapshot> snapshotAndReset()
+    {
+        SortedMap<String, LatencySnapshot> result = new TreeMap<>();
+        operations.forEach((operation, metrics) -> result.put(operation, metrics.getLatency().snapshotAndReset()));
+        return result;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RepositoryMetrics{" + "repositoryName=" + repositoryName + ", operations=" + operations.keySet() + '}';
+    }
+
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+/**
+ * The JMX view of a single Repository operation, as seen in jconsole or {@code jcmd}.
+ * Latencies are in milliseconds, except in the {@linkplain #getLatency() Latency} attribute.
+ * <p>
+ * The latency attributes are read from a snapshot of the histogram that is kept for a second, so that
+ * the attributes read together in one request describe the same calls.
+ *
+ * @author SirWellington
+ * @see RepositoryMBeans
+ */
+public interface RepositoryOperationMXBean
+{
+
+    String getRepository();
+
+    String getOperation();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getInFlight();
+
+    /**
+     * @return Every latency statistic, in nanoseconds, taken from a single snapshot.
+     */
+    LatencySnapshot getLatency();
+
+    double getMeanLatencyMillis();
+
+    double getP50LatencyMillis();
+
+    double getP90LatencyMillis();
+
+    double getP99LatencyMillis();
+
+    double getP999LatencyMillis();
+
+    double getMaxLatencyMillis();
+
+    double getMeanStatementsPerCall();
+
+    long getMaxStatementsPerCall();
+
+    /**
+     * @return The number of calls that made more database round trips than {@link RoundTrips#getBudget()}.
+     */
+    long getCallsOverStatementBudget();
+
+    /**
+     * Clears the latency histogram, so that the percentiles only cover calls made from now on.
+     * Call and error counts are not reset.
+     */
+    void resetLatencies();
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.greaterThanOrEqualTo;
+
+/**
+ * Counts the database statements executed on the current thread during a single Repository call.
+ * <p>
+ * The {@linkplain MeasuredRepositories measured} Repositories open a count for each call, and the
+ * {@linkplain Instrumented instrumented} connections add to it for every statement they send.
+ * A call that makes more round trips than the {@linkplain #getBudget() budget} is flagged, so that
+ * N+1 access patterns show up in the metrics.
+ *
+ * @author SirWellington
+ */
+@NonInstantiable
+public final class RoundTrips
+{
+
+    /**
+     * The default budget, which may be set with the {@code aroma.data.roundTripBudget} System Property.
+     */
+    static final int DEFAULT_BUDGET = Integer.getInteger("aroma.data.roundTripBudget", 10);
+
+    private static volatile int budget = DEFAULT_BUDGET;
+
+    private static final ThreadLocal<Count> CURRENT = ThreadLocal.withInitial(Count::new);
+
+    RoundTrips() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    /**
+     * Counts one statement sent to the database, if a Repository call is being measured on this thread.
+     */
+    public static void recordStatement()
+    {
+        Count count = CURRENT.get();
+
+        if (count.active)
+        {
+            count.statements++;
+        }
+    }
+
+    /**
+     * @return The number of statements a single Repository call may make before it is flagged.
+     */
+    public static int getBudget()
+    {
+        return budget;
+    }
+
+    public static void setBudget(int newBudget)
+    {
+        checkThat(newBudget).is(greaterThanOrEqualTo(0));
+
+        budget = newBudget;
+    }
+
+    /**
+     * Starts counting statements on this thread.
+     *
+     * @return The count, or null if one is already open, as happens when a Repository calls another.
+     */
+    static Count begin()
+    {
+        Count count = CURRENT.get();
+
+        if (count.active)
+        {
+            return null;
+        }
+
+        count.active = true;
+        count.statements = 0;
+        return count;
+    }
+
+    /**
+     * Stops counting statements.
+     *
+     * @return The number of statements made since {@link #begin()}.
+     */
+    static int end(Count count)
+    {
+        count.active = false;
+        return count.statements;
+    }
+
+    static final class Count
+    {
+
+        private boolean active;
+        private int statements;
+    }
+
+}
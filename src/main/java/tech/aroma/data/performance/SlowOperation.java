@@ -0,0 +1,304 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TFieldIdEnum;
+import org.apache.thrift.meta_data.FieldMetaData;
+import tech.aroma.data.CredentialRepository;
+import tech.aroma.data.TokenRepository;
+
+/**
+ * An immutable record of a single Repository call that took longer than the
+ * {@linkplain SlowOperations#getThresholdMillis() slow-operation threshold}.
+ * <p>
+ * Only IDs are kept from the arguments. Thrift objects are reduced to their ID fields, such as the
+ * {@code messageId} and {@code applicationId} of a Message. Everything else, such as Message bodies and
+ * search terms, is replaced by a description of its type and size. Token IDs and credentials are
+ * secrets rather than IDs, so no arguments at all are kept for the {@link TokenRepository} and
+ * {@link CredentialRepository}.
+ *
+ * @author SirWellington
+ * @see SlowOperations
+ */
+public final class SlowOperation
+{
+
+    private static final Pattern UUID_PATTERN = Pattern.compile(
+        "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+
+    private static final Set<String> SECRET_REPOSITORIES = new HashSet<>(Arrays.asList(
+        CredentialRepository.class.getSimpleName(),
+        TokenRepository.class.getSimpleName()));
+
+    static final String SECRET = "<secret>";
+
+    private final long sequence;
+    private final Instant timestamp;
+    private final String repository;
+    private final String method;
+    private final String backend;
+    private final List<String> arguments;
+    private final long durationNanos;
+    private final String thread;
+    private final String exceptionType;
+
+    SlowOperation(long sequence,
+                  Instant timestamp,
+                  String repository,
+                  String method,
+                  String backend,
+                  List<String> arguments,
+                  long durationNanos,
+                  String thread,
+                  String exceptionType)
+    {
+        this.sequence = sequence;
+        this.timestamp = timestamp;
+        this.repository = repository;
+        this.method = method;
+        this.backend = backend;
+        this.arguments = Collections.unmodifiableList(new ArrayList<>(arguments));
+        this.durationNanos = durationNanos;
+        this.thread = thread;
+        this.exceptionType = exceptionType;
+    }
+
+    /**
+     * Describes the arguments of a call to {@code repository}, keeping only IDs.
+     */
+    static List<String> redact(String repository, Object[] args)
+    {
+        if (SECRET_REPOSITORIES.contains(repository) && args != null)
+        {
+            return Collections.nCopies(args.length, SECRET);
+        }
+
+        return redact(args);
+    }
+
+    /**
+     * Describes the arguments of a call, keeping only IDs.
+     */
+    static List<String> redact(Object[] args)
+    {
+        if (args == null || args.length == 0)
+        {
+            return Collections.emptyList();
+        }
+
+        List<String> result = new ArrayList<>(args.length);
+
+        for (Object arg : args)
+        {
+            result.add(redact(arg));
+        }
+
+        return result;
+    }
+
+    static String redact(Object arg)
+    {
+        if (arg == null)
+        {
+            return "null";
+        }
+
+        if (arg instanceof String)
+        {
+            String string = (String) arg;
+            return UUID_PATTERN.matcher(string).matches() ? string : "<String, length=" + string.length() + ">";
+        }
+
+        if (arg instanceof Number || arg instanceof Boolean || arg instanceof Enum || arg instanceof UUID)
+        {
+            return arg.toString();
+        }
+
+        if (arg instanceof Collection)
+        {
+            return "<" + arg.getClass().getSimpleName() + ", size=" + ((Collection<?>) arg).size() + ">";
+        }
+
+        if (arg instanceof Map)
+        {
+            return "<" + arg.getClass().getSimpleName() + ", size=" + ((Map<?, ?>) arg).size() + ">";
+        }
+
+        if (arg instanceof TBase)
+        {
+            return idsOf((TBase<?, ?>) arg);
+        }
+
+        return "<" + arg.getClass().getName() + ">";
+    }
+
+    /**
+     * @return The Thrift object's type and the fields that hold IDs, for example
+     *         {@code <Message messageId=..., applicationId=...>}.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static String idsOf(TBase<?, ?> object)
+    {
+        StringBuilder result = new StringBuilder("<").append(object.getClass().getSimpleName());
+        boolean first = true;
+
+        Map<? extends TFieldIdEnum, FieldMetaData> fields = FieldMetaData.getStructMetaDataMap((Class) object.getClass());
+
+        for (TFieldIdEnum field : fields.keySet())
+        {
+            String name = field.getFieldName();
+
+            if (!name.endsWith("Id") || name.toLowerCase().contains("token"))
+            {
+                continue;
+            }
+
+            Object value = ((TBase) object).getFieldValue(field);
+
+            if (value instanceof String && UUID_PATTERN.matcher((String) value).matches())
+            {
+                result.append(first ? " " : ", ").append(name).append('=').append(value);
+                first = false;
+            }
+        }
+
+        return result.append('>').toString();
+    }
+
+    /**
+     * @return The position of this record among all the slow operations captured since start-up.
+     */
+    public long getSequence()
+    {
+        return sequence;
+    }
+
+    public Instant getTimestamp()
+    {
+        return timestamp;
+    }
+
+    public String getRepository()
+    {
+        return repository;
+    }
+
+    public String getMethod()
+    {
+        return method;
+    }
+
+    public String getBackend()
+    {
+        return backend;
+    }
+
+    public List<String> getArguments()
+    {
+        return arguments;
+    }
+
+    public long getDurationNanos()
+    {
+        return durationNanos;
+    }
+
+    public double getDurationMillis()
+    {
+        return durationNanos / 1_000_000.0;
+    }
+
+    public String getThread()
+    {
+        return thread;
+    }
+
+    /**
+     * @return The class of the exception the call ended with, or null if it succeeded.
+     */
+    public String getExceptionType()
+    {
+        return exceptionType;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(sequence, timestamp, repository, method, backend, arguments, durationNanos, thread, exceptionType);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (this == obj)
+        {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass())
+        {
+            return false;
+        }
+
+        final SlowOperation other = (SlowOperation) obj;
+        return this.sequence == other.sequence &&
+               this.durationNanos == other.durationNanos &&
+               Objects.equals(this.timestamp, other.timestamp) &&
+               Objects.equals(this.repository, other.repository) &&
+               Objects.equals(this.method, other.method) &&
+               Objects.equals(this.backend, other.backend) &&
+               Objects.equals(this.arguments, other.arguments) &&
+               Objects.equals(this.thread, other.thread) &&
+               Objects.equals(this.exceptionType, other.exceptionType);
+    }
+
+    /**
+     * @return A single line describing the call, for example
+     *         {@code 2017-06-01T10:15:30Z sql ApplicationRepository.searchByName(<String, length=4>) took 812.4 ms on pool-1-thread-3}
+     */
+    @Override
+    public String toString()
+    {
+        StringBuilder line = new StringBuilder(128)
+            .append(timestamp)
+            .append(' ')
+            .append(backend)
+            .append(' ')
+            .append(repository)
+            .append('.')
+            .append(method)
+            .append('(')
+            .append(String.join(", ", arguments))
+            .append(") took ")
+            .append(getDurationMillis())
+            .append(" ms on ")
+            .append(thread);
+
+        if (exceptionType != null)
+        {
+            line.append(", threw ").append(exceptionType);
+        }
+
+        return line.toString();
+    }
+
+}
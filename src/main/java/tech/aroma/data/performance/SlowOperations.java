@@ -0,0 +1,236 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.*;
+
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.BooleanAssertions.trueStatement;
+import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.*;
+
+/**
+ * Captures the Repository calls that take longer than a threshold into a bounded ring buffer,
+ * which can be {@linkplain #dump() dumped} on demand, including over JMX.
+ * <p>
+ * Calls under the threshold cost a single volatile read. Slow calls are captured with a
+ * {@linkplain #setSampleRate(double) sampling rate}, and no more than
+ * {@linkplain #setMaxPerSecond(int) a fixed number} are captured each second, so that a burst of slow
+ * calls cannot turn the sampler itself into a bottleneck. The buffer never blocks; once full, the
+ * oldest records are overwritten.
+ * <p>
+ * The defaults may be set with the {@code aroma.data.slowOperations.thresholdMillis},
+ * {@code aroma.data.slowOperations.capacity}, {@code aroma.data.slowOperations.sampleRate}, and
+ * {@code aroma.data.slowOperations.maxPerSecond} System Properties.
+ *
+ * @author SirWellington
+ * @see SlowOperation
+ */
+@ThreadSafe
+public final class SlowOperations
+{
+
+    static final long DEFAULT_THRESHOLD_MILLIS = Long.getLong("aroma.data.slowOperations.thresholdMillis", 250);
+    static final int DEFAULT_CAPACITY = Integer.getInteger("aroma.data.slowOperations.capacity", 256);
+    static final double DEFAULT_SAMPLE_RATE = Double.parseDouble(System.getProperty("aroma.data.slowOperations.sampleRate", "1.0"));
+    static final int DEFAULT_MAX_PER_SECOND = Integer.getInteger("aroma.data.slowOperations.maxPerSecond", 50);
+
+    private static final SlowOperations DEFAULT = new SlowOperations(DEFAULT_CAPACITY);
+
+    private final AtomicReferenceArray<SlowOperation> buffer;
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger capturedThisSecond = new AtomicInteger();
+
+    private volatile long thresholdNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_THRESHOLD_MILLIS);
+    private volatile double sampleRate = DEFAULT_SAMPLE_RATE;
+    private volatile int maxPerSecond = DEFAULT_MAX_PER_SECOND;
+
+    SlowOperations(int capacity)
+    {
+        checkThat(capacity).is(greaterThan(0));
+
+        this.buffer = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @return The sampler used by every {@linkplain MeasuredRepositories measured} Repository.
+     */
+    public static SlowOperations getDefault()
+    {
+        return DEFAULT;
+    }
+
+    /**
+     * Considers a call for capture.
+     *
+     * @return True if the call was captured.
+     */
+    boolean offer(String repository,
+                  String method,
+                  String backend,
+                  Object[] args,
+                  long durationNanos,
+                  Throwable error)
+    {
+        if (durationNanos < thresholdNanos)
+        {
+            return false;
+        }
+
+        if (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)
+        {
+            dropped.increment();
+            return false;
+        }
+
+        if (!tryAcquire())
+        {
+            dropped.increment();
+            return false;
+        }
+
+        long sequence = nextSequence.getAndIncrement();
+        SlowOperation operation = new SlowOperation(sequence,
+                                                    Instant.now(),
+                                                    repository,
+                                                    method,
+                                                    backend,
+                                                    SlowOperation.redact(repository, args),
+                                                    durationNanos,
+                                                    Thread.currentThread().getName(),
+                                                    error == null ? null : error.getClass().getName());
+
+        buffer.set((int) (sequence % buffer.length()), operation);
+        return true;
+    }
+
+    private boolean tryAcquire()
+    {
+        long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime());
+        long windowSecond = currentSecond.get();
+
+        if (second != windowSecond && currentSecond.compareAndSet(windowSecond, second))
+        {
+            capturedThisSecond.set(0);
+        }
+
+        return capturedThisSecond.incrementAndGet() <= maxPerSecond;
+    }
+
+    /**
+     * @return The slow operations in the buffer, newest first.
+     */
+    public List<SlowOperation> dump()
+    {
+        List<SlowOperation> result = new ArrayList<>(buffer.length());
+
+        for (int i = 0; i < buffer.length(); ++i)
+        {
+            SlowOperation operation = buffer.get(i);
+
+            if (operation != null)
+            {
+                result.add(operation);
+            }
+        }
+
+        result.sort(Comparator.comparingLong(SlowOperation::getSequence).reversed());
+        return result;
+    }
+
+    /**
+     * Empties the buffer.
+     */
+    public void clear()
+    {
+        for (int i = 0; i < buffer.length(); ++i)
+        {
+            buffer.set(i, null);
+        }
+    }
+
+    public int getCapacity()
+    {
+        return buffer.length();
+    }
+
+    /**
+     * @return The number of slow operations captured since start-up, including those since overwritten.
+     */
+    public long getCaptured()
+    {
+        return nextSequence.get();
+    }
+
+    /**
+     * @return The number of slow operations skipped by sampling or rate-limiting.
+     */
+    public long getDropped()
+    {
+        return dropped.sum();
+    }
+
+    public long getThresholdMillis()
+    {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public void setThresholdMillis(long thresholdMillis)
+    {
+        checkThat(thresholdMillis).is(greaterThanOrEqualTo(0L));
+
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    public double getSampleRate()
+    {
+        return sampleRate;
+    }
+
+    /**
+     * @param sampleRate The fraction of slow calls to capture, from 0 to 1.
+     */
+    public void setSampleRate(double sampleRate)
+    {
+        checkThat(sampleRate >= 0.0 && sampleRate <= 1.0)
+            .usingMessage("sample rate must be between 0 and 1")
+            .is(trueStatement());
+
+        this.sampleRate = sampleRate;
+    }
+
+    public int getMaxPerSecond()
+    {
+        return maxPerSecond;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond)
+    {
+        checkThat(maxPerSecond).is(greaterThanOrEqualTo(0));
+
+        this.maxPerSecond = maxPerSecond;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.List;
+
+/**
+ * The JMX view of the {@linkplain SlowOperations slow-operation sampler}.
+ *
+ * @author SirWellington
+ * @see RepositoryMBeans
+ */
+public interface SlowOperationsMXBean
+{
+
+    long getThresholdMillis();
+
+    void setThresholdMillis(long thresholdMillis);
+
+    double getSampleRate();
+
+    void setSampleRate(double sampleRate);
+
+    int getMaxPerSecond();
+
+    void setMaxPerSecond(int maxPerSecond);
+
+    int getCapacity();
+
+    long getCaptured();
+
+    long getDropped();
+
+    /**
+     * @return One line per slow operation in the buffer, newest first.
+     */
+    List<String> dump();
+
+    void clear();
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+/**
+ * The distribution of how many database statements each call to a Repository operation made.
+ *
+ * @author SirWellington
+ * @see RoundTrips
+ */
+@ThreadSafe
+public final class StatementCounts
+{
+
+    /**
+     * Calls with this many statements or more share the last bucket.
+     */
+    static final int OVERFLOW = 64;
+
+    /**
+     * An operation over its budget is warned about at most once in this interval.
+     */
+    static final long WARNING_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final AtomicLongArray buckets = new AtomicLongArray(OVERFLOW + 1);
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder callsOverBudget = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+    private final AtomicLong lastWarningNanos = new AtomicLong(System.nanoTime() - WARNING_INTERVAL_NANOS);
+    private final LongAdder suppressedWarnings = new LongAdder();
+
+    /**
+     * Records the statements made by a single call.
+     *
+     * @return True if the call went over {@code budget}.
+     */
+    boolean record(int statementCount, int budget)
+    {
+        int count = Math.max(0, statementCount);
+
+        buckets.incrementAndGet(Math.min(count, OVERFLOW));
+        calls.increment();
+        statements.add(count);
+
+        long currentMax = max.get();
+        while (count > currentMax && !max.compareAndSet(currentMax, count))
+        {
+            currentMax = max.get();
+        }
+
+        if (count > budget)
+        {
+            callsOverBudget.increment();
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Decides whether a call over budget should be logged. Fan-out operations go over their budget on
+     * every call, so only one warning is allowed per {@linkplain #WARNING_INTERVAL_NANOS interval};
+     * {@link #getCallsOverBudget()} still counts every call.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}.
+     *
+     * @return The number of warnings suppressed since the last one was allowed, or {@code -1} if this
+     *         warning should be suppressed as well.
+     */
+    long warningAllowed(long nowNanos)
+    {
+        long last = lastWarningNanos.get();
+
+        if (nowNanos - last < WARNING_INTERVAL_NANOS || !lastWarningNanos.compareAndSet(last, nowNanos))
+        {
+            suppressedWarnings.increment();
+            return -1;
+        }
+
+        return suppressedWarnings.sumThenReset();
+    }
+
+    public long getCalls()
+    {
+        return calls.sum();
+    }
+
+    public long getTotalStatements()
+    {
+        return statements.sum();
+    }
+
+    public double getMeanStatementsPerCall()
+    {
+        long totalCalls = calls.sum();
+        return totalCalls == 0 ? 0 : (double) statements.sum() / totalCalls;
+    }
+
+    public long getMaxStatementsPerCall()
+    {
+        return max.get();
+    }
+
+    public long getCallsOverBudget()
+    {
+        return callsOverBudget.sum();
+    }
+
+    /**
+     * @return The number of calls that made exactly {@code statementCount} statements. The last bucket,
+     *         {@value #OVERFLOW}, includes every call that made more.
+     */
+    public long getCallsWith(int statementCount)
+    {
+        return buckets.get(Math.max(0, Math.min(statementCount, OVERFLOW)));
+    }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import tech.sirwellington.alchemy.annotations.arguments.NonEmpty;
+import tech.sirwellington.alchemy.annotations.concurrency.ThreadSafe;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.StringAssertions.nonEmptyString;
+
+/**
+ * Measures a single kind of database statement, such as {@code Queries.SELECT_INBOX_MESSAGES_FOR_USER},
+ * regardless of which Repository executed it.
+ * <p>
+ * Statements are identified by a stable name rather than their text, so that the metrics can be
+ * exported without leaking SQL or CQL, and without creating a new series for every distinct query.
+ *
+ * @author SirWellington
+ */
+@ThreadSafe
+public final class StatementMetrics
+{
+
+    /**
+     * The name used for statements that do not have one of their own.
+     */
+    public static final String OTHER = "other";
+
+    private static final ConcurrentMap<String, StatementMetrics> STATEMENTS = new ConcurrentHashMap<>();
+
+    private final String backend;
+    private final String statement;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder speculativeExecutions = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private StatementMetrics(String backend, String statement)
+    {
+        this.backend = backend;
+        this.statement = statement;
+    }
+
+    /**
+     * @param backend   The kind of database, for example {@code sql} or {@code cassandra}.
+     * @param statement The name of the statement, for example {@code Inserts.MESSAGE}.
+     *
+     * @return The metrics for the statement, created on first use.
+     */
+    public static StatementMetrics forStatement(@NonEmpty String backend, @NonEmpty String statement)
+    {
+        checkThat(backend, statement).are(nonEmptyString());
+
+        return STATEMENTS.computeIfAbsent(backend + ':' + statement, key -> new StatementMetrics(backend, statement));
+    }
+
+    /**
+     * @return The metrics of every statement measured so far, sorted by backend and name.
+     */
+    public static List<StatementMetrics> all()
+    {
+        List<StatementMetrics> result = new ArrayList<>(STATEMENTS.values());
+        result.sort(Comparator.comparing(StatementMetrics::getBackend).thenComparing(StatementMetrics::getStatement));
+        return result;
+    }
+
+    /**
+     * Records a single execution of the statement.
+     *
+     * @param latencyNanos How long the statement took, including mapping its results.
+     * @param rowCount     The rows returned or affected.
+     * @param bytes        The approximate size of the values read from the results.
+     * @param failed       Whether the statement ended with an exception.
+     */
+    public void record(long latencyNanos, long rowCount, long bytes, boolean failed)
+    {
+        calls.increment();
+
+        if (failed)
+        {
+            errors.increment();
+        }
+
+        if (rowCount > 0)
+        {
+            rows.add(rowCount);
+        }
+
+        if (bytes > 0)
+        {
+            bytesRead.add(bytes);
+        }
+
+        latency.record(latencyNanos);
+    }
+
+    /**
+     * Records the extra attempts the database driver made for a single execution of the statement.
+     */
+    public void recordAttempts(int retryCount, int speculativeExecutionCount)
+    {
+        if (retryCount > 0)
+        {
+            retries.add(retryCount);
+        }
+
+        if (speculativeExecutionCount > 0)
+        {
+            speculativeExecutions.add(speculativeExecutionCount);
+        }
+    }
+
+    public String getBackend()
+    {
+        return backend;
+    }
+
+    public String getStatement()
+    {
+        return statement;
+    }
+
+    public long getCalls()
+    {
+        return calls.sum();
+    }
+
+    public long getErrors()
+    {
+        return errors.sum();
+    }
+
+    /**
+     * @return The rows returned by queries, or affected by updates.
+     */
+    public long getRows()
+    {
+        return rows.sum();
+    }
+
+    public long getBytesRead()
+    {
+        return bytesRead.sum();
+    }
+
+    public long getRetries()
+    {
+        return retries.sum();
+    }
+
+    public long getSpeculativeExecutions()
+    {
+        return speculativeExecutions.sum();
+    }
+
+    public LatencyHistogram getLatency()
+    {
+        return latency;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "StatementMetrics{" + "backend=" + backend + ", statement=" + statement + ", calls=" + calls +
+               ", errors=" + errors + ", rows=" + rows + ", bytesRead=" + bytesRead + '}';
+    }
+
+}
@@ -0,0 +1,461 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql;
+
+import java.lang.reflect.*;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.jdbc.core.*;
+import tech.aroma.data.performance.Instrumented;
+import tech.aroma.data.performance.RoundTrips;
+import tech.aroma.data.performance.StatementMetrics;
+import tech.sirwellington.alchemy.annotations.access.NonInstantiable;
+import tech.sirwellington.alchemy.annotations.arguments.Required;
+
+import static tech.sirwellington.alchemy.arguments.Arguments.*;
+import static tech.sirwellington.alchemy.arguments.assertions.Assertions.notNull;
+import static tech.sirwellington.alchemy.arguments.assertions.NumberAssertions.greaterThanOrEqualTo;
+
+/**
+ * Wraps a {@link JdbcOperations} so that each statement it executes counts as one
+ * {@linkplain RoundTrips round trip} towards the Repository call being made.
+ * A batch update counts as a single round trip.
+ * <p>
+ * Statements that a {@link ConnectionCallback} runs on its Connection are not visible here; the callback
+ * {@linkplain #recordStatement(String, long, long, boolean) records} them itself.
+ * <p>
+ * Each statement is also {@linkplain StatementMetrics measured} under the name of its {@link SQLStatements}
+ * constant, for example {@code Queries.SELECT_INBOX_MESSAGES_FOR_USER}. The metrics include the latency,
+ * the rows returned or affected, and an estimate of the bytes read. Statements that are not one of the
+ * constants are measured together as {@value StatementMetrics#OTHER}; the SQL text itself is never used as a name.
+ * <p>
+ * Rows are counted from the result of each statement. Bytes are only estimated for one in
+ * {@linkplain #setByteSampleInterval(int) every N} statements, by sizing each column of the rows that are mapped,
+ * and scaled up by N. N defaults to the {@code aroma.data.sql.byteSampleInterval} System Property, or 64.
+ *
+ * @author SirWellington
+ * @see Instrumented
+ */
+@NonInstantiable
+public final class InstrumentedJdbcOperations
+{
+
+    static final String BACKEND = "sql";
+
+    private static final ConcurrentMap<String, StatementMetrics> METRICS = new ConcurrentHashMap<>();
+
+    private static volatile int byteSampleInterval = Integer.getInteger("aroma.data.sql.byteSampleInterval", 64);
+
+    InstrumentedJdbcOperations() throws IllegalAccessException
+    {
+        throw new IllegalAccessException("cannot instantiate");
+    }
+
+    public static JdbcOperations wrap(@Required JdbcOperations database)
+    {
+        checkThat(database).is(notNull());
+
+        if (Proxy.isProxyClass(database.getClass()) && Proxy.getInvocationHandler(database) instanceof Handler)
+        {
+            return database;
+        }
+
+        ClassLoader classLoader = JdbcOperations.class.getClassLoader();
+        return (JdbcOperations) Proxy.newProxyInstance(classLoader, new Class<?>[] { JdbcOperations.class }, new Handler(database));
+    }
+
+    public static int getByteSampleInterval()
+    {
+        return byteSampleInterval;
+    }
+
+    /**
+     * @param newSampleInterval Estimate the bytes read by one in this many statements, or 0 to stop estimating them.
+     *                          Estimating reads every column of every row, so keep this large.
+     */
+    public static void setByteSampleInterval(int newSampleInterval)
+    {
+        checkThat(newSampleInterval)
+            .usingMessage("sample interval cannot be negative")
+            .is(greaterThanOrEqualTo(0));
+
+        byteSampleInterval = newSampleInterval;
+    }
+
+    /**
+     * @return The sample interval if the bytes read by the current statement should be estimated, or 0 if not.
+     */
+    private static int shouldSampleBytes()
+    {
+        int interval = byteSampleInterval;
+
+        if (interval <= 0)
+        {
+            return 0;
+        }
+
+        return interval == 1 || ThreadLocalRandom.current().nextInt(interval) == 0 ? interval : 0;
+    }
+
+    /**
+     * @return The metrics for the statement in {@code args}, which is the first argument of most
+     *         {@link JdbcOperations} methods.
+     */
+    static StatementMetrics metricsFor(Object[] args)
+    {
+        String sql = null;
+
+        if (args != null && args.length > 0)
+        {
+            if (args[0] instanceof String)
+            {
+                sql = (String) args[0];
+            }
+            else if (args[0] instanceof String[] && ((String[]) args[0]).length > 0)
+            {
+                sql = ((String[]) args[0])[0];
+            }
+        }
+
+        return metricsFor(sql);
+    }
+
+    /**
+     * @return The metrics for one of the {@link SQLStatements}, or for {@value StatementMetrics#OTHER} statements.
+     */
+    static StatementMetrics metricsFor(String sql)
+    {
+        String name = SQLStatements.nameOf(sql);
+
+        if (name == null)
+        {
+            name = StatementMetrics.OTHER;
+        }
+
+        return METRICS.computeIfAbsent(name, statement -> StatementMetrics.forStatement(BACKEND, statement));
+    }
+
+    /**
+     * Measures a statement that a {@link ConnectionCallback} ran directly on its {@link java.sql.Connection}.
+     * The wrapper cannot see those statements, so each callback records its own, and each counts as one round trip.
+     *
+     * @param sql          The statement that was run.
+     * @param latencyNanos How long the statement took.
+     * @param rows         The rows it affected.
+     * @param failed       Whether it ended with an exception.
+     */
+    static void recordStatement(String sql, long latencyNanos, long rows, boolean failed)
+    {
+        RoundTrips.recordStatement();
+        metricsFor(sql).record(latencyNanos, rows, 0, failed);
+    }
+
+    /**
+     * @return The number of rows in the result of a {@link JdbcOperations} method. Numbers are only
+     *         update counts when they come from {@code update} or {@code batchUpdate}; anywhere else,
+     *         such as the {@code Long} of a COUNT query, the result is a single row.
+     */
+    static long rowsIn(String method, Object result)
+    {
+        if (result == null)
+        {
+            return 0;
+        }
+
+        if (method.startsWith("update") || method.startsWith("batchUpdate"))
+        {
+            return rowsUpdated(result);
+        }
+
+        if (result instanceof Collection)
+        {
+            return ((Collection<?>) result).size();
+        }
+
+        return 1;
+    }
+
+    /**
+     * @return The number of rows affected, according to the update counts returned by a statement or batch.
+     */
+    static long rowsUpdated(Object result)
+    {
+        if (result instanceof Integer || result instanceof Long)
+        {
+            return Math.max(0, ((Number) result).longValue());
+        }
+
+        if (result instanceof int[])
+        {
+            return sumOf((int[]) result);
+        }
+
+        if (result instanceof int[][])
+        {
+            long rows = 0;
+
+            for (int[] batch : (int[][]) result)
+            {
+                rows += sumOf(batch);
+            }
+
+            return rows;
+        }
+
+        return 0;
+    }
+
+    private static long sumOf(int[] counts)
+    {
+        long sum = 0;
+
+        for (int count : counts)
+        {
+            if (count > 0)
+            {
+                sum += count;
+            }
+        }
+
+        return sum;
+    }
+
+    /**
+     * @return An estimate of the size of a value read from the database. Strings are counted as one byte per character.
+     */
+    static long sizeOf(Object value)
+    {
+        if (value == null)
+        {
+            return 0;
+        }
+
+        if (value instanceof String)
+        {
+            return ((String) value).length();
+        }
+
+        if (value instanceof byte[])
+        {
+            return ((byte[]) value).length;
+        }
+
+        if (value instanceof UUID)
+        {
+            return 16;
+        }
+
+        if (value instanceof Collection)
+        {
+            long size = 0;
+
+            for (Object element : (Collection<?>) value)
+            {
+                size += sizeOf(element);
+            }
+
+            return size;
+        }
+
+        if (value instanceof Map)
+        {
+            return sizeOf(((Map<?, ?>) value).values());
+        }
+
+        return 8;
+    }
+
+    private static final class Handler implements InvocationHandler
+    {
+
+        private final JdbcOperations delegate;
+
+        Handler(JdbcOperations delegate)
+        {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            if (method.getDeclaringClass() == Object.class)
+            {
+                return invokeObjectMethod(proxy, method, args);
+            }
+
+            if (args != null && args.length > 0 && args[0] instanceof ConnectionCallback)
+            {
+                //The callback records the statements it runs
+                return invokeDelegate(method, args);
+            }
+
+            RoundTrips.recordStatement();
+
+            StatementMetrics metrics = metricsFor(args);
+            int sampleInterval = shouldSampleBytes();
+            ResultCounter counter = ResultCounter.countingCallbacksOf(args, sampleInterval > 0);
+            Object[] invokedArgs = counter == null ? args : counter.args;
+
+            long start = System.nanoTime();
+            Object result = null;
+            boolean failed = false;
+
+            try
+            {
+                result = method.invoke(delegate, invokedArgs);
+                return result;
+            }
+            catch (InvocationTargetException ex)
+            {
+                failed = true;
+                throw ex.getCause();
+            }
+            finally
+            {
+                long latency = System.nanoTime() - start;
+                long rows = counter != null && counter.countsRows ? counter.rows : rowsIn(method.getName(), result);
+                long bytes = 0;
+
+                if (sampleInterval > 0)
+                {
+                    boolean isQuery = method.getName().startsWith("query");
+                    long sampledBytes = counter != null && counter.countsBytes ? counter.bytes : isQuery ? sizeOf(result) : 0;
+                    bytes = sampledBytes * sampleInterval;
+                }
+
+                metrics.record(latency, rows, bytes, failed);
+            }
+        }
+
+        private Object invokeDelegate(Method method, Object[] args) throws Throwable
+        {
+            try
+            {
+                return method.invoke(delegate, args);
+            }
+            catch (InvocationTargetException ex)
+            {
+                throw ex.getCause();
+            }
+        }
+
+        private Object invokeObjectMethod(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            switch (method.getName())
+            {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Instrumented[" + delegate + "]";
+                default:
+                    try
+                    {
+                        return method.invoke(delegate, args);
+                    }
+                    catch (InvocationTargetException ex)
+                    {
+                        throw ex.getCause();
+                    }
+            }
+        }
+    }
+
+    /**
+     * Counts what the callbacks of a single statement read, in the cases where the result of the statement
+     * cannot tell: the rows passed to a {@link RowCallbackHandler}, and the bytes read by a {@link RowMapper}
+     * on a sampled statement. Used by one thread at a time.
+     */
+    private static final class ResultCounter
+    {
+
+        private Object[] args;
+        private boolean countsRows;
+        private boolean countsBytes;
+        private long rows;
+        private long bytes;
+
+        /**
+         * @return A counter for the callbacks in {@code args}, or null if there is nothing to count,
+         *         which is the case for most statements.
+         */
+        static ResultCounter countingCallbacksOf(Object[] args, boolean sampleBytes)
+        {
+            if (args == null)
+            {
+                return null;
+            }
+
+            ResultCounter counter = null;
+
+            for (int i = 0; i < args.length; ++i)
+            {
+                boolean isMapper = sampleBytes && args[i] instanceof RowMapper;
+
+                if (!isMapper && !(args[i] instanceof RowCallbackHandler))
+                {
+                    continue;
+                }
+
+                if (counter == null)
+                {
+                    counter = new ResultCounter();
+                    counter.args = args.clone();
+                }
+
+                counter.args[i] = isMapper ? counter.sizing((RowMapper<?>) args[i]) : counter.counting((RowCallbackHandler) args[i]);
+            }
+
+            return counter;
+        }
+
+        private RowMapper<Object> sizing(RowMapper<?> mapper)
+        {
+            countsBytes = true;
+
+            return (rs, rowNumber) ->
+            {
+                int columns = rs.getMetaData().getColumnCount();
+
+                for (int column = 1; column <= columns; ++column)
+                {
+                    bytes += sizeOf(rs.getObject(column));
+                }
+
+                return mapper.mapRow(rs, rowNumber);
+            };
+        }
+
+        private RowCallbackHandler counting(RowCallbackHandler handler)
+        {
+            countsRows = true;
+
+            return rs ->
+            {
+                rows++;
+                handler.processRow(rs);
+            };
+        }
+    }
+
+}
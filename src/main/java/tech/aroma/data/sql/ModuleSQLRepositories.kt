@@ -17,7 +17,10 @@
 package tech.aroma.data.sql
 
 import com.google.inject.AbstractModule
+import com.google.inject.Provides
+import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.*
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.serializers.ModuleSerializers
 
 
@@ -31,18 +34,29 @@ public class ModuleSQLRepositories : AbstractModule()
     {
         install(ModuleSerializers())
 
-        binder().bind<ActivityRepository>().to<SQLActivityRepository>()
-        binder().bind<ApplicationRepository>().to<SQLApplicationRepository>()
-        binder().bind<CredentialRepository>().to<SQLCredentialRepository>()
-        binder().bind<FollowerRepository>().to<SQLFollowerRepository>()
-        binder().bind<InboxRepository>().to<SQLInboxRepository>()
-        binder().bind<MediaRepository>().to<SQLMediaRepository>()
-        binder().bind<MessageRepository>().to<SQLMessageRepository>()
-        binder().bind<OrganizationRepository>().to<SQLOrganizationRepository>()
-        binder().bind<ReactionRepository>().to<SQLReactionRepository>()
-        binder().bind<TokenRepository>().to<SQLTokenRepository>()
-        binder().bind<UserRepository>().to<SQLUserRepository>()
-        binder().bind<UserPreferencesRepository>().to<SQLUserPreferencesRepository>()
+        binder().bindMeasured<ActivityRepository, SQLActivityRepository>()
+        binder().bindMeasured<ApplicationRepository, SQLApplicationRepository>()
+        binder().bindMeasured<CredentialRepository, SQLCredentialRepository>()
+        binder().bindMeasured<FollowerRepository, SQLFollowerRepository>()
+        binder().bindMeasured<InboxRepository, SQLInboxRepository>()
+        binder().bindMeasured<MediaRepository, SQLMediaRepository>()
+        binder().bindMeasured<MessageRepository, SQLMessageRepository>()
+        binder().bindMeasured<OrganizationRepository, SQLOrganizationRepository>()
+        binder().bindMeasured<ReactionRepository, SQLReactionRepository>()
+        binder().bindMeasured<TokenRepository, SQLTokenRepository>()
+        binder().bindMeasured<UserRepository, SQLUserRepository>()
+        binder().bindMeasured<UserPreferencesRepository, SQLUserPreferencesRepository>()
+    }
+
+    /**
+     * The Repositories use a [JdbcOperations] that counts the statements they make.
+     * The plain [JdbcOperations] must still be bound by the application.
+     */
+    @Provides
+    @Instrumented
+    fun provideInstrumentedDatabase(database: JdbcOperations): JdbcOperations
+    {
+        return InstrumentedJdbcOperations.wrap(database)
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql
+
+import org.postgresql.PGConnection
+import org.springframework.jdbc.core.ConnectionCallback
+import org.springframework.jdbc.core.JdbcOperations
+import java.io.StringReader
+import java.sql.Timestamp
+import java.time.ZoneOffset
+
+
+/**
+ * Streams rows into a table with the PostgreSQL `COPY ... FROM STDIN` protocol. The rows are sent as
+ * CSV in a single request, so large batches skip the per-row bind and execute of an `INSERT`.
+ *
+ * @author SirWellington
+ */
+internal object PostgresCopy
+{
+
+    /**
+     * Copies the rows in with a `COPY ... FROM STDIN WITH (FORMAT csv)` statement.
+     * The values of each row must be in the same order as the columns in [copyStatement].
+     *
+     * The `COPY` is measured as one statement under the name of [copyStatement].
+     *
+     * @return The number of rows copied, or null if the database is not PostgreSQL. In that
+     * case nothing is written, and the caller should fall back to an `INSERT`.
+     */
+    fun copyIn(database: JdbcOperations, copyStatement: String, rows: List<Array<Any?>>): Long?
+    {
+        val csv = toCsv(rows)
+
+        return database.execute(ConnectionCallback<Long?> { connection ->
+
+            if (!connection.isWrapperFor(PGConnection::class.java))
+            {
+                return@ConnectionCallback null
+            }
+
+            val copyAPI = connection.unwrap(PGConnection::class.java).copyAPI
+            val start = System.nanoTime()
+            var copiedRows = 0L
+            var failed = true
+
+            try
+            {
+                copiedRows = copyAPI.copyIn(copyStatement, StringReader(csv))
+                failed = false
+                copiedRows
+            }
+            finally
+            {
+                //The COPY runs on the Connection itself, out of sight of the InstrumentedJdbcOperations
+                InstrumentedJdbcOperations.recordStatement(copyStatement, System.nanoTime() - start, copiedRows, failed)
+            }
+        })
+    }
+
+    internal fun toCsv(rows: List<Array<Any?>>): String
+    {
+        val csv = StringBuilder(rows.size * 256)
+
+        rows.forEach { row ->
+            row.forEachIndexed { index, value ->
+
+                if (index > 0)
+                {
+                    csv.append(',')
+                }
+
+                appendValue(csv, value)
+            }
+
+            csv.append('\n')
+        }
+
+        return csv.toString()
+    }
+
+    /**
+     * In CSV, an unquoted empty value is NULL, so every non-null value is quoted to keep empty
+     * Strings distinct from NULL.
+     */
+    private fun appendValue(csv: StringBuilder, value: Any?)
+    {
+        val text = when (value)
+        {
+            null         -> return
+            //Includes the offset, since the Timestamp columns are TIMESTAMPTZ
+            is Timestamp -> value.toInstant().atOffset(ZoneOffset.UTC).toString()
+            else         -> value.toString()
+        }
+
+        csv.append('"')
+
+        text.forEach { character ->
+            if (character == '"')
+            {
+                csv.append('"')
+            }
+
+            csv.append(character)
+        }
+
+        csv.append('"')
+    }
+
+}
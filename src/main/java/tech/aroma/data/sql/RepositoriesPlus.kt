@@ -21,9 +21,8 @@ import org.slf4j.LoggerFactory
 import tech.aroma.data.assertions.RequestAssertions.*
 import tech.aroma.thrift.Application
 import tech.aroma.thrift.User
-import tech.aroma.thrift.exceptions.InvalidArgumentException
 import tech.aroma.thrift.exceptions.OperationFailedException
-import tech.sirwellington.alchemy.arguments.Arguments.checkThat
+import java.util.UUID
 
 
 /**
@@ -41,36 +40,34 @@ internal fun failWithMessage(message: String, ex: Exception): Nothing
 
 internal fun checkApplication(app: Application?)
 {
-    checkThat(app)
-            .throwing(InvalidArgumentException::class.java)
-            .isA(validApplication())
+    checkValid(app, validApplication())
 }
 
-internal fun checkAppId(appId: String?)
+/**
+ * Validates an Application ID and returns it parsed, so that it does not need to be parsed again.
+ */
+internal fun checkAppId(appId: String?): UUID
 {
-    checkThat(appId)
-            .throwing(InvalidArgumentException::class.java)
-            .isA(validApplicationId())
+    return checkValidId(appId, validApplicationId())
 }
 
-internal fun checkMessageId(messageId: String?)
+/**
+ * Validates a Message ID and returns it parsed, so that it does not need to be parsed again.
+ */
+internal fun checkMessageId(messageId: String?): UUID
 {
-    checkThat(messageId)
-            .throwing(InvalidArgumentException::class.java)
-            .isA(validMessageId())
+    return checkValidId(messageId, validMessageId())
 }
 
 internal fun checkUser(user: User?)
 {
-    checkThat(user)
-            .throwing(InvalidArgumentException::class.java)
-            .isA(validUser())
+    checkValid(user, validUser())
 }
 
-internal fun checkUserId(userId: String?)
+/**
+ * Validates a User ID and returns it parsed, so that it does not need to be parsed again.
+ */
+internal fun checkUserId(userId: String?): UUID
 {
-    checkThat(userId)
-            .throwing(InvalidArgumentException::class.java)
-            .isA(validUserId())
-
-}
\ No newline at end of file
+    return checkValidId(userId, validUserId())
+}
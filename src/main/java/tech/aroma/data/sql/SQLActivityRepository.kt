@@ -20,6 +20,7 @@ import org.slf4j.LoggerFactory
 import org.springframework.dao.EmptyResultDataAccessException
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.ActivityRepository
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.*
 import tech.aroma.thrift.LengthOfTime
 import tech.aroma.thrift.User
@@ -38,7 +39,7 @@ import javax.inject.Inject
  * @author SirWellington
  */
 internal class SQLActivityRepository
-@Inject constructor(val database: JdbcOperations, val serializer: DatabaseSerializer<Event>) : ActivityRepository
+@Inject constructor(@Instrumented val database: JdbcOperations, val serializer: DatabaseSerializer<Event>) : ActivityRepository
 {
 
     private companion object
@@ -57,15 +58,7 @@ internal class SQLActivityRepository
         val eventId = event.eventId.toUUID()
         val appId = event.applicationId.toUUID()
         val actorId = event.userIdOfActor.toUUID()
-        val serialized = try
-        {
-            ThriftObjects.toJson(event)
-        }
-        catch (ex: Exception)
-        {
-            val message = "Failed to serialize event [$event]"
-            failWithMessage(message, ex)
-        }
+        val serialized = serialize(event)
 
         val eventType = event.eventType?.toString()
         val timestamp = if (event.timestamp > 0) event.timestamp.toTimestamp() else Timestamps.now()
@@ -91,6 +84,50 @@ internal class SQLActivityRepository
 
     }
 
+    /**
+     * Serializes the Event once and inserts it for every User in a single batch.
+     */
+    override fun saveEvents(event: Event, users: List<User>, lifetime: LengthOfTime?)
+    {
+        checkEventId(event.eventId)
+
+        checkThat(users)
+                .throwing(InvalidArgumentException::class.java)
+                .isA(nonEmptyList())
+
+        users.forEach { checkUser(it) }
+
+        val eventId = event.eventId.toUUID()
+        val appId = event.applicationId.toUUID()
+        val actorId = event.userIdOfActor.toUUID()
+        val serialized = serialize(event)
+
+        val eventType = event.eventType?.toString()
+        val timestamp = if (event.timestamp > 0) event.timestamp.toTimestamp() else Timestamps.now()
+
+        val sql = Inserts.ACTIVITY_EVENT
+
+        val rows = users.map { user ->
+            arrayOf<Any?>(user.userId.toUUID(),
+                          eventId,
+                          appId,
+                          actorId,
+                          timestamp,
+                          eventType,
+                          serialized)
+        }
+
+        try
+        {
+            database.batchUpdate(sql, rows)
+        }
+        catch (ex: Exception)
+        {
+            val message = "Failed to save event [$eventId] for [${users.size}] users"
+            failWithMessage(message, ex)
+        }
+    }
+
 
     override fun containsEvent(eventId: String, user: User): Boolean
     {
@@ -197,6 +234,19 @@ internal class SQLActivityRepository
         }
     }
 
+    private fun serialize(event: Event): String
+    {
+        return try
+        {
+            ThriftObjects.toJson(event)
+        }
+        catch (ex: Exception)
+        {
+            val message = "Failed to serialize event [$event]"
+            failWithMessage(message, ex)
+        }
+    }
+
     private fun checkEventId(eventId: String?)
     {
         checkThat(eventId)
@@ -21,12 +21,14 @@ import org.springframework.dao.EmptyResultDataAccessException
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.ApplicationRepository
 import tech.aroma.data.assertions.RequestAssertions.validApplication
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.*
 import tech.aroma.thrift.Application
 import tech.aroma.thrift.exceptions.DoesNotExistException
 import tech.aroma.thrift.exceptions.InvalidArgumentException
 import tech.sirwellington.alchemy.arguments.Arguments.checkThat
 import tech.sirwellington.alchemy.arguments.assertions.*
+import java.util.Optional
 import javax.inject.Inject
 
 
@@ -35,7 +37,7 @@ import javax.inject.Inject
  * @author SirWellington
  */
 internal class SQLApplicationRepository
-@Inject constructor(val database: JdbcOperations,
+@Inject constructor(@Instrumented val database: JdbcOperations,
                     val serializer: DatabaseSerializer<Application>) : ApplicationRepository
 {
 
@@ -61,75 +63,55 @@ internal class SQLApplicationRepository
         updateAppOwnersFor(application)
     }
 
+    /**
+     * Replaces the App's owners with a single statement, which is atomic on its own.
+     * Owners that are already stored are not written again, so an unchanged set of owners writes nothing.
+     */
     private fun updateAppOwnersFor(app: Application)
     {
         val appId = app.applicationId
+        val owners = app.owners.map { it.toUUID() }.toTypedArray()
 
-        app.owners.forEach { this.insertOwner(appId, it) }
-
-        val deleteNonOwnersSQL = Deletes.APPLICATION_NON_OWNERS
-
-        try
-        {
-            database.update(deleteNonOwnersSQL, appId.toUUID(), app.owners.toCommaSeparatedList())
-        }
-        catch(ex: Exception)
-        {
-            val message = "Failed to remove all non-owners for App [$appId]"
-            LOG.warn(message, ex)
-        }
-
-
-    }
-
-    private fun insertOwner(appId: String, owner: String)
-    {
-        val insertOwner = Inserts.APPLICATION_OWNER
+        val sql = Inserts.APPLICATION_OWNERS
 
         try
         {
-            database.update(insertOwner, appId.toUUID(), owner.toUUID())
+            database.update(sql, { statement ->
+                statement.setObject(1, appId.toUUID())
+                statement.setArray(2, statement.connection.createArrayOf("uuid", owners))
+            })
         }
-        catch(ex: Exception)
+        catch (ex: Exception)
         {
-            val message = "Failed to save Owner [$owner] for App [$appId]"
-            LOG.warn(message, ex)
+            failWithMessage("Failed to save Owners [${app.owners}] for App [$appId]", ex)
         }
     }
 
     override fun deleteApplication(applicationId: String)
     {
-        checkAppId(applicationId)
-
-        val app = this.getById(applicationId)
+        val appId = checkAppId(applicationId)
 
         val deleteAppSQL = Deletes.APPLICATION
         val deleteOwnersSQL = Deletes.APPLICATION_OWNERS
-        val appId = applicationId.toUUID()
 
-        try
+        val updatedRows = try
         {
-            database.update(deleteAppSQL, appId)
-            database.update(deleteOwnersSQL, appId)
+            SQLUnitOfWork(database)
+                    .update(deleteAppSQL, appId)
+                    .update(deleteOwnersSQL, appId)
+                    .commit()
         }
         catch (ex: Exception)
         {
-            tryToRestoreApp(app)
-
             val message = "Failed to delete Application: [$appId]"
             failWithMessage(message, ex)
         }
-    }
 
-    private fun tryToRestoreApp(app: Application)
-    {
-        try
-        {
-            saveApplication(app)
-        }
-        catch (ex: Exception)
+        if (updatedRows.first() == 0)
         {
-            LOG.error("Failed to restore App [$app]", ex)
+            val message = "No such App with ID: $appId"
+            LOG.warn(message)
+            throw DoesNotExistException(message)
         }
     }
 
@@ -157,6 +139,23 @@ internal class SQLApplicationRepository
         }
     }
 
+    override fun findApplication(applicationId: String): Optional<Application>
+    {
+        val appId = checkAppId(applicationId)
+
+        val query = Queries.SELECT_APPLICATION
+
+        return try
+        {
+            database.queryForOptional(query, serializer, appId)
+        }
+        catch(ex: Exception)
+        {
+            val message = "Failed to find an App by ID [$appId]"
+            failWithMessage(message, ex)
+        }
+    }
+
     override fun containsApplication(applicationId: String): Boolean
     {
         checkAppId(applicationId)
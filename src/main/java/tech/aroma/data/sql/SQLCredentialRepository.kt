@@ -19,6 +19,7 @@ package tech.aroma.data.sql
 import org.springframework.dao.EmptyResultDataAccessException
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.CredentialRepository
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.*
 import tech.aroma.thrift.exceptions.DoesNotExistException
 import tech.aroma.thrift.exceptions.InvalidArgumentException
@@ -31,7 +32,7 @@ import javax.inject.Inject
  *
  * @author SirWellington
  */
-internal class SQLCredentialRepository @Inject constructor(val database: JdbcOperations) : CredentialRepository
+internal class SQLCredentialRepository @Inject constructor(@Instrumented val database: JdbcOperations) : CredentialRepository
 {
     override fun saveEncryptedPassword(userId: String, encryptedPassword: String)
     {
@@ -18,10 +18,10 @@ package tech.aroma.data.sql
 
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.FollowerRepository
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.*
 import tech.aroma.thrift.Application
 import tech.aroma.thrift.User
-import tech.aroma.thrift.exceptions.InvalidArgumentException
 import javax.inject.Inject
 
 
@@ -30,17 +30,14 @@ import javax.inject.Inject
  * @author SirWellington
  */
 internal class SQLFollowerRepository
-@Inject constructor(val database: JdbcOperations,
+@Inject constructor(@Instrumented val database: JdbcOperations,
                     val appSerializer: DatabaseSerializer<Application>,
                     val userSerializer: DatabaseSerializer<User>) : FollowerRepository
 {
     override fun saveFollowing(user: User, application: Application)
     {
-        checkUserId(user.userId)
-        checkAppId(application.applicationId)
-
-        val userId = user.userId?.toUUID() ?: throw InvalidArgumentException("Invalid userId: $user")
-        val appId = application.applicationId?.toUUID() ?: throw InvalidArgumentException("Invalid appId: $application")
+        val userId = checkUserId(user.userId)
+        val appId = checkAppId(application.applicationId)
         val sql = Inserts.FOLLOWING
 
         try
@@ -55,14 +52,14 @@ internal class SQLFollowerRepository
 
     override fun deleteFollowing(userId: String, applicationId: String)
     {
-        checkUserId(userId)
-        checkAppId(applicationId)
+        val userUUID = checkUserId(userId)
+        val appUUID = checkAppId(applicationId)
 
         val sql = Deletes.FOLLOWING
 
         try
         {
-            database.update(sql, applicationId.toUUID(), userId.toUUID())
+            database.update(sql, appUUID, userUUID)
         }
         catch (ex: Exception)
         {
@@ -72,14 +69,14 @@ internal class SQLFollowerRepository
 
     override fun followingExists(userId: String, applicationId: String): Boolean
     {
-        checkUserId(userId)
-        checkAppId(applicationId)
+        val userUUID = checkUserId(userId)
+        val appUUID = checkAppId(applicationId)
 
         val sql = Queries.CHECK_FOLLOWING_EXISTS
 
         return try
         {
-            database.queryForObject(sql, Boolean::class.java, applicationId.toUUID(), userId.toUUID())
+            database.queryForObject(sql, Boolean::class.java, appUUID, userUUID)
         }
         catch (ex: Exception)
         {
@@ -90,13 +87,13 @@ internal class SQLFollowerRepository
 
     override fun getApplicationsFollowedBy(userId: String): MutableList<Application>
     {
-        checkUserId(userId)
+        val userUUID = checkUserId(userId)
 
         val sql = Queries.SELECT_APPS_FOLLOWING
 
         return try
         {
-            database.query(sql, appSerializer, userId.toUUID()) ?: mutableListOf()
+            database.query(sql, appSerializer, userUUID) ?: mutableListOf()
         }
         catch (ex: Exception)
         {
@@ -106,13 +103,13 @@ internal class SQLFollowerRepository
 
     override fun getApplicationFollowers(applicationId: String): MutableList<User>
     {
-        checkAppId(applicationId)
+        val appUUID = checkAppId(applicationId)
 
         val sql = Queries.SELECT_APP_FOLLOWERS
 
         return try
         {
-            database.query(sql, userSerializer, applicationId.toUUID()) ?: mutableListOf()
+            database.query(sql, userSerializer, appUUID) ?: mutableListOf()
         }
         catch (ex: Exception)
         {
@@ -21,10 +21,13 @@ import org.slf4j.LoggerFactory
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.InboxRepository
 import tech.aroma.data.assertions.RequestAssertions.*
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.*
+import tech.aroma.data.sql.serializers.messageColumnsOf
 import tech.aroma.thrift.*
 import tech.aroma.thrift.exceptions.InvalidArgumentException
 import tech.sirwellington.alchemy.arguments.Arguments.checkThat
+import tech.sirwellington.alchemy.arguments.assertions.*
 import javax.inject.Inject
 
 
@@ -33,7 +36,7 @@ import javax.inject.Inject
  * @author SirWellington
  */
 internal class SQLInboxRepository
-@Inject constructor(val database: JdbcOperations, val serializer: DatabaseSerializer<Message>) : InboxRepository
+@Inject constructor(@Instrumented val database: JdbcOperations, val serializer: DatabaseSerializer<Message>) : InboxRepository
 {
 
     private companion object
@@ -43,13 +46,8 @@ internal class SQLInboxRepository
 
     override fun saveMessageForUser(user: User, message: Message, lifetime: LengthOfTime)
     {
-        checkThat(user)
-                .throwing(InvalidArgumentException::class.java)
-                .isA(validUser())
-
-        checkThat(message)
-                .throwing(InvalidArgumentException::class.java)
-                .isA(validMessage())
+        checkValid(user, validUser())
+        checkValid(message, validMessage())
 
         tryToSaveMessage(user, message)
     }
@@ -59,26 +57,11 @@ internal class SQLInboxRepository
         val sql = Inserts.INBOX_MESSAGE
 
         val userId = user.userId?.toUUID() ?: throw Invalid("missing user_id")
-        val appId = message.applicationId.toUUID() ?: throw InvalidArgumentException("missing app_id")
-        val messageId = message.messageId.toUUID() ?: throw InvalidArgumentException("missing message_id")
-        val timeCreated = if (message.timeOfCreation > 0) message.timeOfCreation.toTimestamp() else Timestamps.now()
-        val timeReceived = if (message.timeMessageReceived > 0) message.timeMessageReceived.toTimestamp() else Timestamps.now()
+        val columns = inboxColumnsOf(message)
 
         try
         {
-            database.update(sql,
-                            userId,
-                            messageId,
-                            appId,
-                            message.applicationName,
-                            message.title,
-                            message.body,
-                            message.urgency?.toString(),
-                            timeCreated,
-                            timeReceived,
-                            message.hostname,
-                            message.macAddress,
-                            message.deviceName)
+            database.update(sql, userId, *columns)
         }
         catch (ex: Exception)
         {
@@ -86,16 +69,57 @@ internal class SQLInboxRepository
         }
     }
 
+    /**
+     * Inserts the Message into the Inbox of every User with a single batch.
+     */
+    override fun saveMessageForUsers(users: List<User>, message: Message, lifetime: LengthOfTime)
+    {
+        checkThat(users)
+                .throwing(InvalidArgumentException::class.java)
+                .isA(nonEmptyList())
+
+        users.forEach { checkValid(it, validUser()) }
+        checkValid(message, validMessage())
+
+        val sql = Inserts.INBOX_MESSAGE
+        val columns = inboxColumnsOf(message)
+
+        val rows = users.map { user -> arrayOf<Any?>(user.userId.toUUID(), *columns) }
+
+        try
+        {
+            database.batchUpdate(sql, rows)
+        }
+        catch (ex: Exception)
+        {
+            failWithMessage("Failed to save message [${message.messageId}] in the inbox of [${users.size}] users", ex)
+        }
+    }
+
+    /**
+     * @return The values of every column in [Inserts.INBOX_MESSAGE] after the `user_id`, which are the columns
+     * of the Message itself. These are the same for every User the Message is delivered to.
+     */
+    private fun inboxColumnsOf(message: Message): Array<Any?>
+    {
+        if (!message.isSetApplicationId)
+        {
+            throw InvalidArgumentException("missing app_id")
+        }
+
+        return messageColumnsOf(message)
+    }
+
 
     override fun getMessagesForUser(userId: String): MutableList<Message>
     {
-        checkUserId(userId)
+        val userUUID = checkUserId(userId)
 
         val sql = Queries.SELECT_INBOX_MESSAGES_FOR_USER
 
         return try
         {
-            database.query(sql, serializer, userId.toUUID())
+            database.query(sql, serializer, userUUID)
         }
         catch (ex: Exception)
         {
@@ -105,12 +129,10 @@ internal class SQLInboxRepository
 
     override fun containsMessageInInbox(userId: String, message: Message): Boolean
     {
-        checkUserId(userId)
-        checkMessageId(message.messageId)
+        val userId = checkUserId(userId)
+        val messageId = checkMessageId(message.messageId)
 
         val sql = Queries.CHECK_INBOX_MESSAGE
-        val userId = userId.toUUID()!!
-        val messageId = message.messageId.toUUID()!!
 
         return try
         {
@@ -125,14 +147,14 @@ internal class SQLInboxRepository
 
     override fun deleteMessageForUser(userId: String, messageId: String)
     {
-        checkUserId(userId)
-        checkMessageId(messageId)
+        val userUUID = checkUserId(userId)
+        val messageUUID = checkMessageId(messageId)
 
         val sql = Deletes.INBOX_MESSAGE
 
         try
         {
-            val updated = database.update(sql, userId.toUUID(), messageId.toUUID())
+            val updated = database.update(sql, userUUID, messageUUID)
             LOG.debug("Operation to delete inbox message [$userId/$messageId] resulted in $updated rows updated")
         }
         catch (ex: Exception)
@@ -143,13 +165,13 @@ internal class SQLInboxRepository
 
     override fun deleteAllMessagesForUser(userId: String)
     {
-        checkUserId(userId)
+        val userUUID = checkUserId(userId)
 
         val sql = Deletes.INBOX_ALL_MESSAGES
 
         try
         {
-            val updated = database.update(sql, userId.toUUID())
+            val updated = database.update(sql, userUUID)
             LOG.debug("Operation to delete all messages for [$userId] deleted $updated rows")
         }
         catch (ex: Exception)
@@ -160,13 +182,13 @@ internal class SQLInboxRepository
 
     override fun countInboxForUser(userId: String): Long
     {
-        checkUserId(userId)
+        val userUUID = checkUserId(userId)
 
         val sql = Queries.COUNT_INBOX_MESSAGES
 
         return try
         {
-            database.queryForObject(sql, Long::class.java, userId.toUUID())
+            database.queryForObject(sql, Long::class.java, userUUID)
         }
         catch (ex: Exception)
         {
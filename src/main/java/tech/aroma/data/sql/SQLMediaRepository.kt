@@ -21,6 +21,7 @@ import org.springframework.dao.EmptyResultDataAccessException
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.MediaRepository
 import tech.aroma.data.assertions.RequestAssertions.validImage
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.*
 import tech.aroma.thrift.Dimension
 import tech.aroma.thrift.Image
@@ -36,7 +37,7 @@ import javax.inject.Inject
  * @author SirWellington
  */
 internal class SQLMediaRepository
-@Inject constructor(val database: JdbcOperations, val serializer: DatabaseSerializer<Image>) : MediaRepository
+@Inject constructor(@Instrumented val database: JdbcOperations, val serializer: DatabaseSerializer<Image>) : MediaRepository
 {
     override fun saveMedia(mediaId: String, image: Image)
     {
@@ -5,7 +5,9 @@ import org.slf4j.LoggerFactory
 import org.springframework.dao.EmptyResultDataAccessException
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.MessageRepository
-import tech.aroma.data.assertions.RequestAssertions.validMessage
+import tech.aroma.data.assertions.RequestAssertions.*
+import tech.aroma.data.performance.Instrumented
+import tech.aroma.data.sql.serializers.messageColumnsOf
 import tech.aroma.thrift.LengthOfTime
 import tech.aroma.thrift.Message
 import tech.aroma.thrift.exceptions.DoesNotExistException
@@ -23,15 +25,13 @@ import javax.inject.Inject
 @Internal
 internal class SQLMessageRepository
 @Inject
-constructor(private val database: JdbcOperations, private val serializer: DatabaseSerializer<Message>) : MessageRepository
+constructor(@Instrumented private val database: JdbcOperations, private val serializer: DatabaseSerializer<Message>) : MessageRepository
 {
 
     @Throws(TException::class)
     override fun saveMessage(message: Message, @Optional lifetime: LengthOfTime?)
     {
-        checkThat(message)
-                .throwing(InvalidArgumentException::class.java)
-                .isA(validMessage())
+        checkValid(message, validMessage())
 
         _saveMessage(message)
     }
@@ -53,15 +53,50 @@ constructor(private val database: JdbcOperations, private val serializer: Databa
 
     }
 
+    /**
+     * Large batches are streamed into the table with a single `COPY`. Smaller batches, or a database
+     * that is not PostgreSQL, use a batch of [inserts][SQLStatements.Inserts.MESSAGE] instead.
+     */
     @Throws(TException::class)
-    override fun getMessage(applicationId: String, messageId: String): Message
+    override fun saveMessages(messages: List<Message>, @Optional lifetime: LengthOfTime?)
     {
-        checkThat(applicationId, messageId)
+        checkThat(messages)
                 .throwing(InvalidArgumentException::class.java)
-                .are(validUUID())
+                .isA(nonEmptyList())
+
+        messages.forEach { checkValid(it, validMessage()) }
+
+        val rows = messages.map(::messageColumnsOf)
+
+        try
+        {
+            if (rows.size >= MIN_MESSAGES_TO_COPY && copyMessages(rows))
+            {
+                return
+            }
+
+            database.batchUpdate(SQLStatements.Inserts.MESSAGE, rows)
+        }
+        catch (ex: Exception)
+        {
+            LOG.error("Failed to save [{}] messages", messages.size, ex)
+            throw OperationFailedException(ex.message)
+        }
+    }
+
+    private fun copyMessages(rows: List<Array<Any?>>): Boolean
+    {
+        val copiedRows = PostgresCopy.copyIn(database, SQLStatements.Inserts.MESSAGES_COPY, rows) ?: return false
+
+        LOG.debug("Copied {} messages", copiedRows)
+        return true
+    }
 
-        val appId = applicationId.toUUID()
-        val msgId = messageId.toUUID()
+    @Throws(TException::class)
+    override fun getMessage(applicationId: String, messageId: String): Message
+    {
+        val appId = checkValidId(applicationId, validApplicationId())
+        val msgId = checkValidId(messageId, validMessageId())
         val statement = SQLStatements.Queries.SELECT_MESSAGE
 
         val message: Message?
@@ -89,15 +124,28 @@ constructor(private val database: JdbcOperations, private val serializer: Databa
         return message
     }
 
+    override fun findMessage(applicationId: String, messageId: String): java.util.Optional<Message>
+    {
+        val appId = checkValidId(applicationId, validApplicationId())
+        val msgId = checkValidId(messageId, validMessageId())
+        val statement = SQLStatements.Queries.SELECT_MESSAGE
+
+        return try
+        {
+            database.queryForOptional(statement, serializer, appId, msgId)
+        }
+        catch (ex: Exception)
+        {
+            LOG.error("Failed to get message [{}/{}]", applicationId, messageId, ex)
+            throw OperationFailedException(ex.message)
+        }
+    }
+
     @Throws(TException::class)
     override fun deleteMessage(applicationId: String, messageId: String)
     {
-        checkThat(applicationId, messageId)
-                .throwing(InvalidArgumentException::class.java)
-                .are(validUUID())
-
-        val appId = applicationId.toUUID()
-        val msgId = messageId.toUUID()
+        val appId = checkValidId(applicationId, validApplicationId())
+        val msgId = checkValidId(messageId, validMessageId())
         val statement = SQLStatements.Deletes.MESSAGE
 
         try
@@ -117,12 +165,8 @@ constructor(private val database: JdbcOperations, private val serializer: Databa
     @Throws(TException::class)
     override fun containsMessage(applicationId: String, messageId: String): Boolean
     {
-        checkThat(applicationId, messageId)
-                .throwing(InvalidArgumentException::class.java)
-                .are(validUUID())
-
-        val appId = applicationId.toUUID()
-        val msgId = messageId.toUUID()
+        val appId = checkValidId(applicationId, validApplicationId())
+        val msgId = checkValidId(messageId, validMessageId())
         val statement = SQLStatements.Queries.CHECK_MESSAGE
 
         try
@@ -161,11 +205,7 @@ constructor(private val database: JdbcOperations, private val serializer: Databa
     @Throws(TException::class)
     override fun getByApplication(applicationId: String): List<Message>
     {
-        checkThat(applicationId)
-                .throwing(InvalidArgumentException::class.java)
-                .isA(validUUID())
-
-        val appId = applicationId.toUUID()
+        val appId = checkValidId(applicationId, validApplicationId())
         val query = SQLStatements.Queries.SELECT_MESSAGES_BY_APPLICATION
 
         try
@@ -184,15 +224,11 @@ constructor(private val database: JdbcOperations, private val serializer: Databa
     @Throws(TException::class)
     override fun getByTitle(applicationId: String, title: String): List<Message>
     {
-        checkThat(applicationId, title)
-                .throwing(InvalidArgumentException::class.java)
-                .are(nonEmptyString())
-
-        checkThat(applicationId)
+        checkThat(title)
                 .throwing(InvalidArgumentException::class.java)
-                .isA(validUUID())
+                .isA(nonEmptyString())
 
-        val appId = applicationId.toUUID()
+        val appId = checkValidId(applicationId, validApplicationId())
         val query = SQLStatements.Queries.SELECT_MESSAGES_BY_TITLE
 
         try
@@ -210,12 +246,7 @@ constructor(private val database: JdbcOperations, private val serializer: Databa
     @Throws(TException::class)
     override fun getCountByApplication(applicationId: String): Long
     {
-        checkThat(applicationId)
-                .throwing(InvalidArgumentException::class.java)
-                .isA(nonEmptyString())
-                .isA(validUUID())
-
-        val appId = applicationId.toUUID()
+        val appId = checkValidId(applicationId, validApplicationId())
         val query = SQLStatements.Queries.COUNT_MESSAGES
 
 
@@ -235,5 +266,10 @@ constructor(private val database: JdbcOperations, private val serializer: Databa
     {
 
         private val LOG = LoggerFactory.getLogger(SQLMessageRepository::class.java)
+
+        /**
+         * Below this many Messages, the setup of a `COPY` costs more than it saves over a batch of inserts.
+         */
+        internal const val MIN_MESSAGES_TO_COPY = 100
     }
 }
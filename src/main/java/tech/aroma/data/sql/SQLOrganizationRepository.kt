@@ -23,11 +23,13 @@ import tech.aroma.data.OrganizationRepository
 import tech.aroma.data.assertions.RequestAssertions.validOrgId
 import tech.aroma.data.assertions.RequestAssertions.validOrganization
 import tech.aroma.data.assertions.RequestAssertions.validUserId
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.Deletes
 import tech.aroma.data.sql.SQLStatements.Inserts
 import tech.aroma.data.sql.SQLStatements.Queries
 import tech.aroma.thrift.Organization
 import tech.aroma.thrift.User
+import tech.aroma.thrift.exceptions.DoesNotExistException
 import tech.aroma.thrift.exceptions.InvalidArgumentException
 import tech.sirwellington.alchemy.arguments.Arguments.checkThat
 import tech.sirwellington.alchemy.arguments.assertions.*
@@ -45,7 +47,7 @@ internal class SQLOrganizationRepository : OrganizationRepository
     private val serializer: DatabaseSerializer<Organization>
 
     @Inject
-    constructor(database: JdbcOperations, serializer: DatabaseSerializer<Organization>)
+    constructor(@Instrumented database: JdbcOperations, serializer: DatabaseSerializer<Organization>)
     {
         this.database = database
         this.serializer = serializer
@@ -94,29 +96,29 @@ internal class SQLOrganizationRepository : OrganizationRepository
     {
         checkOrgID(organizationId)
 
-        val orgId = organizationId!!
-
-        //Save in case a roll-back is needed
-        val org = getOrganization(orgId)
-        val members = getOrganizationMembers(orgId)
+        val orgId = organizationId!!.toUUID()
 
         val deleteOrg = Deletes.ORGANIZATION
         val deleteOrgMembers = Deletes.ORGANIZATION_ALL_MEMBERS
 
-        try
+        val updatedRows = try
         {
-            database.update(deleteOrgMembers, orgId.toUUID())
-            database.update(deleteOrg, orgId.toUUID())
+            SQLUnitOfWork(database)
+                    .update(deleteOrgMembers, orgId)
+                    .update(deleteOrg, orgId)
+                    .commit()
         }
         catch(ex: Exception)
         {
-            //Rollback
-            saveOrganization(org)
-            members.forEach { this.saveMemberInOrganization(orgId, it) }
-
-            failWithMessage("Failed to delete organization [$org]. Rolling back operation.", ex)
+            failWithMessage("Failed to delete organization [$orgId]", ex)
         }
 
+        if (updatedRows.last() == 0)
+        {
+            val message = "No such Organization with ID: $orgId"
+            LOG.warn(message)
+            throw DoesNotExistException(message)
+        }
     }
 
     override fun containsOrganization(organizationId: String?): Boolean
@@ -1,11 +1,15 @@
 package tech.aroma.data.sql
 
+import org.springframework.jdbc.core.JdbcOperations
+import org.springframework.jdbc.core.RowMapper
+import tech.aroma.data.assertions.RequestAssertions
 import tech.sirwellington.alchemy.arguments.Arguments.checkThat
 import tech.sirwellington.alchemy.arguments.assertions.*
 import java.sql.ResultSet
 import java.sql.SQLException
 import java.sql.Timestamp
 import java.time.Instant
+import java.util.Optional
 import java.util.UUID
 
 /**
@@ -41,18 +45,26 @@ public fun Long.toDate(): java.sql.Date
     return java.sql.Date(this)
 }
 
+/**
+ * Parses a String as a [UUID], or returns null if it is not one.
+ *
+ * Canonical UUIDs, which is what every Aroma ID is, are parsed without the splitting and exception handling
+ * of [UUID.fromString]. Use [checkValidId][tech.aroma.data.assertions.RequestAssertions.checkValidId] instead
+ * when the ID also needs to be validated.
+ */
 public fun String?.toUUID(): UUID?
 {
-    val string = this ?: return null
+    return RequestAssertions.parseUUID(this)
+}
 
-    return try
-    {
-        UUID.fromString(string)
-    }
-    catch (ex: Exception)
-    {
-        return null
-    }
+/**
+ * Runs a query for at most one row. Unlike [JdbcOperations.queryForObject], a missing row is
+ * returned as [Optional.empty] rather than thrown as an exception.
+ */
+internal fun <T> JdbcOperations.queryForOptional(sql: String, mapper: RowMapper<T>, vararg args: Any): Optional<T>
+{
+    val results = this.query(sql, mapper, *args)
+    return Optional.ofNullable(results.firstOrNull())
 }
 
 internal fun <T> Iterable<T>.toCommaSeparatedList() = joinToString(separator = ",")
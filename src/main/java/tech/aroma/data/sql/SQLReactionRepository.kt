@@ -21,6 +21,7 @@ import org.springframework.dao.EmptyResultDataAccessException
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.ReactionRepository
 import tech.aroma.data.assertions.RequestAssertions.*
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.*
 import tech.aroma.thrift.exceptions.InvalidArgumentException
 import tech.aroma.thrift.exceptions.OperationFailedException
@@ -35,7 +36,7 @@ import javax.inject.Inject
  * @author SirWellington
  */
 internal class SQLReactionRepository
-@Inject constructor(val database: JdbcOperations, val serializer: DatabaseSerializer<MutableList<Reaction>>) : ReactionRepository
+@Inject constructor(@Instrumented val database: JdbcOperations, val serializer: DatabaseSerializer<MutableList<Reaction>>) : ReactionRepository
 {
 
     private companion object
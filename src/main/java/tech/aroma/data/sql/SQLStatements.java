@@ -17,7 +17,11 @@
 package tech.aroma.data.sql;
 
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
@@ -42,7 +46,6 @@ final class SQLStatements
         static final String ACTIVITY_ALL_EVENTS = loadSQLFile("tech/aroma/sql/deletes/delete_all_activity_for_user.sql");
         static final String APPLICATION = loadSQLFile("tech/aroma/sql/deletes/delete_application.sql");
         static final String APPLICATION_OWNERS = loadSQLFile("tech/aroma/sql/deletes/delete_application_owners.sql");
-        static final String APPLICATION_NON_OWNERS = loadSQLFile("tech/aroma/sql/deletes/delete_application_owners_not_in_set.sql");
         static final String CREDENTIAL = loadSQLFile("tech/aroma/sql/deletes/delete_credential.sql");
         static final String INBOX_MESSAGE = loadSQLFile("tech/aroma/sql/deletes/delete_inbox_message.sql");
         static final String INBOX_ALL_MESSAGES = loadSQLFile("tech/aroma/sql/deletes/delete_all_inbox_message_for_user.sql");
@@ -66,7 +69,7 @@ final class SQLStatements
         static final String ACTIVITY_EVENT = loadSQLFile("tech/aroma/sql/inserts/insert_activity.sql");
 
         static final String APPLICATION = loadSQLFile("tech/aroma/sql/inserts/insert_application.sql");
-        static final String APPLICATION_OWNER = loadSQLFile("tech/aroma/sql/inserts/insert_application_owner.sql");
+        static final String APPLICATION_OWNERS = loadSQLFile("tech/aroma/sql/inserts/update_application_owners.sql");
 
         static final String CREDENTIAL = loadSQLFile("tech/aroma/sql/inserts/update_credential.sql");
 
@@ -77,6 +80,7 @@ final class SQLStatements
 
         static final String INBOX_MESSAGE = loadSQLFile("tech/aroma/sql/inserts/insert_inbox_message.sql");
         static final String MESSAGE = loadSQLFile("tech/aroma/sql/inserts/insert_message.sql");
+        static final String MESSAGES_COPY = loadSQLFile("tech/aroma/sql/inserts/copy_messages.sql");
 
         static final String ORGANIZATION = loadSQLFile("tech/aroma/sql/inserts/insert_organization.sql");
         static final String ORGANIZATION_MEMBER = loadSQLFile("tech/aroma/sql/inserts/insert_organization_member.sql");
@@ -152,6 +156,58 @@ final class SQLStatements
 
     }
 
+    /**
+     * Finds the name of a statement from its text, for use in metrics. Each statement must have
+     * distinct text, so that the name is never ambiguous.
+     *
+     * @param sql The text of one of the statements above.
+     *
+     * @return The name of the statement, for example {@code Queries.SELECT_USER},
+     *         or null if {@code sql} is not one of them.
+     */
+    static String nameOf(String sql)
+    {
+        return sql == null ? null : Names.BY_TEXT.get(sql);
+    }
+
+    private static final class Names
+    {
+
+        private static final Map<String, String> BY_TEXT = new HashMap<>();
+
+        static
+        {
+            for (Class<?> statements : new Class<?>[] { Deletes.class, Inserts.class, Queries.class })
+            {
+                for (Field field : statements.getDeclaredFields())
+                {
+                    if (!Modifier.isStatic(field.getModifiers()) || field.getType() != String.class)
+                    {
+                        continue;
+                    }
+
+                    try
+                    {
+                        field.setAccessible(true);
+                        String sql = (String) field.get(null);
+                        String name = statements.getSimpleName() + "." + field.getName();
+                        String existing = BY_TEXT.putIfAbsent(sql, name);
+
+                        //Metrics are looked up by text, so two statements with the same text could not be told apart
+                        if (existing != null)
+                        {
+                            throw new IllegalStateException(name + " has the same SQL as " + existing);
+                        }
+                    }
+                    catch (IllegalAccessException ex)
+                    {
+                        LOG.warn("Could not read SQL Statement {}", field, ex);
+                    }
+                }
+            }
+        }
+    }
+
     private static String loadSQLFile(String path)
     {
         URL url = Resources.getResource(path);
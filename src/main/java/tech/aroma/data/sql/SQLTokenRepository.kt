@@ -20,6 +20,8 @@ import org.slf4j.LoggerFactory
 import org.springframework.dao.EmptyResultDataAccessException
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.TokenRepository
+import tech.aroma.data.assertions.RequestAssertions.parseUUID
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.Deletes
 import tech.aroma.data.sql.SQLStatements.Inserts
 import tech.aroma.data.sql.SQLStatements.Queries
@@ -29,6 +31,8 @@ import tech.aroma.thrift.exceptions.InvalidArgumentException
 import tech.aroma.thrift.exceptions.InvalidTokenException
 import tech.sirwellington.alchemy.arguments.Arguments.checkThat
 import tech.sirwellington.alchemy.arguments.assertions.*
+import java.util.Optional
+import java.util.UUID
 import javax.inject.Inject
 
 
@@ -37,7 +41,7 @@ import javax.inject.Inject
  * @author SirWellington
  */
 class SQLTokenRepository
-@Inject constructor(val database: JdbcOperations,
+@Inject constructor(@Instrumented val database: JdbcOperations,
                     val serializer: DatabaseSerializer<AuthenticationToken>): TokenRepository
 {
 
@@ -54,7 +58,7 @@ class SQLTokenRepository
 
         return try
         {
-            database.queryForObject(query, Boolean::class.java, tokenId.toUUID())
+            database.queryForObject(query, Boolean::class.java, tokenId)
         }
         catch (ex: Exception)
         {
@@ -70,7 +74,7 @@ class SQLTokenRepository
 
         return try
         {
-            database.queryForObject(query, serializer, tokenId.toUUID())
+            database.queryForObject(query, serializer, tokenId)
         }
         catch (ex: EmptyResultDataAccessException)
         {
@@ -85,6 +89,21 @@ class SQLTokenRepository
 
     }
 
+    override fun findToken(tokenId: String): Optional<AuthenticationToken>
+    {
+        val tokenId = checkTokenId(tokenId)
+        val query = Queries.SELECT_TOKEN
+
+        return try
+        {
+            database.queryForOptional(query, serializer, tokenId)
+        }
+        catch (ex: Exception)
+        {
+            failWithMessage("Could not get token with ID [$tokenId]", ex)
+        }
+    }
+
     override fun saveToken(token: AuthenticationToken?)
     {
         checkThat(token)
@@ -115,16 +134,13 @@ class SQLTokenRepository
 
     override fun getTokensBelongingTo(ownerId: String): MutableList<AuthenticationToken>
     {
-        checkThat(ownerId)
-                .throwing(InvalidArgumentException::class.java)
-                .isA(nonEmptyString())
-                .isA(validUUID())
+        val ownerUUID = parseUUID(ownerId) ?: throw InvalidArgumentException("Owner ID must be a UUID: [$ownerId]")
 
         val query = Queries.SELECT_TOKENS_FOR_OWNER
 
         return try
         {
-            database.query(query, serializer, ownerId.toUUID())
+            database.query(query, serializer, ownerUUID)
         }
         catch (ex: Exception)
         {
@@ -139,7 +155,7 @@ class SQLTokenRepository
 
         try
         {
-            database.update(statement, tokenId.toUUID())
+            database.update(statement, tokenId)
         }
         catch (ex: Exception)
         {
@@ -148,14 +164,9 @@ class SQLTokenRepository
     }
 
 
-    private fun checkTokenId(tokenId: String): String
+    private fun checkTokenId(tokenId: String): UUID
     {
-        checkThat(tokenId)
-                .throwing(InvalidArgumentException::class.java)
-                .isA(nonEmptyString())
-                .isA(validUUID())
-
-        return tokenId
+        return parseUUID(tokenId) ?: throw InvalidArgumentException("Token ID must be a UUID: [$tokenId]")
     }
 
 }
\ No newline at end of file
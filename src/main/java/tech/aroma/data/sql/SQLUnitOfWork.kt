@@ -0,0 +1,172 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql
+
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter
+import org.springframework.jdbc.core.ConnectionCallback
+import org.springframework.jdbc.core.JdbcOperations
+import tech.sirwellington.alchemy.arguments.Arguments.checkThat
+import tech.sirwellington.alchemy.arguments.assertions.*
+import java.sql.Connection
+
+
+/**
+ * Collects writes and commits all of them in a single transaction, so that either every write
+ * is applied or none are.
+ *
+ * Consecutive writes that use the same statement are sent to the database as one JDBC batch. Each batch is
+ * [recorded][InstrumentedJdbcOperations.recordStatement] as one statement, since it runs on the Connection
+ * rather than through the [database] itself.
+ *
+ * It is used by Repositories whose writes span several tables, such as deleting an Application together
+ * with its Owners. Writes from several Repositories could share one as long as they share the same [database],
+ * but nothing does so yet.
+ *
+ * A unit of work is not thread-safe, and is meant to be used once.
+ *
+ * @author SirWellington
+ */
+internal class SQLUnitOfWork(private val database: JdbcOperations)
+{
+
+    private val writes = mutableListOf<Write>()
+
+    private class Write(val statement: String, val arguments: Array<out Any?>)
+
+    /**
+     * Adds a write to the unit of work. Nothing is sent to the database until [commit] is called.
+     */
+    fun update(statement: String, vararg arguments: Any?): SQLUnitOfWork
+    {
+        checkThat(statement).isA(nonEmptyString())
+
+        writes.add(Write(statement, arguments))
+        return this
+    }
+
+    /**
+     * Applies all of the writes in a single transaction. If any of them fails, the transaction is
+     * rolled back and the exception is rethrown.
+     *
+     * @return The number of rows affected by each write, in the order they were added.
+     */
+    fun commit(): IntArray
+    {
+        if (writes.isEmpty())
+        {
+            return IntArray(0)
+        }
+
+        try
+        {
+            return database.execute(ConnectionCallback<IntArray> { connection -> commitIn(connection) })
+                    ?: IntArray(writes.size)
+        }
+        finally
+        {
+            writes.clear()
+        }
+    }
+
+    private fun commitIn(connection: Connection): IntArray
+    {
+        val autoCommit = connection.autoCommit
+        connection.autoCommit = false
+
+        try
+        {
+            val updatedRows = executeBatches(connection)
+            connection.commit()
+            return updatedRows
+        }
+        catch (ex: Exception)
+        {
+            rollback(connection, ex)
+            throw ex
+        }
+        finally
+        {
+            connection.autoCommit = autoCommit
+        }
+    }
+
+    /**
+     * A failed rollback is attached to [cause], so that the failure of the write itself is not lost.
+     */
+    private fun rollback(connection: Connection, cause: Exception)
+    {
+        try
+        {
+            connection.rollback()
+        }
+        catch (ex: Exception)
+        {
+            cause.addSuppressed(ex)
+        }
+    }
+
+    private fun executeBatches(connection: Connection): IntArray
+    {
+        val updatedRows = IntArray(writes.size)
+        var start = 0
+
+        while (start < writes.size)
+        {
+            val statement = writes[start].statement
+            var end = start
+
+            while (end < writes.size && writes[end].statement == statement)
+            {
+                end += 1
+            }
+
+            val batchResults = executeBatch(connection, statement, writes.subList(start, end))
+            System.arraycopy(batchResults, 0, updatedRows, start, batchResults.size)
+
+            start = end
+        }
+
+        return updatedRows
+    }
+
+    private fun executeBatch(connection: Connection, statement: String, batch: List<Write>): IntArray
+    {
+        val start = System.nanoTime()
+        var updatedRows: IntArray? = null
+        val preparedStatement = connection.prepareStatement(statement)
+
+        try
+        {
+            batch.forEach { write ->
+                ArgumentPreparedStatementSetter(write.arguments).setValues(preparedStatement)
+                preparedStatement.addBatch()
+            }
+
+            val result = preparedStatement.executeBatch()
+            updatedRows = result
+            return result
+        }
+        finally
+        {
+            preparedStatement.close()
+
+            val rows = InstrumentedJdbcOperations.rowsUpdated(updatedRows)
+            InstrumentedJdbcOperations.recordStatement(statement, System.nanoTime() - start, rows, updatedRows == null)
+        }
+    }
+
+}
@@ -21,6 +21,7 @@ import org.springframework.dao.EmptyResultDataAccessException
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.UserPreferencesRepository
 import tech.aroma.data.assertions.RequestAssertions.validMobileDevice
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.*
 import tech.aroma.thrift.channels.MobileDevice
 import tech.aroma.thrift.exceptions.InvalidArgumentException
@@ -34,7 +35,7 @@ import javax.inject.Inject
  * @author SirWellington
  */
 internal class SQLUserPreferencesRepository
-@Inject constructor(val database: JdbcOperations,
+@Inject constructor(@Instrumented val database: JdbcOperations,
                     val serializer: DatabaseSerializer<MutableSet<MobileDevice>>) : UserPreferencesRepository
 {
 
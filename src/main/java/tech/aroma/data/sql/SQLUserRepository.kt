@@ -21,6 +21,7 @@ import org.springframework.dao.EmptyResultDataAccessException
 import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.data.UserRepository
 import tech.aroma.data.assertions.RequestAssertions.validUser
+import tech.aroma.data.performance.Instrumented
 import tech.aroma.data.sql.SQLStatements.Deletes
 import tech.aroma.data.sql.SQLStatements.Inserts
 import tech.aroma.data.sql.SQLStatements.Queries
@@ -29,6 +30,7 @@ import tech.aroma.thrift.exceptions.InvalidArgumentException
 import tech.aroma.thrift.exceptions.UserDoesNotExistException
 import tech.sirwellington.alchemy.arguments.Arguments.checkThat
 import tech.sirwellington.alchemy.arguments.assertions.*
+import java.util.Optional
 import javax.inject.Inject
 
 
@@ -37,7 +39,7 @@ import javax.inject.Inject
  * @author SirWellington
  */
 internal class SQLUserRepository
-@Inject constructor(val database: JdbcOperations,
+@Inject constructor(@Instrumented val database: JdbcOperations,
                     val serializer: DatabaseSerializer<User>) : UserRepository
 {
     private companion object
@@ -66,13 +68,13 @@ internal class SQLUserRepository
 
     override fun getUser(userId: String): User
     {
-        checkUserId(userId)
+        val userUUID = checkUserId(userId)
 
         val sql = Queries.SELECT_USER
 
         return try
         {
-            database.queryForObject(sql, serializer, userId.toUUID())
+            database.queryForObject(sql, serializer, userUUID)
         }
         catch (ex: EmptyResultDataAccessException)
         {
@@ -86,16 +88,33 @@ internal class SQLUserRepository
 
     }
 
+    override fun findUser(userId: String): Optional<User>
+    {
+        val userUUID = checkUserId(userId)
+
+        val sql = Queries.SELECT_USER
+
+        return try
+        {
+            database.queryForOptional(sql, serializer, userUUID)
+        }
+        catch (ex: Exception)
+        {
+            val message = "Failed to retrieve User with ID [$userId] from database"
+            failWithMessage(message, ex)
+        }
+    }
+
 
     override fun deleteUser(userId: String)
     {
-        checkUserId(userId)
+        val userUUID = checkUserId(userId)
 
         val sql = Deletes.USER
 
         try
         {
-            val updated = database.update(sql, userId.toUUID())
+            val updated = database.update(sql, userUUID)
             LOG.info("Successfully deleted $userId. $updated rows affedted")
         }
         catch (ex: Exception)
@@ -107,13 +126,13 @@ internal class SQLUserRepository
 
     override fun containsUser(userId: String): Boolean
     {
-        checkUserId(userId)
+        val userUUID = checkUserId(userId)
 
         val sql = Queries.CHECK_USER
 
         return try
         {
-            database.queryForObject(sql, Boolean::class.java, userId.toUUID())
+            database.queryForObject(sql, Boolean::class.java, userUUID)
         }
         catch (ex: Exception)
         {
@@ -38,22 +38,7 @@ internal class MessageSerializer : DatabaseSerializer<Message>
         checkThat(database).isA(notNull())
         checkThat(statement).isA(nonEmptyString())
 
-        val timeCreated = if (message.timeOfCreation > 0) message.timeOfCreation.toTimestamp() else Timestamps.now()
-        val timeReceived = if (message.timeMessageReceived > 0) message.timeMessageReceived.toTimestamp() else Timestamps.now()
-
-        database.update(statement,
-                        message.messageId.toUUID(),
-                        message.applicationId.toUUID(),
-                        message.applicationName,
-                        message.title,
-                        message.body,
-                        message.urgency?.toString() ?: Urgency.MEDIUM.toString(),
-                        timeCreated,
-                        timeReceived,
-                        message.hostname,
-                        message.macAddress,
-                        message.deviceName)
-
+        database.update(statement, *messageColumnsOf(message))
     }
 
     override fun deserialize(row: ResultSet): Message
@@ -94,3 +79,26 @@ internal class MessageSerializer : DatabaseSerializer<Message>
     }
 
 }
+
+/**
+ * @return The values of the columns in the [Message insert][tech.aroma.data.sql.SQLStatements.Inserts.MESSAGE],
+ * in the same order as the statement. The [Inbox insert][tech.aroma.data.sql.SQLStatements.Inserts.INBOX_MESSAGE]
+ * uses the same columns after its `user_id`.
+ */
+internal fun messageColumnsOf(message: Message): Array<Any?>
+{
+    val timeCreated = if (message.timeOfCreation > 0) message.timeOfCreation.toTimestamp() else Timestamps.now()
+    val timeReceived = if (message.timeMessageReceived > 0) message.timeMessageReceived.toTimestamp() else Timestamps.now()
+
+    return arrayOf(message.messageId.toUUID(),
+                   message.applicationId.toUUID(),
+                   message.applicationName,
+                   message.title,
+                   message.body,
+                   message.urgency?.toString() ?: Urgency.MEDIUM.toString(),
+                   timeCreated,
+                   timeReceived,
+                   message.hostname,
+                   message.macAddress,
+                   message.deviceName)
+}
@@ -22,6 +22,9 @@ CREATE TABLE IF NOT EXISTS Applications
 CREATE INDEX IF NOT EXISTS Applications_By_Organization
     ON Applications (organization_id);
 
+CREATE INDEX IF NOT EXISTS Applications_By_Time_Last_Updated
+    ON Applications (time_last_updated);
+
 -- USED FOR REMEMBERING AN Application's Owners
 CREATE TABLE IF NOT EXISTS Application_Owners
 (
@@ -30,4 +33,7 @@ CREATE TABLE IF NOT EXISTS Application_Owners
     since    TIMESTAMP DEFAULT now(),
 
     PRIMARY KEY (app_id, owner_id)
-)
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS Application_Owners_By_Owner
+    ON Application_Owners (owner_id);
\ No newline at end of file
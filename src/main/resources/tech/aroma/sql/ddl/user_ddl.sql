@@ -35,4 +35,7 @@ CREATE INDEX IF NOT EXISTS Users_By_Email
     ON Users (email);
 
 CREATE INDEX IF NOT EXISTS Users_By_Github
-    ON Users (github_profile);
\ No newline at end of file
+    ON Users (github_profile);
+
+CREATE INDEX IF NOT EXISTS Users_By_Time_Last_Updated
+    ON Users (time_last_updated);
\ No newline at end of file
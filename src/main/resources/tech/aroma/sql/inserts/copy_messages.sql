@@ -0,0 +1,8 @@
+------------------------------------------------------------------------------
+-- COPIES MANY NEW MESSAGES INTO THE TABLE AT ONCE
+--
+-- The columns are the same, and in the same order, as insert_message.sql
+------------------------------------------------------------------------------
+
+COPY messages (message_id, app_id, app_name, title, body, priority, time_created, time_received, hostname, ip_address, device_name)
+FROM STDIN WITH (FORMAT csv)
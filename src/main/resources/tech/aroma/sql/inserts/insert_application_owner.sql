@@ -1,7 +0,0 @@
-------------------------------------------------------------------------------
--- ADDS AN OWNER TO TO AN APPLICATION
-------------------------------------------------------------------------------
-
-INSERT INTO application_owners (app_id, owner_id)
-VALUES (?, ?)
-ON CONFLICT DO NOTHING 
\ No newline at end of file
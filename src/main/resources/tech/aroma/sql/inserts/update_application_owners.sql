@@ -0,0 +1,34 @@
+------------------------------------------------------------------------------
+-- SETS AN APPLICATION'S OWNERS TO EXACTLY THE SPECIFIED ARRAY,
+-- IN A SINGLE STATEMENT.
+-- OWNERS THAT ARE ALREADY PRESENT ARE NOT WRITTEN AGAIN, SO
+-- NOTHING IS WRITTEN WHEN THE OWNERS HAVE NOT CHANGED.
+------------------------------------------------------------------------------
+
+WITH app AS
+(
+    SELECT ?::UUID AS app_id
+),
+owners AS
+(
+    SELECT DISTINCT unnest(?::UUID[]) AS owner_id
+),
+removed AS
+(
+    DELETE
+    FROM application_owners existing
+    USING app
+    WHERE existing.app_id = app.app_id
+    AND existing.owner_id NOT IN (SELECT owner_id FROM owners)
+)
+INSERT INTO application_owners (app_id, owner_id)
+SELECT app.app_id, owners.owner_id
+FROM app, owners
+WHERE NOT EXISTS
+(
+    SELECT 1
+    FROM application_owners existing
+    WHERE existing.app_id = app.app_id
+    AND existing.owner_id = owners.owner_id
+)
+ON CONFLICT DO NOTHING
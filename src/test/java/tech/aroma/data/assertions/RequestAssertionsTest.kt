@@ -18,6 +18,7 @@ package tech.aroma.data.assertions
 
 import org.hamcrest.Matchers.`is`
 import org.hamcrest.Matchers.notNullValue
+import org.hamcrest.Matchers.nullValue
 import org.junit.Assert.assertThat
 import org.junit.Before
 import org.junit.Test
@@ -40,6 +41,7 @@ import tech.aroma.thrift.authentication.UserToken
 import tech.aroma.thrift.channels.AndroidDevice
 import tech.aroma.thrift.channels.IOSDevice
 import tech.aroma.thrift.channels.MobileDevice
+import tech.aroma.thrift.exceptions.InvalidArgumentException
 import tech.aroma.thrift.generators.ApplicationGenerators
 import tech.aroma.thrift.generators.ChannelGenerators.mobileDevices
 import tech.aroma.thrift.reactions.Reaction
@@ -62,6 +64,7 @@ import tech.sirwellington.alchemy.test.junit.runners.GenerateString
 import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
 import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.UUID
 import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import kotlin.test.assertFailsWith
 
 /**
 
@@ -176,6 +179,100 @@ class RequestAssertionsTest
         assertThat(RequestAssertions.isNullOrEmpty(null), `is`(true))
     }
 
+    @Test
+    fun testIsUUID()
+    {
+        assertThat(RequestAssertions.isUUID(validId), `is`(true))
+        assertThat(RequestAssertions.isUUID(validId.toUpperCase()), `is`(true))
+        assertThat(RequestAssertions.isUUID(invalidId), `is`(false))
+        assertThat(RequestAssertions.isUUID(""), `is`(false))
+        assertThat(RequestAssertions.isUUID(null), `is`(false))
+    }
+
+    @DontRepeat
+    @Test
+    fun testIsUUIDWithMalformedUUIDs()
+    {
+        assertThat(RequestAssertions.isUUID("123e4567-e89b-12d3-a456-42665544000g"), `is`(false))
+        assertThat(RequestAssertions.isUUID("123e4567_e89b-12d3-a456-426655440000"), `is`(false))
+        assertThat(RequestAssertions.isUUID("123e4567-e89b-12d3-a456"), `is`(false))
+        assertThat(RequestAssertions.isUUID("not-a-uuid-at-all"), `is`(false))
+    }
+
+    @DontRepeat
+    @Test
+    fun testIsUUIDAcceptsWhatUUIDFromStringAccepts()
+    {
+        assertThat(RequestAssertions.isUUID("1-1-1-1-1"), `is`(true))
+        assertThat(RequestAssertions.isUUID("0-0-0-0-0"), `is`(true))
+    }
+
+    @Test
+    fun testParseUUID()
+    {
+        assertThat(RequestAssertions.parseUUID(validId), `is`(java.util.UUID.fromString(validId)))
+        assertThat(RequestAssertions.parseUUID(validId.toUpperCase()), `is`(java.util.UUID.fromString(validId)))
+        assertThat(RequestAssertions.parseUUID(invalidId), nullValue())
+        assertThat(RequestAssertions.parseUUID(""), nullValue())
+        assertThat(RequestAssertions.parseUUID(null), nullValue())
+    }
+
+    @DontRepeat
+    @Test
+    fun testParseUUIDWithEdgeValues()
+    {
+        val zero = "00000000-0000-0000-0000-000000000000"
+        val max = "ffffffff-ffff-ffff-ffff-ffffffffffff"
+
+        assertThat(RequestAssertions.parseUUID(zero), `is`(java.util.UUID(0, 0)))
+        assertThat(RequestAssertions.parseUUID(max), `is`(java.util.UUID(-1, -1)))
+        assertThat(RequestAssertions.parseUUID("1-1-1-1-1"), `is`(java.util.UUID.fromString("1-1-1-1-1")))
+    }
+
+    @Test
+    fun testCheckValidId()
+    {
+        val result = RequestAssertions.checkValidId(validId, RequestAssertions.validUserId())
+        assertThat(result, `is`(java.util.UUID.fromString(validId)))
+
+        val invalid = assertFailsWith<InvalidArgumentException> {
+            RequestAssertions.checkValidId(invalidId, RequestAssertions.validUserId())
+        }
+        assertThat(invalid.message, `is`("userId must be a UUID"))
+
+        val missing = assertFailsWith<InvalidArgumentException> {
+            RequestAssertions.checkValidId("", RequestAssertions.validMessageId())
+        }
+        assertThat(missing.message, `is`("missing messageID"))
+    }
+
+    @Test
+    fun testCheckValid()
+    {
+        RequestAssertions.checkValid(message, RequestAssertions.validMessage())
+        RequestAssertions.checkValid(user, RequestAssertions.validUser())
+        RequestAssertions.checkValid(validId, RequestAssertions.validUserId())
+    }
+
+    @Test
+    fun testCheckValidWithInvalid()
+    {
+        val invalidUserId = assertFailsWith<InvalidArgumentException> {
+            RequestAssertions.checkValid(invalidId, RequestAssertions.validUserId())
+        }
+        assertThat(invalidUserId.message, `is`("userId must be a UUID"))
+
+        val messageWithoutTitle = assertFailsWith<InvalidArgumentException> {
+            RequestAssertions.checkValid(Message().setMessageId(validId), RequestAssertions.validMessage())
+        }
+        assertThat(messageWithoutTitle.message, `is`("message missing Title"))
+
+        val missingUser = assertFailsWith<InvalidArgumentException> {
+            RequestAssertions.checkValid(null, RequestAssertions.validUser())
+        }
+        assertThat(missingUser.message, `is`("user is missing"))
+    }
+
     @Test
     fun testValidMessage()
     {
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import com.datastax.driver.core.*;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import sir.wellington.alchemy.collections.lists.Lists;
+import tech.aroma.thrift.exceptions.OperationFailedException;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.NumberGenerators.integers;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class AsyncWritesTest
+{
+
+    @Mock
+    private Session cassandra;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSetFuture future;
+
+    @GenerateString
+    private String operationName;
+
+    private List<Statement> statements;
+
+    private int maxInFlight;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        maxInFlight = one(integers(1, 10));
+        statements = Lists.create();
+
+        int numberOfStatements = maxInFlight * 3 + 1;
+        for (int i = 0; i < numberOfStatements; ++i)
+        {
+            statements.add(statement);
+        }
+
+        when(cassandra.executeAsync(statement)).thenReturn(future);
+
+        doAnswer(invocation ->
+        {
+            Runnable listener = (Runnable) invocation.getArguments()[0];
+            listener.run();
+            return null;
+        })
+            .when(future).addListener(any(Runnable.class), any());
+    }
+
+    @Test
+    public void testExecuteAll() throws Exception
+    {
+        AsyncWrites.executeAll(cassandra, statements, maxInFlight, operationName);
+
+        verify(cassandra, times(statements.size())).executeAsync(statement);
+        verify(future, times(statements.size())).getUninterruptibly();
+        verify(cassandra, never()).execute(any(Statement.class));
+    }
+
+    @Test
+    public void testExecuteAllKeepsWritesInFlightBelowTheLimit() throws Exception
+    {
+        //Writes only complete once the limit has been reached, so the limit must be what releases them
+        Deque<Runnable> pendingListeners = new ArrayDeque<>();
+        int[] inFlight = { 0 };
+        int[] mostInFlight = { 0 };
+
+        when(cassandra.executeAsync(statement)).then(invocation ->
+        {
+            inFlight[0] += 1;
+            mostInFlight[0] = Math.max(mostInFlight[0], inFlight[0]);
+            return future;
+        });
+
+        doAnswer(invocation ->
+        {
+            pendingListeners.add((Runnable) invocation.getArguments()[0]);
+
+            if (pendingListeners.size() == maxInFlight)
+            {
+                while (!pendingListeners.isEmpty())
+                {
+                    inFlight[0] -= 1;
+                    pendingListeners.poll().run();
+                }
+            }
+
+            return null;
+        })
+            .when(future).addListener(any(Runnable.class), any());
+
+        AsyncWrites.executeAll(cassandra, statements, maxInFlight, operationName);
+
+        assertThat(mostInFlight[0], is(maxInFlight));
+        verify(cassandra, times(statements.size())).executeAsync(statement);
+    }
+
+    @DontRepeat
+    @Test
+    public void testExecuteAllWhenAWriteFails() throws Exception
+    {
+        when(future.getUninterruptibly())
+            .thenThrow(new RuntimeException());
+
+        assertThrows(() -> AsyncWrites.executeAll(cassandra, statements, maxInFlight, operationName))
+            .isInstanceOf(OperationFailedException.class);
+
+        //The other writes are still waited on
+        verify(future, times(statements.size())).getUninterruptibly();
+    }
+
+    @DontRepeat
+    @Test
+    public void testExecuteAllWhenSessionFails() throws Exception
+    {
+        when(cassandra.executeAsync(statement))
+            .thenThrow(new RuntimeException());
+
+        assertThrows(() -> AsyncWrites.executeAll(cassandra, statements, maxInFlight, operationName))
+            .isInstanceOf(OperationFailedException.class);
+    }
+
+    @DontRepeat
+    @Test
+    public void testExecuteAllWithBadArgs() throws Exception
+    {
+        assertThrows(() -> AsyncWrites.executeAll(null, statements, maxInFlight, operationName))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThrows(() -> AsyncWrites.executeAll(cassandra, null, maxInFlight, operationName))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThrows(() -> AsyncWrites.executeAll(cassandra, statements, 0, operationName))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DontRepeat
+    public void testCannotInstantiate()
+    {
+        assertThrows(() -> new AsyncWrites())
+            .isInstanceOf(IllegalAccessException.class);
+    }
+
+}
@@ -32,6 +32,7 @@ import tech.aroma.thrift.User;
 import tech.aroma.thrift.events.Event;
 import tech.aroma.thrift.exceptions.DoesNotExistException;
 import tech.aroma.thrift.exceptions.InvalidArgumentException;
+import tech.aroma.thrift.exceptions.OperationFailedException;
 import tech.sirwellington.alchemy.test.junit.runners.*;
 
 import static org.hamcrest.Matchers.*;
@@ -42,6 +43,7 @@ import static tech.aroma.thrift.generators.EventGenerators.events;
 import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
 import static tech.sirwellington.alchemy.generator.CollectionGenerators.listOf;
 import static tech.sirwellington.alchemy.generator.NumberGenerators.positiveLongs;
+import static tech.sirwellington.alchemy.generator.StringGenerators.uuids;
 import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
 import static tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC;
 import static tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.UUID;
@@ -67,6 +69,9 @@ public class CassandraActivityRepositoryTest
     @Mock
     private Row row;
     
+    @Mock
+    private ResultSetFuture future;
+    
     private Event event;
     
     @GeneratePojo
@@ -112,6 +117,17 @@ public class CassandraActivityRepositoryTest
             .thenReturn(results);
         
         when(eventMapper.apply(row)).thenReturn(event);
+        
+        when(session.executeAsync(any(Statement.class)))
+            .thenReturn(future);
+        
+        doAnswer(invocation ->
+        {
+            Runnable listener = (Runnable) invocation.getArguments()[0];
+            listener.run();
+            return null;
+        })
+            .when(future).addListener(any(Runnable.class), any());
     }
     
     @DontRepeat
@@ -134,6 +150,48 @@ public class CassandraActivityRepositoryTest
         assertThat(statement, is(instanceOf(Insert.Options.class)));
     }
     
+    @Test
+    public void testSaveEvents() throws Exception
+    {
+        int numberOfUsers = AsyncWrites.MAX_IN_FLIGHT * 2 + 1;
+        List<User> users = listOf(() -> new User().setUserId(one(uuids)), numberOfUsers);
+        
+        instance.saveEvents(event, users);
+        
+        verify(session, times(numberOfUsers)).executeAsync(any(Statement.class));
+        verify(future, times(numberOfUsers)).getUninterruptibly();
+        verify(session, never()).execute(any(Statement.class));
+    }
+    
+    @DontRepeat
+    @Test
+    public void testSaveEventsWhenAWriteFails() throws Exception
+    {
+        List<User> users = listOf(() -> new User().setUserId(one(uuids)), 10);
+        
+        when(future.getUninterruptibly())
+            .thenThrow(new RuntimeException());
+        
+        assertThrows(() -> instance.saveEvents(event, users))
+            .isInstanceOf(OperationFailedException.class);
+        
+        verify(future, times(users.size())).getUninterruptibly();
+    }
+    
+    @DontRepeat
+    @Test
+    public void testSaveEventsWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.saveEvents(event, Lists.emptyList()))
+            .isInstanceOf(InvalidArgumentException.class);
+        
+        List<User> users = Lists.createFrom(user, new User(user).setUserId(badId));
+        assertThrows(() -> instance.saveEvents(event, users))
+            .isInstanceOf(InvalidArgumentException.class);
+        
+        verify(session, never()).executeAsync(any(Statement.class));
+    }
+    
     @Test
     public void testSaveEventWithBadArgs() throws Exception
     {
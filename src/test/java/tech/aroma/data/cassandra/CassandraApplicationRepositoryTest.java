@@ -18,6 +18,7 @@ package tech.aroma.data.cassandra;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 import com.datastax.driver.core.*;
@@ -29,6 +30,7 @@ import org.mockito.*;
 import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.thrift.Application;
 import tech.aroma.thrift.exceptions.InvalidArgumentException;
+import tech.aroma.thrift.exceptions.OperationFailedException;
 import tech.sirwellington.alchemy.test.junit.runners.*;
 
 import static java.util.UUID.fromString;
@@ -211,6 +213,53 @@ public class CassandraApplicationRepositoryTest
             .isInstanceOf(TException.class);
     }
 
+    @Test
+    public void testFindApplication() throws Exception
+    {
+        ResultSet results = mock(ResultSet.class);
+        when(results.one()).thenReturn(mockRow);
+        when(session.execute(Mockito.any(Statement.class)))
+            .thenReturn(results);
+
+        Optional<Application> result = instance.findApplication(appId);
+        assertThat(result, is(Optional.of(app)));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindApplicationWhenNotExists() throws Exception
+    {
+        ResultSet results = mock(ResultSet.class);
+        when(results.one()).thenReturn(null);
+        when(session.execute(Mockito.any(Statement.class)))
+            .thenReturn(results);
+
+        Optional<Application> result = instance.findApplication(appId);
+        assertThat(result, is(Optional.empty()));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindApplicationWhenFails() throws Exception
+    {
+        setupForFailure();
+
+        assertThrows(() -> instance.findApplication(appId))
+            .isInstanceOf(OperationFailedException.class);
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindApplicationWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.findApplication(""))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        String badId = one(alphabeticStrings());
+        assertThrows(() -> instance.findApplication(badId))
+            .isInstanceOf(InvalidArgumentException.class);
+    }
+
     @Test
     public void testContainsApplication() throws Exception
     {
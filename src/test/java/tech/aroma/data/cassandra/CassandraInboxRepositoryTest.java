@@ -37,7 +37,9 @@ import static org.junit.Assert.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.CollectionGenerators.listOf;
 import static tech.sirwellington.alchemy.generator.NumberGenerators.positiveLongs;
+import static tech.sirwellington.alchemy.generator.StringGenerators.uuids;
 import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
 import static tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC;
 import static tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.UUID;
@@ -83,6 +85,9 @@ public class CassandraInboxRepositoryTest
     @Mock
     private Row row;
 
+    @Mock
+    private ResultSetFuture future;
+
     @Captor
     private ArgumentCaptor<Statement> captor;
 
@@ -116,6 +121,15 @@ public class CassandraInboxRepositoryTest
         
         when(messageMapper.apply(row)).thenReturn(message);
 
+        when(cassandra.executeAsync(any(Statement.class))).thenReturn(future);
+
+        doAnswer(invocation ->
+        {
+            Runnable listener = (Runnable) invocation.getArguments()[0];
+            listener.run();
+            return null;
+        })
+            .when(future).addListener(any(Runnable.class), any());
     }
 
     @DontRepeat
@@ -141,6 +155,36 @@ public class CassandraInboxRepositoryTest
         assertThat(statement, is(instanceOf(Insert.Options.class)));
     }
 
+    @Test
+    public void testSaveMessageForUsers() throws Exception
+    {
+        List<User> users = listOf(() -> new User().setUserId(one(uuids)), 20);
+
+        instance.saveMessageForUsers(users, message, lifetime);
+
+        verify(cassandra, times(users.size())).executeAsync(captor.capture());
+        verify(cassandra, never()).execute(any(Statement.class));
+
+        for (Statement statement : captor.getAllValues())
+        {
+            assertThat(statement, is(instanceOf(Insert.Options.class)));
+        }
+    }
+
+    @DontRepeat
+    @Test
+    public void testSaveMessageForUsersWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.saveMessageForUsers(Lists.emptyList(), message, lifetime))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        List<User> users = Lists.createFrom(user, new User(user).setUserId(badId));
+        assertThrows(() -> instance.saveMessageForUsers(users, message, lifetime))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        verify(cassandra, never()).executeAsync(any(Statement.class));
+    }
+
     @DontRepeat
     @Test
     public void testSaveMessageForUserWithBadArgs() throws Exception
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import com.datastax.driver.core.Host;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import tech.aroma.data.performance.StatementMetrics;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class CassandraLatencyTrackerTest
+{
+
+    @Mock
+    private Host host;
+
+    @GenerateString
+    private String appId;
+
+    private Statement statement;
+
+    private StatementMetrics metrics;
+
+    private CassandraLatencyTracker instance;
+
+    @Before
+    public void setUp()
+    {
+        statement = QueryBuilder.select().all().from("Messages").where(QueryBuilder.eq("app_id", appId));
+        metrics = StatementMetrics.forStatement(CassandraStatements.BACKEND, "SELECT Messages");
+
+        instance = new CassandraLatencyTracker();
+    }
+
+    @Test
+    public void testUpdate()
+    {
+        long callsBefore = metrics.getCalls();
+        long errorsBefore = metrics.getErrors();
+
+        instance.update(host, statement, null, 1_000_000);
+
+        assertThat(metrics.getCalls(), is(callsBefore + 1));
+        assertThat(metrics.getErrors(), is(errorsBefore));
+    }
+
+    @Test
+    public void testUpdateWithError()
+    {
+        long errorsBefore = metrics.getErrors();
+
+        instance.update(host, statement, new RuntimeException(), 1_000_000);
+
+        assertThat(metrics.getErrors(), is(errorsBefore + 1));
+    }
+
+}
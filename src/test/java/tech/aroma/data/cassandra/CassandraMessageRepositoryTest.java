@@ -17,6 +17,7 @@
 package tech.aroma.data.cassandra;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Function;
 
 import com.datastax.driver.core.*;
@@ -29,6 +30,7 @@ import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.thrift.*;
 import tech.aroma.thrift.Message;
 import tech.aroma.thrift.exceptions.InvalidArgumentException;
+import tech.aroma.thrift.exceptions.OperationFailedException;
 import tech.sirwellington.alchemy.test.junit.runners.*;
 
 import static org.hamcrest.Matchers.*;
@@ -190,6 +192,54 @@ public class CassandraMessageRepositoryTest
             .isInstanceOf(InvalidArgumentException.class);
     }
 
+    @Test
+    public void testFindMessage() throws Exception
+    {
+        Optional<Message> result = instance.findMessage(appId, messageId);
+        assertThat(result, is(Optional.of(message)));
+
+        verify(cassandra).execute(captor.capture());
+        assertThat(captor.getValue(), instanceOf(Select.class));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindMessageWhenNotExists() throws Exception
+    {
+        when(results.one()).thenReturn(null);
+
+        Optional<Message> result = instance.findMessage(appId, messageId);
+        assertThat(result, is(Optional.empty()));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindMessageWhenFails() throws Exception
+    {
+        when(cassandra.execute(any(Statement.class)))
+            .thenThrow(new IllegalArgumentException());
+
+        assertThrows(() -> instance.findMessage(appId, messageId))
+            .isInstanceOf(OperationFailedException.class);
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindMessageWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.findMessage("", messageId))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        assertThrows(() -> instance.findMessage(appId, ""))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        assertThrows(() -> instance.findMessage(badId, messageId))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        assertThrows(() -> instance.findMessage(appId, badId))
+            .isInstanceOf(InvalidArgumentException.class);
+    }
+
     @Test
     public void testDeleteMessage() throws Exception
     {
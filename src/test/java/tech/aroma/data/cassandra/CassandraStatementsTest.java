@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.aroma.data.performance.StatementMetrics;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class CassandraStatementsTest
+{
+
+    @GenerateString
+    private String userId;
+
+    @Test
+    public void testNameOfBuiltStatements()
+    {
+        Statement select = QueryBuilder.select().all().from("Aroma", "Messages").where(QueryBuilder.eq("user_id", userId));
+        assertThat(CassandraStatements.nameOf(select), is("SELECT Messages"));
+
+        Statement insert = QueryBuilder.insertInto(Tables.Inbox.TABLE_NAME).value("user_id", userId);
+        assertThat(CassandraStatements.nameOf(insert), is("INSERT " + Tables.Inbox.TABLE_NAME));
+
+        Statement delete = QueryBuilder.delete().all().from("Users").where(QueryBuilder.eq("user_id", userId));
+        assertThat(CassandraStatements.nameOf(delete), is("DELETE Users"));
+
+        Statement update = QueryBuilder.update("Users").with(QueryBuilder.set("name", userId));
+        assertThat(CassandraStatements.nameOf(update), is("UPDATE Users"));
+    }
+
+    @DontRepeat
+    @Test
+    public void testNameOfBatch()
+    {
+        assertThat(CassandraStatements.nameOf(new BatchStatement()), is(CassandraStatements.BATCH));
+        assertThat(CassandraStatements.nameOf("BEGIN BATCH INSERT INTO Users (a) VALUES (1); APPLY BATCH;"), is(CassandraStatements.BATCH));
+    }
+
+    @DontRepeat
+    @Test
+    public void testNameOfCQL()
+    {
+        assertThat(CassandraStatements.nameOf("select * from \"Aroma\".\"Messages\" where id = ?"), is("SELECT Messages"));
+        assertThat(CassandraStatements.nameOf("INSERT INTO Inbox(user_id) VALUES (?)"), is("INSERT Inbox"));
+        assertThat(CassandraStatements.nameOf("TRUNCATE Inbox"), is(StatementMetrics.OTHER));
+        assertThat(CassandraStatements.nameOf((String) null), is(StatementMetrics.OTHER));
+    }
+
+    @Test
+    public void testMetricsOf()
+    {
+        Statement select = QueryBuilder.select().all().from("Aroma", "Messages").where(QueryBuilder.eq("user_id", userId));
+
+        StatementMetrics metrics = CassandraStatements.metricsOf(select);
+        assertThat(metrics.getBackend(), is(CassandraStatements.BACKEND));
+        assertThat(metrics.getStatement(), is("SELECT Messages"));
+        assertThat(CassandraStatements.metricsOf(select), sameInstance(metrics));
+    }
+
+    @DontRepeat
+    @Test
+    public void testMetricsOfBatch()
+    {
+        StatementMetrics metrics = CassandraStatements.metricsOf(new BatchStatement());
+        assertThat(metrics.getStatement(), is(CassandraStatements.BATCH));
+    }
+
+}
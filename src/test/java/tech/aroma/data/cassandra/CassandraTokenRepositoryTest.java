@@ -17,6 +17,7 @@
 package tech.aroma.data.cassandra;
 
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 
@@ -175,6 +176,43 @@ public class CassandraTokenRepositoryTest
             .isInstanceOf(InvalidArgumentException.class);
     }
 
+    @Test
+    public void testFindToken() throws Exception
+    {
+        Optional<AuthenticationToken> result = instance.findToken(tokenId);
+        assertThat(result, is(Optional.of(token)));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindTokenWhenNotExists() throws Exception
+    {
+        when(results.one()).thenReturn(null);
+
+        Optional<AuthenticationToken> result = instance.findToken(tokenId);
+        assertThat(result, is(Optional.empty()));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindTokenWhenFails() throws Exception
+    {
+        setupForFailure();
+
+        assertThrows(() -> instance.findToken(tokenId))
+            .isInstanceOf(OperationFailedException.class);
+    }
+
+    @Test
+    public void testFindTokenWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.findToken(""))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        assertThrows(() -> instance.findToken(badId))
+            .isInstanceOf(InvalidArgumentException.class);
+    }
+
     @Test
     public void testSaveToken() throws Exception
     {
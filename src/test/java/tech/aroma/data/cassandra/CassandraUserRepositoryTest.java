@@ -16,11 +16,29 @@
 
 package tech.aroma.data.cassandra;
 
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
-import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner;
-import tech.sirwellington.alchemy.test.junit.runners.Repeat;
+import org.mockito.Mock;
+import tech.aroma.thrift.User;
+import tech.aroma.thrift.exceptions.InvalidArgumentException;
+import tech.aroma.thrift.exceptions.OperationFailedException;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows;
+import static tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC;
+import static tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.UUID;
 
 /**
  *
@@ -31,23 +49,50 @@ import tech.sirwellington.alchemy.test.junit.runners.Repeat;
 public class CassandraUserRepositoryTest 
 {
 
+    @Mock
+    private Session cassandra;
+
+    @Mock
+    private Function<Row, User> userMapper;
+
+    @Mock
+    private ResultSet results;
+
+    @Mock
+    private Row row;
+
+    @GeneratePojo
+    private User user;
+
+    @GenerateString(UUID)
+    private String userId;
+
+    @GenerateString(ALPHABETIC)
+    private String badId;
+
+    private CassandraUserRepository instance;
+
     @Before
     public void setUp() throws Exception
     {
         
         setupData();
         setupMocks();
+
+        instance = new CassandraUserRepository(cassandra, userMapper);
     }
 
 
     private void setupData() throws Exception
     {
-        
+        user.userId = userId;
     }
 
     private void setupMocks() throws Exception
     {
-        
+        when(cassandra.execute(any(Statement.class))).thenReturn(results);
+        when(results.one()).thenReturn(row);
+        when(userMapper.apply(row)).thenReturn(user);
     }
 
     @Test
@@ -60,6 +105,44 @@ public class CassandraUserRepositoryTest
     {
     }
 
+    @Test
+    public void testFindUser() throws Exception
+    {
+        Optional<User> result = instance.findUser(userId);
+        assertThat(result, is(Optional.of(user)));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindUserWhenNotExists() throws Exception
+    {
+        when(results.one()).thenReturn(null);
+
+        Optional<User> result = instance.findUser(userId);
+        assertThat(result, is(Optional.empty()));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindUserWhenFails() throws Exception
+    {
+        when(cassandra.execute(any(Statement.class)))
+            .thenThrow(new IllegalArgumentException());
+
+        assertThrows(() -> instance.findUser(userId))
+            .isInstanceOf(OperationFailedException.class);
+    }
+
+    @Test
+    public void testFindUserWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.findUser(""))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        assertThrows(() -> instance.findUser(badId))
+            .isInstanceOf(InvalidArgumentException.class);
+    }
+
     @Test
     public void testDeleteUser() throws Exception
     {
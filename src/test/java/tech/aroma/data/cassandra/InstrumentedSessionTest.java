@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.util.Arrays;
+
+import com.datastax.driver.core.*;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import tech.aroma.data.UserRepository;
+import tech.aroma.data.performance.*;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class InstrumentedSessionTest
+{
+
+    @Mock
+    private Session cassandra;
+
+    @Mock
+    private ResultSet results;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @GenerateString
+    private String userId;
+
+    private Session instance;
+
+    @Before
+    public void setUp()
+    {
+        instance = InstrumentedSession.wrap(cassandra);
+    }
+
+    @DontRepeat
+    @Test
+    public void testWrapWithBadArgs()
+    {
+        assertThrows(() -> InstrumentedSession.wrap(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DontRepeat
+    @Test
+    public void testWrapIsIdempotent()
+    {
+        assertThat(InstrumentedSession.wrap(instance), sameInstance(instance));
+    }
+
+    @Test
+    public void testDelegates()
+    {
+        when(cassandra.execute(statement)).thenReturn(results);
+
+        ResultSet result = instance.execute(statement);
+        assertThat(result, sameInstance(results));
+        verify(cassandra).execute(statement);
+    }
+
+    @Test
+    public void testCountsStatementsOfARepositoryCall() throws Exception
+    {
+        OperationMetrics operation = RepositoryMetrics.forRepository(UserRepository.class).operation("getUser");
+        long statementsBefore = operation.getStatements().getTotalStatements();
+
+        doAnswer(invocation ->
+        {
+            instance.execute(statement);
+            instance.executeAsync(statement);
+            instance.getLoggedKeyspace();
+            return null;
+        })
+            .when(userRepository).getUser(userId);
+
+        UserRepository measured = MeasuredRepositories.measure(UserRepository.class, userRepository);
+        measured.getUser(userId);
+
+        assertThat(operation.getStatements().getTotalStatements(), is(statementsBefore + 2));
+    }
+
+    @Test
+    public void testRecordsRetriesAndSpeculativeExecutions()
+    {
+        Statement select = QueryBuilder.select().all().from("Users").where(QueryBuilder.eq("user_id", userId));
+        StatementMetrics metrics = StatementMetrics.forStatement("cassandra", "SELECT Users");
+        long retriesBefore = metrics.getRetries();
+        long speculativeBefore = metrics.getSpeculativeExecutions();
+
+        ExecutionInfo info = mock(ExecutionInfo.class);
+        Host host = mock(Host.class);
+        when(info.getTriedHosts()).thenReturn(Arrays.asList(host, host, host));
+        when(info.getSpeculativeExecutions()).thenReturn(1);
+        when(results.getExecutionInfo()).thenReturn(info);
+        when(cassandra.execute(select)).thenReturn(results);
+
+        instance.execute(select);
+
+        assertThat(metrics.getRetries(), is(retriesBefore + 1));
+        assertThat(metrics.getSpeculativeExecutions(), is(speculativeBefore + 1));
+    }
+
+    @Test
+    public void testTracingIsDisabledAfterExecution()
+    {
+        double sampleRate = QueryTraces.getSampleRate();
+        QueryTraces.setSampleRate(1.0);
+
+        try
+        {
+            instance.execute(statement);
+        }
+        finally
+        {
+            QueryTraces.setSampleRate(sampleRate);
+        }
+
+        InOrder inOrder = inOrder(statement, cassandra);
+        inOrder.verify(statement).enableTracing();
+        inOrder.verify(cassandra).execute(statement);
+        inOrder.verify(statement).disableTracing();
+    }
+
+    @Test
+    public void testTracingIsDisabledWhenExecutionFails()
+    {
+        double sampleRate = QueryTraces.getSampleRate();
+        QueryTraces.setSampleRate(1.0);
+        when(cassandra.execute(statement)).thenThrow(new RuntimeException());
+
+        try
+        {
+            assertThrows(() -> instance.execute(statement)).isInstanceOf(RuntimeException.class);
+        }
+        finally
+        {
+            QueryTraces.setSampleRate(sampleRate);
+        }
+
+        verify(statement).disableTracing();
+    }
+
+    @DontRepeat
+    @Test
+    public void testToString()
+    {
+        assertThat(instance.toString(), containsString("Instrumented"));
+    }
+
+}
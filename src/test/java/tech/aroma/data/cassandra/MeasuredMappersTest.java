@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.cassandra;
+
+import java.util.function.Function;
+
+import com.datastax.driver.core.Row;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import tech.aroma.data.performance.StatementMetrics;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class MeasuredMappersTest
+{
+
+    @Mock
+    private Row row;
+
+    @GenerateString
+    private String name;
+
+    @GenerateString
+    private String value;
+
+    private StatementMetrics metrics;
+
+    @Before
+    public void setUp()
+    {
+        metrics = StatementMetrics.forStatement(CassandraStatements.MAPPING_BACKEND, name);
+    }
+
+    @DontRepeat
+    @Test
+    public void testMeasureWithBadArgs()
+    {
+        assertThrows(() -> MeasuredMappers.measure("", row -> value))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThrows(() -> MeasuredMappers.measure(name, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testMeasure()
+    {
+        Function<Row, String> mapper = MeasuredMappers.measure(name, row -> value);
+
+        assertThat(mapper.apply(row), is(value));
+        assertThat(metrics.getCalls(), is(1L));
+        assertThat(metrics.getRows(), is(1L));
+        assertThat(metrics.getErrors(), is(0L));
+    }
+
+    @Test
+    public void testMeasureWhenMapperThrows()
+    {
+        Function<Row, String> mapper = MeasuredMappers.measure(name, row ->
+        {
+            throw new IllegalStateException();
+        });
+
+        assertThrows(() -> mapper.apply(row))
+            .isInstanceOf(IllegalStateException.class);
+
+        assertThat(metrics.getErrors(), is(1L));
+    }
+
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.thrift.User;
 import tech.aroma.thrift.events.Event;
 import tech.aroma.thrift.exceptions.DoesNotExistException;
@@ -30,6 +31,7 @@ import tech.sirwellington.alchemy.test.junit.runners.*;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
 import static tech.aroma.thrift.generators.EventGenerators.events;
+import static tech.aroma.thrift.generators.UserGenerators.users;
 import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
 import static tech.sirwellington.alchemy.generator.CollectionGenerators.listOf;
 import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
@@ -99,6 +101,33 @@ public class MemoryActivityRepositoryTest
             .isInstanceOf(InvalidArgumentException.class);
     }
 
+    @Test
+    public void testSaveEvents() throws Exception
+    {
+        List<User> recipients = listOf(users(), 20);
+        
+        instance.saveEvents(event, recipients);
+        
+        for (User recipient : recipients)
+        {
+            assertThat(instance.getAllEventsFor(recipient), contains(event));
+        }
+    }
+
+    @DontRepeat
+    @Test
+    public void testSaveEventsWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.saveEvents(event, Lists.emptyList()))
+            .isInstanceOf(InvalidArgumentException.class);
+        
+        List<User> recipients = Lists.createFrom(user, new User());
+        assertThrows(() -> instance.saveEvents(event, recipients))
+            .isInstanceOf(InvalidArgumentException.class);
+        
+        assertThat(instance.containsEvent(eventId, user), is(false));
+    }
+
     @Test
     public void testGetEvent() throws Exception
     {
@@ -17,6 +17,7 @@
 package tech.aroma.data.memory;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.apache.thrift.TException;
 import org.junit.Before;
@@ -134,6 +135,26 @@ public class MemoryApplicationRepositoryTest
                 .isInstanceOf(TException.class);
     }
 
+    @Test
+    public void testFindApplication() throws Exception
+    {
+        instance.saveApplication(app);
+
+        Optional<Application> result = instance.findApplication(appId);
+        assertThat(result, is(Optional.of(app)));
+
+        String randomId = one(uuids);
+        assertThat(instance.findApplication(randomId), is(Optional.empty()));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindApplicationWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.findApplication(""))
+                .isInstanceOf(InvalidArgumentException.class);
+    }
+
     @Test
     public void testGetApplicationsOwnedBy() throws Exception
     {
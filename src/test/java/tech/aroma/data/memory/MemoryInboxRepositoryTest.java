@@ -22,6 +22,7 @@ import org.apache.thrift.TException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import sir.wellington.alchemy.collections.lists.Lists;
 import tech.aroma.thrift.Message;
 import tech.aroma.thrift.User;
 import tech.aroma.thrift.exceptions.InvalidArgumentException;
@@ -30,7 +31,9 @@ import tech.sirwellington.alchemy.test.junit.runners.*;
 import static java.util.stream.Collectors.toList;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
+import static tech.aroma.thrift.generators.UserGenerators.users;
 import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.CollectionGenerators.listOf;
 import static tech.sirwellington.alchemy.generator.StringGenerators.uuids;
 import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
 import static tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC;
@@ -103,6 +106,33 @@ public class MemoryInboxRepositoryTest
         assertThat(result, contains(message));
     }
     
+    @Test
+    public void testSaveMessageForUsers() throws Exception
+    {
+        List<User> recipients = listOf(users(), 20);
+
+        instance.saveMessageForUsers(recipients, message);
+
+        for (User recipient : recipients)
+        {
+            assertThat(instance.getMessagesForUser(recipient.userId), contains(message));
+        }
+    }
+
+    @DontRepeat
+    @Test
+    public void testSaveMessageForUsersWithBadArguments() throws Exception
+    {
+        assertThrows(() -> instance.saveMessageForUsers(Lists.emptyList(), message))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        List<User> recipients = Lists.createFrom(user, new User());
+        assertThrows(() -> instance.saveMessageForUsers(recipients, message))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        assertThat(instance.countInboxForUser(userId), is(0L));
+    }
+
     @DontRepeat
     public void testSaveMessageForUserWithBadArguments() throws Exception
     {
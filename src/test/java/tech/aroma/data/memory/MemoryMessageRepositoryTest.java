@@ -17,14 +17,18 @@
 package tech.aroma.data.memory;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 import org.apache.thrift.TException;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import sir.wellington.alchemy.collections.lists.Lists;
 import sir.wellington.alchemy.collections.sets.Sets;
+import tech.aroma.thrift.LengthOfTime;
 import tech.aroma.thrift.Message;
+import tech.aroma.thrift.TimeUnit;
 import tech.aroma.thrift.exceptions.InvalidArgumentException;
 import tech.aroma.thrift.exceptions.MessageDoesNotExistException;
 import tech.sirwellington.alchemy.test.junit.runners.*;
@@ -104,6 +108,30 @@ public class MemoryMessageRepositoryTest
             .isInstanceOf(InvalidArgumentException.class);
     }
 
+    @Test
+    public void testSaveMessages() throws Exception
+    {
+        LengthOfTime lifetime = new LengthOfTime(TimeUnit.MINUTES, 5);
+
+        instance.saveMessages(messages, lifetime);
+
+        for (Message saved : messages)
+        {
+            assertThat(instance.containsMessage(applicationId, saved.messageId), is(true));
+        }
+    }
+
+    @DontRepeat
+    @Test
+    public void testSaveMessagesWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.saveMessages(Lists.emptyList(), null))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        assertThrows(() -> instance.saveMessages(null, null))
+            .isInstanceOf(InvalidArgumentException.class);
+    }
+
     @Test
     public void testGetMessage() throws Exception
     {
@@ -132,6 +160,43 @@ public class MemoryMessageRepositoryTest
             .isInstanceOf(InvalidArgumentException.class);
     }
 
+    @Test
+    public void testFindMessage() throws Exception
+    {
+        instance.saveMessage(message);
+
+        Optional<Message> result = instance.findMessage(applicationId, messageId);
+        assertThat(result, is(Optional.of(message)));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindMessageWhenIdDoesNotExist() throws Exception
+    {
+        Optional<Message> result = instance.findMessage(applicationId, messageId);
+        assertThat(result, is(Optional.empty()));
+    }
+
+    @Test
+    public void testFindMessageWithDifferentApplication() throws Exception
+    {
+        instance.saveMessage(message);
+
+        Optional<Message> result = instance.findMessage(one(uuids), messageId);
+        assertThat(result, is(Optional.empty()));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindMessageWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.findMessage("", messageId))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        assertThrows(() -> instance.findMessage(applicationId, ""))
+            .isInstanceOf(InvalidArgumentException.class);
+    }
+
     @Test
     public void testDeleteMessage() throws Exception
     {
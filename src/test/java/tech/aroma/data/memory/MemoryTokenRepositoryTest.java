@@ -19,6 +19,7 @@ package tech.aroma.data.memory;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -126,6 +127,25 @@ public class MemoryTokenRepositoryTest
             .isInstanceOf(InvalidArgumentException.class);
     }
 
+    @Test
+    public void testFindToken() throws Exception
+    {
+        assertThat(repository.findToken(tokenId), is(Optional.empty()));
+
+        repository.saveToken(token);
+
+        Optional<AuthenticationToken> result = repository.findToken(tokenId);
+        assertThat(result, is(Optional.of(token)));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindTokenWithBadArgs() throws Exception
+    {
+        assertThrows(() -> repository.findToken(""))
+            .isInstanceOf(InvalidArgumentException.class);
+    }
+
     @DontRepeat
     @TimeSensitive
     @Test
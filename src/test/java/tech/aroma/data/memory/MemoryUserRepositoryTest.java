@@ -17,6 +17,7 @@
 package tech.aroma.data.memory;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -104,6 +105,33 @@ public class MemoryUserRepositoryTest
             .isInstanceOf(InvalidArgumentException.class);
     }
 
+    @Test
+    public void testFindUser() throws Exception
+    {
+        instance.saveUser(user);
+
+        Optional<User> result = instance.findUser(userId);
+        assertThat(result, is(Optional.of(user)));
+    }
+
+    @Test
+    public void testFindUserWhenNotExists() throws Exception
+    {
+        Optional<User> result = instance.findUser(userId);
+        assertThat(result, is(Optional.empty()));
+    }
+
+    @DontRepeat
+    @Test
+    public void testFindUserWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.findUser(null))
+            .isInstanceOf(InvalidArgumentException.class);
+
+        assertThrows(() -> instance.findUser(""))
+            .isInstanceOf(InvalidArgumentException.class);
+    }
+
     @Test
     public void testDeleteUser() throws Exception
     {
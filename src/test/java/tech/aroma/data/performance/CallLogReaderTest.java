@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.io.*;
+import java.lang.reflect.Method;
+import java.util.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.aroma.data.MediaRepository;
+import tech.aroma.data.TokenRepository;
+import tech.aroma.thrift.Dimension;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class CallLogReaderTest
+{
+
+    @GenerateString
+    private String mediaId;
+
+    @GenerateString
+    private String thread;
+
+    private long startTime;
+
+    private Method getThumbnail;
+    private Method deleteTokens;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        startTime = System.currentTimeMillis();
+
+        getThumbnail = MediaRepository.class.getMethod("getThumbnail", String.class, Dimension.class);
+        deleteTokens = TokenRepository.class.getMethod("deleteTokens", List.class);
+    }
+
+    @DontRepeat
+    @Test
+    public void testConstructorWithBadArgs() throws Exception
+    {
+        assertThrows(() -> new CallLogReader(null))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThrows(() -> new CallLogReader(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 })))
+            .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    public void testReadsWhatWasWritten() throws Exception
+    {
+        Dimension dimension = new Dimension(640, 480);
+        List<String> tokenIds = Arrays.asList(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (CallLogWriter writer = new CallLogWriter(bytes, startTime))
+        {
+            writer.write(10, thread, getThumbnail, new Object[] { mediaId, dimension });
+            writer.write(20, thread, deleteTokens, new Object[] { tokenIds });
+            writer.write(30, thread, getThumbnail, new Object[] { mediaId, dimension });
+        }
+
+        CallLogReader reader = new CallLogReader(new ByteArrayInputStream(bytes.toByteArray()));
+        assertThat(reader.getStartTime().toEpochMilli(), is(startTime));
+
+        RecordedCall first = reader.next();
+        assertThat(first.getOffsetNanos(), is(10L));
+        assertThat(first.getThread(), is(thread));
+        assertThat(first.getMethod(), is(getThumbnail));
+        assertThat(first.getArguments(), arrayContaining(mediaId, dimension));
+
+        RecordedCall second = reader.next();
+        assertThat(second.getMethod(), is(deleteTokens));
+        assertThat(second.getArguments()[0], is(tokenIds));
+
+        RecordedCall third = reader.next();
+        assertThat(third.getOffsetNanos(), is(30L));
+        assertThat(third.getArguments(), arrayContaining(mediaId, dimension));
+
+        assertThat(reader.next(), nullValue());
+    }
+
+    @Test
+    public void testUnsupportedArgumentsAreReadAsNull() throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (CallLogWriter writer = new CallLogWriter(bytes, startTime))
+        {
+            writer.write(0, thread, getThumbnail, new Object[] { mediaId, new Object() });
+        }
+
+        CallLogReader reader = new CallLogReader(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertThat(reader.next().getArguments(), arrayContaining(mediaId, null));
+    }
+
+    @DontRepeat
+    @Test
+    public void testMethodKeys() throws Exception
+    {
+        String key = CallLog.keyOf(getThumbnail);
+
+        assertThat(key, is("tech.aroma.data.MediaRepository#getThumbnail(java.lang.String,tech.aroma.thrift.Dimension)"));
+        assertThat(CallLog.methodOf(key), is(getThumbnail));
+    }
+
+    @Test
+    public void testVarLongs() throws Exception
+    {
+        long value = new Random().nextLong() & Long.MAX_VALUE;
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CallLogWriter.writeVarLong(new DataOutputStream(bytes), value);
+
+        long result = CallLogReader.readVarLong(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertThat(result, is(value));
+    }
+
+}
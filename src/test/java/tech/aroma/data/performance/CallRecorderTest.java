@@ -0,0 +1,260 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.aroma.data.CredentialRepository;
+import tech.aroma.data.InboxRepository;
+import tech.aroma.data.MessageRepository;
+import tech.aroma.data.TokenRepository;
+import tech.aroma.thrift.LengthOfTime;
+import tech.aroma.thrift.Message;
+import tech.aroma.thrift.TimeUnit;
+import tech.aroma.thrift.User;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class CallRecorderTest
+{
+
+    @GeneratePojo
+    private Message message;
+
+    @GeneratePojo
+    private User user;
+
+    @GenerateString
+    private String userId;
+
+    @GenerateString(GenerateString.Type.ALPHANUMERIC)
+    private String password;
+
+    private LengthOfTime lifetime;
+
+    private Method saveMessage;
+    private Method countInbox;
+
+    private Path file;
+
+    private CallRecorder instance;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        lifetime = new LengthOfTime(TimeUnit.DAYS, 2);
+
+        saveMessage = MessageRepository.class.getMethod("saveMessage", Message.class, LengthOfTime.class);
+        countInbox = InboxRepository.class.getMethod("countInboxForUser", String.class);
+
+        file = Files.createTempFile("calls", ".log");
+
+        instance = new CallRecorder(16);
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        instance.stop();
+        Files.deleteIfExists(file);
+    }
+
+    @DontRepeat
+    @Test
+    public void testConstructorWithBadArgs()
+    {
+        assertThrows(() -> new CallRecorder(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRecordWhenNotRecording() throws Exception
+    {
+        instance.record(countInbox, new Object[] { userId });
+
+        assertThat(instance.isRecording(), is(false));
+        assertThat(instance.getRecorded(), is(0L));
+        assertThat(instance.getDropped(), is(0L));
+    }
+
+    @Test
+    public void testRecordAndReadBack() throws Exception
+    {
+        instance.start(file);
+        assertThat(instance.isRecording(), is(true));
+        assertThat(instance.getFile(), is(file));
+
+        instance.record(saveMessage, new Object[] { message, lifetime });
+        instance.record(countInbox, new Object[] { userId });
+        instance.stop();
+
+        assertThat(instance.isRecording(), is(false));
+        assertThat(instance.getRecorded(), is(2L));
+
+        List<RecordedCall> calls = readAll();
+        assertThat(calls, hasSize(2));
+
+        RecordedCall first = calls.get(0);
+        assertThat(first.getMethod(), is(saveMessage));
+        assertThat(first.getArguments(), arrayContaining(withoutBody(message), lifetime));
+        assertThat(first.getThread(), is(Thread.currentThread().getName()));
+
+        RecordedCall second = calls.get(1);
+        assertThat(second.getMethod(), is(countInbox));
+        assertThat(second.getArguments(), arrayContaining(userId));
+        assertThat(second.getOffsetNanos(), greaterThanOrEqualTo(first.getOffsetNanos()));
+    }
+
+    @Test
+    public void testRecordsNulls() throws Exception
+    {
+        Method saveForUsers = InboxRepository.class.getMethod("saveMessageForUser", User.class, Message.class, LengthOfTime.class);
+
+        instance.start(file);
+        instance.record(saveForUsers, new Object[] { user, message, null });
+        instance.stop();
+
+        RecordedCall call = readAll().get(0);
+        assertThat(call.getArguments(), arrayContaining(user, withoutBody(message), null));
+    }
+
+    @Test
+    public void testRecordCopiesArguments() throws Exception
+    {
+        Message expected = withoutBody(message);
+
+        instance.start(file);
+        instance.record(saveMessage, new Object[] { message, lifetime });
+
+        //The caller is free to change the Message once the call is made
+        message.setTitle(message.title + "-changed");
+        lifetime.setValue(lifetime.value + 1);
+
+        instance.stop();
+
+        RecordedCall call = readAll().get(0);
+        assertThat(call.getArguments(), arrayContaining(expected, new LengthOfTime(TimeUnit.DAYS, 2)));
+    }
+
+    @Test
+    public void testDoesNotRecordSecrets() throws Exception
+    {
+        Method savePassword = CredentialRepository.class.getMethod("saveEncryptedPassword", String.class, String.class);
+        Method deleteToken = TokenRepository.class.getMethod("deleteToken", String.class);
+
+        instance.start(file);
+        instance.record(savePassword, new Object[] { userId, password });
+        instance.record(deleteToken, new Object[] { password });
+        instance.record(countInbox, new Object[] { userId });
+        instance.stop();
+
+        List<RecordedCall> calls = readAll();
+        assertThat(calls, hasSize(1));
+        assertThat(calls.get(0).getMethod(), is(countInbox));
+
+        byte[] log = Files.readAllBytes(file);
+        assertThat(new String(log, StandardCharsets.UTF_8), not(containsString(password)));
+    }
+
+    @Test
+    public void testDoesNotRecordMessageBodies() throws Exception
+    {
+        Method saveMessages = MessageRepository.class.getMethod("saveMessages", List.class, LengthOfTime.class);
+
+        instance.start(file);
+        instance.record(saveMessages, new Object[] { Collections.singletonList(message), lifetime });
+        instance.stop();
+
+        RecordedCall call = readAll().get(0);
+        assertThat(call.getArguments()[0], is(Collections.singletonList(withoutBody(message))));
+
+        byte[] log = Files.readAllBytes(file);
+        assertThat(new String(log, StandardCharsets.UTF_8), not(containsString(message.body)));
+    }
+
+    @Test
+    public void testStartWhenAlreadyRecording() throws Exception
+    {
+        instance.start(file);
+
+        assertThrows(() -> instance.start(file))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @DontRepeat
+    @Test
+    public void testStartWithBadArgs() throws Exception
+    {
+        assertThrows(() -> instance.start(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testStopWhenNotRecording() throws Exception
+    {
+        instance.stop();
+
+        assertThat(instance.isRecording(), is(false));
+        assertThat(instance.getFile(), nullValue());
+    }
+
+    private static Message withoutBody(Message message)
+    {
+        Message copy = message.deepCopy();
+        copy.unsetBody();
+        return copy;
+    }
+
+    private List<RecordedCall> readAll() throws Exception
+    {
+        List<RecordedCall> calls = new ArrayList<>();
+
+        try (InputStream in = Files.newInputStream(file);
+             CallLogReader reader = new CallLogReader(in))
+        {
+            RecordedCall call;
+
+            while ((call = reader.next()) != null)
+            {
+                calls.add(call);
+            }
+        }
+
+        return calls;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.NumberGenerators.integers;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner.class)
+public class CountMinSketchTest
+{
+
+    @GenerateString
+    private String key;
+
+    private int occurrences;
+
+    private CountMinSketch instance;
+
+    @Before
+    public void setUp()
+    {
+        instance = new CountMinSketch(4, 1_000);
+        occurrences = one(integers(1, 500));
+    }
+
+    @Test
+    public void testAddAndEstimate()
+    {
+        long estimate = 0;
+
+        for (int i = 0; i < occurrences; ++i)
+        {
+            estimate = instance.addAndEstimate(key);
+        }
+
+        assertThat(estimate, greaterThanOrEqualTo((long) occurrences));
+        assertThat(instance.estimate(key), is(estimate));
+    }
+
+    @Test
+    public void testEstimateNeverUndercounts()
+    {
+        for (int i = 0; i < 10_000; ++i)
+        {
+            instance.addAndEstimate("noise-" + i);
+        }
+
+        for (int i = 0; i < occurrences; ++i)
+        {
+            instance.addAndEstimate(key);
+        }
+
+        assertThat(instance.estimate(key), greaterThanOrEqualTo((long) occurrences));
+    }
+
+    @Test
+    public void testReset()
+    {
+        instance.addAndEstimate(key);
+        instance.reset();
+
+        assertThat(instance.estimate(key), is(0L));
+    }
+
+}
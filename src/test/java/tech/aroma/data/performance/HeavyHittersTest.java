@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.aroma.data.performance.HeavyHitters.KeyFrequency;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class HeavyHittersTest
+{
+
+    private static final int TOP_K = 5;
+
+    @GenerateString
+    private String keyType;
+
+    private HeavyHitters instance;
+
+    @Before
+    public void setUp()
+    {
+        instance = new HeavyHitters(keyType, TOP_K);
+    }
+
+    @DontRepeat
+    @Test
+    public void testConstructorWithBadArgs()
+    {
+        assertThrows(() -> new HeavyHitters(keyType, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testTopFindsTheChattiestKeys()
+    {
+        for (int round = 0; round < 200; ++round)
+        {
+            for (int hot = 0; hot < TOP_K; ++hot)
+            {
+                instance.record("hot-" + hot);
+            }
+
+            for (int cold = 0; cold < 20; ++cold)
+            {
+                instance.record("cold-" + round + "-" + cold);
+            }
+        }
+
+        List<KeyFrequency> result = instance.top();
+        assertThat(result.size(), is(TOP_K));
+
+        List<String> keys = result.stream().map(KeyFrequency::getKey).collect(Collectors.toList());
+        assertThat(keys, containsInAnyOrder("hot-0", "hot-1", "hot-2", "hot-3", "hot-4"));
+
+        for (KeyFrequency key : result)
+        {
+            assertThat(key.getEstimatedCount(), greaterThanOrEqualTo(200L));
+        }
+    }
+
+    @Test
+    public void testTopIsSortedByFrequency()
+    {
+        for (int i = 0; i < 30; ++i)
+        {
+            instance.record("first");
+        }
+
+        for (int i = 0; i < 10; ++i)
+        {
+            instance.record("second");
+        }
+
+        List<KeyFrequency> result = instance.top();
+        assertThat(result.get(0).getKey(), is("first"));
+        assertThat(result.get(1).getKey(), is("second"));
+    }
+
+    @Test
+    public void testRecordIgnoresEmptyKeys()
+    {
+        instance.record(null);
+        instance.record("");
+
+        assertThat(instance.top(), is(empty()));
+    }
+
+    @Test
+    public void testReset()
+    {
+        instance.record("key");
+        instance.reset();
+
+        assertThat(instance.top(), is(empty()));
+        assertThat(instance.estimate("key"), is(0L));
+    }
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import tech.aroma.data.MessageRepository;
+import tech.aroma.data.TokenRepository;
+import tech.aroma.data.UserRepository;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class HotKeysTest
+{
+
+    @Mock
+    private UserRepository delegate;
+
+    @Mock
+    private TokenRepository tokenRepository;
+
+    @GenerateString
+    private String userId;
+
+    @GenerateString
+    private String tokenId;
+
+    private UserRepository instance;
+
+    @Before
+    public void setUp()
+    {
+        instance = MeasuredRepositories.measure(UserRepository.class, delegate);
+    }
+
+    @Test
+    public void testForKeyType()
+    {
+        HeavyHitters result = HotKeys.forKeyType(HotKeys.USER_ID);
+
+        assertThat(result.getKeyType(), is(HotKeys.USER_ID));
+        assertThat(HotKeys.forKeyType(HotKeys.USER_ID), sameInstance(result));
+        assertThat(HotKeys.all(), hasItem(result));
+    }
+
+    @DontRepeat
+    @Test
+    public void testForKeyTypeWithBadArgs()
+    {
+        assertThrows(() -> HotKeys.forKeyType(""))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testReadsThroughMeasuredRepositoryAreTracked() throws Exception
+    {
+        HeavyHitters users = HotKeys.forKeyType(HotKeys.USER_ID);
+        long before = users.estimate(userId);
+
+        instance.getUser(userId);
+        instance.containsUser(userId);
+        instance.findUser(userId);
+
+        assertThat(users.estimate(userId), greaterThanOrEqualTo(before + 3));
+    }
+
+    @Test
+    public void testTokensAreNotTracked() throws Exception
+    {
+        TokenRepository measured = MeasuredRepositories.measure(TokenRepository.class, tokenRepository);
+
+        measured.getToken(tokenId);
+        measured.containsToken(tokenId);
+        measured.findToken(tokenId);
+
+        for (HeavyHitters tracker : HotKeys.all())
+        {
+            for (HeavyHitters.KeyFrequency key : tracker.top())
+            {
+                assertThat(key.getKey(), not(tokenId));
+            }
+        }
+    }
+
+    @DontRepeat
+    @Test
+    public void testTrackersFor() throws Exception
+    {
+        HeavyHitters[] getUser = HotKeys.trackersFor(UserRepository.class,
+                                                     UserRepository.class.getMethod("getUser", String.class));
+        assertThat(getUser.length, is(1));
+        assertThat(getUser[0], sameInstance(HotKeys.forKeyType(HotKeys.USER_ID)));
+
+        HeavyHitters[] saveUser = HotKeys.trackersFor(UserRepository.class,
+                                                      UserRepository.class.getMethod("deleteUser", String.class));
+        assertThat(saveUser, nullValue());
+
+        HeavyHitters[] findMessage = HotKeys.trackersFor(MessageRepository.class,
+                                                         MessageRepository.class.getMethod("findMessage", String.class, String.class));
+        assertThat(findMessage[0], sameInstance(HotKeys.forKeyType(HotKeys.APPLICATION_ID)));
+
+        HeavyHitters[] getToken = HotKeys.trackersFor(TokenRepository.class,
+                                                      TokenRepository.class.getMethod("getToken", String.class));
+        assertThat(getToken, nullValue());
+    }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.NumberGenerators.longs;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner.class)
+public class LatencyHistogramTest
+{
+
+    private LatencyHistogram instance;
+
+    @Before
+    public void setUp()
+    {
+        instance = new LatencyHistogram();
+    }
+
+    @DontRepeat
+    @Test
+    public void testSnapshotWhenEmpty()
+    {
+        LatencySnapshot result = instance.snapshot();
+
+        assertThat(result.getCount(), is(0L));
+        assertThat(result.getMaxNanos(), is(0L));
+        assertThat(result.getP50Nanos(), is(0L));
+        assertThat(result.getP999Nanos(), is(0L));
+    }
+
+    @Test
+    public void testRecord()
+    {
+        long latency = one(longs(1, TimeUnit.SECONDS.toNanos(10)));
+
+        instance.record(latency);
+
+        LatencySnapshot result = instance.snapshot();
+        assertThat(result.getCount(), is(1L));
+        assertThat(result.getSumNanos(), is(latency));
+        assertThat(result.getMaxNanos(), is(latency));
+        assertThat(result.getP50Nanos(), is(latency));
+        assertThat(result.getP999Nanos(), is(latency));
+    }
+
+    @DontRepeat
+    @Test
+    public void testPercentiles()
+    {
+        for (long i = 1; i <= 1_000; ++i)
+        {
+            instance.record(i, TimeUnit.MICROSECONDS);
+        }
+
+        LatencySnapshot result = instance.snapshot();
+        assertThat(result.getCount(), is(1_000L));
+        assertThat(result.getMaxNanos(), is(TimeUnit.MICROSECONDS.toNanos(1_000)));
+
+        assertThat((double) result.getP50Nanos(), closeTo(TimeUnit.MICROSECONDS.toNanos(500), 0.016 * 500_000));
+        assertThat((double) result.getP90Nanos(), closeTo(TimeUnit.MICROSECONDS.toNanos(900), 0.016 * 900_000));
+        assertThat((double) result.getP99Nanos(), closeTo(TimeUnit.MICROSECONDS.toNanos(990), 0.016 * 990_000));
+        assertThat((double) result.getP999Nanos(), closeTo(TimeUnit.MICROSECONDS.toNanos(999), 0.016 * 999_000));
+    }
+
+    @Test
+    public void testRecordAboveHighestTrackableValue()
+    {
+        long latency = LatencyHistogram.HIGHEST_TRACKABLE_NANOS + one(longs(1, 1_000_000));
+
+        instance.record(latency);
+
+        LatencySnapshot result = instance.snapshot();
+        assertThat(result.getCount(), is(1L));
+        assertThat(result.getMaxNanos(), is(latency));
+    }
+
+    @DontRepeat
+    @Test
+    public void testRecordWithNegativeValue()
+    {
+        instance.record(-1);
+
+        LatencySnapshot result = instance.snapshot();
+        assertThat(result.getCount(), is(1L));
+        assertThat(result.getMaxNanos(), is(0L));
+    }
+
+    @Test
+    public void testSnapshotAndReset()
+    {
+        long latency = one(longs(1, TimeUnit.SECONDS.toNanos(1)));
+        instance.record(latency);
+
+        LatencySnapshot first = instance.snapshotAndReset();
+        assertThat(first.getCount(), is(1L));
+        assertThat(first.getMaxNanos(), is(latency));
+
+        LatencySnapshot second = instance.snapshot();
+        assertThat(second.getCount(), is(0L));
+        assertThat(second.getSumNanos(), is(0L));
+        assertThat(second.getMaxNanos(), is(0L));
+    }
+
+    @Test
+    public void testBucketsAreContiguous()
+    {
+        long value = one(longs(0, LatencyHistogram.HIGHEST_TRACKABLE_NANOS));
+        int index = LatencyHistogram.indexOf(value);
+
+        assertThat(LatencyHistogram.lowestValueIn(index), lessThanOrEqualTo(value));
+        assertThat(LatencyHistogram.highestValueIn(index), greaterThanOrEqualTo(value));
+        assertThat(LatencyHistogram.lowestValueIn(index + 1), is(LatencyHistogram.highestValueIn(index) + 1));
+    }
+
+}
@@ -17,6 +17,7 @@
 package tech.aroma.data.performance;
 
 import java.util.List;
+import java.util.Optional;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -136,6 +137,18 @@ public class MeasuredApplicationRepositoryTest
         verify(delegate).getById(appId);
     }
 
+    @Test
+    public void testFindApplication() throws Exception
+    {
+        when(delegate.findApplication(appId))
+            .thenReturn(Optional.of(application));
+        
+        Optional<Application> result = instance.findApplication(appId);
+        assertThat(result, is(Optional.of(application)));
+        
+        verify(delegate).findApplication(appId);
+    }
+
     @Test
     public void testContainsApplication() throws Exception
     {
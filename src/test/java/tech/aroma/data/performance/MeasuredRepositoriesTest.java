@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.List;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import tech.aroma.data.InboxRepository;
+import tech.aroma.data.TokenRepository;
+import tech.aroma.data.memory.ModuleMemoryDataRepositories;
+import tech.aroma.thrift.Message;
+import tech.aroma.thrift.exceptions.OperationFailedException;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class MeasuredRepositoriesTest
+{
+
+    @Mock
+    private InboxRepository delegate;
+
+    @GenerateList(Message.class)
+    private List<Message> messages;
+
+    @GenerateString
+    private String userId;
+
+    @GenerateString
+    private String appId;
+
+    private RepositoryMetrics metrics;
+
+    private InboxRepository instance;
+
+    @Before
+    public void setUp()
+    {
+        metrics = RepositoryMetrics.forRepository(InboxRepository.class);
+        instance = MeasuredRepositories.measure(InboxRepository.class, delegate);
+    }
+
+    @DontRepeat
+    @Test
+    public void testMeasureWithBadArgs()
+    {
+        assertThrows(() -> MeasuredRepositories.measure(null, delegate))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThrows(() -> MeasuredRepositories.measure(InboxRepository.class, null))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThrows(() -> MeasuredRepositories.measure(Object.class, new Object()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testMeasure() throws Exception
+    {
+        OperationMetrics operation = metrics.operation("getMessagesForUser/1");
+        long callsBefore = operation.getCalls();
+        long errorsBefore = operation.getErrors();
+
+        when(delegate.getMessagesForUser(userId)).thenReturn(messages);
+
+        List<Message> result = instance.getMessagesForUser(userId);
+        assertThat(result, is(messages));
+        verify(delegate).getMessagesForUser(userId);
+
+        assertThat(operation.getCalls(), is(callsBefore + 1));
+        assertThat(operation.getErrors(), is(errorsBefore));
+        assertThat(operation.getInFlight(), is(0L));
+    }
+
+    @Test
+    public void testOverloadsAreMeasuredSeparately() throws Exception
+    {
+        OperationMetrics byUser = metrics.operation("getMessagesForUser/1");
+        OperationMetrics byUserAndApp = metrics.operation("getMessagesForUser/2");
+        long byUserBefore = byUser.getCalls();
+        long byUserAndAppBefore = byUserAndApp.getCalls();
+
+        instance.getMessagesForUser(userId, appId);
+        verify(delegate).getMessagesForUser(userId, appId);
+
+        assertThat(byUserAndApp.getCalls(), is(byUserAndAppBefore + 1));
+        assertThat(byUser.getCalls(), is(byUserBefore));
+        assertThat(metrics.operation("countInboxForUser").getOperationName(), is("countInboxForUser"));
+    }
+
+    @Test
+    public void testMeasureWhenDelegateThrows() throws Exception
+    {
+        OperationMetrics operation = metrics.operation("countInboxForUser");
+        long callsBefore = operation.getCalls();
+        long errorsBefore = operation.getErrors();
+
+        when(delegate.countInboxForUser(userId)).thenThrow(new OperationFailedException());
+
+        assertThrows(() -> instance.countInboxForUser(userId))
+            .isInstanceOf(OperationFailedException.class);
+
+        assertThat(operation.getCalls(), is(callsBefore + 1));
+        assertThat(operation.getErrors(), is(errorsBefore + 1));
+        assertThat(operation.getInFlight(), is(0L));
+    }
+
+    @DontRepeat
+    @Test
+    public void testObjectMethods()
+    {
+        assertThat(instance, is(instance));
+        assertThat(instance, not(MeasuredRepositories.measure(InboxRepository.class, delegate)));
+        assertThat(instance.toString(), containsString("Measured"));
+    }
+
+    @DontRepeat
+    @Test
+    public void testBind()
+    {
+        Injector injector = Guice.createInjector(new ModuleMemoryDataRepositories());
+
+        TokenRepository first = injector.getInstance(TokenRepository.class);
+        TokenRepository second = injector.getInstance(TokenRepository.class);
+
+        assertThat(first, notNullValue());
+        assertThat(first, sameInstance(second));
+        assertThat(first.toString(), containsString("Measured"));
+    }
+
+}
@@ -16,6 +16,8 @@
 
 package tech.aroma.data.performance;
 
+import java.util.Optional;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -114,6 +116,17 @@ public class MeasuredUserRepositoryTest
             .isInstanceOf(OperationFailedException.class);
     }
 
+    @Test
+    public void testFindUser() throws Exception
+    {
+        when(delegate.findUser(userId))
+            .thenReturn(Optional.of(user));
+        
+        Optional<User> result = instance.findUser(userId);
+        assertThat(result, is(Optional.of(user)));
+        verify(delegate).findUser(userId);
+    }
+
     @Test
     public void testDeleteUser() throws Exception
     {
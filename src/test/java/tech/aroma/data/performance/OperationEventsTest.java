@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.aroma.thrift.authentication.AuthenticationToken;
+import tech.aroma.thrift.exceptions.InvalidTokenException;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner.class)
+public class OperationEventsTest
+{
+
+    @GeneratePojo
+    private AuthenticationToken token;
+
+    @GenerateList(AuthenticationToken.class)
+    private List<AuthenticationToken> tokens;
+
+    @Test
+    public void testSink()
+    {
+        boolean jfrAvailable = isJfrAvailable();
+
+        assertThat(OperationEvents.sink() != null, is(jfrAvailable));
+    }
+
+    @Test
+    public void testRowCountOf()
+    {
+        assertThat(OperationEvents.rowCountOf(tokens, null), is((long) tokens.size()));
+        assertThat(OperationEvents.rowCountOf(token, null), is(1L));
+        assertThat(OperationEvents.rowCountOf(null, null), is(-1L));
+        assertThat(OperationEvents.rowCountOf(true, null), is(-1L));
+        assertThat(OperationEvents.rowCountOf(null, new InvalidTokenException()), is(0L));
+    }
+
+    @Test
+    public void testBackendOf()
+    {
+        assertThat(OperationEvents.backendOf(SQLLikeRepository.class), is("sql"));
+        assertThat(OperationEvents.backendOf(String.class), is("String"));
+    }
+
+    @Test
+    @DontRepeat
+    public void testCannotInstantiate()
+    {
+        assertThrows(() -> new OperationEvents())
+            .isInstanceOf(IllegalAccessException.class);
+    }
+
+    private static boolean isJfrAvailable()
+    {
+        try
+        {
+            Class.forName("jdk.jfr.Event");
+            Class.forName(OperationEvents.JFR_SINK);
+            return true;
+        }
+        catch (ClassNotFoundException ex)
+        {
+            return false;
+        }
+    }
+
+    private static class SQLLikeRepository
+    {
+    }
+
+}
@@ -98,4 +98,41 @@ public class OperationsTest
         assertThat(result, is(value));
     }
 
+    @Test
+    public void testMeasure() throws Exception
+    {
+        RepositoryMetrics metrics = RepositoryMetrics.forRepository(OperationsTest.class);
+        long countBefore = metrics.latencyOf(operationName).snapshot().getCount();
+
+        Operation<Integer> operation = mock(Operation.class);
+        when(operation.call()).thenReturn(value);
+
+        Integer result = Operations.measure(operation, operationName, metrics);
+        assertThat(result, is(value));
+
+        long countAfter = metrics.latencyOf(operationName).snapshot().getCount();
+        assertThat(countAfter, is(countBefore + 1));
+        assertThat(metrics.operation(operationName).getInFlight(), is(0L));
+    }
+
+    @Test
+    public void testMeasureWhenOperationThrows() throws Exception
+    {
+        RepositoryMetrics metrics = RepositoryMetrics.forRepository(OperationsTest.class);
+        long countBefore = metrics.latencyOf(operationName).snapshot().getCount();
+        long errorsBefore = metrics.operation(operationName).getErrors();
+
+        VoidOperation operation = () ->
+        {
+            throw new TException();
+        };
+
+        assertThrows(() -> Operations.measure(operation, operationName, metrics))
+            .isInstanceOf(TException.class);
+
+        long countAfter = metrics.latencyOf(operationName).snapshot().getCount();
+        assertThat(countAfter, is(countBefore + 1));
+        assertThat(metrics.operation(operationName).getErrors(), is(errorsBefore + 1));
+    }
+
 }
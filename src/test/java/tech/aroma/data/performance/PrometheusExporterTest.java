@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.io.StringWriter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.aroma.data.InboxRepository;
+import tech.aroma.data.UserPreferencesRepository;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner.class)
+public class PrometheusExporterTest
+{
+
+    private RepositoryMetrics metrics;
+
+    @Before
+    public void setUp()
+    {
+        metrics = RepositoryMetrics.forRepository(InboxRepository.class);
+
+        OperationMetrics operation = metrics.operation("getMessagesForUser");
+        long start = operation.started();
+        operation.finished(start, false);
+    }
+
+    @Test
+    public void testScrape()
+    {
+        String result = PrometheusExporter.scrape();
+
+        assertThat(result, containsString("# TYPE aroma_repository_latency_seconds summary\n"));
+        assertThat(result, containsString("aroma_repository_calls_total{repo=\"inbox\",method=\"getMessagesForUser\"} "));
+        assertThat(result, containsString("aroma_repository_errors_total{repo=\"inbox\",method=\"getMessagesForUser\"} "));
+        assertThat(result, containsString("aroma_repository_latency_seconds{repo=\"inbox\",method=\"getMessagesForUser\",quantile=\"0.99\"} "));
+        assertThat(result, containsString("aroma_repository_latency_seconds_count{repo=\"inbox\",method=\"getMessagesForUser\"} "));
+        assertThat(result, endsWith("\n"));
+    }
+
+    @Test
+    public void testWrite() throws Exception
+    {
+        StringWriter writer = new StringWriter();
+        PrometheusExporter.write(writer);
+
+        assertThat(writer.toString(), containsString("aroma_repository_in_flight{repo=\"inbox\",method=\"getMessagesForUser\"} 0\n"));
+    }
+
+    @Test
+    public void testHotKeysAreExportedByRankWithoutTheirIDs()
+    {
+        String userId = "hot-key-" + System.nanoTime();
+        HotKeys.forKeyType(HotKeys.USER_ID).record(userId);
+
+        String result = PrometheusExporter.scrape();
+
+        assertThat(result, containsString("aroma_repository_hot_key_reads{key_type=\"userId\",rank=\"1\"} "));
+        assertThat(result, not(containsString(userId)));
+    }
+
+    @Test
+    public void testScrapeIncludesStatements()
+    {
+        StatementMetrics statement = StatementMetrics.forStatement("sql", "Queries.SELECT_USER");
+        statement.record(1_000, 1, 64, false);
+
+        String result = PrometheusExporter.scrape();
+
+        assertThat(result, containsString("aroma_db_statement_calls_total{backend=\"sql\",statement=\"Queries.SELECT_USER\"} "));
+        assertThat(result, containsString("aroma_db_statement_rows_total{backend=\"sql\",statement=\"Queries.SELECT_USER\"} "));
+        assertThat(result, containsString("aroma_db_statement_latency_seconds_count{backend=\"sql\",statement=\"Queries.SELECT_USER\"} "));
+    }
+
+    @Test
+    public void testWriteWithBadArgs()
+    {
+        assertThrows(() -> PrometheusExporter.write(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRepoLabelOf()
+    {
+        assertThat(PrometheusExporter.repoLabelOf(InboxRepository.class.getSimpleName()), is("inbox"));
+        assertThat(PrometheusExporter.repoLabelOf(UserPreferencesRepository.class.getSimpleName()), is("user_preferences"));
+    }
+
+    @Test
+    public void testEscape()
+    {
+        assertThat(PrometheusExporter.escape("a\"b\\c\nd"), is("a\\\"b\\\\c\\nd"));
+    }
+
+}
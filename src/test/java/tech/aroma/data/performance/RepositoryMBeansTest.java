@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.lang.management.ManagementFactory;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.aroma.data.ReactionRepository;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner.class)
+public class RepositoryMBeansTest
+{
+
+    private static final String OPERATION = "getReactionsFor";
+
+    private MBeanServer server;
+    private RepositoryMetrics metrics;
+    private ObjectName name;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        server = ManagementFactory.getPlatformMBeanServer();
+        metrics = RepositoryMetrics.forRepository(ReactionRepository.class);
+        metrics.operation(OPERATION);
+        name = RepositoryMBeans.nameOf(metrics.getRepositoryName(), OPERATION);
+    }
+
+    @Test
+    public void testRegister() throws Exception
+    {
+        RepositoryMBeans.register(metrics);
+        assertThat(server.isRegistered(name), is(true));
+
+        OperationMetrics operation = metrics.operation(OPERATION);
+        long start = operation.started();
+        operation.finished(start, true);
+
+        assertThat(server.getAttribute(name, "Repository"), is("ReactionRepository"));
+        assertThat(server.getAttribute(name, "Operation"), is(OPERATION));
+        assertThat(server.getAttribute(name, "Calls"), is(operation.getCalls()));
+        assertThat(server.getAttribute(name, "Errors"), is(operation.getErrors()));
+        assertThat(server.getAttribute(name, "InFlight"), is(0L));
+        assertThat((Double) server.getAttribute(name, "MaxLatencyMillis"), greaterThanOrEqualTo(0.0));
+    }
+
+    @Test
+    public void testLatencyIsASingleSnapshot() throws Exception
+    {
+        RepositoryMBeans.register(metrics);
+        server.invoke(name, "resetLatencies", new Object[0], new String[0]);
+        metrics.recordLatency(OPERATION, 2_000_000);
+
+        CompositeData latency = (CompositeData) server.getAttribute(name, "Latency");
+        long count = (Long) latency.get("count");
+        assertThat(count, is(1L));
+        assertThat((Long) latency.get("maxNanos"), greaterThanOrEqualTo(2_000_000L));
+
+        //Attributes read together come from the same snapshot, even when calls are recorded in between
+        metrics.recordLatency(OPERATION, 1_000);
+
+        AttributeList attributes = server.getAttributes(name, new String[] { "Latency", "MaxLatencyMillis" });
+        CompositeData latencyAgain = (CompositeData) ((Attribute) attributes.get(0)).getValue();
+        double maxMillis = (Double) ((Attribute) attributes.get(1)).getValue();
+
+        assertThat(latencyAgain.get("count"), is(count));
+        assertThat(maxMillis, is(((Long) latencyAgain.get("maxNanos")) / 1_000_000.0));
+    }
+
+    @Test
+    public void testRegisterTwice() throws Exception
+    {
+        RepositoryMBeans.register(metrics);
+        RepositoryMBeans.register(metrics);
+
+        assertThat(server.isRegistered(name), is(true));
+    }
+
+    @Test
+    public void testResetLatencies() throws Exception
+    {
+        RepositoryMBeans.register(metrics);
+        metrics.recordLatency(OPERATION, 1_000);
+
+        server.invoke(name, "resetLatencies", new Object[0], new String[0]);
+
+        assertThat(metrics.latencyOf(OPERATION).snapshot().getCount(), is(0L));
+    }
+
+    @Test
+    public void testRegisterWithBadArgs()
+    {
+        assertThrows(() -> RepositoryMBeans.register(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.aroma.data.UserRepository;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.NumberGenerators.longs;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class RepositoryMetricsTest
+{
+
+    @GenerateString
+    private String operation;
+
+    private long latency;
+
+    private RepositoryMetrics instance;
+
+    @Before
+    public void setUp()
+    {
+        instance = RepositoryMetrics.forRepository(UserRepository.class);
+        instance.snapshotAndReset();
+
+        latency = one(longs(1, 1_000_000_000));
+    }
+
+    @DontRepeat
+    @Test
+    public void testForRepository()
+    {
+        assertThat(instance.getRepositoryName(), is("UserRepository"));
+        assertThat(RepositoryMetrics.forRepository(UserRepository.class), sameInstance(instance));
+        assertThat(RepositoryMetrics.all(), hasItem(instance));
+    }
+
+    @DontRepeat
+    @Test
+    public void testForRepositoryWithBadArgs()
+    {
+        assertThrows(() -> RepositoryMetrics.forRepository(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRecordLatency()
+    {
+        instance.recordLatency(operation, latency);
+
+        Map<String, LatencySnapshot> result = instance.snapshot();
+        assertThat(result, hasKey(operation));
+        assertThat(result.get(operation).getCount(), is(1L));
+        assertThat(result.get(operation).getMaxNanos(), is(latency));
+    }
+
+    @Test
+    public void testSnapshotAndReset()
+    {
+        instance.recordLatency(operation, latency);
+
+        Map<String, LatencySnapshot> first = instance.snapshotAndReset();
+        assertThat(first.get(operation).getCount(), is(1L));
+
+        Map<String, LatencySnapshot> second = instance.snapshot();
+        assertThat(second.get(operation).getCount(), is(0L));
+    }
+
+    @DontRepeat
+    @Test
+    public void testLatencyOfWithBadArgs()
+    {
+        assertThrows(() -> instance.latencyOf(""))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
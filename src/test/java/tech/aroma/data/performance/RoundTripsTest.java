@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.NumberGenerators.integers;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner.class)
+public class RoundTripsTest
+{
+
+    @After
+    public void tearDown()
+    {
+        RoundTrips.setBudget(RoundTrips.DEFAULT_BUDGET);
+    }
+
+    @Test
+    public void testCountsStatements()
+    {
+        int statements = one(integers(0, 100));
+
+        RoundTrips.Count count = RoundTrips.begin();
+        assertThat(count, notNullValue());
+
+        for (int i = 0; i < statements; ++i)
+        {
+            RoundTrips.recordStatement();
+        }
+
+        assertThat(RoundTrips.end(count), is(statements));
+    }
+
+    @DontRepeat
+    @Test
+    public void testRecordStatementOutsideOfACall()
+    {
+        RoundTrips.recordStatement();
+
+        RoundTrips.Count count = RoundTrips.begin();
+        assertThat(RoundTrips.end(count), is(0));
+    }
+
+    @DontRepeat
+    @Test
+    public void testNestedCallsCountTowardsTheOuterCall()
+    {
+        RoundTrips.Count outer = RoundTrips.begin();
+        RoundTrips.recordStatement();
+
+        RoundTrips.Count inner = RoundTrips.begin();
+        assertThat(inner, nullValue());
+        RoundTrips.recordStatement();
+
+        assertThat(RoundTrips.end(outer), is(2));
+    }
+
+    @Test
+    public void testSetBudget()
+    {
+        int budget = one(integers(0, 1_000));
+
+        RoundTrips.setBudget(budget);
+        assertThat(RoundTrips.getBudget(), is(budget));
+    }
+
+    @DontRepeat
+    @Test
+    public void testSetBudgetWithBadArgs()
+    {
+        assertThrows(() -> RoundTrips.setBudget(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.aroma.thrift.Message;
+import tech.aroma.thrift.exceptions.OperationFailedException;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class SlowOperationsTest
+{
+
+    private static final int CAPACITY = 8;
+
+    @GeneratePojo
+    private Message message;
+
+    @GenerateString
+    private String searchTerm;
+
+    private String appId;
+
+    private long slowNanos;
+
+    private SlowOperations instance;
+
+    @Before
+    public void setUp()
+    {
+        appId = UUID.randomUUID().toString();
+        slowNanos = TimeUnit.SECONDS.toNanos(2);
+
+        instance = new SlowOperations(CAPACITY);
+        instance.setThresholdMillis(1_000);
+        instance.setSampleRate(1.0);
+        instance.setMaxPerSecond(1_000);
+    }
+
+    @DontRepeat
+    @Test
+    public void testConstructorWithBadArgs()
+    {
+        assertThrows(() -> new SlowOperations(0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testOfferUnderThreshold()
+    {
+        boolean captured = instance.offer("ApplicationRepository", "getById", "sql", new Object[] { appId }, 10, null);
+
+        assertThat(captured, is(false));
+        assertThat(instance.dump(), is(empty()));
+    }
+
+    @Test
+    public void testOfferOverThreshold()
+    {
+        Object[] args = { searchTerm };
+        boolean captured = instance.offer("ApplicationRepository", "searchByName", "sql", args, slowNanos, null);
+        assertThat(captured, is(true));
+
+        List<SlowOperation> result = instance.dump();
+        assertThat(result, hasSize(1));
+
+        SlowOperation operation = result.get(0);
+        assertThat(operation.getRepository(), is("ApplicationRepository"));
+        assertThat(operation.getMethod(), is("searchByName"));
+        assertThat(operation.getBackend(), is("sql"));
+        assertThat(operation.getDurationNanos(), is(slowNanos));
+        assertThat(operation.getThread(), is(Thread.currentThread().getName()));
+        assertThat(operation.getExceptionType(), nullValue());
+        assertThat(operation.getArguments().get(0), not(containsString(searchTerm)));
+    }
+
+    @Test
+    public void testKeepsIdsAndRedactsBodies()
+    {
+        String messageId = UUID.randomUUID().toString();
+        message.setMessageId(messageId).setApplicationId(appId);
+
+        Object[] args = { message, appId };
+        instance.offer("MessageRepository", "saveMessage", "sql", args, slowNanos, new OperationFailedException());
+
+        SlowOperation operation = instance.dump().get(0);
+        assertThat(operation.getArguments(), hasSize(2));
+        assertThat(operation.getArguments().get(1), is(appId));
+
+        String describedMessage = operation.getArguments().get(0);
+        assertThat(describedMessage, startsWith("<Message "));
+        assertThat(describedMessage, containsString("messageId=" + messageId));
+        assertThat(describedMessage, containsString("applicationId=" + appId));
+
+        assertThat(operation.getExceptionType(), is(OperationFailedException.class.getName()));
+        assertThat(operation.toString(), not(containsString(message.body)));
+    }
+
+    @Test
+    public void testDropsArgumentsOfSecretRepositories()
+    {
+        String tokenId = UUID.randomUUID().toString();
+
+        instance.offer("TokenRepository", "getToken", "cassandra", new Object[] { tokenId }, slowNanos, null);
+        instance.offer("CredentialRepository", "getEncryptedPassword", "sql", new Object[] { appId }, slowNanos, null);
+
+        List<SlowOperation> result = instance.dump();
+        assertThat(result, hasSize(2));
+
+        for (SlowOperation operation : result)
+        {
+            assertThat(operation.getArguments(), contains(SlowOperation.SECRET));
+            assertThat(operation.toString(), not(containsString(tokenId)));
+            assertThat(operation.toString(), not(containsString(appId)));
+        }
+    }
+
+    @DontRepeat
+    @Test
+    public void testRingBufferKeepsTheNewest()
+    {
+        int total = CAPACITY * 3;
+
+        for (int i = 0; i < total; ++i)
+        {
+            instance.offer("UserRepository", "getUser", "memory", new Object[] { i }, slowNanos, null);
+        }
+
+        List<SlowOperation> result = instance.dump();
+        assertThat(result, hasSize(CAPACITY));
+        assertThat(result.get(0).getArguments(), contains(String.valueOf(total - 1)));
+        assertThat(instance.getCaptured(), is((long) total));
+    }
+
+    @DontRepeat
+    @Test
+    public void testRateLimit()
+    {
+        instance.setMaxPerSecond(0);
+
+        boolean captured = instance.offer("UserRepository", "getUser", "memory", null, slowNanos, null);
+        assertThat(captured, is(false));
+        assertThat(instance.getDropped(), is(1L));
+    }
+
+    @DontRepeat
+    @Test
+    public void testSampleRate()
+    {
+        instance.setSampleRate(0.0);
+
+        boolean captured = instance.offer("UserRepository", "getUser", "memory", null, slowNanos, null);
+        assertThat(captured, is(false));
+        assertThat(instance.getDropped(), is(1L));
+    }
+
+    @DontRepeat
+    @Test
+    public void testSettersWithBadArgs()
+    {
+        assertThrows(() -> instance.setThresholdMillis(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThrows(() -> instance.setSampleRate(1.5))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThrows(() -> instance.setMaxPerSecond(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DontRepeat
+    @Test
+    public void testClear()
+    {
+        instance.offer("UserRepository", "getUser", "memory", null, slowNanos, null);
+        instance.clear();
+
+        assertThat(instance.dump(), is(empty()));
+    }
+
+}
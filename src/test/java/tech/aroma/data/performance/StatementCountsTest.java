@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.NumberGenerators.integers;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner.class)
+public class StatementCountsTest
+{
+
+    private int budget;
+
+    private StatementCounts instance;
+
+    @Before
+    public void setUp()
+    {
+        budget = one(integers(1, 20));
+        instance = new StatementCounts();
+    }
+
+    @DontRepeat
+    @Test
+    public void testWhenEmpty()
+    {
+        assertThat(instance.getCalls(), is(0L));
+        assertThat(instance.getTotalStatements(), is(0L));
+        assertThat(instance.getMeanStatementsPerCall(), is(0.0));
+        assertThat(instance.getMaxStatementsPerCall(), is(0L));
+        assertThat(instance.getCallsOverBudget(), is(0L));
+    }
+
+    @Test
+    public void testRecordWithinBudget()
+    {
+        int statements = one(integers(0, budget + 1));
+
+        boolean overBudget = instance.record(statements, budget);
+        assertThat(overBudget, is(false));
+
+        assertThat(instance.getCalls(), is(1L));
+        assertThat(instance.getTotalStatements(), is((long) statements));
+        assertThat(instance.getMaxStatementsPerCall(), is((long) statements));
+        assertThat(instance.getCallsWith(statements), is(1L));
+        assertThat(instance.getCallsOverBudget(), is(0L));
+    }
+
+    @Test
+    public void testRecordOverBudget()
+    {
+        int statements = one(integers(budget + 1, 1_000));
+
+        boolean overBudget = instance.record(statements, budget);
+        assertThat(overBudget, is(true));
+
+        assertThat(instance.getCallsOverBudget(), is(1L));
+        assertThat(instance.getMaxStatementsPerCall(), is((long) statements));
+    }
+
+    @DontRepeat
+    @Test
+    public void testMean()
+    {
+        instance.record(1, budget);
+        instance.record(2, budget);
+        instance.record(6, budget);
+
+        assertThat(instance.getMeanStatementsPerCall(), is(3.0));
+        assertThat(instance.getMaxStatementsPerCall(), is(6L));
+    }
+
+    @DontRepeat
+    @Test
+    public void testOverflowBucket()
+    {
+        instance.record(StatementCounts.OVERFLOW + 10, budget);
+        instance.record(StatementCounts.OVERFLOW + 500, budget);
+
+        assertThat(instance.getCallsWith(StatementCounts.OVERFLOW), is(2L));
+        assertThat(instance.getCallsWith(Integer.MAX_VALUE), is(2L));
+    }
+
+    @Test
+    public void testWarningsAreRateLimited()
+    {
+        long now = System.nanoTime();
+        int suppressed = one(integers(1, 100));
+
+        assertThat(instance.warningAllowed(now), is(0L));
+
+        for (int i = 0; i < suppressed; i++)
+        {
+            assertThat(instance.warningAllowed(now + i), is(-1L));
+        }
+
+        long nextInterval = now + StatementCounts.WARNING_INTERVAL_NANOS;
+        assertThat(instance.warningAllowed(nextInterval), is((long) suppressed));
+        assertThat(instance.warningAllowed(nextInterval + 1), is(-1L));
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.performance;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static tech.sirwellington.alchemy.generator.AlchemyGenerator.Get.one;
+import static tech.sirwellington.alchemy.generator.NumberGenerators.integers;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(50)
+@RunWith(AlchemyTestRunner.class)
+public class StatementMetricsTest
+{
+
+    @GenerateString
+    private String backend;
+
+    @GenerateString
+    private String statement;
+
+    private StatementMetrics instance;
+
+    @Before
+    public void setUp()
+    {
+        instance = StatementMetrics.forStatement(backend, statement);
+    }
+
+    @DontRepeat
+    @Test
+    public void testForStatementWithBadArgs()
+    {
+        assertThrows(() -> StatementMetrics.forStatement("", statement))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        assertThrows(() -> StatementMetrics.forStatement(backend, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testForStatementIsShared()
+    {
+        assertThat(StatementMetrics.forStatement(backend, statement), sameInstance(instance));
+        assertThat(StatementMetrics.all(), hasItem(instance));
+        assertThat(instance.getBackend(), is(backend));
+        assertThat(instance.getStatement(), is(statement));
+    }
+
+    @Test
+    public void testRecord()
+    {
+        int rows = one(integers(0, 1_000));
+        int bytes = one(integers(0, 100_000));
+
+        instance.record(5_000, rows, bytes, false);
+
+        assertThat(instance.getCalls(), is(1L));
+        assertThat(instance.getErrors(), is(0L));
+        assertThat(instance.getRows(), is((long) rows));
+        assertThat(instance.getBytesRead(), is((long) bytes));
+        assertThat(instance.getLatency().snapshot().getCount(), is(1L));
+    }
+
+    @Test
+    public void testRecordWhenFailed()
+    {
+        instance.record(5_000, 0, 0, true);
+
+        assertThat(instance.getCalls(), is(1L));
+        assertThat(instance.getErrors(), is(1L));
+    }
+
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import tech.aroma.data.UserRepository;
+import tech.aroma.data.performance.*;
+import tech.sirwellington.alchemy.test.junit.runners.*;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static tech.sirwellington.alchemy.test.junit.ThrowableAssertion.*;
+
+/**
+ *
+ * @author SirWellington
+ */
+@Repeat(10)
+@RunWith(AlchemyTestRunner.class)
+public class InstrumentedJdbcOperationsTest
+{
+
+    @Mock
+    private JdbcOperations database;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @GenerateString
+    private String sql;
+
+    @GenerateString
+    private String userId;
+
+    private JdbcOperations instance;
+
+    private int byteSampleInterval;
+
+    @Before
+    public void setUp()
+    {
+        instance = InstrumentedJdbcOperations.wrap(database);
+        byteSampleInterval = InstrumentedJdbcOperations.getByteSampleInterval();
+    }
+
+    @After
+    public void tearDown()
+    {
+        InstrumentedJdbcOperations.setByteSampleInterval(byteSampleInterval);
+    }
+
+    @DontRepeat
+    @Test
+    public void testWrapWithBadArgs()
+    {
+        assertThrows(() -> InstrumentedJdbcOperations.wrap(null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @DontRepeat
+    @Test
+    public void testWrapIsIdempotent()
+    {
+        assertThat(InstrumentedJdbcOperations.wrap(instance), sameInstance(instance));
+    }
+
+    @Test
+    public void testDelegates()
+    {
+        when(database.update(sql, userId)).thenReturn(1);
+
+        int result = instance.update(sql, userId);
+        assertThat(result, is(1));
+        verify(database).update(sql, userId);
+    }
+
+    @Test
+    public void testCountsStatementsOfARepositoryCall() throws Exception
+    {
+        OperationMetrics operation = RepositoryMetrics.forRepository(UserRepository.class).operation("deleteUser");
+        long statementsBefore = operation.getStatements().getTotalStatements();
+
+        doAnswer(invocation ->
+        {
+            instance.update(sql, userId);
+            instance.update(sql, userId);
+            instance.execute(sql);
+            return null;
+        })
+            .when(userRepository).deleteUser(userId);
+
+        UserRepository measured = MeasuredRepositories.measure(UserRepository.class, userRepository);
+        measured.deleteUser(userId);
+
+        assertThat(operation.getStatements().getTotalStatements(), is(statementsBefore + 3));
+    }
+
+    @Test
+    public void testMeasuresKnownStatements()
+    {
+        StatementMetrics metrics = StatementMetrics.forStatement("sql", "Inserts.MESSAGE");
+        long callsBefore = metrics.getCalls();
+        long rowsBefore = metrics.getRows();
+
+        when(database.update(SQLStatements.Inserts.MESSAGE, userId)).thenReturn(1);
+
+        instance.update(SQLStatements.Inserts.MESSAGE, userId);
+
+        assertThat(metrics.getCalls(), is(callsBefore + 1));
+        assertThat(metrics.getRows(), is(rowsBefore + 1));
+    }
+
+    @Test
+    public void testUnknownStatementsAreNotNamedBySQL()
+    {
+        StatementMetrics metrics = StatementMetrics.forStatement("sql", StatementMetrics.OTHER);
+        long callsBefore = metrics.getCalls();
+
+        instance.execute(sql);
+
+        assertThat(metrics.getCalls(), is(callsBefore + 1));
+
+        boolean leaked = StatementMetrics.all()
+            .stream()
+            .anyMatch(statement -> statement.getStatement().equals(sql));
+
+        assertThat(leaked, is(false));
+    }
+
+    @Test
+    public void testEstimatesBytesReadByRowMappersWhenSampled() throws Exception
+    {
+        InstrumentedJdbcOperations.setByteSampleInterval(1);
+
+        StatementMetrics metrics = StatementMetrics.forStatement("sql", "Queries.SELECT_USER");
+        long rowsBefore = metrics.getRows();
+        long bytesBefore = metrics.getBytesRead();
+
+        List<String> result = queryUsers();
+        assertThat(result, contains(userId, userId));
+
+        assertThat(metrics.getRows(), is(rowsBefore + 2));
+        assertThat(metrics.getBytesRead(), is(bytesBefore + 2 * userId.length()));
+    }
+
+    @Test
+    public void testDoesNotEstimateBytesWhenSamplingIsOff() throws Exception
+    {
+        InstrumentedJdbcOperations.setByteSampleInterval(0);
+
+        StatementMetrics metrics = StatementMetrics.forStatement("sql", "Queries.SELECT_USER");
+        long rowsBefore = metrics.getRows();
+        long bytesBefore = metrics.getBytesRead();
+
+        List<String> result = queryUsers();
+        assertThat(result, contains(userId, userId));
+
+        assertThat(metrics.getRows(), is(rowsBefore + 2));
+        assertThat(metrics.getBytesRead(), is(bytesBefore));
+    }
+
+    @Test
+    public void testCountsRowsOfRowCallbackHandlers() throws Exception
+    {
+        StatementMetrics metrics = StatementMetrics.forStatement("sql", "Queries.SELECT_USER");
+        long rowsBefore = metrics.getRows();
+
+        ResultSet results = mock(ResultSet.class);
+        RowCallbackHandler handler = mock(RowCallbackHandler.class);
+
+        doAnswer(invocation ->
+        {
+            RowCallbackHandler countingHandler = (RowCallbackHandler) invocation.getArguments()[1];
+            countingHandler.processRow(results);
+            countingHandler.processRow(results);
+            countingHandler.processRow(results);
+            return null;
+        })
+            .when(database).query(eq(SQLStatements.Queries.SELECT_USER), any(RowCallbackHandler.class), eq(userId));
+
+        instance.query(SQLStatements.Queries.SELECT_USER, handler, userId);
+
+        verify(handler, times(3)).processRow(results);
+        assertThat(metrics.getRows(), is(rowsBefore + 3));
+    }
+
+    @DontRepeat
+    @Test
+    public void testSetByteSampleIntervalWithBadArgs()
+    {
+        assertThrows(() -> InstrumentedJdbcOperations.setByteSampleInterval(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> queryUsers() throws Exception
+    {
+        ResultSet results = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(results.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(1);
+        when(results.getObject(1)).thenReturn(userId);
+        when(results.getString(1)).thenReturn(userId);
+
+        RowMapper<String> mapper = (rs, rowNumber) -> rs.getString(1);
+
+        when(database.query(eq(SQLStatements.Queries.SELECT_USER), any(RowMapper.class), eq(userId)))
+            .thenAnswer(invocation ->
+            {
+                RowMapper<String> countingMapper = (RowMapper<String>) invocation.getArguments()[1];
+                return Arrays.asList(countingMapper.mapRow(results, 0), countingMapper.mapRow(results, 1));
+            });
+
+        return instance.query(SQLStatements.Queries.SELECT_USER, mapper, userId);
+    }
+
+    @Test
+    public void testConnectionCallbacksRecordTheirOwnStatements() throws Exception
+    {
+        OperationMetrics operation = RepositoryMetrics.forRepository(UserRepository.class).operation("deleteUser");
+        long statementsBefore = operation.getStatements().getTotalStatements();
+
+        StatementMetrics metrics = StatementMetrics.forStatement("sql", "Deletes.USER");
+        long callsBefore = metrics.getCalls();
+        long rowsBefore = metrics.getRows();
+
+        doAnswer(invocation ->
+        {
+            instance.execute((ConnectionCallback<Object>) connection -> null);
+            InstrumentedJdbcOperations.recordStatement(SQLStatements.Deletes.USER, 1_000, 1, false);
+            return null;
+        })
+            .when(userRepository).deleteUser(userId);
+
+        UserRepository measured = MeasuredRepositories.measure(UserRepository.class, userRepository);
+        measured.deleteUser(userId);
+
+        assertThat(operation.getStatements().getTotalStatements(), is(statementsBefore + 1));
+        assertThat(metrics.getCalls(), is(callsBefore + 1));
+        assertThat(metrics.getRows(), is(rowsBefore + 1));
+    }
+
+    @DontRepeat
+    @Test
+    public void testRowsIn()
+    {
+        assertThat(InstrumentedJdbcOperations.rowsIn("update", null), is(0L));
+        assertThat(InstrumentedJdbcOperations.rowsIn("update", 3), is(3L));
+        assertThat(InstrumentedJdbcOperations.rowsIn("batchUpdate", new int[] { 1, 2, -2 }), is(3L));
+        assertThat(InstrumentedJdbcOperations.rowsIn("query", Arrays.asList("a", "b")), is(2L));
+        assertThat(InstrumentedJdbcOperations.rowsIn("queryForObject", 10_000L), is(1L));
+        assertThat(InstrumentedJdbcOperations.rowsIn("queryForObject", true), is(1L));
+        assertThat(InstrumentedJdbcOperations.rowsIn("queryForObject", null), is(0L));
+    }
+
+    @DontRepeat
+    @Test
+    public void testRowsUpdated()
+    {
+        assertThat(InstrumentedJdbcOperations.rowsUpdated(null), is(0L));
+        assertThat(InstrumentedJdbcOperations.rowsUpdated(-2), is(0L));
+        assertThat(InstrumentedJdbcOperations.rowsUpdated(new int[][] { { 1, 1 }, { 2 } }), is(4L));
+    }
+
+    @Test
+    public void testCountQueryReadsOneRow()
+    {
+        StatementMetrics metrics = StatementMetrics.forStatement("sql", "Queries.COUNT_MESSAGES");
+        long callsBefore = metrics.getCalls();
+        long rowsBefore = metrics.getRows();
+
+        when(database.queryForObject(SQLStatements.Queries.COUNT_MESSAGES, Long.class, userId)).thenReturn(10_000L);
+
+        Long count = instance.queryForObject(SQLStatements.Queries.COUNT_MESSAGES, Long.class, userId);
+        assertThat(count, is(10_000L));
+
+        assertThat(metrics.getCalls(), is(callsBefore + 1));
+        assertThat(metrics.getRows(), is(rowsBefore + 1));
+    }
+
+    @DontRepeat
+    @Test
+    public void testToString()
+    {
+        assertThat(instance.toString(), containsString("Instrumented"));
+    }
+
+}
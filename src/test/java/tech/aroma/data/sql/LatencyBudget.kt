@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql
+
+import tech.aroma.data.performance.LatencyHistogram
+import tech.aroma.data.performance.LatencySnapshot
+import java.util.concurrent.TimeUnit
+
+/**
+ * The p99 latency an operation is allowed in the [SQLPerformanceIT] suite.
+ *
+ * The default can be overridden with the `aroma.perf.budget.<operation>` property, in milliseconds,
+ * for example `-Daroma.perf.budget.getMessagesForUser=100`.
+ *
+ * @author SirWellington
+ */
+internal class LatencyBudget(val operation: String, defaultMillis: Long)
+{
+    val millis: Long = java.lang.Long.getLong("aroma.perf.budget.$operation", defaultMillis)
+
+    companion object
+    {
+        val WARMUP_ITERATIONS: Int = Integer.getInteger("aroma.perf.warmupIterations", 50)
+        val ITERATIONS: Int = Integer.getInteger("aroma.perf.iterations", 200)
+    }
+
+    /**
+     * Runs the operation [WARMUP_ITERATIONS] times unmeasured, then [ITERATIONS] times measured,
+     * and fails if the measured p99 is over budget.
+     *
+     * @param operation Called with the iteration number, so that it can vary its arguments.
+     */
+    fun check(operation: (Int) -> Unit): LatencySnapshot
+    {
+        repeat(WARMUP_ITERATIONS) { operation(it) }
+
+        val histogram = LatencyHistogram()
+
+        repeat(ITERATIONS) {
+            val start = System.nanoTime()
+            operation(it)
+            histogram.record(System.nanoTime() - start)
+        }
+
+        val snapshot = histogram.snapshot()
+
+        println(String.format("%-28s p50 %8.2f ms | p99 %8.2f ms | max %8.2f ms | budget %5d ms",
+                              this.operation,
+                              snapshot.p50Nanos.toMillis(),
+                              snapshot.p99Nanos.toMillis(),
+                              snapshot.maxNanos.toMillis(),
+                              millis))
+
+        if (snapshot.p99Nanos > TimeUnit.MILLISECONDS.toNanos(millis))
+        {
+            throw AssertionError("p99 of ${this.operation} was ${snapshot.p99Nanos.toMillis()} ms, over its budget of $millis ms")
+        }
+
+        return snapshot
+    }
+
+    private fun Long.toMillis(): Double = this / 1_000_000.0
+}
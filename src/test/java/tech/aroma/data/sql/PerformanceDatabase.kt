@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql
+
+import com.google.common.base.Charsets
+import com.google.common.io.Resources
+import org.postgresql.ds.PGSimpleDataSource
+import org.springframework.jdbc.core.JdbcTemplate
+
+/**
+ * Creates a scratch copy of the Aroma schema in a local PostgreSQL instance, for the
+ * [SQLPerformanceIT] and [SQLQueryPlanIT] suites.
+ *
+ * The tables are created in their own schema from the same DDL that ships in `tech/aroma/sql/ddl`,
+ * and the schema is dropped and recreated on every run, so each run starts from an empty database.
+ *
+ * Configure it with:
+ * + `aroma.perf.jdbcUrl`, defaults to `jdbc:postgresql://localhost:5432/aroma_perf`
+ * + `aroma.perf.user`, defaults to `postgres`
+ * + `aroma.perf.password`, defaults to empty
+ * + `aroma.perf.schema`, defaults to `aroma_perf`
+ *
+ * @author SirWellington
+ */
+internal object PerformanceDatabase
+{
+    private val url: String = System.getProperty("aroma.perf.jdbcUrl", "jdbc:postgresql://localhost:5432/aroma_perf")
+    private val user: String = System.getProperty("aroma.perf.user", "postgres")
+    private val password: String = System.getProperty("aroma.perf.password", "")
+    private val schema: String = System.getProperty("aroma.perf.schema", "aroma_perf")
+
+    private val DDL_FILES = listOf("activity_ddl.sql",
+                                   "application_ddl.sql",
+                                   "credentials_ddl.sql",
+                                   "followings_ddl.sql",
+                                   "inbox_ddl.sql",
+                                   "media_ddl.sql",
+                                   "message_ddl.sql",
+                                   "organization_ddl.sql",
+                                   "reactions_ddl.sql",
+                                   "token_ddl.sql",
+                                   "user_ddl.sql",
+                                   "user_preferences_ddl.sql")
+
+    /**
+     * Drops and recreates the scratch schema, then loads every DDL file into it.
+     *
+     * @return A connection whose statements run against the new schema.
+     */
+    fun create(): JdbcTemplate
+    {
+        val admin = JdbcTemplate(dataSource(url))
+        admin.execute("DROP SCHEMA IF EXISTS $schema CASCADE")
+        admin.execute("CREATE SCHEMA $schema")
+
+        val separator = if (url.contains("?")) "&" else "?"
+        val database = JdbcTemplate(dataSource("$url${separator}currentSchema=$schema"))
+
+        DDL_FILES.map { "tech/aroma/sql/ddl/$it" }
+                .map { Resources.toString(Resources.getResource(it), Charsets.UTF_8) }
+                .forEach { database.execute(it) }
+
+        return database
+    }
+
+    /**
+     * Refreshes the planner statistics, so that queries are planned the way they would be
+     * on a database that has grown to the seeded size.
+     */
+    fun analyze(database: JdbcTemplate)
+    {
+        database.execute("ANALYZE")
+    }
+
+    private fun dataSource(url: String): PGSimpleDataSource
+    {
+        val dataSource = PGSimpleDataSource()
+        dataSource.setUrl(url)
+        dataSource.user = user
+        dataSource.password = password
+        return dataSource
+    }
+}
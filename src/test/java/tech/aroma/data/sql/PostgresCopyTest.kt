@@ -0,0 +1,180 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql
+
+import com.natpryce.hamkrest.assertion.assertThat
+import com.natpryce.hamkrest.equalTo
+import com.nhaarman.mockito_kotlin.any
+import com.nhaarman.mockito_kotlin.eq
+import com.nhaarman.mockito_kotlin.never
+import com.nhaarman.mockito_kotlin.verify
+import com.nhaarman.mockito_kotlin.whenever
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mock
+import org.postgresql.PGConnection
+import org.postgresql.copy.CopyManager
+import org.springframework.jdbc.core.ConnectionCallback
+import org.springframework.jdbc.core.JdbcOperations
+import tech.aroma.data.performance.StatementMetrics
+import tech.sirwellington.alchemy.generator.NumberGenerators.Companion.positiveLongs
+import tech.sirwellington.alchemy.generator.one
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.io.Reader
+import java.sql.Connection
+import java.sql.Timestamp
+import java.time.Instant
+import java.util.UUID
+
+/**
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner::class)
+@Repeat
+class PostgresCopyTest
+{
+
+    @Mock
+    private lateinit var database: JdbcOperations
+
+    @Mock
+    private lateinit var connection: Connection
+
+    @Mock
+    private lateinit var pgConnection: PGConnection
+
+    @Mock
+    private lateinit var copyManager: CopyManager
+
+    @GenerateString
+    private lateinit var copyStatement: String
+
+    @GenerateString(GenerateString.Type.ALPHABETIC)
+    private lateinit var text: String
+
+    private lateinit var rows: List<Array<Any?>>
+
+    @Before
+    fun setUp()
+    {
+        rows = listOf(arrayOf<Any?>(UUID.randomUUID(), text))
+
+        whenever(database.execute(any<ConnectionCallback<Long?>>()))
+                .thenAnswer {
+                    @Suppress("UNCHECKED_CAST")
+                    val callback = it.arguments[0] as ConnectionCallback<Long?>
+                    callback.doInConnection(connection)
+                }
+
+        whenever(connection.unwrap(PGConnection::class.java)).thenReturn(pgConnection)
+        whenever(pgConnection.copyAPI).thenReturn(copyManager)
+    }
+
+    @Test
+    fun testCopyIn()
+    {
+        val copiedRows = one(positiveLongs())
+
+        whenever(connection.isWrapperFor(PGConnection::class.java)).thenReturn(true)
+        whenever(copyManager.copyIn(eq(copyStatement), any<Reader>())).thenReturn(copiedRows)
+
+        val result = PostgresCopy.copyIn(database, copyStatement, rows)
+
+        assertThat(result, equalTo<Long?>(copiedRows))
+    }
+
+    @Test
+    fun testCopyInIsMeasured()
+    {
+        val copiedRows = one(positiveLongs())
+        val metrics = StatementMetrics.forStatement("sql", "Inserts.MESSAGES_COPY")
+        val callsBefore = metrics.calls
+        val rowsBefore = metrics.rows
+
+        whenever(connection.isWrapperFor(PGConnection::class.java)).thenReturn(true)
+        whenever(copyManager.copyIn(eq(SQLStatements.Inserts.MESSAGES_COPY), any<Reader>())).thenReturn(copiedRows)
+
+        PostgresCopy.copyIn(database, SQLStatements.Inserts.MESSAGES_COPY, rows)
+
+        assertThat(metrics.calls, equalTo(callsBefore + 1))
+        assertThat(metrics.rows, equalTo(rowsBefore + copiedRows))
+    }
+
+    @Test
+    fun testCopyInWhenNotPostgres()
+    {
+        whenever(connection.isWrapperFor(PGConnection::class.java)).thenReturn(false)
+
+        val result = PostgresCopy.copyIn(database, copyStatement, rows)
+
+        assertThat(result, equalTo<Long?>(null))
+        verify(copyManager, never()).copyIn(any<String>(), any<Reader>())
+    }
+
+    @Test
+    fun testToCsv()
+    {
+        val id = UUID.randomUUID()
+
+        val result = PostgresCopy.toCsv(listOf(arrayOf<Any?>(id, text), arrayOf<Any?>(text, id)))
+
+        assertThat(result, equalTo("\"$id\",\"$text\"\n\"$text\",\"$id\"\n"))
+    }
+
+    @DontRepeat
+    @Test
+    fun testToCsvWithNullsAndEmptyStrings()
+    {
+        val result = PostgresCopy.toCsv(listOf(arrayOf<Any?>(null, "", null)))
+
+        assertThat(result, equalTo(",\"\",\n"))
+    }
+
+    @DontRepeat
+    @Test
+    fun testToCsvEscapesQuotes()
+    {
+        val result = PostgresCopy.toCsv(listOf(arrayOf<Any?>("say \"hi\",\nbye")))
+
+        assertThat(result, equalTo("\"say \"\"hi\"\",\nbye\"\n"))
+    }
+
+    @DontRepeat
+    @Test
+    fun testToCsvWithTimestamp()
+    {
+        val timestamp = Timestamp.from(Instant.parse("2017-05-04T10:15:30.250Z"))
+
+        val result = PostgresCopy.toCsv(listOf(arrayOf<Any?>(timestamp)))
+
+        assertThat(result, equalTo("\"2017-05-04T10:15:30.250Z\"\n"))
+    }
+
+    @DontRepeat
+    @Test
+    fun testToCsvWhenEmpty()
+    {
+        val result = PostgresCopy.toCsv(emptyList())
+
+        assertThat(result, equalTo(""))
+    }
+
+}
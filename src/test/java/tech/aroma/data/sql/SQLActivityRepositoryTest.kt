@@ -18,6 +18,10 @@ package tech.aroma.data.sql
 
 import com.natpryce.hamkrest.assertion.assertThat
 import com.natpryce.hamkrest.equalTo
+import com.nhaarman.mockito_kotlin.any
+import com.nhaarman.mockito_kotlin.argumentCaptor
+import com.nhaarman.mockito_kotlin.eq
+import com.nhaarman.mockito_kotlin.never
 import com.nhaarman.mockito_kotlin.verify
 import com.nhaarman.mockito_kotlin.whenever
 import org.junit.Before
@@ -129,6 +133,60 @@ class SQLActivityRepositoryTest
         }
     }
 
+    @Test
+    fun testSaveEvents()
+    {
+        val sql = Inserts.ACTIVITY_EVENT
+        val recipients = CollectionGenerators.listOf(users(), 20)
+
+        instance.saveEvents(event, recipients)
+
+        val captor = argumentCaptor<List<Array<Any?>>>()
+        verify(database).batchUpdate(eq(sql), captor.capture())
+
+        val rows = captor.firstValue
+        assertThat(rows.size, equalTo(recipients.size))
+
+        rows.forEachIndexed { index, row ->
+            val expected = arrayOf<Any?>(recipients[index].userId.toUUID(),
+                                         eventId.toUUID(),
+                                         event.applicationId.toUUID(),
+                                         event.userIdOfActor.toUUID(),
+                                         event.timestamp.toTimestamp(),
+                                         event.eventType.toString(),
+                                         serializedEvent)
+
+            assertThat(row.toList(), equalTo(expected.toList()))
+        }
+    }
+
+    @DontRepeat
+    @Test
+    fun testSaveEventsWhenDatabaseFails()
+    {
+        val sql = Inserts.ACTIVITY_EVENT
+        val recipients = CollectionGenerators.listOf(users(), 5)
+
+        whenever(database.batchUpdate(eq(sql), any<List<Array<Any?>>>()))
+                .thenThrow(RuntimeException())
+
+        assertThrows { instance.saveEvents(event, recipients) }.operationError()
+    }
+
+    @DontRepeat
+    @Test
+    fun testSaveEventsWithBadArgs()
+    {
+        assertThrows { instance.saveEvents(event, emptyList()) }.invalidArg()
+
+        assertThrows {
+            val invalidUser = User(user).setUserId(invalidId)
+            instance.saveEvents(event, listOf(user, invalidUser))
+        }.invalidArg()
+
+        verify(database, never()).batchUpdate(any<String>(), any<List<Array<Any?>>>())
+    }
+
     @Test
     fun testContainsEvent()
     {
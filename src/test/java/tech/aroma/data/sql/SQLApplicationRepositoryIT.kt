@@ -161,6 +161,18 @@ class SQLApplicationRepositoryIT
         assertTrue { ownedApps.count { it.applicationId == appId } == 0 }
     }
 
+    @Test
+    fun testSaveWithSameOwners()
+    {
+        app.owners.add(ownerId)
+
+        instance.saveApplication(app)
+        instance.saveApplication(app)
+
+        val ownedApps = instance.getApplicationsOwnedBy(ownerId)
+        assertTrue { ownedApps.count { it.applicationId == appId } == 1 }
+    }
+
     @Test
     fun testDeleteApp()
     {
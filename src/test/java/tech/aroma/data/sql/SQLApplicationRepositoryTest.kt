@@ -16,15 +16,24 @@ package tech.aroma.data.sql
  * limitations under the License.
  */
 
+import com.nhaarman.mockito_kotlin.any
+import com.nhaarman.mockito_kotlin.eq
+import com.nhaarman.mockito_kotlin.never
+import com.nhaarman.mockito_kotlin.times
 import com.nhaarman.mockito_kotlin.verify
 import com.nhaarman.mockito_kotlin.whenever
 import org.apache.thrift.TException
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
+import org.mockito.ArgumentCaptor
+import org.mockito.Captor
 import org.mockito.Mock
+import org.mockito.Mockito
 import org.springframework.dao.EmptyResultDataAccessException
 import org.springframework.jdbc.core.JdbcOperations
+import org.springframework.jdbc.core.PreparedStatementSetter
+import org.springframework.jdbc.core.RowMapper
 import sir.wellington.alchemy.collections.lists.Lists
 import tech.aroma.data.AromaGenerators
 import tech.aroma.data.AromaGenerators.Applications
@@ -47,7 +56,10 @@ import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
 import tech.sirwellington.alchemy.test.junit.runners.GenerateString
 import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
 import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.sql.Connection
+import java.sql.PreparedStatement
 import kotlin.test.assertEquals
+import kotlin.test.assertFalse
 
 @RunWith(AlchemyTestRunner::class)
 @Repeat
@@ -59,6 +71,18 @@ class SQLApplicationRepositoryTest
     @Mock
     private lateinit var serializer: DatabaseSerializer<Application>
 
+    @Mock
+    private lateinit var preparedStatement: PreparedStatement
+
+    @Mock
+    private lateinit var connection: Connection
+
+    @Mock
+    private lateinit var sqlArray: java.sql.Array
+
+    @Captor
+    private lateinit var statementCaptor: ArgumentCaptor<PreparedStatementSetter>
+
     private lateinit var app: Application
     private lateinit var appId: String
     private lateinit var orgId: String
@@ -79,6 +103,10 @@ class SQLApplicationRepositoryTest
         orgId = app.organizationId
 
         apps = CollectionGenerators.listOf(AlchemyGenerator { Applications.application }, 10)
+
+        val owners = app.owners.map { it.toUUID() }.toTypedArray()
+        whenever(preparedStatement.connection).thenReturn(connection)
+        whenever(connection.createArrayOf("uuid", owners)).thenReturn(sqlArray)
     }
 
     @Test
@@ -90,13 +118,13 @@ class SQLApplicationRepositoryTest
 
         verify(serializer).save(app, statement, database)
 
-        val sqlToDeleteNonOwners = Deletes.APPLICATION_NON_OWNERS
-        verify(database).update(sqlToDeleteNonOwners, appId.toUUID(), app.owners.toCommaSeparatedList())
+        //All of the owners are written in a single statement
+        val updateOwners = Inserts.APPLICATION_OWNERS
+        verify(database).update(eq(updateOwners), statementCaptor.capture())
 
-        app.owners.forEach { owner ->
-            val insertOwner = Inserts.APPLICATION_OWNER
-            verify(database).update(insertOwner, appId.toUUID(), owner.toUUID())
-        }
+        statementCaptor.value.setValues(preparedStatement)
+        verify(preparedStatement).setObject(1, appId.toUUID())
+        verify(preparedStatement).setArray(2, sqlArray)
     }
 
     @DontRepeat
@@ -113,23 +141,16 @@ class SQLApplicationRepositoryTest
         }.isInstanceOf(TException::class.java)
     }
 
+    @DontRepeat
     @Test
     fun testSaveAppOwnerWhenDatabaseFails()
     {
-        val owners = app.owners.toMutableList()
-
         database.setupForFailure()
 
-        instance.saveApplication(app)
+        assertThrows { instance.saveApplication(app) }.operationError()
 
         val insertApp = Inserts.APPLICATION
         verify(serializer).save(app, insertApp, database)
-
-        owners.forEach { owner ->
-            val sql = Inserts.APPLICATION_OWNER
-
-            verify(database).update(sql, appId.toUUID(), owner.toUUID())
-        }
     }
 
     @DontRepeat
@@ -167,15 +188,31 @@ class SQLApplicationRepositoryTest
     {
         val deleteAppSQL = Deletes.APPLICATION
         val deleteOwnersSQL = Deletes.APPLICATION_OWNERS
-        val selectAppSQL = Queries.SELECT_APPLICATION
 
-        whenever(database.queryForObject(selectAppSQL, serializer, appId.toUUID()))
-                .thenReturn(app)
+        database.executeCallbacksWith(connection)
+        whenever(connection.prepareStatement(any<String>())).thenReturn(preparedStatement)
+        whenever(preparedStatement.executeBatch()).thenReturn(intArrayOf(1))
 
         instance.deleteApplication(appId)
 
-        verify(database).update(deleteAppSQL, appId.toUUID())
-        verify(database).update(deleteOwnersSQL, appId.toUUID())
+        //Both deletes are committed together, without reading the App first
+        verify(connection).prepareStatement(deleteAppSQL)
+        verify(connection).prepareStatement(deleteOwnersSQL)
+        verify(preparedStatement, times(2)).setObject(1, appId.toUUID())
+        verify(connection).commit()
+        verify(database, never()).queryForObject(any<String>(), any<RowMapper<*>>(), Mockito.anyVararg<Any>())
+    }
+
+    @DontRepeat
+    @Test
+    fun testDeleteAppWhenAppDoesNotExist()
+    {
+        database.executeCallbacksWith(connection)
+        whenever(connection.prepareStatement(any<String>())).thenReturn(preparedStatement)
+        whenever(preparedStatement.executeBatch()).thenReturn(intArrayOf(0))
+
+        assertThrows { instance.deleteApplication(appId) }
+                .isInstanceOf(DoesNotExistException::class.java)
     }
 
     @DontRepeat
@@ -243,6 +280,49 @@ class SQLApplicationRepositoryTest
                 .isInstanceOf(DoesNotExistException::class.java)
     }
 
+    @Test
+    fun testFindApplication()
+    {
+        val query = Queries.SELECT_APPLICATION
+
+        whenever(database.query(query, serializer, appId.toUUID()))
+                .thenReturn(listOf(app))
+
+        val result = instance.findApplication(appId)
+
+        assertEquals(app, result.get())
+    }
+
+    @Test
+    fun testFindApplicationWhenAppDoesNotExist()
+    {
+        val query = Queries.SELECT_APPLICATION
+
+        whenever(database.query(query, serializer, appId.toUUID()))
+                .thenReturn(emptyList())
+
+        val result = instance.findApplication(appId)
+
+        assertFalse(result.isPresent)
+    }
+
+    @DontRepeat
+    @Test
+    fun testFindApplicationWithBadArgs()
+    {
+        assertThrows { instance.findApplication("") }.invalidArg()
+        assertThrows { instance.findApplication(badId) }.invalidArg()
+    }
+
+    @DontRepeat
+    @Test
+    fun testFindApplicationWhenDatabaseFails()
+    {
+        database.setupForFailure()
+
+        assertThrows { instance.findApplication(appId) }.operationError()
+    }
+
     @Test
     fun testContainsApp()
     {
@@ -18,6 +18,10 @@ package tech.aroma.data.sql
 
 import com.natpryce.hamkrest.assertion.assertThat
 import com.natpryce.hamkrest.equalTo
+import com.nhaarman.mockito_kotlin.any
+import com.nhaarman.mockito_kotlin.argumentCaptor
+import com.nhaarman.mockito_kotlin.eq
+import com.nhaarman.mockito_kotlin.never
 import com.nhaarman.mockito_kotlin.verify
 import com.nhaarman.mockito_kotlin.whenever
 import org.junit.Before
@@ -33,7 +37,9 @@ import tech.aroma.data.sql.SQLStatements.Inserts
 import tech.aroma.data.sql.SQLStatements.Queries
 import tech.aroma.thrift.Message
 import tech.aroma.thrift.User
+import tech.aroma.thrift.generators.UserGenerators.users
 import tech.sirwellington.alchemy.generator.BooleanGenerators.Companion.booleans
+import tech.sirwellington.alchemy.generator.CollectionGenerators
 import tech.sirwellington.alchemy.generator.NumberGenerators.Companion.positiveLongs
 import tech.sirwellington.alchemy.generator.one
 import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
@@ -139,6 +145,70 @@ class SQLInboxRepositoryTest
                 .operationError()
     }
 
+    @Test
+    fun testSaveMessageForUsers()
+    {
+        val recipients = CollectionGenerators.listOf(users(), 20)
+
+        instance.saveMessageForUsers(recipients, message)
+
+        val sql = Inserts.INBOX_MESSAGE
+        val captor = argumentCaptor<List<Array<Any?>>>()
+        verify(database).batchUpdate(eq(sql), captor.capture())
+
+        val rows = captor.firstValue
+        assertThat(rows.size, equalTo(recipients.size))
+
+        rows.forEachIndexed { index, row ->
+            val expected = listOf(recipients[index].userId.toUUID(),
+                                  messageId.toUUID(),
+                                  message.applicationId.toUUID(),
+                                  message.applicationName,
+                                  message.title,
+                                  message.body,
+                                  message.urgency.toString(),
+                                  message.timeOfCreation.toTimestamp(),
+                                  message.timeMessageReceived.toTimestamp(),
+                                  message.hostname,
+                                  message.macAddress,
+                                  message.deviceName)
+
+            assertThat(row.toList(), equalTo(expected))
+        }
+    }
+
+    @DontRepeat
+    @Test
+    fun testSaveMessageForUsersWithBadArgs()
+    {
+        assertThrows { instance.saveMessageForUsers(emptyList(), message) }.invalidArg()
+
+        assertThrows {
+            val invalidUser = User(user).setUserId(invalidId)
+            instance.saveMessageForUsers(listOf(user, invalidUser), message)
+        }.invalidArg()
+
+        assertThrows {
+            val invalidMessage = Message(message).setMessageId(invalidId)
+            instance.saveMessageForUsers(listOf(user), invalidMessage)
+        }.invalidArg()
+
+        verify(database, never()).batchUpdate(any<String>(), any<List<Array<Any?>>>())
+    }
+
+    @DontRepeat
+    @Test
+    fun testSaveMessageForUsersWhenDatabaseFails()
+    {
+        val sql = Inserts.INBOX_MESSAGE
+
+        whenever(database.batchUpdate(eq(sql), any<List<Array<Any?>>>()))
+                .thenThrow(RuntimeException())
+
+        assertThrows { instance.saveMessageForUsers(listOf(user), message) }
+                .operationError()
+    }
+
     @Test
     fun testGetMessagesForUser()
     {
@@ -32,6 +32,8 @@ import org.springframework.jdbc.core.JdbcOperations
 import tech.aroma.thrift.Message
 import tech.aroma.thrift.exceptions.DoesNotExistException
 import tech.sirwellington.alchemy.annotations.testing.IntegrationTest
+import tech.sirwellington.alchemy.generator.StringGenerators.Companion.uuids
+import tech.sirwellington.alchemy.generator.one
 import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
 import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
 import tech.sirwellington.alchemy.test.junit.runners.GeneratePojo
@@ -87,6 +89,28 @@ class SQLMessageRepositoryIT
         instance.saveMessage(message)
     }
 
+    @Test
+    @Throws(Exception::class)
+    fun saveMessages()
+    {
+        val messages = (0..SQLMessageRepository.MIN_MESSAGES_TO_COPY).map {
+            Message(message).setMessageId(one(uuids))
+        }
+
+        try
+        {
+            instance.saveMessages(messages, null)
+
+            val result = instance.getByApplication(appId)
+            assertThat(result.size, equalTo(messages.size))
+            messages.forEach { assertThat(result, hasElement(it)) }
+        }
+        finally
+        {
+            instance.deleteAllMessages(appId)
+        }
+    }
+
     @Test
     @Throws(Exception::class)
     fun getMessage()
@@ -1,8 +1,12 @@
 package tech.aroma.data.sql
 
+import com.nhaarman.mockito_kotlin.argumentCaptor
+import com.nhaarman.mockito_kotlin.eq
+import com.nhaarman.mockito_kotlin.never
 import com.nhaarman.mockito_kotlin.whenever
 import org.hamcrest.Matchers.`is`
 import org.hamcrest.Matchers.empty
+import org.hamcrest.Matchers.equalTo
 import org.hamcrest.Matchers.notNullValue
 import org.junit.Assert.assertThat
 import org.junit.Before
@@ -12,6 +16,7 @@ import org.mockito.Matchers.any
 import org.mockito.Mock
 import org.mockito.Mockito.doThrow
 import org.mockito.Mockito.verify
+import org.springframework.jdbc.core.ConnectionCallback
 import org.springframework.jdbc.core.JdbcTemplate
 import sir.wellington.alchemy.collections.lists.Lists
 import tech.aroma.data.illegalArg
@@ -23,9 +28,11 @@ import tech.aroma.thrift.TimeUnit
 import tech.aroma.thrift.exceptions.DoesNotExistException
 import tech.sirwellington.alchemy.generator.BooleanGenerators.Companion.booleans
 import tech.sirwellington.alchemy.generator.CollectionGenerators.Companion.listOf
+import tech.sirwellington.alchemy.generator.NumberGenerators.Companion.integers
 import tech.sirwellington.alchemy.generator.NumberGenerators.Companion.positiveLongs
 import tech.sirwellington.alchemy.generator.ObjectGenerators.pojos
 import tech.sirwellington.alchemy.generator.StringGenerators.Companion.alphabeticStrings
+import tech.sirwellington.alchemy.generator.StringGenerators.Companion.uuids
 import tech.sirwellington.alchemy.generator.one
 import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
 import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
@@ -120,6 +127,58 @@ class SQLMessageRepositoryTest
     }
 
 
+    @Test
+    fun testSaveMessages()
+    {
+        val messages = createMessages(SQLMessageRepository.MIN_MESSAGES_TO_COPY + 1)
+        val expectedStatement = SQLStatements.Inserts.MESSAGE
+
+        instance.saveMessages(messages, lifetime)
+
+        //A database that is not PostgreSQL falls back to a batch of inserts
+        val captor = argumentCaptor<List<Array<Any?>>>()
+        verify(database).batchUpdate(eq(expectedStatement), captor.capture())
+
+        val rows = captor.firstValue
+        assertThat(rows.size, equalTo(messages.size))
+        assertThat(rows.map { it[0].toString() }, equalTo(messages.map { it.messageId }))
+        verify(serializer, never()).save(any(), any(), any())
+    }
+
+    @DontRepeat
+    @Test
+    fun testSaveMessagesWithSmallBatch()
+    {
+        val messages = createMessages(one(integers(1, SQLMessageRepository.MIN_MESSAGES_TO_COPY)))
+
+        instance.saveMessages(messages, null)
+
+        verify(database, never()).execute(any<ConnectionCallback<Any>>())
+        verify(database).batchUpdate(eq(SQLStatements.Inserts.MESSAGE), any<List<Array<Any?>>>())
+    }
+
+    @DontRepeat
+    @Test
+    fun testSaveMessagesWithBadArgs()
+    {
+        assertThrows { instance.saveMessages(Lists.emptyList(), lifetime) }.invalidArg()
+
+        val invalidMessage = Message(message).setMessageId(alphabetic)
+        assertThrows { instance.saveMessages(Lists.createFrom(message, invalidMessage), lifetime) }.invalidArg()
+
+        verify(database, never()).batchUpdate(any<String>(), any<List<Array<Any?>>>())
+    }
+
+    @DontRepeat
+    @Test
+    fun testSaveMessagesWhenDatabaseFails()
+    {
+        whenever(database.batchUpdate(any<String>(), any<List<Array<Any?>>>()))
+                .thenThrow(RuntimeException())
+
+        assertThrows { instance.saveMessages(Lists.createFrom(message), lifetime) }.operationError()
+    }
+
     @Test
     @Throws(Exception::class)
     fun testGetMessage()
@@ -172,6 +231,52 @@ class SQLMessageRepositoryTest
 
     }
 
+    @Test
+    fun testFindMessage()
+    {
+        val expectedQuery = SQLStatements.Queries.SELECT_MESSAGE
+
+        whenever(database.query(expectedQuery, serializer, appId.toUUID(), messageId.toUUID()))
+                .thenReturn(Lists.createFrom(message))
+
+        val result = instance.findMessage(appId, messageId)
+        assertThat(result.get(), `is`(message))
+    }
+
+    @DontRepeat
+    @Test
+    fun testFindMessageWhenMessageDoesNotExist()
+    {
+        val expectedQuery = SQLStatements.Queries.SELECT_MESSAGE
+
+        whenever(database.query(expectedQuery, serializer, appId.toUUID(), messageId.toUUID()))
+                .thenReturn(Lists.emptyList())
+
+        val result = instance.findMessage(appId, messageId)
+        assertThat(result.isPresent, `is`(false))
+    }
+
+    @DontRepeat
+    @Test
+    fun testFindMessageWhenDatabaseFails()
+    {
+        database.setupForFailure()
+
+        assertThrows { instance.findMessage(appId, messageId) }
+                .operationError()
+    }
+
+    @DontRepeat
+    @Test
+    fun testFindMessageWithBadArgs()
+    {
+        assertThrows { instance.findMessage("", messageId) }.invalidArg()
+        assertThrows { instance.findMessage(appId, "") }.invalidArg()
+
+        assertThrows { instance.findMessage(alphabetic, messageId) }.invalidArg()
+        assertThrows { instance.findMessage(appId, alphabetic) }.invalidArg()
+    }
+
     @Test
     @Throws(Exception::class)
     fun testDeleteMessage()
@@ -432,5 +537,9 @@ class SQLMessageRepositoryTest
         assertThrows { instance.getCountByApplication(alphabetic) }
                 .invalidArg()
     }
-}
 
+    private fun createMessages(size: Int): List<Message>
+    {
+        return (1..size).map { Message(message).setMessageId(one(uuids)) }
+    }
+}
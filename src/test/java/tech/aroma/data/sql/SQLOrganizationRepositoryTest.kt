@@ -19,8 +19,10 @@ package tech.aroma.data.sql
 import com.natpryce.hamkrest.assertion.assertThat
 import com.natpryce.hamkrest.equalTo
 import com.natpryce.hamkrest.isEmpty
+import com.nhaarman.mockito_kotlin.any
 import com.nhaarman.mockito_kotlin.eq
 import com.nhaarman.mockito_kotlin.inOrder
+import com.nhaarman.mockito_kotlin.times
 import com.nhaarman.mockito_kotlin.verify
 import com.nhaarman.mockito_kotlin.whenever
 import org.junit.Assert.assertEquals
@@ -38,6 +40,7 @@ import tech.aroma.data.sql.SQLStatements.Inserts
 import tech.aroma.data.sql.SQLStatements.Queries
 import tech.aroma.thrift.Organization
 import tech.aroma.thrift.User
+import tech.aroma.thrift.exceptions.DoesNotExistException
 import tech.sirwellington.alchemy.generator.BooleanGenerators.Companion.booleans
 import tech.sirwellington.alchemy.generator.CollectionGenerators
 import tech.sirwellington.alchemy.generator.ObjectGenerators.pojos
@@ -52,6 +55,8 @@ import tech.sirwellington.alchemy.test.junit.runners.GenerateString
 import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
 import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.UUID
 import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.sql.Connection
+import java.sql.PreparedStatement
 
 /**
  * @author SirWellington
@@ -69,6 +74,12 @@ class SQLOrganizationRepositoryTest
     @Mock
     private lateinit var userSerializer: DatabaseSerializer<User>
 
+    @Mock
+    private lateinit var connection: Connection
+
+    @Mock
+    private lateinit var preparedStatement: PreparedStatement
+
     @GeneratePojo
     private lateinit var organization: Organization
 
@@ -136,19 +147,30 @@ class SQLOrganizationRepositoryTest
     @Test
     fun testDeleteOrganization()
     {
-        val getOrg = Queries.SELECT_ORGANIZATION
-        whenever(database.queryForObject(getOrg, serializer, orgId.toUUID()))
-                .thenReturn(organization)
-
         val statementToDeleteMembers = Deletes.ORGANIZATION_ALL_MEMBERS
         val statementToDeleteOrg = Deletes.ORGANIZATION
 
+        setupUnitOfWork(updatedRows = 1)
+
         instance.deleteOrganization(orgId)
 
-        val inOrder = inOrder(database)
+        val inOrder = inOrder(connection)
+
+        inOrder.verify(connection).prepareStatement(statementToDeleteMembers)
+        inOrder.verify(connection).prepareStatement(statementToDeleteOrg)
+        inOrder.verify(connection).commit()
+
+        verify(preparedStatement, times(2)).setObject(1, orgId.toUUID())
+    }
+
+    @DontRepeat
+    @Test
+    fun testDeleteOrganizationWhenOrgDoesNotExist()
+    {
+        setupUnitOfWork(updatedRows = 0)
 
-        inOrder.verify(database).update(statementToDeleteMembers, orgId.toUUID())
-        inOrder.verify(database).update(statementToDeleteOrg, orgId.toUUID())
+        assertThrows { instance.deleteOrganization(orgId) }
+                .isInstanceOf(DoesNotExistException::class.java)
     }
 
     @DontRepeat
@@ -479,4 +501,12 @@ class SQLOrganizationRepositoryTest
         assertThrows { instance.deleteAllMembers(orgId) }
                 .operationError()
     }
-}
\ No newline at end of file
+
+    private fun setupUnitOfWork(updatedRows: Int)
+    {
+        database.executeCallbacksWith(connection)
+
+        whenever(connection.prepareStatement(any<String>())).thenReturn(preparedStatement)
+        whenever(preparedStatement.executeBatch()).thenReturn(intArrayOf(updatedRows))
+    }
+}
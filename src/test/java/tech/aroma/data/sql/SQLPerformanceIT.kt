@@ -0,0 +1,283 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql
+
+import com.google.inject.Guice
+import com.google.inject.Module
+import org.junit.BeforeClass
+import org.junit.Test
+import org.springframework.jdbc.core.JdbcOperations
+import org.springframework.jdbc.core.JdbcTemplate
+import tech.aroma.data.*
+import tech.aroma.data.AromaGenerators.Tokens
+import tech.aroma.data.sql.SQLStatements.Inserts
+import tech.aroma.thrift.Message
+import tech.aroma.thrift.User
+import tech.aroma.thrift.generators.MessageGenerators.messages
+import tech.aroma.thrift.generators.UserGenerators.users
+import tech.sirwellington.alchemy.generator.one
+import java.sql.Timestamp
+import java.util.*
+import java.util.concurrent.TimeUnit
+import kotlin.test.assertEquals
+import kotlin.test.assertTrue
+
+/**
+ * An end-to-end latency suite for the SQL Repositories.
+ *
+ * It loads the real DDL into a local PostgreSQL instance (see [PerformanceDatabase]), seeds it
+ * with production-like volumes, and then holds the hot operations to a [p99 budget][LatencyBudget].
+ * A change that slows one of these queries down, such as a dropped index or a query that no longer
+ * uses its key, fails the suite.
+ *
+ * Run it with:
+ * ```
+ * mvn -P sql-performance verify
+ * ```
+ *
+ * The volumes can be changed with:
+ * + `aroma.perf.inboxUsers`, defaults to 20
+ * + `aroma.perf.messagesPerUser`, defaults to 10,000
+ * + `aroma.perf.applications`, defaults to 20
+ * + `aroma.perf.messagesPerApplication`, defaults to 1,000
+ * + `aroma.perf.users`, defaults to 1,000
+ *
+ * @author SirWellington
+ */
+class SQLPerformanceIT
+{
+    companion object
+    {
+        private val INBOX_USERS = Integer.getInteger("aroma.perf.inboxUsers", 20)
+        private val MESSAGES_PER_USER = Integer.getInteger("aroma.perf.messagesPerUser", 10_000)
+        private val APPLICATIONS = Integer.getInteger("aroma.perf.applications", 20)
+        private val MESSAGES_PER_APPLICATION = Integer.getInteger("aroma.perf.messagesPerApplication", 1_000)
+        private val USERS = Integer.getInteger("aroma.perf.users", 1_000)
+
+        private const val BATCH_SIZE = 1_000
+
+        private lateinit var database: JdbcTemplate
+
+        private lateinit var inboxRepository: InboxRepository
+        private lateinit var messageRepository: MessageRepository
+        private lateinit var tokenRepository: TokenRepository
+        private lateinit var userRepository: UserRepository
+
+        private val inboxUserIds = mutableListOf<String>()
+        private val inboxMessages = mutableListOf<Message>()
+        private val applicationIds = mutableListOf<String>()
+        private val applicationMessages = mutableListOf<Message>()
+        private val userIds = mutableListOf<String>()
+        private val tokenIds = mutableListOf<String>()
+
+        @JvmStatic
+        @BeforeClass
+        fun setupClass()
+        {
+            database = PerformanceDatabase.create()
+
+            val injector = Guice.createInjector(ModuleSQLRepositories(),
+                                                Module { it.bind(JdbcOperations::class.java).toInstance(database) })
+
+            inboxRepository = injector.getInstance(InboxRepository::class.java)
+            messageRepository = injector.getInstance(MessageRepository::class.java)
+            tokenRepository = injector.getInstance(TokenRepository::class.java)
+            userRepository = injector.getInstance(UserRepository::class.java)
+
+            val start = System.nanoTime()
+
+            seedInboxes()
+            seedMessages()
+            seedUsersAndTokens()
+            PerformanceDatabase.analyze(database)
+
+            println("Seeded database in ${TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)}s")
+        }
+
+        private fun seedInboxes()
+        {
+            val prototype = one(messages())
+            val now = System.currentTimeMillis()
+
+            repeat(INBOX_USERS) {
+                val userId = UUID.randomUUID()
+                inboxUserIds.add(userId.toString())
+
+                val rows = (0 until MESSAGES_PER_USER).map { i ->
+                    val message = prototype.deepCopy()
+                            .setMessageId(UUID.randomUUID().toString())
+                            .setApplicationId(UUID.randomUUID().toString())
+
+                    if (i == 0)
+                    {
+                        inboxMessages.add(message)
+                    }
+
+                    //Spread the messages over the last 2 days, so they are all inside the inbox window
+                    val timeCreated = Timestamp(now - (i * TimeUnit.DAYS.toMillis(2) / MESSAGES_PER_USER))
+
+                    arrayOf<Any?>(userId,
+                                  message.messageId.toUUID(),
+                                  message.applicationId.toUUID(),
+                                  message.applicationName,
+                                  message.title,
+                                  message.body,
+                                  message.urgency?.toString(),
+                                  timeCreated,
+                                  timeCreated,
+                                  message.hostname,
+                                  message.macAddress,
+                                  message.deviceName)
+                }
+
+                insertInBatches(Inserts.INBOX_MESSAGE, rows)
+            }
+        }
+
+        private fun seedMessages()
+        {
+            val prototype = one(messages())
+            val now = Timestamp(System.currentTimeMillis())
+
+            repeat(APPLICATIONS) {
+                val appId = UUID.randomUUID()
+                applicationIds.add(appId.toString())
+
+                val rows = (0 until MESSAGES_PER_APPLICATION).map { i ->
+                    val messageId = UUID.randomUUID()
+
+                    if (i == 0)
+                    {
+                        applicationMessages.add(prototype.deepCopy()
+                                                        .setApplicationId(appId.toString())
+                                                        .setMessageId(messageId.toString()))
+                    }
+
+                    arrayOf<Any?>(messageId,
+                                  appId,
+                                  prototype.applicationName,
+                                  prototype.title,
+                                  prototype.body,
+                                  prototype.urgency?.toString(),
+                                  now,
+                                  now,
+                                  prototype.hostname,
+                                  prototype.macAddress,
+                                  prototype.deviceName)
+                }
+
+                insertInBatches(Inserts.MESSAGE, rows)
+            }
+        }
+
+        private fun insertInBatches(sql: String, rows: List<Array<Any?>>)
+        {
+            for (from in 0 until rows.size step BATCH_SIZE)
+            {
+                database.batchUpdate(sql, rows.subList(from, minOf(from + BATCH_SIZE, rows.size)))
+            }
+        }
+
+        private fun seedUsersAndTokens()
+        {
+            repeat(USERS) {
+                val user: User = one(users())
+                userRepository.saveUser(user)
+                userIds.add(user.userId)
+
+                val token = Tokens.token.setOwnerId(user.userId)
+                tokenRepository.saveToken(token)
+                tokenIds.add(token.tokenId)
+            }
+        }
+    }
+
+    @Test
+    fun testGetMessagesForUser()
+    {
+        LatencyBudget("getMessagesForUser", 250).check {
+            val messages = inboxRepository.getMessagesForUser(inboxUserIds.pick(it))
+            assertEquals(MESSAGES_PER_USER, messages.size)
+        }
+    }
+
+    @Test
+    fun testCountInboxForUser()
+    {
+        LatencyBudget("countInboxForUser", 25).check {
+            val count = inboxRepository.countInboxForUser(inboxUserIds.pick(it))
+            assertEquals(MESSAGES_PER_USER.toLong(), count)
+        }
+    }
+
+    @Test
+    fun testContainsMessageInInbox()
+    {
+        LatencyBudget("containsMessageInInbox", 10).check {
+            val index = it % INBOX_USERS
+            assertTrue { inboxRepository.containsMessageInInbox(inboxUserIds[index], inboxMessages[index]) }
+        }
+    }
+
+    @Test
+    fun testSaveMessageForUser()
+    {
+        val user = User().setUserId(UUID.randomUUID().toString())
+        val prototype = one(messages())
+
+        LatencyBudget("saveMessageForUser", 20).check {
+            val message = prototype.deepCopy().setMessageId(UUID.randomUUID().toString())
+            inboxRepository.saveMessageForUser(user, message)
+        }
+    }
+
+    @Test
+    fun testGetMessage()
+    {
+        LatencyBudget("getMessage", 10).check {
+            val message = applicationMessages.pick(it)
+            messageRepository.getMessage(message.applicationId, message.messageId)
+        }
+    }
+
+    @Test
+    fun testGetByApplication()
+    {
+        LatencyBudget("getByApplication", 100).check {
+            val messages = messageRepository.getByApplication(applicationIds.pick(it))
+            assertEquals(MESSAGES_PER_APPLICATION, messages.size)
+        }
+    }
+
+    @Test
+    fun testGetToken()
+    {
+        LatencyBudget("getToken", 10).check {
+            tokenRepository.getToken(tokenIds.pick(it))
+        }
+    }
+
+    @Test
+    fun testGetUser()
+    {
+        LatencyBudget("getUser", 10).check {
+            userRepository.getUser(userIds.pick(it))
+        }
+    }
+
+    private fun <T> List<T>.pick(iteration: Int): T = this[iteration % size]
+}
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql
+
+import org.junit.BeforeClass
+import org.junit.Test
+import org.springframework.jdbc.core.JdbcTemplate
+import java.lang.reflect.Modifier
+import java.sql.Connection
+import java.util.concurrent.TimeUnit
+
+/**
+ * Checks the query plan of every statement in [SQLStatements.Queries], [SQLStatements.Deletes] and
+ * [SQLStatements.Inserts]. The writes include the ones that read before writing, such as the
+ * `NOT EXISTS` and `DELETE` of [SQLStatements.Inserts.APPLICATION_OWNERS]. `EXPLAIN` without `ANALYZE`
+ * does not run a statement, so nothing is written.
+ *
+ * The DDL is loaded into a local PostgreSQL instance (see [PerformanceDatabase]) and the large tables are
+ * seeded with millions of rows. Each statement is then prepared and run through `EXPLAIN (FORMAT JSON)`
+ * using a generic plan, which is the plan the driver settles on for a statement it keeps executing.
+ * The suite fails if any statement scans a large table sequentially, unless that scan is listed in
+ * [ACCEPTED_SEQUENTIAL_SCANS]. The estimated cost of every plan is reported.
+ *
+ * Generic plans are forced with `plan_cache_mode`, which requires PostgreSQL 12 or later.
+ *
+ * Run it with:
+ * ```
+ * mvn -P sql-performance verify
+ * ```
+ *
+ * The number of Messages, Inbox and Activity rows can be changed with `aroma.perf.planRows`, which defaults to 1,000,000.
+ * There is one User, Token and Application Owner for every 10 of those rows, and one Application for every 100.
+ *
+ * @author SirWellington
+ */
+class SQLQueryPlanIT
+{
+    companion object
+    {
+        private val ROWS = Integer.getInteger("aroma.perf.planRows", 1_000_000)
+        private val USERS = ROWS / 10
+        private val APPLICATIONS = ROWS / 100
+
+        /**
+         * The tables that are seeded, and which must not be scanned sequentially.
+         */
+        private val LARGE_TABLES = setOf("activity",
+                                         "application_owners",
+                                         "applications",
+                                         "followings",
+                                         "inbox",
+                                         "messages",
+                                         "tokens",
+                                         "users")
+
+        /**
+         * Sequential scans that are expected, and why.
+         */
+        private val ACCEPTED_SEQUENTIAL_SCANS = mapOf(
+                "Queries.SEARCH_APPLICATION_BY_NAME" to "A LIKE pattern bound at runtime cannot use a B-Tree index")
+
+        /**
+         * Statements that have no query plan, and why.
+         */
+        private val UNPLANNED_STATEMENTS = mapOf(
+                "Inserts.MESSAGES_COPY" to "COPY cannot be prepared or explained")
+
+        private val SEEDS = listOf(
+                """
+                INSERT INTO users (user_id, first_name, last_name, full_name, email, roles, github_profile,
+                                   time_account_created, time_last_updated)
+                SELECT md5('user' || i) :: UUID, 'First' || i, 'Last' || i, 'First Last' || i,
+                       'user' || i || '@aroma.tech', ARRAY ['DEVELOPER'], 'github' || i,
+                       now() - (i % 10000) * INTERVAL '1 hour', now() - (i % 10000) * INTERVAL '1 hour'
+                FROM generate_series(1, $USERS) AS i
+                """,
+                """
+                INSERT INTO tokens (token_id, owner_id, organization_id, owner_name, token_type, token_status)
+                SELECT md5('token' || i) :: UUID, md5('user' || i) :: UUID, md5('org' || (i % 1000)) :: UUID,
+                       'First Last' || i, 'USER', 'ACTIVE'
+                FROM generate_series(1, $USERS) AS i
+                """,
+                """
+                INSERT INTO applications (app_id, app_name, app_description, organization_id, owners,
+                                          programming_language, time_provisioned, time_last_updated, tier)
+                SELECT md5('app' || i) :: UUID, 'App' || i, 'Application ' || i, md5('org' || (i % 1000)) :: UUID,
+                       ARRAY [md5('user' || i) :: UUID], 'JAVA',
+                       now() - (i % 10000) * INTERVAL '1 hour', now() - (i % 10000) * INTERVAL '1 hour', 'FREE'
+                FROM generate_series(1, $APPLICATIONS) AS i
+                """,
+                """
+                INSERT INTO application_owners (app_id, owner_id)
+                SELECT md5('app' || (i % $APPLICATIONS)) :: UUID, md5('user' || i) :: UUID
+                FROM generate_series(1, $USERS) AS i
+                """,
+                """
+                INSERT INTO followings (app_id, user_id)
+                SELECT md5('app' || (i % $APPLICATIONS)) :: UUID, md5('user' || i) :: UUID
+                FROM generate_series(1, $USERS) AS i
+                """,
+                """
+                INSERT INTO messages (message_id, app_id, app_name, title, body, priority, time_created,
+                                      time_received, hostname, ip_address, device_name)
+                SELECT md5('message' || i) :: UUID, md5('app' || (i % $APPLICATIONS)) :: UUID, 'App',
+                       'Title' || (i % 100), 'Body of message ' || i, 'LOW',
+                       now() - (i % 10000) * INTERVAL '1 minute', now() - (i % 10000) * INTERVAL '1 minute',
+                       'host' || (i % 1000), '10.0.0.1', 'device' || (i % 1000)
+                FROM generate_series(1, $ROWS) AS i
+                """,
+                """
+                INSERT INTO inbox (user_id, message_id, app_id, app_name, title, body, priority,
+                                   time_created, time_received, hostname, mac_address, device_name)
+                SELECT md5('user' || (i % $USERS)) :: UUID, md5('message' || i) :: UUID,
+                       md5('app' || (i % $APPLICATIONS)) :: UUID, 'App', 'Title' || (i % 100),
+                       'Body of message ' || i, 'LOW',
+                       now() - (i % 10000) * INTERVAL '1 minute', now() - (i % 10000) * INTERVAL '1 minute',
+                       'host' || (i % 1000), '00:00:00:00:00:00', 'device' || (i % 1000)
+                FROM generate_series(1, $ROWS) AS i
+                """,
+                """
+                INSERT INTO activity (recipient_user_id, event_id, app_id, actor_user_id, time_of_event,
+                                      event_type, serialized_event)
+                SELECT md5('user' || (i % $USERS)) :: UUID, md5('event' || i) :: UUID,
+                       md5('app' || (i % $APPLICATIONS)) :: UUID, md5('user' || ((i + 1) % $USERS)) :: UUID,
+                       now() - (i % 10000) * INTERVAL '1 minute', 'APPLICATION_SENT_MESSAGE', '{}'
+                FROM generate_series(1, $ROWS) AS i
+                """)
+
+        private val SEQUENTIAL_SCAN = Regex(""""Node Type": "Seq Scan",[^{}]*?"Relation Name": "(\w+)"""")
+        private val TOTAL_COST = Regex(""""Total Cost": ([0-9.]+)""")
+
+        private lateinit var database: JdbcTemplate
+
+        @JvmStatic
+        @BeforeClass
+        fun setupClass()
+        {
+            database = PerformanceDatabase.create()
+
+            val start = System.nanoTime()
+            SEEDS.forEach { database.execute(it) }
+            PerformanceDatabase.analyze(database)
+
+            println("Seeded database in ${TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start)}s")
+        }
+
+        /**
+         * @return Each statement keyed by its name, for example `Queries.SELECT_USER`.
+         */
+        private fun statementsIn(vararg types: Class<*>): Map<String, String>
+        {
+            return types.flatMap { type ->
+                type.declaredFields
+                        .filter { Modifier.isStatic(it.modifiers) && it.type == String::class.java }
+                        .map {
+                            it.isAccessible = true
+                            "${type.simpleName}.${it.name}" to it.get(null) as String
+                        }
+            }.toMap().toSortedMap()
+        }
+
+        /**
+         * Replaces the JDBC `?` placeholders with the numbered `$1, $2, ...` parameters used by `PREPARE`.
+         */
+        private fun toPreparable(sql: String): Pair<String, Int>
+        {
+            val withoutComments = sql.lines().filterNot { it.trim().startsWith("--") }.joinToString("\n")
+            var parameters = 0
+
+            val result = StringBuilder()
+            withoutComments.forEach {
+                if (it == '?')
+                {
+                    parameters += 1
+                    result.append('$').append(parameters)
+                }
+                else
+                {
+                    result.append(it)
+                }
+            }
+
+            return result.toString() to parameters
+        }
+    }
+
+    private data class Plan(val statement: String, val cost: Double, val sequentialScans: Set<String>)
+
+    @Test
+    fun testNoSequentialScansOnLargeTables()
+    {
+        val statements = statementsIn(SQLStatements.Queries::class.java,
+                                      SQLStatements.Deletes::class.java,
+                                      SQLStatements.Inserts::class.java)
+                .filterKeys { it !in UNPLANNED_STATEMENTS }
+
+        val connection = database.dataSource.connection
+        val plans = try
+        {
+            connection.createStatement().use { it.execute("SET plan_cache_mode = force_generic_plan") }
+            statements.map { (name, sql) -> explain(connection, name, sql) }
+        }
+        finally
+        {
+            connection.close()
+        }
+
+        println(String.format("%-48s %14s  %s", "STATEMENT", "EST. COST", "SEQUENTIAL SCANS"))
+        plans.sortedByDescending { it.cost }.forEach {
+            println(String.format("%-48s %14.2f  %s", it.statement, it.cost, it.sequentialScans.joinToString()))
+        }
+
+        val regressions = plans.filter { it.sequentialScans.any { it in LARGE_TABLES } }
+                .filterNot { it.statement in ACCEPTED_SEQUENTIAL_SCANS }
+
+        if (regressions.isNotEmpty())
+        {
+            val details = regressions.joinToString("\n") { "${it.statement} scans ${it.sequentialScans.filter { it in LARGE_TABLES }}" }
+            throw AssertionError("Statements scan large tables sequentially:\n$details")
+        }
+    }
+
+    private fun explain(connection: Connection, name: String, sql: String): Plan
+    {
+        val (preparable, parameters) = toPreparable(sql)
+        val arguments = if (parameters == 0) "" else List(parameters) { "NULL" }.joinToString(prefix = "(", postfix = ")")
+
+        connection.createStatement().use { statement ->
+            statement.execute("PREPARE plan_check AS $preparable")
+
+            try
+            {
+                val json = statement.executeQuery("EXPLAIN (FORMAT JSON) EXECUTE plan_check$arguments").use {
+                    it.next()
+                    it.getString(1)
+                }
+
+                val cost = TOTAL_COST.find(json)?.groupValues?.get(1)?.toDouble() ?: 0.0
+                val sequentialScans = SEQUENTIAL_SCAN.findAll(json).map { it.groupValues[1].toLowerCase() }.toSet()
+
+                return Plan(name, cost, sequentialScans)
+            }
+            finally
+            {
+                statement.execute("DEALLOCATE plan_check")
+            }
+        }
+    }
+}
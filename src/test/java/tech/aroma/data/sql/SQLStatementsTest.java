@@ -1,13 +1,15 @@
 package tech.aroma.data.sql;
 
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner;
 
-import static org.hamcrest.Matchers.isEmptyOrNullString;
-import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertThat;
 
 /**
@@ -30,7 +32,6 @@ public class SQLStatementsTest
         assertThat(SQLStatements.Deletes.ACTIVITY_ALL_EVENTS, not(isEmptyOrNullString()));
         assertThat(SQLStatements.Deletes.APPLICATION, not(isEmptyOrNullString()));
         assertThat(SQLStatements.Deletes.APPLICATION_OWNERS, not(isEmptyOrNullString()));
-        assertThat(SQLStatements.Deletes.APPLICATION_NON_OWNERS, not(isEmptyOrNullString()));
         assertThat(SQLStatements.Deletes.CREDENTIAL, not(isEmptyOrNullString()));
         assertThat(SQLStatements.Deletes.FOLLOWING, not(isEmptyOrNullString()));
         assertThat(SQLStatements.Deletes.INBOX_MESSAGE, not(isEmptyOrNullString()));
@@ -55,7 +56,7 @@ public class SQLStatementsTest
         assertThat(SQLStatements.Inserts.ACTIVITY_EVENT, not(isEmptyOrNullString()));
 
         assertThat(SQLStatements.Inserts.APPLICATION, not(isEmptyOrNullString()));
-        assertThat(SQLStatements.Inserts.APPLICATION_OWNER, not(isEmptyOrNullString()));
+        assertThat(SQLStatements.Inserts.APPLICATION_OWNERS, not(isEmptyOrNullString()));
 
         assertThat(SQLStatements.Inserts.CREDENTIAL, not(isEmptyOrNullString()));
 
@@ -67,6 +68,7 @@ public class SQLStatementsTest
         assertThat(SQLStatements.Inserts.MEDIA_THUMBNAIL, not(isEmptyOrNullString()));
 
         assertThat(SQLStatements.Inserts.MESSAGE, not(isEmptyOrNullString()));
+        assertThat(SQLStatements.Inserts.MESSAGES_COPY, not(isEmptyOrNullString()));
 
         assertThat(SQLStatements.Inserts.ORGANIZATION, not(isEmptyOrNullString()));
         assertThat(SQLStatements.Inserts.ORGANIZATION_MEMBER, not(isEmptyOrNullString()));
@@ -143,4 +145,29 @@ public class SQLStatementsTest
         assertThat(SQLStatements.Queries.SELECT_USER_DEVICES, not(isEmptyOrNullString()));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testNameOf() throws Exception
+    {
+        assertThat(SQLStatements.nameOf(SQLStatements.Queries.SELECT_USER), is("Queries.SELECT_USER"));
+        assertThat(SQLStatements.nameOf(SQLStatements.Inserts.MESSAGE), is("Inserts.MESSAGE"));
+        assertThat(SQLStatements.nameOf(SQLStatements.Deletes.ORGANIZATION), is("Deletes.ORGANIZATION"));
+        assertThat(SQLStatements.nameOf("SELECT 1"), nullValue());
+        assertThat(SQLStatements.nameOf(null), nullValue());
+    }
+
+    @Test
+    public void testEachStatementHasItsOwnName() throws Exception
+    {
+        for (Class<?> statements : new Class<?>[] { SQLStatements.Deletes.class, SQLStatements.Inserts.class, SQLStatements.Queries.class })
+        {
+            for (Field field : statements.getDeclaredFields())
+            {
+                if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class)
+                {
+                    String name = statements.getSimpleName() + "." + field.getName();
+                    assertThat(SQLStatements.nameOf((String) field.get(null)), is(name));
+                }
+            }
+        }
+    }
+}
@@ -22,6 +22,7 @@ import com.nhaarman.mockito_kotlin.eq
 import com.nhaarman.mockito_kotlin.verify
 import com.nhaarman.mockito_kotlin.whenever
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
 import org.junit.Before
 import org.junit.Test
 import org.junit.runner.RunWith
@@ -152,6 +153,53 @@ class SQLTokenRepositoryTest
                 .operationError()
     }
 
+    @Test
+    fun testFindToken()
+    {
+        val query = Queries.SELECT_TOKEN
+
+        whenever(database.query(query, serializer, tokenUuid))
+                .thenReturn(Lists.createFrom(token))
+
+        val result = instance.findToken(tokenId)
+
+        assertEquals(token, result.get())
+    }
+
+    @DontRepeat
+    @Test
+    fun testFindTokenWhenTokenDoesNotExist()
+    {
+        val query = Queries.SELECT_TOKEN
+
+        whenever(database.query(query, serializer, tokenUuid))
+                .thenReturn(Lists.emptyList())
+
+        val result = instance.findToken(tokenId)
+
+        assertFalse(result.isPresent)
+    }
+
+    @DontRepeat
+    @Test
+    fun testFindTokenWithBadArgs()
+    {
+        assertThrows { instance.findToken("") }.invalidArg()
+        assertThrows { instance.findToken(badTokenId) }.invalidArg()
+    }
+
+    @Test
+    fun testFindTokenWhenDatabaseFails()
+    {
+        val query = Queries.SELECT_TOKEN
+
+        whenever(database.query(query, serializer, tokenUuid))
+                .thenThrow(UncategorizedSQLException::class.java)
+
+        assertThrows { instance.findToken(tokenId) }
+                .operationError()
+    }
+
     @Test
     fun testSaveToken()
     {
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2017 RedRoma, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.aroma.data.sql
+
+import com.natpryce.hamkrest.assertion.assertThat
+import com.natpryce.hamkrest.equalTo
+import com.nhaarman.mockito_kotlin.any
+import com.nhaarman.mockito_kotlin.doThrow
+import com.nhaarman.mockito_kotlin.inOrder
+import com.nhaarman.mockito_kotlin.never
+import com.nhaarman.mockito_kotlin.times
+import com.nhaarman.mockito_kotlin.verify
+import com.nhaarman.mockito_kotlin.whenever
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mock
+import org.springframework.jdbc.core.ConnectionCallback
+import org.springframework.jdbc.core.JdbcOperations
+import tech.aroma.data.performance.StatementMetrics
+import tech.sirwellington.alchemy.test.junit.ThrowableAssertion.assertThrows
+import tech.sirwellington.alchemy.test.junit.runners.AlchemyTestRunner
+import tech.sirwellington.alchemy.test.junit.runners.DontRepeat
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString
+import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.UUID
+import tech.sirwellington.alchemy.test.junit.runners.Repeat
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.SQLException
+
+/**
+ * @author SirWellington
+ */
+@RunWith(AlchemyTestRunner::class)
+@Repeat
+class SQLUnitOfWorkTest
+{
+
+    @Mock
+    private lateinit var database: JdbcOperations
+
+    @Mock
+    private lateinit var connection: Connection
+
+    @Mock
+    private lateinit var firstStatement: PreparedStatement
+
+    @Mock
+    private lateinit var secondStatement: PreparedStatement
+
+    @GenerateString
+    private lateinit var firstSQL: String
+
+    @GenerateString
+    private lateinit var secondSQL: String
+
+    @GenerateString(UUID)
+    private lateinit var firstString: String
+
+    @GenerateString(UUID)
+    private lateinit var secondString: String
+
+    private val firstId get() = firstString.toUUID()
+    private val secondId get() = secondString.toUUID()
+
+    private lateinit var instance: SQLUnitOfWork
+
+    @Before
+    fun setUp()
+    {
+        instance = SQLUnitOfWork(database)
+
+        database.executeCallbacksWith(connection)
+
+        whenever(connection.autoCommit).thenReturn(true)
+        whenever(connection.prepareStatement(firstSQL)).thenReturn(firstStatement)
+        whenever(connection.prepareStatement(secondSQL)).thenReturn(secondStatement)
+
+        whenever(firstStatement.executeBatch()).thenReturn(intArrayOf(1, 1))
+        whenever(secondStatement.executeBatch()).thenReturn(intArrayOf(3))
+    }
+
+    @Test
+    fun testCommit()
+    {
+        val result = instance
+                .update(firstSQL, firstId)
+                .update(firstSQL, secondId)
+                .update(secondSQL, firstId)
+                .commit()
+
+        assertThat(result.toList(), equalTo(listOf(1, 1, 3)))
+
+        //Consecutive writes with the same statement are sent as one batch
+        verify(firstStatement, times(2)).addBatch()
+        verify(firstStatement).setObject(1, firstId)
+        verify(firstStatement).setObject(1, secondId)
+        verify(secondStatement).addBatch()
+
+        val inOrder = inOrder(connection, firstStatement, secondStatement)
+        inOrder.verify(connection).autoCommit = false
+        inOrder.verify(firstStatement).executeBatch()
+        inOrder.verify(secondStatement).executeBatch()
+        inOrder.verify(connection).commit()
+        inOrder.verify(connection).autoCommit = true
+
+        verify(connection, never()).rollback()
+        verify(firstStatement).close()
+        verify(secondStatement).close()
+    }
+
+    @Test
+    fun testCommitWhenAWriteFails()
+    {
+        whenever(secondStatement.executeBatch()).thenThrow(SQLException())
+
+        assertThrows {
+            instance.update(firstSQL, firstId)
+                    .update(secondSQL, secondId)
+                    .commit()
+        }
+
+        verify(connection).rollback()
+        verify(connection, never()).commit()
+        verify(connection).autoCommit = true
+        verify(secondStatement).close()
+    }
+
+    @Test
+    fun testCommitWhenRollbackFails()
+    {
+        val writeFailure = SQLException("write failed")
+        val rollbackFailure = SQLException("rollback failed")
+
+        whenever(secondStatement.executeBatch()).thenThrow(writeFailure)
+        doThrow(rollbackFailure).whenever(connection).rollback()
+
+        val failure = try
+        {
+            instance.update(firstSQL, firstId)
+                    .update(secondSQL, secondId)
+                    .commit()
+            null
+        }
+        catch (ex: SQLException)
+        {
+            ex
+        }
+
+        //The failure of the write is kept, with the failed rollback attached to it
+        assertThat(failure, equalTo<SQLException?>(writeFailure))
+        assertThat(writeFailure.suppressed.toList(), equalTo(listOf<Throwable>(rollbackFailure)))
+        verify(connection).autoCommit = true
+    }
+
+    @Test
+    fun testCommitRecordsEachBatch()
+    {
+        val metrics = StatementMetrics.forStatement("sql", StatementMetrics.OTHER)
+        val callsBefore = metrics.calls
+        val rowsBefore = metrics.rows
+
+        instance.update(firstSQL, firstId)
+                .update(firstSQL, secondId)
+                .update(secondSQL, firstId)
+                .commit()
+
+        assertThat(metrics.calls, equalTo(callsBefore + 2))
+        assertThat(metrics.rows, equalTo(rowsBefore + 5))
+    }
+
+    @DontRepeat
+    @Test
+    fun testCommitWhenEmpty()
+    {
+        val result = instance.commit()
+
+        assertThat(result.size, equalTo(0))
+        verify(database, never()).execute(any<ConnectionCallback<Any>>())
+    }
+
+    @DontRepeat
+    @Test
+    fun testUpdateWithBadArgs()
+    {
+        assertThrows { instance.update("", firstId) }
+                .isInstanceOf(IllegalArgumentException::class.java)
+    }
+
+}
@@ -47,6 +47,7 @@ import tech.sirwellington.alchemy.test.junit.runners.GenerateString
 import tech.sirwellington.alchemy.test.junit.runners.GenerateString.Type.ALPHABETIC
 import tech.sirwellington.alchemy.test.junit.runners.Repeat
 import kotlin.test.assertEquals
+import kotlin.test.assertFalse
 
 @RunWith(AlchemyTestRunner::class)
 @Repeat
@@ -168,6 +169,50 @@ class SQLUserRepositoryTest
         assertThrows { instance.getUser(invalidId) }.invalidArg()
     }
 
+    @Test
+    fun testFindUser()
+    {
+        val sql = Queries.SELECT_USER
+
+        whenever(database.query(sql, serializer, userId.toUUID()))
+                .thenReturn(listOf(user))
+
+        val result = instance.findUser(userId)
+
+        assertEquals(user, result.get())
+    }
+
+    @DontRepeat
+    @Test
+    fun testFindUserWhenUserDoesNotExist()
+    {
+        val sql = Queries.SELECT_USER
+
+        whenever(database.query(sql, serializer, userId.toUUID()))
+                .thenReturn(emptyList())
+
+        val result = instance.findUser(userId)
+
+        assertFalse(result.isPresent)
+    }
+
+    @DontRepeat
+    @Test
+    fun testFindUserWhenDatabaseFails()
+    {
+        database.setupForFailure()
+
+        assertThrows { instance.findUser(userId) }.operationError()
+    }
+
+    @DontRepeat
+    @Test
+    fun testFindUserWithBadArgs()
+    {
+        assertThrows { instance.findUser("") }.invalidArg()
+        assertThrows { instance.findUser(invalidId) }.invalidArg()
+    }
+
     @Test
     fun testDeleteUser()
     {
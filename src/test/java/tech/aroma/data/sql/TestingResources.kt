@@ -24,12 +24,14 @@ import com.nhaarman.mockito_kotlin.any
 import com.nhaarman.mockito_kotlin.whenever
 import org.mockito.Mockito
 import org.slf4j.LoggerFactory
+import org.springframework.jdbc.core.ConnectionCallback
 import org.springframework.jdbc.core.JdbcOperations
 import org.springframework.jdbc.core.JdbcTemplate
 import org.springframework.jdbc.core.PreparedStatementSetter
 import org.springframework.jdbc.core.RowMapper
 import tech.aroma.data.sql.serializers.ModuleSerializers
 import tech.aroma.thrift.Message
+import java.sql.Connection
 
 /**
  * @author SirWellington
@@ -82,4 +84,20 @@ internal fun JdbcOperations.setupForFailure()
     whenever(this.queryForObject(any<String>(), any<RowMapper<*>>(), Mockito.anyVararg<Any>()))
             .thenThrow(RuntimeException())
 
+    whenever(this.execute(any<ConnectionCallback<Any>>()))
+            .thenThrow(RuntimeException())
+
+}
+
+/**
+ * Runs every [ConnectionCallback], such as the one used by a [SQLUnitOfWork], against the [connection].
+ */
+internal fun JdbcOperations.executeCallbacksWith(connection: Connection)
+{
+    whenever(this.execute(any<ConnectionCallback<Any>>()))
+            .thenAnswer {
+                @Suppress("UNCHECKED_CAST")
+                val callback = it.arguments[0] as ConnectionCallback<Any>
+                callback.doInConnection(connection)
+            }
 }
\ No newline at end of file